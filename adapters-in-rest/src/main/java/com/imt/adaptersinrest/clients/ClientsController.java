@@ -50,11 +50,8 @@ public class ClientsController {
         // Logique condensée comme dans VehicleController
         return ResponseEntity.ok(
                 ClientOutput.from(
-                        clientsServiceValidator.update(
-                                clientsService.getOne(id)
-                                        .map(existing -> ClientUpdateInput.from(clientUpdateInput, existing))
-                                        .orElseThrow(() -> new ResourceNotFoundException("Client non trouvé avec l'id " + id))
-                        )
+                        clientsServiceValidator.update(id, existing -> ClientUpdateInput.from(clientUpdateInput, existing))
+                                .orElseThrow(() -> new ResourceNotFoundException("Client non trouvé avec l'id " + id))
                 )
         );
     }
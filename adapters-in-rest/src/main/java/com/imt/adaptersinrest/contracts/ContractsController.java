@@ -93,11 +93,8 @@ public class ContractsController {
     @PatchMapping(value = "/{contractId}", consumes = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void update(@PathVariable final String contractId, @RequestBody final ContractUpdateInput input) throws ImtException {
-        contractsService.update(
-                contractsService.getOne(UUID.fromString(contractId))
-                        .map(existing -> ContractUpdateInput.from(input, existing))
-                        .orElseThrow(() -> new NoSuchElementException("Contrat non trouvé."))
-        );
+        contractsService.update(UUID.fromString(contractId), existing -> ContractUpdateInput.from(input, existing))
+                .orElseThrow(() -> new NoSuchElementException("Contrat non trouvé."));
     }
 
     /**
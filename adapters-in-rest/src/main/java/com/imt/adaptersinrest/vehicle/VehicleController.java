@@ -3,16 +3,19 @@ package com.imt.adaptersinrest.vehicle;
 
 import com.imt.adaptersinrest.vehicle.model.input.VehicleInput;
 import com.imt.adaptersinrest.vehicle.model.input.VehicleUpdateInput;
+import com.imt.adaptersinrest.vehicle.model.output.OccupancyPeriodOutput;
 import com.imt.adaptersinrest.vehicle.model.output.VehicleOutput;
 import com.imt.common.exceptions.ImtException;
 import com.imt.contracts.ContractsServiceValidator;
 import com.imt.vehicle.VehicleServiceValidator;
 import com.imt.vehicle.model.VehicleStateEnum;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -51,6 +54,18 @@ public class VehicleController {
         return VehicleOutput.from(vehicleService.create(VehicleInput.convert(input)));
     }
 
+    // Search vehicles available over a period (no locking contract between startDate and endDate, both included)
+    @GetMapping(value = "/available", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public Collection<VehicleOutput> getAvailable(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate endDate) throws ImtException {
+        return contractsService.getAvailableVehicles(vehicleService.getByState(VehicleStateEnum.AVAILABLE), startDate, endDate)
+                .stream()
+                .map(VehicleOutput::from)
+                .collect(Collectors.toList());
+    }
+
     // Get a vehicle by ID
     @GetMapping(value = "/{vehicleId}", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
@@ -60,6 +75,23 @@ public class VehicleController {
                 .orElseThrow(() -> new NoSuchElementException("Vehicule non trouvé"));
     }
 
+    // Get the occupancy calendar of a vehicle as alternating free / busy ranges (both bounds included)
+    @GetMapping(value = "/{vehicleId}/calendar", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public Collection<OccupancyPeriodOutput> getCalendar(
+            @PathVariable String vehicleId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate to) throws ImtException {
+        if (vehicleService.getOne(vehicleId).isEmpty()) {
+            throw new NoSuchElementException("Vehicule non trouvé");
+        }
+
+        return contractsService.getCalendar(UUID.fromString(vehicleId), from, to)
+                .stream()
+                .map(OccupancyPeriodOutput::from)
+                .collect(Collectors.toList());
+    }
+
 //    // Update a vehicle
 //    @PatchMapping(value = "/{vehicleId}", consumes = MediaType.APPLICATION_JSON_VALUE)
 //    @ResponseStatus(HttpStatus.NO_CONTENT)
@@ -82,20 +114,9 @@ public class VehicleController {
     @PatchMapping(value = "/{vehicleId}", consumes = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void update(@PathVariable String vehicleId, @RequestBody VehicleUpdateInput input) throws ImtException {
-
-
-        // 1. Mise à jour du véhicule
-        vehicleService.update(
-                vehicleService.getOne(vehicleId).map(
-                        alreadySaved -> VehicleUpdateInput.from(input, alreadySaved)
-                ).orElseThrow(() -> new NoSuchElementException("Vehicule non trouvé."))
-        );
-
-        // 2. Règle Métier : Si l'état a été modifié ET qu'il est "En panne" (BROKEN)
-        // Grâce à la modification de l'étape 1, isUpdated() est maintenant accessible
-        if (input.getState().isUpdated() && input.getState().getValue() == VehicleStateEnum.BROKEN) {
-            contractsService.cancelContractsForBrokenVehicule(UUID.fromString(vehicleId));
-        }
+        // Règle Métier : si le véhicule passe "En panne" (BROKEN), la même écriture enregistre l'événement qui
+        // déclenche, en arrière-plan, l'annulation de ses contrats en attente
+        vehicleService.update(vehicleId, alreadySaved -> VehicleUpdateInput.from(input, alreadySaved))
+                .orElseThrow(() -> new NoSuchElementException("Vehicule non trouvé."));
     }
 }
-
@@ -0,0 +1,33 @@
+package com.imt.adaptersinrest.vehicle.model.output;
+
+import com.imt.adaptersinrest.common.model.output.AbstractOutput;
+import com.imt.contracts.model.OccupancyPeriod;
+import com.imt.contracts.model.OccupancyStatusEnum;
+import lombok.*;
+
+import java.io.Serial;
+import java.time.LocalDate;
+
+@Getter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@ToString
+public class OccupancyPeriodOutput extends AbstractOutput {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final OccupancyStatusEnum status;
+
+    // Entity --> DTO
+    public static OccupancyPeriodOutput from(final OccupancyPeriod period) {
+        return OccupancyPeriodOutput.builder()
+                .from(period.getStartDate())
+                .to(period.getEndDate())
+                .status(period.getStatus())
+                .build();
+    }
+}
@@ -21,10 +21,12 @@ import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -127,8 +129,11 @@ class ClientsControllerTest {
         @DisplayName("Doit mettre à jour un client existant avec succès (200 OK)")
         void shouldUpdateClientSuccessfully() throws ImtException {
             // Given
-            when(clientsService.getOne(clientId)).thenReturn(Optional.of(clientDomain));
-            when(clientsServiceValidator.update(any(Client.class))).thenReturn(clientDomain);
+            // Le service applique les modifications à la version enregistrée du client
+            when(clientsServiceValidator.update(eq(clientId), any())).thenAnswer(invocation -> {
+                UnaryOperator<Client> changes = invocation.getArgument(1);
+                return Optional.of(changes.apply(clientDomain));
+            });
 
             // When
             ResponseEntity<ClientOutput> response = clientsController.update(clientId, updateInput);
@@ -137,14 +142,14 @@ class ClientsControllerTest {
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(response.getBody().getId()).isEqualTo(clientId);
 
-            verify(clientsServiceValidator).update(any(Client.class));
+            verify(clientsServiceValidator).update(eq(clientId), any());
         }
 
         @Test
         @DisplayName("Doit lever une exception si le client n'existe pas")
         void shouldThrowExceptionWhenClientNotFound() throws ImtException {
             // Given
-            when(clientsService.getOne(clientId)).thenReturn(Optional.empty());
+            when(clientsServiceValidator.update(eq(clientId), any())).thenReturn(Optional.empty());
 
             // When & Then
             assertThatThrownBy(() -> clientsController.update(clientId, updateInput))
@@ -19,10 +19,12 @@ import com.imt.common.exceptions.BadRequestException;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -124,22 +126,24 @@ class ContractsControllerTest {
         @DisplayName("Doit mettre à jour un contrat existant avec succès (204 No Content)")
         void shouldUpdateContractSuccessfully() throws ImtException {
             // Given
-            when(contractsServiceValidator.getOne(contractId)).thenReturn(Optional.of(contractDomain));
-            doNothing().when(contractsServiceValidator).update(any(Contract.class));
+            // Le service applique les modifications à la version enregistrée du contrat
+            when(contractsServiceValidator.update(eq(contractId), any())).thenAnswer(invocation -> {
+                UnaryOperator<Contract> changes = invocation.getArgument(1);
+                return Optional.of(changes.apply(contractDomain));
+            });
 
             // When
             controller.update(contractId.toString(), updateInput);
 
             // Then
-            verify(contractsServiceValidator).getOne(contractId);
-            verify(contractsServiceValidator).update(any(Contract.class));
+            verify(contractsServiceValidator).update(eq(contractId), any());
         }
 
         @Test
         @DisplayName("Doit lever une exception si le contrat n'existe pas")
         void shouldThrowExceptionWhenContractNotFound() throws ImtException {
             // Given
-            when(contractsServiceValidator.getOne(contractId)).thenReturn(Optional.empty());
+            when(contractsServiceValidator.update(eq(contractId), any())).thenReturn(Optional.empty());
 
             // When & Then
             assertThatThrownBy(() -> controller.update(contractId.toString(), updateInput))
@@ -3,11 +3,14 @@ package com.imt.adaptersinrest.vehicle;
 import com.imt.adaptersinrest.common.model.input.UpdatableProperty;
 import com.imt.adaptersinrest.vehicle.model.input.VehicleInput;
 import com.imt.adaptersinrest.vehicle.model.input.VehicleUpdateInput;
+import com.imt.adaptersinrest.vehicle.model.output.OccupancyPeriodOutput;
 import com.imt.adaptersinrest.vehicle.model.output.VehicleOutput;
 import com.imt.common.exceptions.BadRequestException;
 import com.imt.common.exceptions.ConflictException;
 import com.imt.common.exceptions.ImtException;
 import com.imt.contracts.ContractsServiceValidator;
+import com.imt.contracts.model.OccupancyPeriod;
+import com.imt.contracts.model.OccupancyStatusEnum;
 import com.imt.vehicle.VehicleServiceValidator;
 import com.imt.vehicle.model.EngineTypeEnum;
 import com.imt.vehicle.model.Vehicle;
@@ -24,10 +27,12 @@ import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -111,6 +116,78 @@ class VehicleControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("getAvailable (GET)")
+    class GetAvailableTests {
+
+        @Test
+        @DisplayName("Doit retourner les véhicules disponibles et libres sur la période")
+        void shouldReturnAvailableVehicles() throws ImtException {
+            // Given
+            LocalDate startDate = LocalDate.of(2024, 3, 1);
+            LocalDate endDate = LocalDate.of(2024, 3, 31);
+            when(vehicleService.getByState(VehicleStateEnum.AVAILABLE)).thenReturn(List.of(vehicleDomain));
+            when(contractsService.getAvailableVehicles(List.of(vehicleDomain), startDate, endDate)).thenReturn(List.of(vehicleDomain));
+
+            // When
+            Collection<VehicleOutput> result = vehicleController.getAvailable(startDate, endDate);
+
+            // Then
+            assertThat(result).hasSize(1);
+            assertThat(result.iterator().next().getIdentifier()).isEqualTo(vehicleId);
+        }
+
+        @Test
+        @DisplayName("Doit propager l'erreur si la période est invalide")
+        void shouldPropagateInvalidPeriod() throws ImtException {
+            // Given
+            LocalDate startDate = LocalDate.of(2024, 3, 31);
+            LocalDate endDate = LocalDate.of(2024, 3, 1);
+            when(vehicleService.getByState(VehicleStateEnum.AVAILABLE)).thenReturn(List.of(vehicleDomain));
+            when(contractsService.getAvailableVehicles(any(), eq(startDate), eq(endDate)))
+                    .thenThrow(new BadRequestException("Période invalide"));
+
+            // When & Then
+            assertThatThrownBy(() -> vehicleController.getAvailable(startDate, endDate))
+                    .isInstanceOf(BadRequestException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("getCalendar (GET)")
+    class GetCalendarTests {
+
+        @Test
+        @DisplayName("Doit retourner les plages libres / occupées du véhicule")
+        void shouldReturnCalendarRuns() throws ImtException {
+            // Given
+            LocalDate from = LocalDate.of(2024, 1, 1);
+            LocalDate to = LocalDate.of(2024, 1, 31);
+            OccupancyPeriod busy = new OccupancyPeriod(from, LocalDate.of(2024, 1, 9), OccupancyStatusEnum.BUSY);
+            OccupancyPeriod free = new OccupancyPeriod(LocalDate.of(2024, 1, 10), to, OccupancyStatusEnum.FREE);
+            when(vehicleService.getOne(vehicleId)).thenReturn(Optional.of(vehicleDomain));
+            when(contractsService.getCalendar(UUID.fromString(vehicleId), from, to)).thenReturn(List.of(busy, free));
+
+            // When
+            Collection<OccupancyPeriodOutput> result = vehicleController.getCalendar(vehicleId, from, to);
+
+            // Then
+            assertThat(result).containsExactly(OccupancyPeriodOutput.from(busy), OccupancyPeriodOutput.from(free));
+        }
+
+        @Test
+        @DisplayName("Doit lever une exception si le véhicule n'est pas trouvé")
+        void shouldThrowWhenVehicleNotFound() throws ImtException {
+            // Given
+            when(vehicleService.getOne(vehicleId)).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> vehicleController.getCalendar(vehicleId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)))
+                    .isInstanceOf(NoSuchElementException.class);
+            verify(contractsService, never()).getCalendar(any(), any(), any());
+        }
+    }
+
     @Nested
     @DisplayName("getOne (GET)")
     class GetOneTests {
@@ -219,39 +296,44 @@ class VehicleControllerTest {
             updateInput = new VehicleUpdateInput();
         }
 
+        /**
+         * Le service applique les modifications à la version enregistrée du véhicule.
+         */
+        private void givenSavedVehicle(final Vehicle saved) throws ImtException {
+            when(vehicleService.update(eq(vehicleId), any())).thenAnswer(invocation -> {
+                UnaryOperator<Vehicle> changes = invocation.getArgument(1);
+                return Optional.of(changes.apply(saved));
+            });
+        }
+
         @Test
         @DisplayName("Doit mettre à jour un véhicule sans annuler de contrats")
         void shouldUpdateVehicleWithoutCancellingContracts() throws ImtException {
             // Given
             updateInput.setColor(UpdatableProperty.makesChanges("Red"));
-            when(vehicleService.getOne(vehicleId)).thenReturn(Optional.of(vehicleDomain));
-            doNothing().when(vehicleService).update(any(Vehicle.class));
+            givenSavedVehicle(vehicleDomain);
 
             // When
             vehicleController.update(vehicleId, updateInput);
 
             // Then
-            verify(vehicleService).getOne(vehicleId);
-            verify(vehicleService).update(any(Vehicle.class));
+            verify(vehicleService).update(eq(vehicleId), any());
             verifyNoInteractions(contractsService);
         }
 
         @Test
-        @DisplayName("Doit mettre à jour un véhicule et annuler les contrats si l'état est BROKEN")
-        void shouldUpdateVehicleAndCancelContractsWhenStateIsBroken() throws ImtException {
+        @DisplayName("Doit mettre à jour un véhicule BROKEN sans annuler les contrats pendant la requête")
+        void shouldUpdateBrokenVehicleWithoutCancellingContractsSynchronously() throws ImtException {
             // Given
             updateInput.setState(UpdatableProperty.makesChanges(VehicleStateEnum.BROKEN));
-            when(vehicleService.getOne(vehicleId)).thenReturn(Optional.of(vehicleDomain));
-            doNothing().when(vehicleService).update(any(Vehicle.class));
-            doNothing().when(contractsService).cancelContractsForBrokenVehicule(any(UUID.class));
+            givenSavedVehicle(vehicleDomain);
 
             // When
             vehicleController.update(vehicleId, updateInput);
 
-            // Then
-            verify(vehicleService).getOne(vehicleId);
-            verify(vehicleService).update(any(Vehicle.class));
-            verify(contractsService).cancelContractsForBrokenVehicule(UUID.fromString(vehicleId));
+            // Then : l'annulation est déclenchée par l'événement enregistré avec le véhicule, en arrière-plan
+            verify(vehicleService).update(eq(vehicleId), any());
+            verifyNoInteractions(contractsService);
         }
 
         @Test
@@ -259,14 +341,13 @@ class VehicleControllerTest {
         void shouldNotCancelContractsWhenStateIsNotUpdatedToBroken() throws ImtException {
             // Given
             updateInput.setState(UpdatableProperty.makesChanges(VehicleStateEnum.AVAILABLE));
-            when(vehicleService.getOne(vehicleId)).thenReturn(Optional.of(vehicleDomain));
-            doNothing().when(vehicleService).update(any(Vehicle.class));
+            givenSavedVehicle(vehicleDomain);
 
             // When
             vehicleController.update(vehicleId, updateInput);
 
             // Then
-            verify(vehicleService).update(any(Vehicle.class));
+            verify(vehicleService).update(eq(vehicleId), any());
             verifyNoInteractions(contractsService);
         }
 
@@ -275,14 +356,13 @@ class VehicleControllerTest {
         void shouldThrowExceptionWhenVehicleToUpdateNotFound() throws ImtException {
             // Given
             updateInput.setColor(UpdatableProperty.makesChanges("Red"));
-            when(vehicleService.getOne(vehicleId)).thenReturn(Optional.empty());
+            when(vehicleService.update(eq(vehicleId), any())).thenReturn(Optional.empty());
 
             // When & Then
             assertThatThrownBy(() -> vehicleController.update(vehicleId, updateInput))
                     .isInstanceOf(NoSuchElementException.class)
                     .hasMessage("Vehicule non trouvé.");
 
-            verify(vehicleService, never()).update(any(Vehicle.class));
             verifyNoInteractions(contractsService);
         }
     }
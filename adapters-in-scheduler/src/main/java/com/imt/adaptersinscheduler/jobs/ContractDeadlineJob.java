@@ -0,0 +1,156 @@
+package com.imt.adaptersinscheduler.jobs;
+
+import com.imt.common.exceptions.ImtException;
+import com.imt.contracts.ContractsService;
+import com.imt.contracts.model.ContractTransitionsReport;
+import com.imt.contracts.model.VehiclePartition;
+import com.imt.contracts.scheduling.ContractDeadlineQueue;
+import com.imt.contracts.scheduling.LeaderElection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Transitions automatiques des contrats déclenchées à échéance ({@code imt.contracts.scheduler=EVENT}).
+ * Une seule minuterie est armée sur la prochaine échéance de la {@link ContractDeadlineQueue} ; elle est réarmée
+ * après chaque passage, et dès qu'une écriture de contrat avance la prochaine échéance. À chaque déclenchement,
+ * seuls les contrats dont l'échéance est atteinte sont relus et transitionnés. Le parcours complet des contrats
+ * échus est réservé au démarrage et au parcours de rattrapage peu fréquent, qui couvre les contrats écrits par une
+ * autre instance. Comme en mode périodique, seul le leader traite les contrats.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "imt.contracts.scheduler", havingValue = "EVENT")
+public class ContractDeadlineJob {
+
+    private final ContractsService contractsService;
+    private final ContractDeadlineQueue deadlines;
+    private final LeaderElection leaderElection;
+    private final TaskScheduler taskScheduler;
+    private final Clock clock;
+
+    private final Object timerLock = new Object();
+    private ScheduledFuture<?> nextRun;
+    private LocalDate armedDeadline;
+
+    @Autowired
+    public ContractDeadlineJob(final ContractsService contractsService,
+                               final ContractDeadlineQueue deadlines,
+                               final LeaderElection leaderElection,
+                               final TaskScheduler taskScheduler) {
+        this(contractsService, deadlines, leaderElection, taskScheduler, Clock.systemDefaultZone());
+    }
+
+    ContractDeadlineJob(final ContractsService contractsService,
+                        final ContractDeadlineQueue deadlines,
+                        final LeaderElection leaderElection,
+                        final TaskScheduler taskScheduler,
+                        final Clock clock) {
+        this.contractsService = Objects.requireNonNull(contractsService, "Contracts service cannot be null");
+        this.deadlines = Objects.requireNonNull(deadlines, "Deadline queue cannot be null");
+        this.leaderElection = Objects.requireNonNull(leaderElection, "Leader election cannot be null");
+        this.taskScheduler = Objects.requireNonNull(taskScheduler, "Task scheduler cannot be null");
+        this.clock = Objects.requireNonNullElseGet(clock, Clock::systemDefaultZone);
+    }
+
+    /**
+     * Traite les échéances passées pendant l'arrêt de l'application, puis arme la minuterie.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        this.deadlines.subscribe(this::onDeadlineAdvanced);
+        this.processAllDueContracts();
+    }
+
+    /**
+     * Parcours de rattrapage : traite les contrats échus que la file ne connaîtrait pas.
+     */
+    @Scheduled(cron = "${imt.contracts.scheduler.reconciliation-cron:0 0 * * * *}")
+    public void reconcile() {
+        log.info("SCHEDULER - Parcours de rattrapage des contrats échus");
+        this.processAllDueContracts();
+    }
+
+    /**
+     * Déclenchement de la minuterie : applique les transitions des seuls contrats dont l'échéance est atteinte.
+     */
+    void processDueContracts() {
+        this.process(false);
+    }
+
+    /**
+     * Parcours complet : applique toutes les transitions dues, y compris celles que la file ne connaît pas.
+     */
+    void processAllDueContracts() {
+        this.process(true);
+    }
+
+    /**
+     * Retire de la file les échéances atteintes, applique les transitions dues puis réarme la minuterie.
+     * Les échéances atteintes sont retirées même si le traitement échoue, ou s'il revient au leader d'une autre
+     * instance : le parcours de rattrapage prendra le relais.
+     */
+    private synchronized void process(final boolean fullScan) {
+        final Set<UUID> due = this.deadlines.pollDue(LocalDate.now(this.clock));
+        final OptionalLong fencingToken = fullScan || !due.isEmpty()
+                ? SchedulerLeadership.acquire(this.leaderElection)
+                : OptionalLong.empty();
+        if (fencingToken.isEmpty()) {
+            this.arm();
+            return;
+        }
+
+        try {
+            final BooleanSupplier leaseHeld = SchedulerLeadership.fence(this.leaderElection, fencingToken.getAsLong());
+            final ContractTransitionsReport report = fullScan
+                    ? this.contractsService.applyDueTransitions(VehiclePartition.ALL, leaseHeld)
+                    : this.contractsService.applyDueTransitionsOf(due, leaseHeld);
+            log.info("SCHEDULER - {} échéances atteintes : {} contrats démarrés, {} en retard, {} annulés, {} appels au stockage",
+                    due.size(), report.getStartedContracts(), report.getLateContracts(), report.getCancelledContracts(),
+                    report.getStorageCalls());
+        } catch (ImtException e) {
+            log.error("SCHEDULER - Erreur lors du traitement", e);
+        }
+        this.arm();
+    }
+
+    private void onDeadlineAdvanced(final LocalDate deadline) {
+        synchronized (this.timerLock) {
+            if (this.armedDeadline == null || deadline.isBefore(this.armedDeadline)) {
+                this.arm();
+            }
+        }
+    }
+
+    private void arm() {
+        synchronized (this.timerLock) {
+            if (this.nextRun != null) {
+                this.nextRun.cancel(false);
+            }
+            this.nextRun = null;
+            this.armedDeadline = null;
+
+            this.deadlines.nextDeadline().ifPresent(deadline -> {
+                this.armedDeadline = deadline;
+                this.nextRun = this.taskScheduler.schedule(
+                        this::processDueContracts,
+                        deadline.atStartOfDay(this.clock.getZone()).toInstant()
+                );
+            });
+        }
+    }
+}
@@ -2,28 +2,89 @@ package com.imt.adaptersinscheduler.jobs;
 
 import com.imt.common.exceptions.ImtException;
 import com.imt.contracts.ContractsService;
+import com.imt.contracts.model.ContractTransitionsReport;
+import com.imt.contracts.model.VehiclePartition;
+import com.imt.contracts.scheduling.LeaderElection;
+import com.imt.contracts.scheduling.PartitionClaims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "imt.contracts.scheduler", havingValue = "POLLING", matchIfMissing = true)
 public class ContractJob {
 
     private final ContractsService contractsService;
+    private final LeaderElection leaderElection;
+    private final PartitionClaims partitionClaims;
 
     //@Scheduled(cron = "0 0 1 * * *") // Runs daily at 1 AM
     @Scheduled(cron = "*/10 * * * * *") // Toutes les 10 secondes pour les tests
     public void processOverdueContracts() {
-        log.info("SCHEDULER - Démarrage du traitement des contrats en retard");
+        if (partitionClaims.isPartitioned()) {
+            processClaimedPartitions();
+            return;
+        }
+
+        // Seul le leader traite les contrats : les autres instances passent leur tour
+        final OptionalLong fencingToken = SchedulerLeadership.acquire(leaderElection);
+        if (fencingToken.isEmpty()) {
+            return;
+        }
+
+        log.info("SCHEDULER - Démarrage des transitions des contrats (bail n°{})", fencingToken.getAsLong());
 
         try {
-            contractsService.updateOverdueContracts();
-            log.info("SCHEDULER - Fin du traitement des contrats");
+            ContractTransitionsReport report = contractsService.applyDueTransitions(
+                    VehiclePartition.ALL, SchedulerLeadership.fence(leaderElection, fencingToken.getAsLong()));
+            log.info("SCHEDULER - Fin des transitions des contrats : {} démarrés, {} en retard, {} annulés, {} appels au stockage, {} transitions/s",
+                    report.getStartedContracts(), report.getLateContracts(), report.getCancelledContracts(),
+                    report.getStorageCalls(), Math.round(report.getTransitionsPerSecond()));
         } catch (ImtException e) {
             log.error("SCHEDULER - Erreur lors du traitement", e);
         }
     }
+
+    /**
+     * Traite en parallèle, sur des threads virtuels, les partitions détenues par cette instance.
+     */
+    private void processClaimedPartitions() {
+        final List<VehiclePartition> claimed;
+        try {
+            claimed = partitionClaims.claim();
+        } catch (RuntimeException e) {
+            log.warn("SCHEDULER - Baux de partitions indisponibles, traitement ignoré : {}", e.getMessage());
+            return;
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        log.info("SCHEDULER - Transitions des contrats sur {} partitions sur {} ({} prises de partition)",
+                claimed.size(), partitionClaims.getPartitionCount(), partitionClaims.getHandoverCount());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            claimed.forEach(partition -> executor.execute(() -> processPartition(partition)));
+        }
+    }
+
+    private void processPartition(final VehiclePartition partition) {
+        try {
+            // Chaque lot n'est écrit que si la partition est toujours détenue par cette instance
+            ContractTransitionsReport report = contractsService.applyDueTransitions(partition, () -> partitionClaims.holds(partition));
+            log.info("SCHEDULER - Partition {} : {} démarrés, {} en retard, {} annulés, {} appels au stockage",
+                    partition.getIndex(), report.getStartedContracts(), report.getLateContracts(),
+                    report.getCancelledContracts(), report.getStorageCalls());
+        } catch (ImtException e) {
+            log.error("SCHEDULER - Erreur lors du traitement de la partition {}", partition.getIndex(), e);
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package com.imt.adaptersinscheduler.jobs;
+
+import com.imt.contracts.scheduling.LeaderElection;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.OptionalLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Prise du bail de leader avant un traitement planifié, commune aux différents modes de planification.
+ */
+@Slf4j
+final class SchedulerLeadership {
+
+    private SchedulerLeadership() {
+    }
+
+    /**
+     * Prend ou prolonge le bail de leader, et trace les changements de leader.
+     *
+     * @return le jeton de fencing si cette instance est leader, vide sinon (y compris si le stockage est injoignable)
+     */
+    static OptionalLong acquire(final LeaderElection leaderElection) {
+        final boolean wasLeader = leaderElection.isLeader();
+        final long handovers = leaderElection.getHandoverCount();
+
+        final OptionalLong fencingToken;
+        try {
+            fencingToken = leaderElection.acquireOrRenew();
+        } catch (RuntimeException e) {
+            log.warn("SCHEDULER - Bail de leader indisponible, traitement ignoré : {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+
+        if (leaderElection.getHandoverCount() != handovers) {
+            log.info("SCHEDULER - Cette instance devient leader (bail n°{}, {} prises de bail)",
+                    fencingToken.getAsLong(), leaderElection.getHandoverCount());
+        } else if (wasLeader && fencingToken.isEmpty()) {
+            log.info("SCHEDULER - Cette instance n'est plus leader");
+        }
+        return fencingToken;
+    }
+
+    /**
+     * Retourne la vérification du bail à faire avant chaque lot écrit au nom du leader : un leader dont le bail a
+     * été repris par une autre instance (pause, coupure réseau) s'arrête au lot suivant.
+     *
+     * @param fencingToken le jeton de fencing retourné par {@link #acquire(LeaderElection)}
+     */
+    static BooleanSupplier fence(final LeaderElection leaderElection, final long fencingToken) {
+        return () -> {
+            final boolean held = leaderElection.holds(fencingToken);
+            if (!held) {
+                log.warn("SCHEDULER - Bail n°{} perdu, traitement interrompu", fencingToken);
+            }
+            return held;
+        };
+    }
+}
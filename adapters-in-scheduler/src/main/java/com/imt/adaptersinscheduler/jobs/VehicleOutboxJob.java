@@ -0,0 +1,52 @@
+package com.imt.adaptersinscheduler.jobs;
+
+import com.imt.contracts.outbox.VehicleOutboxDispatcher;
+import com.imt.contracts.scheduling.LeaderElection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Traitement périodique de la boîte d'envoi des véhicules : annulation des contrats en attente des véhicules
+ * déclarés en panne. Comme pour les transitions des contrats, seul le leader traite la boîte d'envoi.
+ * Un véhicule en échec est repris au passage suivant ; un événement abandonné après trop d'échecs est signalé.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class VehicleOutboxJob {
+
+    private final VehicleOutboxDispatcher vehicleOutboxDispatcher;
+    private final LeaderElection leaderElection;
+
+    @Scheduled(fixedDelayString = "${imt.vehicles.outbox.poll-interval:1000}")
+    public void dispatchVehicleEvents() {
+        if (SchedulerLeadership.acquire(leaderElection).isEmpty()) {
+            return;
+        }
+
+        final long failures = vehicleOutboxDispatcher.getFailureCount();
+        final long deadLetters = vehicleOutboxDispatcher.getDeadLetterCount();
+        final int dispatched;
+        try {
+            dispatched = vehicleOutboxDispatcher.dispatch();
+        } catch (RuntimeException e) {
+            log.error("SCHEDULER - Erreur lors du traitement de la boîte d'envoi des véhicules", e);
+            return;
+        }
+
+        if (vehicleOutboxDispatcher.getFailureCount() != failures) {
+            log.warn("SCHEDULER - {} véhicules en panne en échec lors de ce passage",
+                    vehicleOutboxDispatcher.getFailureCount() - failures);
+        }
+        if (vehicleOutboxDispatcher.getDeadLetterCount() != deadLetters) {
+            log.error("SCHEDULER - {} événements de panne abandonnés après trop d'échecs",
+                    vehicleOutboxDispatcher.getDeadLetterCount() - deadLetters);
+        }
+        if (dispatched > 0) {
+            log.info("SCHEDULER - {} véhicules en panne traités, retard de la boîte d'envoi : {} ms",
+                    dispatched, vehicleOutboxDispatcher.getLag().toMillis());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.imt.adaptersinscheduler.jobs;
+
+import com.imt.common.exceptions.ImtException;
+import com.imt.contracts.ContractsService;
+import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractStateEnum;
+import com.imt.contracts.model.ContractTransitionsReport;
+import com.imt.contracts.model.VehiclePartition;
+import com.imt.contracts.scheduling.ContractDeadlineQueue;
+import com.imt.contracts.scheduling.LeaderElection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContractDeadlineJobTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 2, 1);
+
+    @Mock
+    private ContractsService contractsService;
+
+    @Mock
+    private LeaderElection leaderElection;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private ScheduledFuture<?> scheduledRun;
+
+    private ContractDeadlineQueue deadlines;
+    private ContractDeadlineJob job;
+
+    @BeforeEach
+    void setUp() throws ImtException {
+        deadlines = new ContractDeadlineQueue();
+        job = new ContractDeadlineJob(
+                contractsService,
+                deadlines,
+                leaderElection,
+                taskScheduler,
+                Clock.fixed(TODAY.atTime(10, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC)
+        );
+        lenient().when(leaderElection.acquireOrRenew()).thenReturn(OptionalLong.of(1));
+        lenient().when(contractsService.applyDueTransitions(eq(VehiclePartition.ALL), any(BooleanSupplier.class))).thenReturn(new ContractTransitionsReport(0, 0, 0, 1, Duration.ZERO));
+        lenient().doReturn(scheduledRun).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("start - Traite les échéances passées puis arme la minuterie sur la prochaine échéance")
+    void start_shouldProcessDueContractsAndArmNextDeadline() throws ImtException {
+        // Given
+        deadlines.rebuild(List.of(anInProgressContract(TODAY.minusDays(2)), anInProgressContract(TODAY.plusDays(4))));
+
+        // When
+        job.start();
+
+        // Then : l'échéance atteinte est retirée et une seule minuterie est armée au début du jour d'échéance
+        verify(contractsService).applyDueTransitions(eq(VehiclePartition.ALL), any(BooleanSupplier.class));
+        assertThat(deadlines.size()).isEqualTo(1);
+        verify(taskScheduler).schedule(any(Runnable.class), eq(TODAY.plusDays(5).atStartOfDay().toInstant(ZoneOffset.UTC)));
+    }
+
+    @Test
+    @DisplayName("Une écriture qui avance la prochaine échéance réarme la minuterie")
+    void write_shouldRearmTimer_whenNextDeadlineAdvances() {
+        // Given
+        deadlines.put(anInProgressContract(TODAY.plusDays(10)));
+        job.start();
+
+        // When
+        deadlines.put(anInProgressContract(TODAY.plusDays(3)));
+        deadlines.put(anInProgressContract(TODAY.plusDays(20)));
+
+        // Then
+        verify(scheduledRun).cancel(false);
+        verify(taskScheduler).schedule(any(Runnable.class), eq(TODAY.plusDays(4).atStartOfDay().toInstant(ZoneOffset.UTC)));
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Le déclenchement de la minuterie ne transitionne que les contrats dont l'échéance est atteinte")
+    void processDueContracts_shouldApplyPolledContractsOnly() throws ImtException {
+        // Given
+        Contract reached = anInProgressContract(TODAY.minusDays(1));
+        deadlines.put(reached);
+        deadlines.put(anInProgressContract(TODAY.plusDays(4)));
+        when(contractsService.applyDueTransitionsOf(eq(Set.of(reached.getIdentifier())), any(BooleanSupplier.class)))
+                .thenReturn(new ContractTransitionsReport(0, 1, 0, 2, Duration.ZERO));
+
+        // When
+        job.processDueContracts();
+
+        // Then : aucun parcours complet
+        verify(contractsService).applyDueTransitionsOf(eq(Set.of(reached.getIdentifier())), any(BooleanSupplier.class));
+        verify(contractsService, never()).applyDueTransitions(any(), any());
+        assertThat(deadlines.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Un déclenchement sans échéance atteinte ne sollicite ni le bail ni le stockage")
+    void processDueContracts_shouldSkip_whenNothingIsDue() {
+        // Given
+        deadlines.put(anInProgressContract(TODAY.plusDays(4)));
+
+        // When
+        job.processDueContracts();
+
+        // Then
+        verifyNoInteractions(contractsService, leaderElection);
+    }
+
+    @Test
+    @DisplayName("reconcile - Parcourt les contrats même sans échéance connue, sans armer de minuterie")
+    void reconcile_shouldScanWithoutDeadlines() throws ImtException {
+        // When
+        job.reconcile();
+
+        // Then
+        verify(contractsService).applyDueTransitions(eq(VehiclePartition.ALL), any(BooleanSupplier.class));
+        verifyNoInteractions(taskScheduler);
+    }
+
+    @Test
+    @DisplayName("Une instance non leader écarte les échéances atteintes sans traiter les contrats")
+    void processDueContracts_shouldSkip_whenNotLeader() throws ImtException {
+        // Given
+        when(leaderElection.acquireOrRenew()).thenReturn(OptionalLong.empty());
+        deadlines.put(anInProgressContract(TODAY.minusDays(1)));
+
+        // When
+        job.reconcile();
+
+        // Then
+        verify(contractsService, never()).applyDueTransitions(any(), any());
+        assertThat(deadlines.size()).isZero();
+    }
+
+    private static Contract anInProgressContract(LocalDate endDate) {
+        return Contract.builder()
+                .identifier(UUID.randomUUID())
+                .vehicleIdentifier(UUID.randomUUID())
+                .startDate(endDate.minusDays(7))
+                .endDate(endDate)
+                .state(ContractStateEnum.IN_PROGRESS)
+                .build();
+    }
+}
@@ -2,14 +2,29 @@ package com.imt.adaptersinscheduler.jobs;
 
 import com.imt.common.exceptions.ImtException;
 import com.imt.contracts.ContractsService;
+import com.imt.contracts.model.ContractTransitionsReport;
+import com.imt.contracts.model.VehiclePartition;
+import com.imt.contracts.scheduling.LeaderElection;
+import com.imt.contracts.scheduling.PartitionClaims;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class ContractJobTest {
@@ -17,17 +32,93 @@ public class ContractJobTest {
     @Mock
     private ContractsService contractsService;
 
+    @Mock
+    private LeaderElection leaderElection;
+
+    @Mock
+    private PartitionClaims partitionClaims;
+
     @InjectMocks
     private ContractJob contractJob;
 
     @Test
     @DisplayName("processOverdueContracts - Doit appeler le service pour traiter les contrats")
     void processOverdueContracts_shouldCallService() throws ImtException {
+        // Given
+        when(leaderElection.acquireOrRenew()).thenReturn(OptionalLong.of(1));
+        when(contractsService.applyDueTransitions(eq(VehiclePartition.ALL), any(BooleanSupplier.class)))
+                .thenReturn(new ContractTransitionsReport(0, 1, 2, 2, Duration.ZERO));
+
         // When
         contractJob.processOverdueContracts();
 
         // Then
         // On vérifie simplement que la méthode du domain a été appelée
-        verify(contractsService).updateOverdueContracts();
+        verify(contractsService).applyDueTransitions(eq(VehiclePartition.ALL), any(BooleanSupplier.class));
+    }
+
+    @Test
+    @DisplayName("processOverdueContracts - Chaque lot vérifie que le bail est toujours détenu avec le jeton obtenu")
+    void processOverdueContracts_shouldFenceEachChunkWithLeaseToken() throws ImtException {
+        // Given
+        when(leaderElection.acquireOrRenew()).thenReturn(OptionalLong.of(7));
+        when(leaderElection.holds(7)).thenReturn(false);
+        when(contractsService.applyDueTransitions(eq(VehiclePartition.ALL), any(BooleanSupplier.class)))
+                .thenReturn(new ContractTransitionsReport(0, 0, 0, 1, Duration.ZERO));
+
+        // When
+        contractJob.processOverdueContracts();
+
+        // Then
+        ArgumentCaptor<BooleanSupplier> leaseHeld = ArgumentCaptor.forClass(BooleanSupplier.class);
+        verify(contractsService).applyDueTransitions(eq(VehiclePartition.ALL), leaseHeld.capture());
+        assertThat(leaseHeld.getValue().getAsBoolean()).isFalse();
+        verify(leaderElection).holds(7);
+    }
+
+    @Test
+    @DisplayName("processOverdueContracts - Ne traite rien si une autre instance est leader")
+    void processOverdueContracts_shouldSkip_whenNotLeader() throws ImtException {
+        // Given
+        when(leaderElection.acquireOrRenew()).thenReturn(OptionalLong.empty());
+
+        // When
+        contractJob.processOverdueContracts();
+
+        // Then
+        verify(contractsService, never()).applyDueTransitions(any(), any());
+    }
+
+    @Test
+    @DisplayName("processOverdueContracts - Ne traite rien si le bail de leader est injoignable")
+    void processOverdueContracts_shouldSkip_whenLeaseStorageFails() throws ImtException {
+        // Given
+        when(leaderElection.acquireOrRenew()).thenThrow(new IllegalStateException("Base injoignable"));
+
+        // When
+        contractJob.processOverdueContracts();
+
+        // Then
+        verify(contractsService, never()).applyDueTransitions(any(), any());
+    }
+
+    @Test
+    @DisplayName("processOverdueContracts - En mode partitionné, traite chacune des partitions détenues")
+    void processOverdueContracts_shouldProcessEachClaimedPartition() throws ImtException {
+        // Given
+        List<VehiclePartition> claimed = List.of(new VehiclePartition(0, 4), new VehiclePartition(2, 4));
+        when(partitionClaims.isPartitioned()).thenReturn(true);
+        when(partitionClaims.claim()).thenReturn(claimed);
+        when(contractsService.applyDueTransitions(any(VehiclePartition.class), any(BooleanSupplier.class)))
+                .thenReturn(new ContractTransitionsReport(0, 0, 0, 1, Duration.ZERO));
+
+        // When
+        contractJob.processOverdueContracts();
+
+        // Then : chaque partition est traitée, sans passer par l'élection du leader
+        verify(contractsService).applyDueTransitions(eq(claimed.get(0)), any(BooleanSupplier.class));
+        verify(contractsService).applyDueTransitions(eq(claimed.get(1)), any(BooleanSupplier.class));
+        verify(contractsService, never()).applyDueTransitions(eq(VehiclePartition.ALL), any());
+        verify(leaderElection, never()).acquireOrRenew();
     }
 }
@@ -0,0 +1,69 @@
+package com.imt.adaptersinscheduler.jobs;
+
+import com.imt.contracts.outbox.VehicleOutboxDispatcher;
+import com.imt.contracts.scheduling.LeaderElection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.OptionalLong;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class VehicleOutboxJobTest {
+
+    @Mock
+    private VehicleOutboxDispatcher vehicleOutboxDispatcher;
+
+    @Mock
+    private LeaderElection leaderElection;
+
+    @InjectMocks
+    private VehicleOutboxJob vehicleOutboxJob;
+
+    @Test
+    @DisplayName("dispatchVehicleEvents - Doit traiter la boîte d'envoi des véhicules")
+    void dispatchVehicleEvents_shouldDispatch() {
+        // Given
+        when(leaderElection.acquireOrRenew()).thenReturn(OptionalLong.of(1));
+
+        // When
+        vehicleOutboxJob.dispatchVehicleEvents();
+
+        // Then
+        verify(vehicleOutboxDispatcher).dispatch();
+    }
+
+    @Test
+    @DisplayName("dispatchVehicleEvents - Ne traite rien si une autre instance est leader")
+    void dispatchVehicleEvents_shouldSkip_whenNotLeader() {
+        // Given
+        when(leaderElection.acquireOrRenew()).thenReturn(OptionalLong.empty());
+
+        // When
+        vehicleOutboxJob.dispatchVehicleEvents();
+
+        // Then
+        verify(vehicleOutboxDispatcher, never()).dispatch();
+    }
+
+    @Test
+    @DisplayName("dispatchVehicleEvents - Une erreur du stockage n'interrompt pas la planification")
+    void dispatchVehicleEvents_shouldNotPropagate_whenStorageFails() {
+        // Given
+        when(leaderElection.acquireOrRenew()).thenReturn(OptionalLong.of(1));
+        when(vehicleOutboxDispatcher.dispatch()).thenThrow(new IllegalStateException("Base injoignable"));
+
+        // When
+        vehicleOutboxJob.dispatchVehicleEvents();
+
+        // Then
+        verify(vehicleOutboxDispatcher).dispatch();
+    }
+}
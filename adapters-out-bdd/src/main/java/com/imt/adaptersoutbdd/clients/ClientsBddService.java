@@ -3,13 +3,24 @@ package com.imt.adaptersoutbdd.clients;
 import com.imt.adaptersoutbdd.clients.repositories.ClientRepository;
 import com.imt.adaptersoutbdd.clients.repositories.entities.ClientEntity;
 import com.imt.adaptersoutbdd.clients.repositories.mappers.ClientBddMapper;
+import com.imt.adaptersoutbdd.common.versioning.ConditionalUpdate;
 import com.imt.clients.ClientStorageProvider;
 import com.imt.clients.model.Client;
+import com.imt.clients.model.ClientUnicityConflict;
+import com.imt.common.exceptions.ConflictException;
+import com.imt.common.exceptions.VersionConflictException;
+import com.imt.common.model.FieldChanges;
 import lombok.AllArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -21,8 +32,11 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class ClientsBddService implements ClientStorageProvider {
 
+    private static final String VERSION_CONFLICT_MESSAGE = "Le client a été modifié entre-temps, veuillez réessayer.";
+
     private final ClientRepository repository;
     private final ClientBddMapper mapper;
+    private final MongoTemplate mongoTemplate;
 
     @Override
     public boolean exist(String id) {
@@ -44,13 +58,46 @@ public class ClientsBddService implements ClientStorageProvider {
     }
 
     @Override
-    public Client save(Client client) {
+    public Client save(Client client) throws ConflictException {
         ClientEntity entityToSave = mapper.to(client);
-        ClientEntity savedEntity = repository.save(entityToSave);
+        ClientEntity savedEntity;
+        try {
+            savedEntity = repository.save(entityToSave);
+        } catch (DuplicateKeyException e) {
+            // Les index uniques ont refusé l'écriture : on retrouve la règle enfreinte par le nom de l'index
+            throw new ConflictException(violatedRule(e).describe(client));
+        } catch (OptimisticLockingFailureException e) {
+            // La version lue n'est plus celle du document : un autre écrivain est passé entre-temps
+            throw new VersionConflictException(VERSION_CONFLICT_MESSAGE);
+        }
 
         return mapper.from(savedEntity);
     }
 
+    @Override
+    public Optional<Client> applyChanges(Client client, FieldChanges changes) throws ConflictException {
+        if (changes.isEmpty()) {
+            return get(client.getId());
+        }
+
+        ClientEntity updatedEntity;
+        try {
+            updatedEntity = ConditionalUpdate.apply(mongoTemplate, ClientEntity.class, client.getId(), client.getVersion(), mapper.toUpdate(changes));
+        } catch (DuplicateKeyException e) {
+            throw new ConflictException(violatedRule(e).describe(client));
+        }
+
+        if (updatedEntity == null) {
+            // Aucun document dans la version lue : soit il a été modifié entre-temps, soit il a été supprimé
+            if (repository.existsById(client.getId())) {
+                throw new VersionConflictException(VERSION_CONFLICT_MESSAGE);
+            }
+            return Optional.empty();
+        }
+
+        return Optional.of(mapper.from(updatedEntity));
+    }
+
     @Override
     public void delete(String id) {
         repository.deleteById(id);
@@ -69,4 +116,38 @@ public class ClientsBddService implements ClientStorageProvider {
         return repository.findByLastNameAndFirstNameAndDateOfBirth(lastName, firstName, birthDate)
                 .map(mapper::from);
     }
+
+    @Override
+    public Collection<ClientUnicityConflict> findUnicityConflicts(Client client) {
+        List<ClientEntity> matches = repository.findUnicityConflicts(
+                client.getId(),
+                client.getLastName(),
+                client.getFirstName(),
+                client.getDateOfBirth(),
+                client.getLicenseNumber()
+        );
+
+        // Un même client peut enfreindre les deux règles : on rapporte chacune d'elles
+        List<ClientUnicityConflict> conflicts = new ArrayList<>(matches.size());
+        for (ClientEntity match : matches) {
+            if (Objects.equals(match.getLastName(), client.getLastName())
+                    && Objects.equals(match.getFirstName(), client.getFirstName())
+                    && Objects.equals(match.getDateOfBirth(), client.getDateOfBirth())) {
+                conflicts.add(new ClientUnicityConflict(match.getId(), ClientUnicityConflict.Rule.IDENTITY));
+            }
+            if (Objects.equals(match.getLicenseNumber(), client.getLicenseNumber())) {
+                conflicts.add(new ClientUnicityConflict(match.getId(), ClientUnicityConflict.Rule.LICENSE_NUMBER));
+            }
+        }
+
+        return conflicts;
+    }
+
+    private static ClientUnicityConflict.Rule violatedRule(DuplicateKeyException e) {
+        String message = Objects.requireNonNullElse(e.getMessage(), "");
+
+        return message.contains(ClientEntity.IDENTITY_INDEX)
+                ? ClientUnicityConflict.Rule.IDENTITY
+                : ClientUnicityConflict.Rule.LICENSE_NUMBER;
+    }
 }
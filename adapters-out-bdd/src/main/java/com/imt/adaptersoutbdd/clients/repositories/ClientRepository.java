@@ -2,8 +2,10 @@ package com.imt.adaptersoutbdd.clients.repositories;
 
 import com.imt.adaptersoutbdd.clients.repositories.entities.ClientEntity;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 public interface ClientRepository extends MongoRepository<ClientEntity, String> {
@@ -27,4 +29,26 @@ public interface ClientRepository extends MongoRepository<ClientEntity, String>
      * @return
      */
     Optional<ClientEntity> findByLastNameAndFirstNameAndDateOfBirth(String lastName, String firstName, LocalDate dateOfBirth);
+
+    /**
+     * Recherche en une seule requête les autres clients partageant l'identité ou le numéro de permis donnés.
+     * Seuls les champs nécessaires pour déterminer la règle enfreinte sont projetés.
+     * db.clients.find({ _id: { $ne: ? }, $or: [ { lastName: ?, firstName: ?, dateOfBirth: ? }, { licenseNumber: ? } ] })
+     *
+     * @param excludedId    identifiant du client vérifié, exclu des résultats
+     * @param lastName      nom du client
+     * @param firstName     prénom du client
+     * @param dateOfBirth   date de naissance du client
+     * @param licenseNumber numéro de permis du client
+     * @return les clients en conflit, réduits à leurs champs d'unicité
+     */
+    @Query(
+            value = "{ '_id': { '$ne': ?0 }, '$or': [ { 'lastName': ?1, 'firstName': ?2, 'dateOfBirth': ?3 }, { 'licenseNumber': ?4 } ] }",
+            fields = "{ 'lastName': 1, 'firstName': 1, 'dateOfBirth': 1, 'licenseNumber': 1 }"
+    )
+    List<ClientEntity> findUnicityConflicts(String excludedId,
+                                            String lastName,
+                                            String firstName,
+                                            LocalDate dateOfBirth,
+                                            String licenseNumber);
 }
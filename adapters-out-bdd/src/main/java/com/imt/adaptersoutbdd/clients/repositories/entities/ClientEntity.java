@@ -5,6 +5,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
@@ -12,19 +15,31 @@ import java.time.LocalDate;
 /**
  * Entité MongoDB représentant un client.
  * Stockée dans la collection "clients".
+ * Les règles d'unicité (identité et numéro de permis) sont garanties par des index uniques créés au démarrage.
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "clients")
+@CompoundIndex(name = ClientEntity.IDENTITY_INDEX, def = "{ 'lastName': 1, 'firstName': 1, 'dateOfBirth': 1 }", unique = true)
 public class ClientEntity {
+    public static final String IDENTITY_INDEX = "unique_client_identity";
+    public static final String LICENSE_NUMBER_INDEX = "unique_client_license_number";
+
     @Id
     private String id;
 
     private String lastName;
     private String firstName;
     private LocalDate dateOfBirth;
+    @Indexed(name = LICENSE_NUMBER_INDEX, unique = true)
     private String licenseNumber;
     private String address;
+
+    /**
+     * Version de l'enregistrement : toute écriture d'un document déjà enregistré est conditionnée à cette valeur.
+     */
+    @Version
+    private Long version;
 }
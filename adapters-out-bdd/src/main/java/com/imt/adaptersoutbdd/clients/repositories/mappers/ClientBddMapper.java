@@ -19,6 +19,7 @@ public class ClientBddMapper extends AbstractBddMapper<Client, ClientEntity> {
                 .dateOfBirth(input.getDateOfBirth())
                 .licenseNumber(input.getLicenseNumber())
                 .address(input.getAddress())
+                .version(input.getVersion())
                 .build();
     }
 
@@ -33,6 +34,7 @@ public class ClientBddMapper extends AbstractBddMapper<Client, ClientEntity> {
         entity.setDateOfBirth(object.getDateOfBirth());
         entity.setLicenseNumber(object.getLicenseNumber());
         entity.setAddress(object.getAddress());
+        entity.setVersion(object.getVersion());
         return entity;
     }
 }
@@ -1,5 +1,10 @@
 package com.imt.adaptersoutbdd.common.model.mappers;
 
+import com.imt.common.model.FieldChanges;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.UUID;
+
 /**
  * Classe abstraite pour les mappers entre objets métier et entités de base de données.
  * Définit le contrat pour la conversion bidirectionnelle.
@@ -17,4 +22,25 @@ public abstract class AbstractBddMapper<T, E> {
      * Convertit un objet métier en entité de base de données.
      */
     public abstract E to(final T object);
+
+    /**
+     * Convertit les champs modifiés d'un objet métier en un $set des seules propriétés correspondantes de l'entité.
+     */
+    public Update toUpdate(final FieldChanges changes) {
+        final Update update = new Update();
+        changes.asMap().forEach((field, value) -> update.set(this.toEntityProperty(field), this.toEntityValue(value)));
+        return update;
+    }
+
+    /**
+     * Retourne la propriété de l'entité correspondant à une propriété de l'objet métier (même nom par défaut).
+     */
+    protected String toEntityProperty(final String field) {
+        return field;
+    }
+
+    private Object toEntityValue(final Object value) {
+        // Les identifiants sont stockés sous forme de chaînes
+        return value instanceof UUID uuid ? uuid.toString() : value;
+    }
 }
@@ -0,0 +1,46 @@
+package com.imt.adaptersoutbdd.common.versioning;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Mise à jour partielle et conditionnelle d'un document versionné.
+ * Un seul findAndModify filtre sur l'identifiant et la version lue, applique le $set des champs modifiés,
+ * incrémente la version et retourne le document à jour : aucune relecture ni réécriture du document complet.
+ */
+public final class ConditionalUpdate {
+
+    public static final String VERSION_FIELD = "version";
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private ConditionalUpdate() {
+    }
+
+    /**
+     * Applique la mise à jour si le document existe toujours dans la version attendue.
+     *
+     * @param mongoTemplate   l'accès à la base
+     * @param entityClass     l'entité du document
+     * @param id              l'identifiant du document
+     * @param expectedVersion la version lue avant modification
+     * @param update          le $set des champs modifiés
+     * @return le document à jour, ou null si aucun document ne correspond (supprimé, ou version différente)
+     */
+    public static <E> E apply(final MongoTemplate mongoTemplate,
+                              final Class<E> entityClass,
+                              final String id,
+                              final Long expectedVersion,
+                              final Update update) {
+        return mongoTemplate.findAndModify(
+                Query.query(where("id").is(id).and(VERSION_FIELD).is(expectedVersion)),
+                update.inc(VERSION_FIELD, 1),
+                RETURN_NEW,
+                entityClass
+        );
+    }
+}
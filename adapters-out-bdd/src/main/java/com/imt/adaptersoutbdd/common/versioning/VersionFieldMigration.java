@@ -0,0 +1,54 @@
+package com.imt.adaptersoutbdd.common.versioning;
+
+import com.imt.adaptersoutbdd.clients.repositories.entities.ClientEntity;
+import com.imt.adaptersoutbdd.contracts.repositories.entities.ContractEntity;
+import com.imt.adaptersoutbdd.vehicle.repositories.entities.VehicleEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Initialisation du champ "version" sur les documents enregistrés avant le verrouillage optimiste.
+ * Spring Data considère un document sans version comme nouveau et tente de l'insérer : sans cette migration, la
+ * première mise à jour d'un ancien document échouerait sur la clé primaire. Exécutée au démarrage, avant la
+ * reconstruction de l'index de disponibilité ; sans effet une fois tous les documents versionnés.
+ */
+@Slf4j
+@Component(VersionFieldMigration.BEAN_NAME)
+public class VersionFieldMigration implements InitializingBean {
+
+    public static final String BEAN_NAME = "versionFieldMigration";
+
+    static final String VERSION_FIELD = ConditionalUpdate.VERSION_FIELD;
+
+    private static final List<Class<?>> VERSIONED_ENTITIES = List.of(ClientEntity.class, VehicleEntity.class, ContractEntity.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public VersionFieldMigration(final MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        for (final Class<?> entity : VERSIONED_ENTITIES) {
+            final long migrated = this.mongoTemplate.updateMulti(
+                    Query.query(where(VERSION_FIELD).exists(false)),
+                    Update.update(VERSION_FIELD, 0L),
+                    entity
+            ).getModifiedCount();
+
+            if (migrated > 0) {
+                log.info("BDD - Version initialisée sur {} document(s) de la collection {}",
+                        migrated, this.mongoTemplate.getCollectionName(entity));
+            }
+        }
+    }
+}
@@ -1,24 +1,58 @@
 package com.imt.adaptersoutbdd.contracts;
 
+import com.imt.adaptersoutbdd.common.versioning.ConditionalUpdate;
 import com.imt.adaptersoutbdd.contracts.repositories.ContractRepository;
+import com.imt.adaptersoutbdd.contracts.repositories.entities.ContractEntity;
 import com.imt.adaptersoutbdd.contracts.repositories.mappers.ContractBddMapper;
+import com.imt.common.exceptions.ConflictException;
+import com.imt.common.exceptions.VersionConflictException;
+import com.imt.common.model.FieldChanges;
 import com.imt.contracts.ContractStorageProvider;
 import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractCursor;
 import com.imt.contracts.model.ContractStateEnum;
+import com.imt.contracts.model.ContractTransition;
+import com.imt.contracts.model.OccupancyPeriod;
+import com.imt.contracts.model.VehiclePartition;
 import lombok.AllArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
 public class ContractsBddService implements ContractStorageProvider {
 
+    private static final String VERSION_CONFLICT_MESSAGE = "Le contrat a été modifié entre-temps, veuillez réessayer.";
+
+    private static final String DUE_DATE_FIELD = "dueDate";
+
+    /**
+     * Champs du contrat dont dépend son échéance.
+     */
+    private static final List<String> DUE_DATE_SOURCES = List.of("state", "startDate", "endDate");
+
     private final ContractRepository contractRepository;
     private final ContractBddMapper contractBddMapper;
+    private final MongoTemplate mongoTemplate;
 
     @Override
     public boolean exist(UUID identifier) {
@@ -69,7 +103,7 @@ public class ContractsBddService implements ContractStorageProvider {
     @Override
     public Collection<Contract> findByVehicleIdentifierBetween(UUID vehicleIdentifier, LocalDate startDate, LocalDate endDate) {
         if (vehicleIdentifier == null || startDate == null || endDate == null) {
-            return java.util.List.of();
+            return List.of();
         }
 
         return contractRepository
@@ -84,30 +118,176 @@ public class ContractsBddService implements ContractStorageProvider {
     }
 
     @Override
-    public Contract save(Contract contract) {
-        return Optional.ofNullable(contract)
-                .map(contractBddMapper::to)
-                .map(contractRepository::save)
+    public Optional<Contract> findFirstOverlappingContract(UUID vehicleIdentifier,
+                                                           LocalDate startDate,
+                                                           LocalDate endDate,
+                                                           UUID excludedContractIdentifier) {
+        if (vehicleIdentifier == null || startDate == null || endDate == null) {
+            return Optional.empty();
+        }
+
+        // Chevauchement (bornes incluses) : le contrat commence avant la fin demandée et finit après le début demandé
+        return contractRepository
+                .findFirstByVehicleIdAndIdNotAndStateInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                        vehicleIdentifier.toString(),
+                        Optional.ofNullable(excludedContractIdentifier).map(UUID::toString).orElse(""),
+                        ContractStateEnum.lockingStates(),
+                        endDate,
+                        startDate
+                )
+                .map(contractBddMapper::from);
+    }
+
+    @Override
+    public Collection<Contract> findLockingContractsBetween(UUID vehicleIdentifier, LocalDate startDate, LocalDate endDate) {
+        if (vehicleIdentifier == null || startDate == null || endDate == null) {
+            return List.of();
+        }
+
+        return contractRepository
+                .findByVehicleIdAndStateInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                        vehicleIdentifier.toString(),
+                        ContractStateEnum.lockingStates(),
+                        endDate,
+                        startDate
+                )
+                .stream()
                 .map(contractBddMapper::from)
-                .orElse(null);
+                .toList();
     }
 
     @Override
-    public void delete(UUID identifier) {
-        Optional.ofNullable(identifier)
-                .map(UUID::toString)
-                .ifPresent(contractRepository::deleteById);
+    public List<OccupancyPeriod> findBusyPeriods(UUID vehicleIdentifier, LocalDate startDate, LocalDate endDate) {
+        if (vehicleIdentifier == null || startDate == null || endDate == null) {
+            return List.of();
+        }
+
+        return OccupancyPeriod.mergeBusy(this.findLockingContractsBetween(vehicleIdentifier, startDate, endDate), startDate, endDate);
     }
 
     @Override
-    public Collection<Contract> findOverdueContracts(LocalDate referenceDate) {
-        // On cherche ceux qui sont "EN COURS" mais dont la date de fin est dépassée
-        return contractRepository.findByStateAndEndDateBefore(ContractStateEnum.IN_PROGRESS, referenceDate)
+    public Set<UUID> findOccupiedVehicles(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            return Set.of();
+        }
+
+        return contractRepository
+                .findVehicleIdsByStateInAndPeriod(ContractStateEnum.lockingStates(), endDate, startDate)
+                .stream()
+                .map(ContractEntity::getVehicleId)
+                .filter(Objects::nonNull)
+                .map(UUID::fromString)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Collection<Contract> findByStates(Collection<ContractStateEnum> states) {
+        if (states == null || states.isEmpty()) {
+            return List.of();
+        }
+
+        return contractRepository.findByStateIn(states)
+                .stream()
+                .map(contractBddMapper::from)
+                .toList();
+    }
+
+    @Override
+    public Collection<Contract> findByVehicleIdentifiers(Collection<UUID> vehicleIdentifiers) {
+        if (vehicleIdentifiers == null || vehicleIdentifiers.isEmpty()) {
+            return List.of();
+        }
+
+        return contractRepository.findByVehicleIdIn(
+                        vehicleIdentifiers.stream()
+                                .map(UUID::toString)
+                                .toList()
+                )
+                .stream()
+                .map(contractBddMapper::from)
+                .toList();
+    }
+
+    @Override
+    public Collection<Contract> findByIdentifiers(Collection<UUID> identifiers) {
+        if (identifiers == null || identifiers.isEmpty()) {
+            return List.of();
+        }
+
+        return contractRepository.findAllById(
+                        identifiers.stream()
+                                .map(UUID::toString)
+                                .toList()
+                )
                 .stream()
                 .map(contractBddMapper::from)
                 .toList();
     }
 
+    @Override
+    public Contract save(Contract contract) throws ConflictException {
+        try {
+            return Optional.ofNullable(contract)
+                    .map(contractBddMapper::to)
+                    .map(contractRepository::save)
+                    .map(contractBddMapper::from)
+                    .orElse(null);
+        } catch (OptimisticLockingFailureException e) {
+            // La version lue n'est plus celle du document : un autre écrivain est passé entre-temps
+            throw new VersionConflictException(VERSION_CONFLICT_MESSAGE);
+        }
+    }
+
+    @Override
+    public Optional<Contract> applyChanges(Contract contract, FieldChanges changes) throws ConflictException {
+        if (changes.isEmpty()) {
+            return get(contract.getIdentifier());
+        }
+
+        String id = contract.getIdentifier().toString();
+        Update update = contractBddMapper.toUpdate(changes);
+        if (DUE_DATE_SOURCES.stream().anyMatch(changes::contains)) {
+            // L'échéance est déduite de l'état et des dates : elle suit toute modification de l'un d'eux
+            setDueDate(update, contract.dueDate());
+        }
+        ContractEntity updated = ConditionalUpdate.apply(
+                mongoTemplate, ContractEntity.class, id, contract.getVersion(), update
+        );
+
+        if (updated == null) {
+            // Aucun document dans la version lue : soit il a été modifié entre-temps, soit il a été supprimé
+            if (contractRepository.existsById(id)) {
+                throw new VersionConflictException(VERSION_CONFLICT_MESSAGE);
+            }
+            return Optional.empty();
+        }
+
+        return Optional.of(contractBddMapper.from(updated));
+    }
+
+    @Override
+    public Collection<Contract> saveAll(Collection<Contract> contracts) {
+        if (contracts == null || contracts.isEmpty()) {
+            return List.of();
+        }
+
+        return contractRepository.saveAll(
+                        contracts.stream()
+                                .map(contractBddMapper::to)
+                                .toList()
+                )
+                .stream()
+                .map(contractBddMapper::from)
+                .toList();
+    }
+
+    @Override
+    public void delete(UUID identifier) {
+        Optional.ofNullable(identifier)
+                .map(UUID::toString)
+                .ifPresent(contractRepository::deleteById);
+    }
+
     @Override
     public Collection<Contract> findPendingContractsByVehicleId(UUID vehicleId) {
         // On cherche ceux qui sont "EN ATTENTE" pour ce véhicule
@@ -116,6 +296,158 @@ public class ContractsBddService implements ContractStorageProvider {
                 .map(contractBddMapper::from)
                 .toList();
     }
-}
 
+    @Override
+    public Stream<Contract> streamDueContracts(LocalDate referenceDate, VehiclePartition partition, ContractCursor after) {
+        if (referenceDate == null) {
+            return Stream.empty();
+        }
+
+        List<Criteria> bounds = new ArrayList<>();
+        if (partition != null && !partition.isWhole()) {
+            Criteria vehicleRange = Criteria.where("vehicleId").gte(partition.lowerBound());
+            partition.upperBound().ifPresent(vehicleRange::lt);
+            bounds.add(vehicleRange);
+        }
+        if (after != null) {
+            // Pagination par clé : strictement après (dueDate, id) du dernier contrat lu
+            bounds.add(new Criteria().orOperator(
+                    Criteria.where(DUE_DATE_FIELD).gt(after.getDueDate()),
+                    Criteria.where(DUE_DATE_FIELD).is(after.getDueDate()).and("id").gt(after.getContractIdentifier().toString())
+            ));
+        }
+
+        Criteria due = Criteria.where(DUE_DATE_FIELD).lte(referenceDate);
+        if (!bounds.isEmpty()) {
+            due.andOperator(bounds);
+        }
+
+        Query query = Query.query(due).with(Sort.by(Sort.Direction.ASC, DUE_DATE_FIELD, "id"));
+        if (partition != null && !partition.isWhole()) {
+            // Chaque instance ne lit que les échéances de sa plage de véhicules, au prix d'un tri de cette seule plage
+            query.withHint(ContractEntity.VEHICLE_DUE_DATE_INDEX);
+        }
+
+        // Curseur du serveur : les documents sont lus par paquets au fil de la consommation du flux
+        return mongoTemplate.stream(query, ContractEntity.class)
+                .map(contractBddMapper::from);
+    }
+
+    @Override
+    public Collection<Contract> applyTransitions(Collection<ContractTransition> transitions) {
+        if (transitions == null || transitions.isEmpty()) {
+            return List.of();
+        }
+
+        // Une seule écriture groupée : chaque transition est conditionnée à la version lue du contrat, comme
+        // ConditionalUpdate ; un contrat modifié entre-temps (dates, état) n'est pas transitionné
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ContractEntity.class);
+        transitions.forEach(transition -> {
+            Contract transitioned = transition.applied();
+            Update update = new Update()
+                    .set("state", transition.getTargetState())
+                    .inc(ConditionalUpdate.VERSION_FIELD, 1);
+            setDueDate(update, transitioned.dueDate());
+            bulk.updateOne(
+                    Query.query(Criteria.where("id").is(transition.getContract().getIdentifier().toString())
+                            .and("state").is(transition.getSourceState())
+                            .and(ConditionalUpdate.VERSION_FIELD).is(transition.getContract().getVersion())),
+                    update
+            );
+        });
+        int modified = bulk.execute().getModifiedCount();
+
+        List<Contract> applied = transitions.stream().map(ContractTransition::applied).toList();
+        if (modified == transitions.size()) {
+            return applied;
+        }
+        if (modified == 0) {
+            return List.of();
+        }
+
+        // Écriture partielle : seul un document enregistré exactement dans la version produite par cette écriture
+        // porte la transition ; un contrat passé dans l'état cible par un autre écrivain a une autre version
+        Map<String, ContractEntity> stored = contractRepository.findAllById(
+                        applied.stream().map(contract -> contract.getIdentifier().toString()).toList()
+                )
+                .stream()
+                .collect(Collectors.toMap(ContractEntity::getId, Function.identity()));
+        return applied.stream()
+                .filter(contract -> {
+                    ContractEntity entity = stored.get(contract.getIdentifier().toString());
+                    return entity != null
+                            && entity.getState() == contract.getState()
+                            && Objects.equals(entity.getVersion(), contract.getVersion());
+                })
+                .toList();
+    }
+
+    @Override
+    public Set<UUID> findVehiclesHeldByLateContracts(Collection<UUID> vehicleIds, LocalDate referenceDate) {
+        if (vehicleIds == null || vehicleIds.isEmpty() || referenceDate == null) {
+            return Set.of();
+        }
+
+        return contractRepository.findVehicleIdsHeldByLateContracts(
+                        vehicleIds.stream().map(UUID::toString).toList(),
+                        referenceDate
+                )
+                .stream()
+                .map(ContractEntity::getVehicleId)
+                .filter(Objects::nonNull)
+                .map(UUID::fromString)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Collection<UUID> cancelPendingContractsByVehicleId(UUID vehicleId) {
+        if (vehicleId == null) {
+            return List.of();
+        }
+
+        // updateMany ne retourne pas les documents modifiés : seuls les identifiants des candidats sont lus au préalable
+        List<String> pendingIds = contractRepository.findIdsByVehicleIdAndState(vehicleId.toString(), ContractStateEnum.PENDING)
+                .stream()
+                .map(ContractEntity::getId)
+                .toList();
+
+        return transition(pendingIds, ContractStateEnum.PENDING, ContractStateEnum.CANCELLED)
+                .stream()
+                .map(UUID::fromString)
+                .toList();
+    }
+
+    /**
+     * Fait passer en une seule écriture groupée les contrats donnés de l'état {@code from} à l'état {@code to},
+     * en incrémentant leur version. Un contrat qui a quitté l'état {@code from} entre-temps n'est pas modifié.
+     *
+     * @return les identifiants des contrats effectivement modifiés
+     */
+    private List<String> transition(List<String> ids, ContractStateEnum from, ContractStateEnum to) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        long modified = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("id").in(ids).and("state").is(from)),
+                setDueDate(new Update().set("state", to).inc(ConditionalUpdate.VERSION_FIELD, 1), to.dueDate(null, null)),
+                ContractEntity.class
+        ).getModifiedCount();
 
+        if (modified == ids.size()) {
+            return ids;
+        }
+
+        // Certains contrats ont changé d'état entre la lecture et l'écriture : seuls ceux désormais dans l'état cible sont retenus
+        return contractRepository.findAllById(ids)
+                .stream()
+                .filter(entity -> entity.getState() == to)
+                .map(ContractEntity::getId)
+                .toList();
+    }
+
+    private static Update setDueDate(Update update, Optional<LocalDate> dueDate) {
+        // Un contrat sans échéance n'a pas de champ dueDate : il reste hors de l'index des échéances
+        return dueDate.map(day -> update.set(DUE_DATE_FIELD, day)).orElseGet(() -> update.unset(DUE_DATE_FIELD));
+    }
+}
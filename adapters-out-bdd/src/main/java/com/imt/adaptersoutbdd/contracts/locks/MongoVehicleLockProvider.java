@@ -0,0 +1,203 @@
+package com.imt.adaptersoutbdd.contracts.locks;
+
+import com.imt.common.exceptions.ConflictException;
+import com.mongodb.client.result.UpdateResult;
+import com.imt.contracts.locks.StripedVehicleLockProvider;
+import com.imt.contracts.locks.VehicleLock;
+import com.imt.contracts.locks.VehicleLockProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Verrous par véhicule partagés entre plusieurs instances de l'application, sous forme de baux en base.
+ * Chaque véhicule verrouillé possède un document dans la collection {@value #COLLECTION} (identifiant du véhicule,
+ * détenteur, échéance du bail). L'acquisition est un upsert conditionné à l'expiration du bail précédent : si un
+ * bail valide existe, l'index unique sur _id refuse l'insertion et l'acquisition est retentée jusqu'au délai
+ * d'attente. Un bail expiré (instance arrêtée en cours de réservation) est simplement repris.
+ * <p>
+ * Les échéances sont calculées et comparées avec l'heure du serveur de base de données ({@code $$NOW}), comme pour
+ * les baux du planificateur : l'écart entre les horloges des instances n'a aucun effet sur la validité des baux.
+ * Chaque acquisition a son propre détenteur, jamais réutilisé : avant l'écriture du contrat,
+ * {@link VehicleLock#ensureHeld()} prolonge les baux à condition qu'ils aient toujours ce détenteur, et refuse
+ * l'écriture si une autre réservation les a repris pendant une pause de l'instance.
+ * <p>
+ * Les réservations concurrentes d'une même instance sont d'abord sérialisées localement par bandes, pour ne pas
+ * solliciter la base inutilement.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "imt.contracts.booking-lock", havingValue = "STORAGE")
+public class MongoVehicleLockProvider implements VehicleLockProvider {
+
+    static final String COLLECTION = "vehicle_lock";
+
+    private static final String OWNER_FIELD = "owner";
+    private static final String EXPIRES_AT_FIELD = "expiresAt";
+    private static final String DATABASE_NOW = "$$NOW";
+
+    private static final long INITIAL_BACKOFF_MILLIS = 5;
+    private static final long MAX_BACKOFF_MILLIS = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final StripedVehicleLockProvider localLocks;
+    private final Duration lease;
+    private final Duration maxWait;
+    private final Clock clock;
+
+    public MongoVehicleLockProvider(final MongoTemplate mongoTemplate,
+                                    @Value("${imt.contracts.booking-lock.lease:PT10S}") final Duration lease,
+                                    @Value("${imt.contracts.booking-lock.max-wait:PT5S}") final Duration maxWait) {
+        this(mongoTemplate, new StripedVehicleLockProvider(), lease, maxWait, Clock.systemUTC());
+    }
+
+    MongoVehicleLockProvider(final MongoTemplate mongoTemplate,
+                             final StripedVehicleLockProvider localLocks,
+                             final Duration lease,
+                             final Duration maxWait,
+                             final Clock clock) {
+        this.mongoTemplate = Objects.requireNonNull(mongoTemplate, "MongoTemplate cannot be null");
+        this.localLocks = Objects.requireNonNull(localLocks, "Local locks cannot be null");
+        this.lease = Objects.requireNonNullElse(lease, Duration.ofSeconds(10));
+        this.maxWait = Objects.requireNonNullElse(maxWait, Duration.ofSeconds(5));
+        this.clock = Objects.requireNonNullElseGet(clock, Clock::systemUTC);
+    }
+
+    @Override
+    public VehicleLock acquire(final UUID vehicleIdentifier) throws ConflictException {
+        if (vehicleIdentifier == null) {
+            return VehicleLock.NONE;
+        }
+
+        return this.acquireAll(List.of(vehicleIdentifier));
+    }
+
+    @Override
+    public VehicleLock acquireAll(final Collection<UUID> vehicleIdentifiers) throws ConflictException {
+        // Ordre global (identifiant croissant) : deux lots ne peuvent pas s'attendre mutuellement
+        final List<String> vehicles = vehicleIdentifiers.stream()
+                .filter(Objects::nonNull)
+                .map(UUID::toString)
+                .distinct()
+                .sorted()
+                .toList();
+        if (vehicles.isEmpty()) {
+            return VehicleLock.NONE;
+        }
+
+        final VehicleLock local = this.localLocks.acquireAll(vehicleIdentifiers);
+        final String owner = UUID.randomUUID().toString();
+        final List<String> leased = new ArrayList<>(vehicles.size());
+        try {
+            for (final String vehicle : vehicles) {
+                this.lease(vehicle, owner);
+                leased.add(vehicle);
+            }
+        } catch (ConflictException | RuntimeException e) {
+            this.release(leased, owner);
+            local.close();
+            throw e;
+        }
+
+        return new VehicleLock() {
+            @Override
+            public void ensureHeld() throws ConflictException {
+                MongoVehicleLockProvider.this.renew(leased, owner);
+            }
+
+            @Override
+            public void close() {
+                MongoVehicleLockProvider.this.release(leased, owner);
+                local.close();
+            }
+        };
+    }
+
+    private void lease(final String vehicle, final String owner) throws ConflictException {
+        final Instant deadline = this.clock.instant().plus(this.maxWait);
+        long backoff = INITIAL_BACKOFF_MILLIS;
+
+        while (true) {
+            final Instant now = this.clock.instant();
+            try {
+                this.mongoTemplate.upsert(
+                        leaseQuery(new Document("_id", vehicle), "$lt"),
+                        AggregationUpdate.from(List.of(context -> new Document("$set",
+                                new Document(OWNER_FIELD, new Document("$literal", owner)).append(EXPIRES_AT_FIELD, this.expiresAt())))),
+                        COLLECTION
+                );
+                return;
+            } catch (DuplicateKeyException e) {
+                // Un bail valide est détenu par une autre réservation
+                if (!now.isBefore(deadline)) {
+                    throw new ConflictException("Une autre réservation est en cours pour ce véhicule, veuillez réessayer.");
+                }
+            }
+
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConflictException("La réservation a été interrompue avant d'obtenir le véhicule.");
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    /**
+     * Prolonge les baux encore détenus par cette acquisition ; échoue si l'un d'eux a expiré ou a été repris.
+     */
+    private void renew(final List<String> vehicles, final String owner) throws ConflictException {
+        final UpdateResult result = this.mongoTemplate.updateMulti(
+                leaseQuery(new Document("_id", new Document("$in", vehicles)).append(OWNER_FIELD, owner), "$gte"),
+                AggregationUpdate.from(List.of(context -> new Document("$set", new Document(EXPIRES_AT_FIELD, this.expiresAt())))),
+                COLLECTION
+        );
+        if (result.getMatchedCount() != vehicles.size()) {
+            throw new ConflictException("Le verrou du véhicule a expiré avant l'enregistrement de la réservation, veuillez réessayer.");
+        }
+    }
+
+    private void release(final List<String> vehicles, final String owner) {
+        for (final String vehicle : vehicles) {
+            try {
+                this.mongoTemplate.remove(Query.query(Criteria.where("_id").is(vehicle).and(OWNER_FIELD).is(owner)), COLLECTION);
+            } catch (RuntimeException e) {
+                // Le bail expirera de lui-même
+                log.warn("Impossible de libérer le verrou du véhicule {} : {}", vehicle, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Échéance d'un bail pris ou prolongé maintenant, selon l'heure du serveur.
+     */
+    private Document expiresAt() {
+        return new Document("$add", List.of(DATABASE_NOW, this.lease.toMillis()));
+    }
+
+    /**
+     * Filtre complété d'une comparaison de l'échéance à l'heure du serveur ({@code $gte} : bail valide,
+     * {@code $lt} : bail expiré).
+     */
+    private static Query leaseQuery(final Document filter, final String expiryComparison) {
+        return new BasicQuery(filter.append("$expr", new Document(expiryComparison, List.of("$" + EXPIRES_AT_FIELD, DATABASE_NOW))));
+    }
+}
@@ -0,0 +1,90 @@
+package com.imt.adaptersoutbdd.contracts.repositories;
+
+import com.imt.adaptersoutbdd.contracts.repositories.entities.ContractEntity;
+import com.imt.contracts.model.ContractStateEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Initialisation du champ "dueDate" sur les contrats enregistrés avant le moteur de transitions.
+ * Sans échéance, un contrat "En attente" ou "En cours" n'apparaîtrait jamais dans le parcours des transitions dues.
+ * L'échéance est calculée par le domaine ({@link ContractStateEnum#dueDate}) puis écrite par lots ; exécutée au
+ * démarrage, sans effet une fois tous les contrats concernés migrés.
+ */
+@Slf4j
+@Component
+public class ContractDueDateMigration implements InitializingBean {
+
+    static final String DUE_DATE_FIELD = "dueDate";
+
+    static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public ContractDueDateMigration(final MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        final Query withoutDueDate = Query.query(where("state").in(ContractStateEnum.automaticStates())
+                .and(DUE_DATE_FIELD).exists(false));
+        withoutDueDate.fields().include("state", "startDate", "endDate");
+
+        int migrated = 0;
+        final List<ContractEntity> batch = new ArrayList<>(BATCH_SIZE);
+        try (Stream<ContractEntity> contracts = this.mongoTemplate.stream(withoutDueDate, ContractEntity.class)) {
+            final Iterator<ContractEntity> cursor = contracts.iterator();
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == BATCH_SIZE) {
+                    migrated += this.writeDueDates(batch);
+                    batch.clear();
+                }
+            }
+        }
+        migrated += this.writeDueDates(batch);
+
+        if (migrated > 0) {
+            log.info("BDD - Échéance initialisée sur {} contrat(s)", migrated);
+        }
+    }
+
+    private int writeDueDates(final List<ContractEntity> contracts) {
+        if (contracts.isEmpty()) {
+            return 0;
+        }
+
+        final BulkOperations bulk = this.mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ContractEntity.class);
+        int scheduled = 0;
+        for (final ContractEntity contract : contracts) {
+            final Optional<LocalDate> dueDate = contract.getState().dueDate(contract.getStartDate(), contract.getEndDate());
+            if (dueDate.isPresent()) {
+                // Conditionnée à l'état lu et à l'absence d'échéance : un contrat écrit entre-temps par une autre
+                // instance a déjà reçu une échéance calculée sur ses dates à jour, qui ne doit pas être écrasée
+                bulk.updateOne(
+                        Query.query(where("id").is(contract.getId())
+                                .and("state").is(contract.getState())
+                                .and(DUE_DATE_FIELD).exists(false)),
+                        Update.update(DUE_DATE_FIELD, dueDate.get())
+                );
+                scheduled++;
+            }
+        }
+        return scheduled == 0 ? 0 : bulk.execute().getModifiedCount();
+    }
+}
@@ -0,0 +1,238 @@
+package com.imt.adaptersoutbdd.contracts.repositories;
+
+import com.imt.adaptersoutbdd.contracts.repositories.entities.ContractEntity;
+import com.imt.contracts.model.ContractStateEnum;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Vérification des index de la collection des contrats au démarrage.
+ * Supprime les index devenus obsolètes, crée les index déclarés sur {@link ContractEntity} (même si la création
+ * automatique est désactivée), puis
+ * demande au serveur le plan d'exécution de chaque forme de requête de {@link ContractRepository} : une requête
+ * qui parcourrait toute la collection (COLLSCAN) est signalée dans les logs, ou bloque le démarrage en mode FAIL.
+ */
+@Slf4j
+@Component
+public class ContractIndexVerifier {
+
+    static final String COLLECTION_SCAN = "COLLSCAN";
+
+    /**
+     * Identifiant fictif utilisé pour obtenir les plans d'exécution : seule la forme de la requête importe.
+     */
+    private static final String SAMPLE_ID = "index-check";
+
+    /**
+     * Index créés par d'anciennes versions de l'application et remplacés depuis : ils ralentiraient les écritures
+     * sans plus servir aucune requête.
+     */
+    static final List<String> OBSOLETE_INDEXES = List.of("contract_state_end_date_id", "contract_state_end_date");
+
+    private final MongoTemplate mongoTemplate;
+    private final Mode mode;
+
+    public ContractIndexVerifier(final MongoTemplate mongoTemplate,
+                                 @Value("${imt.bdd.index-check:WARN}") final Mode mode) {
+        this.mongoTemplate = mongoTemplate;
+        this.mode = Objects.requireNonNullElse(mode, Mode.WARN);
+    }
+
+    /**
+     * Crée les index puis vérifie les plans d'exécution, une fois le contexte Spring démarré.
+     *
+     * @throws IllegalStateException en mode FAIL, si une requête n'utilise aucun index
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void verify() {
+        if (this.mode == Mode.OFF) {
+            return;
+        }
+
+        this.ensureIndexes();
+
+        final List<String> collectionScans = this.findCollectionScans();
+        if (collectionScans.isEmpty()) {
+            log.info("BDD - Toutes les requêtes sur les contrats utilisent un index");
+            return;
+        }
+
+        final String message = "BDD - Requêtes sur les contrats sans index (COLLSCAN) : " + collectionScans;
+        if (this.mode == Mode.FAIL) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    /**
+     * Supprime les index obsolètes encore présents, puis crée les index déclarés par annotations sur
+     * {@link ContractEntity}. Sans effet s'ils existent déjà.
+     */
+    void ensureIndexes() {
+        final IndexOperations indexOperations = this.mongoTemplate.indexOps(ContractEntity.class);
+
+        indexOperations.getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .filter(OBSOLETE_INDEXES::contains)
+                .forEach(name -> {
+                    log.info("BDD - Suppression de l'index obsolète {}", name);
+                    indexOperations.dropIndex(name);
+                });
+
+        new MongoPersistentEntityIndexResolver(this.mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(ContractEntity.class)
+                .forEach(indexOperations::createIndex);
+    }
+
+    /**
+     * Retourne le nom des requêtes dont le plan retenu par le serveur parcourt toute la collection.
+     *
+     * @return les noms des méthodes de {@link ContractRepository} concernées, vide si toutes utilisent un index
+     */
+    List<String> findCollectionScans() {
+        final MongoCollection<Document> collection = this.mongoTemplate.getCollection(
+                this.mongoTemplate.getCollectionName(ContractEntity.class)
+        );
+
+        final List<String> collectionScans = new ArrayList<>();
+        queryShapes(LocalDate.now()).forEach((name, filter) -> {
+            if (usesCollectionScan(collection.find(filter).explain())) {
+                collectionScans.add(name);
+            }
+        });
+
+        return collectionScans;
+    }
+
+    /**
+     * Formes des requêtes de {@link ContractRepository}, indexées par nom de méthode.
+     * Toute nouvelle requête du repository doit être ajoutée ici pour être vérifiée.
+     *
+     * @param date date utilisée pour les bornes de période
+     * @return les filtres équivalents aux requêtes dérivées, dans l'ordre de déclaration
+     */
+    static Map<String, Bson> queryShapes(final LocalDate date) {
+        final Map<String, Bson> shapes = new LinkedHashMap<>();
+        shapes.put("findByClientId", Filters.eq("clientId", SAMPLE_ID));
+        shapes.put("findByVehicleId", Filters.eq("vehicleId", SAMPLE_ID));
+        shapes.put("findByVehicleIdIn", Filters.in("vehicleId", List.of(SAMPLE_ID)));
+        shapes.put("findByVehicleIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual", Filters.and(
+                Filters.eq("vehicleId", SAMPLE_ID),
+                Filters.lte("startDate", date),
+                Filters.gte("endDate", date)
+        ));
+        shapes.put("findFirstByVehicleIdAndIdNotAndStateInAndStartDateLessThanEqualAndEndDateGreaterThanEqual", Filters.and(
+                Filters.eq("vehicleId", SAMPLE_ID),
+                Filters.ne("_id", SAMPLE_ID),
+                Filters.in("state", lockingStateNames()),
+                Filters.lte("startDate", date),
+                Filters.gte("endDate", date)
+        ));
+        shapes.put("findByVehicleIdAndStateInAndStartDateLessThanEqualAndEndDateGreaterThanEqual", Filters.and(
+                Filters.eq("vehicleId", SAMPLE_ID),
+                Filters.in("state", lockingStateNames()),
+                Filters.lte("startDate", date),
+                Filters.gte("endDate", date)
+        ));
+        shapes.put("findVehicleIdsByStateInAndPeriod", Filters.and(
+                Filters.in("state", lockingStateNames()),
+                Filters.lte("startDate", date),
+                Filters.gte("endDate", date)
+        ));
+        shapes.put("findByStateIn", Filters.in("state", lockingStateNames()));
+        shapes.put("findByVehicleIdAndState", Filters.and(
+                Filters.eq("vehicleId", SAMPLE_ID),
+                Filters.eq("state", ContractStateEnum.PENDING.name())
+        ));
+        shapes.put("findIdsByVehicleIdAndState", Filters.and(
+                Filters.eq("vehicleId", SAMPLE_ID),
+                Filters.eq("state", ContractStateEnum.PENDING.name())
+        ));
+        shapes.put("findVehicleIdsHeldByLateContracts", Filters.and(
+                Filters.in("vehicleId", List.of(SAMPLE_ID)),
+                Filters.or(
+                        Filters.eq("state", ContractStateEnum.LATE.name()),
+                        Filters.and(Filters.eq("state", ContractStateEnum.IN_PROGRESS.name()), Filters.lt("endDate", date))
+                )
+        ));
+        shapes.put("streamDueContracts", Filters.lte("dueDate", date));
+        shapes.put("streamDueContracts (partition)", Filters.and(
+                Filters.gte("vehicleId", SAMPLE_ID),
+                Filters.lt("vehicleId", SAMPLE_ID + "~"),
+                Filters.lte("dueDate", date)
+        ));
+        return shapes;
+    }
+
+    private static List<String> lockingStateNames() {
+        return ContractStateEnum.lockingStates().stream().map(Enum::name).toList();
+    }
+
+    /**
+     * Indique si le plan retenu d'un résultat d'explain contient une étape de parcours complet de la collection.
+     *
+     * @param explain le résultat de la commande explain
+     * @return true si le plan retenu contient une étape COLLSCAN
+     */
+    static boolean usesCollectionScan(final Document explain) {
+        if (!(explain.get("queryPlanner") instanceof Document queryPlanner)) {
+            return false;
+        }
+
+        return containsStage(queryPlanner.get("winningPlan"), COLLECTION_SCAN);
+    }
+
+    private static boolean containsStage(final Object node, final String stage) {
+        // Les étapes sont imbriquées (inputStage, inputStages, queryPlan selon le moteur d'exécution)
+        if (node instanceof Document document) {
+            return stage.equals(document.get("stage")) || containsStage(document.values(), stage);
+        }
+        if (node instanceof Collection<?> children) {
+            for (final Object child : children) {
+                if (containsStage(child, stage)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Comportement de la vérification au démarrage.
+     */
+    public enum Mode {
+        /**
+         * Aucune vérification.
+         */
+        OFF,
+
+        /**
+         * Les requêtes sans index sont signalées dans les logs.
+         */
+        WARN,
+
+        /**
+         * Le démarrage échoue si une requête n'utilise aucun index.
+         */
+        FAIL
+    }
+}
@@ -3,9 +3,12 @@ package com.imt.adaptersoutbdd.contracts.repositories;
 import com.imt.adaptersoutbdd.contracts.repositories.entities.ContractEntity;
 import com.imt.contracts.model.ContractStateEnum;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ContractRepository extends MongoRepository<ContractEntity, String> {
@@ -14,16 +17,60 @@ public interface ContractRepository extends MongoRepository<ContractEntity, Stri
 
     List<ContractEntity> findByVehicleId(String vehicleId);
 
+    List<ContractEntity> findByVehicleIdIn(Collection<String> vehicleIds);
+
     List<ContractEntity> findByVehicleIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
             String vehicleId,
             LocalDate startDate,
             LocalDate endDate
     );
 
-    // Pour la Règle 2 : Trouver les contrats EN COURS dont la date de fin est AVANT aujourd'hui
-    List<ContractEntity> findByStateAndEndDateBefore(ContractStateEnum state, LocalDate date);
+    // Disponibilité d'un véhicule : premier contrat bloquant (hors contrat exclu) chevauchant la période demandée
+    Optional<ContractEntity> findFirstByVehicleIdAndIdNotAndStateInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+            String vehicleId,
+            String excludedId,
+            Collection<ContractStateEnum> states,
+            LocalDate periodEnd,
+            LocalDate periodStart
+    );
+
+    // Contrats bloquants d'un véhicule chevauchant une période
+    List<ContractEntity> findByVehicleIdAndStateInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+            String vehicleId,
+            Collection<ContractStateEnum> states,
+            LocalDate periodEnd,
+            LocalDate periodStart
+    );
+
+    // Véhicules occupés sur une période, toute la flotte confondue : seul l'identifiant du véhicule est lu, depuis
+    // l'index (requête couverte, sans lecture des documents)
+    @Query(
+            value = "{ 'state': { '$in': ?0 }, 'startDate': { '$lte': ?1 }, 'endDate': { '$gte': ?2 } }",
+            fields = "{ 'vehicleId': 1, '_id': 0 }"
+    )
+    List<ContractEntity> findVehicleIdsByStateInAndPeriod(
+            Collection<ContractStateEnum> states,
+            LocalDate periodEnd,
+            LocalDate periodStart
+    );
+
+    // Reconstruction de l'index de disponibilité : tous les contrats dans les états donnés
+    List<ContractEntity> findByStateIn(Collection<ContractStateEnum> states);
 
     // Pour la Règle 1 : Trouver les contrats EN ATTENTE liés à un véhicule
-    List<ContractEntity> findByVehicleIdAndState(String vehicleId, ContractStateEnum state);}
+    List<ContractEntity> findByVehicleIdAndState(String vehicleId, ContractStateEnum state);
+
+    // Pour la Règle 1 : annulation groupée, seul l'identifiant des contrats EN ATTENTE d'un véhicule est lu
+    @Query(value = "{ 'vehicleId': ?0, 'state': ?1 }", fields = "{ '_id': 1 }")
+    List<ContractEntity> findIdsByVehicleIdAndState(String vehicleId, ContractStateEnum state);
+
+    // Pour la Règle 3 : véhicules donnés retenus par un contrat EN RETARD, ou EN COURS dont la date de fin est
+    // AVANT la date de référence ; seul l'identifiant du véhicule est lu
+    @Query(
+            value = "{ 'vehicleId': { '$in': ?0 }, '$or': [ { 'state': 'LATE' }, { 'state': 'IN_PROGRESS', 'endDate': { '$lt': ?1 } } ] }",
+            fields = "{ 'vehicleId': 1 }"
+    )
+    List<ContractEntity> findVehicleIdsHeldByLateContracts(Collection<String> vehicleIds, LocalDate referenceDate);
+}
 
 
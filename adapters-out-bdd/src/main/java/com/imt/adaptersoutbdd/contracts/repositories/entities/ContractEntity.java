@@ -7,26 +7,85 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
 
+/**
+ * Entité MongoDB représentant un contrat de location.
+ * Stockée dans la collection "contracts".
+ * Chaque forme de requête de {@link com.imt.adaptersoutbdd.contracts.repositories.ContractRepository} dispose
+ * d'un index composé dédié (égalités d'abord, puis bornes de dates), créé au démarrage.
+ */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "contracts")
+@CompoundIndexes({
+        @CompoundIndex(name = ContractEntity.VEHICLE_PERIOD_INDEX, def = "{ 'vehicleId': 1, 'startDate': 1, 'endDate': 1 }"),
+        @CompoundIndex(name = ContractEntity.VEHICLE_STATE_INDEX, def = "{ 'vehicleId': 1, 'state': 1 }"),
+        @CompoundIndex(name = ContractEntity.STATE_PERIOD_INDEX, def = "{ 'state': 1, 'startDate': 1, 'endDate': 1, 'vehicleId': 1 }"),
+        @CompoundIndex(name = ContractEntity.DUE_DATE_INDEX, def = "{ 'dueDate': 1, '_id': 1 }"),
+        @CompoundIndex(name = ContractEntity.VEHICLE_DUE_DATE_INDEX, def = "{ 'vehicleId': 1, 'dueDate': 1, '_id': 1 }")
+})
 public class ContractEntity {
+    /**
+     * findByVehicleId, findByVehicleIdIn et recherche des contrats d'un véhicule sur une période.
+     */
+    public static final String VEHICLE_PERIOD_INDEX = "contract_vehicle_period";
+    /**
+     * findByVehicleIdAndState, annulations groupées des contrats en attente d'un véhicule et recherche des véhicules
+     * retenus par un contrat en retard.
+     */
+    public static final String VEHICLE_STATE_INDEX = "contract_vehicle_state";
+    /**
+     * Recherche des véhicules occupés de toute la flotte sur une période (findVehicleIdsByStateInAndPeriod, couverte
+     * par l'index : seul l'identifiant du véhicule est lu) et lecture des contrats dans des états donnés
+     * (findByStateIn, par son préfixe).
+     */
+    public static final String STATE_PERIOD_INDEX = "contract_state_period";
+    /**
+     * Parcours par curseur des contrats dont une transition automatique est due, trié par échéance puis par
+     * identifiant sans tri en mémoire du serveur. Les contrats sans échéance sont absents de l'index des dates.
+     */
+    public static final String DUE_DATE_INDEX = "contract_due_date";
+    /**
+     * Parcours des contrats dont une transition automatique est due dans une partition de véhicules : seules les
+     * échéances de la plage d'identifiants de la partition sont lues, puis triées par échéance et identifiant.
+     */
+    public static final String VEHICLE_DUE_DATE_INDEX = "contract_vehicle_due_date";
+    /**
+     * findByClientId.
+     */
+    public static final String CLIENT_INDEX = "contract_client";
 
     @Id
     private String id;
 
+    @Indexed(name = CLIENT_INDEX)
     private String clientId;
     private String vehicleId;
     private LocalDate startDate;
     private LocalDate endDate;
     private ContractStateEnum state;
     private VehicleStateEnum vehicleState;
+
+    /**
+     * Échéance de la prochaine transition automatique ({@link com.imt.contracts.model.Contract#dueDate()}), déduite
+     * de l'état et des dates à chaque écriture ; absente si l'état du contrat n'évolue pas automatiquement.
+     */
+    private LocalDate dueDate;
+
+    /**
+     * Version de l'enregistrement : toute écriture d'un document déjà enregistré est conditionnée à cette valeur.
+     */
+    @Version
+    private Long version;
 }
 
 
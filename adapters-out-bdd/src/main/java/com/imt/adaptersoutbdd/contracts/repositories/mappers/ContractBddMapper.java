@@ -25,6 +25,7 @@ public class ContractBddMapper extends AbstractBddMapper<Contract, ContractEntit
                 .endDate(input.getEndDate())
                 .state(input.getState())
                 .vehicleState(input.getVehicleState())
+                .version(input.getVersion())
                 .build();
     }
 
@@ -42,8 +43,18 @@ public class ContractBddMapper extends AbstractBddMapper<Contract, ContractEntit
                 .endDate(object.getEndDate())
                 .state(object.getState())
                 .vehicleState(object.getVehicleState())
+                .dueDate(object.dueDate().orElse(null))
+                .version(object.getVersion())
                 .build();
     }
-}
-
 
+    @Override
+    protected String toEntityProperty(final String field) {
+        return switch (field) {
+            case "identifier" -> "id";
+            case "clientIdentifier" -> "clientId";
+            case "vehicleIdentifier" -> "vehicleId";
+            default -> field;
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.imt.adaptersoutbdd.contracts.scheduling;
+
+import com.imt.contracts.model.ContractCursor;
+import com.imt.contracts.model.TransitionCheckpoint;
+import com.imt.contracts.scheduling.CheckpointStorageProvider;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Points de reprise du moteur de transitions des contrats, stockés en base afin qu'un passage interrompu par un
+ * arrêt de l'application reprenne là où il s'était arrêté, sur cette instance ou une autre.
+ * Chaque point de reprise est un document de la collection {@value #COLLECTION}, identifié par le nom du passage
+ * et remplacé avant chaque lot.
+ */
+@Component
+@ConditionalOnProperty(name = "imt.contracts.scheduler.checkpoint", havingValue = "STORAGE")
+public class MongoCheckpointStorageProvider implements CheckpointStorageProvider {
+
+    static final String COLLECTION = "scheduler_checkpoint";
+
+    private static final String REFERENCE_DATE_FIELD = "referenceDate";
+    private static final String DUE_DATE_FIELD = "dueDate";
+    private static final String CONTRACT_ID_FIELD = "contractId";
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoCheckpointStorageProvider(final MongoTemplate mongoTemplate) {
+        this.mongoTemplate = Objects.requireNonNull(mongoTemplate, "MongoTemplate cannot be null");
+    }
+
+    @Override
+    public Optional<TransitionCheckpoint> find(final String name) {
+        return Optional.ofNullable(this.mongoTemplate.findById(name, Document.class, COLLECTION))
+                .map(document -> toCheckpoint(name, document));
+    }
+
+    @Override
+    public void save(final TransitionCheckpoint checkpoint) {
+        final Document document = new Document("_id", checkpoint.getName())
+                .append(REFERENCE_DATE_FIELD, checkpoint.getReferenceDate().toString());
+        if (checkpoint.getPosition() != null) {
+            document.append(DUE_DATE_FIELD, checkpoint.getPosition().getDueDate().toString())
+                    .append(CONTRACT_ID_FIELD, checkpoint.getPosition().getContractIdentifier().toString());
+        }
+        this.mongoTemplate.save(document, COLLECTION);
+    }
+
+    @Override
+    public void delete(final String name) {
+        this.mongoTemplate.remove(Query.query(Criteria.where("_id").is(name)), COLLECTION);
+    }
+
+    private static TransitionCheckpoint toCheckpoint(final String name, final Document document) {
+        final ContractCursor position = document.containsKey(CONTRACT_ID_FIELD)
+                ? new ContractCursor(
+                        LocalDate.parse(document.getString(DUE_DATE_FIELD)),
+                        UUID.fromString(document.getString(CONTRACT_ID_FIELD)))
+                : null;
+        return new TransitionCheckpoint(
+                name,
+                LocalDate.parse(document.getString(REFERENCE_DATE_FIELD)),
+                position
+        );
+    }
+}
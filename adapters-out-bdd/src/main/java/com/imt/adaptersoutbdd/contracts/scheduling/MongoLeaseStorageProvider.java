@@ -0,0 +1,146 @@
+package com.imt.adaptersoutbdd.contracts.scheduling;
+
+import com.imt.contracts.scheduling.LeaderLease;
+import com.imt.contracts.scheduling.LeaseStorageProvider;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Baux de leader partagés entre plusieurs instances de l'application, stockés en base.
+ * Chaque bail est un document de la collection {@value #COLLECTION} (nom du bail, détenteur, échéance, jeton de
+ * fencing). Le détenteur prolonge son bail tant qu'il est valide ; sinon, la reprise est un upsert conditionné à
+ * l'expiration du bail qui incrémente le jeton : si un bail valide existe, l'index unique sur _id refuse
+ * l'insertion. Le document d'un bail à jeton n'est jamais supprimé, afin que le jeton ne reparte pas de zéro ; seuls
+ * les baux de présence des instances, sans jeton utile, le sont.
+ * <p>
+ * Les échéances sont calculées et comparées avec l'heure du serveur de base de données ({@code $$NOW}) et non avec
+ * celle de l'instance : l'écart entre les horloges des instances n'a aucun effet sur la validité des baux.
+ */
+@Component
+@ConditionalOnProperty(name = "imt.contracts.scheduler.lease", havingValue = "STORAGE")
+public class MongoLeaseStorageProvider implements LeaseStorageProvider {
+
+    static final String COLLECTION = "scheduler_lease";
+
+    private static final String OWNER_FIELD = "owner";
+    private static final String EXPIRES_AT_FIELD = "expiresAt";
+    private static final String TOKEN_FIELD = "token";
+    private static final String DATABASE_NOW = "$$NOW";
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoLeaseStorageProvider(final MongoTemplate mongoTemplate) {
+        this.mongoTemplate = Objects.requireNonNull(mongoTemplate, "MongoTemplate cannot be null");
+    }
+
+    @Override
+    public Optional<LeaderLease> tryAcquire(final String name, final String owner, final Instant now, final Duration ttl) {
+        final Document expiresAt = new Document("$add", List.of(DATABASE_NOW, ttl.toMillis()));
+
+        // Prolongation par le détenteur d'un bail encore valide : le jeton est conservé
+        final Document renewed = this.mongoTemplate.findAndModify(
+                leaseQuery(new Document("_id", name).append(OWNER_FIELD, owner), "$gte"),
+                AggregationUpdate.from(List.of(set(new Document(EXPIRES_AT_FIELD, expiresAt)))),
+                FindAndModifyOptions.options().returnNew(true),
+                Document.class,
+                COLLECTION
+        );
+        if (renewed != null) {
+            return Optional.of(toLease(name, renewed));
+        }
+
+        try {
+            final Document taken = this.mongoTemplate.findAndModify(
+                    leaseQuery(new Document("_id", name), "$lt"),
+                    AggregationUpdate.from(List.of(set(new Document(OWNER_FIELD, new Document("$literal", owner))
+                            .append(EXPIRES_AT_FIELD, expiresAt)
+                            .append(TOKEN_FIELD, new Document("$add", List.of(new Document("$ifNull", List.of("$" + TOKEN_FIELD, 0)), 1)))))),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    Document.class,
+                    COLLECTION
+            );
+            return Optional.ofNullable(taken).map(document -> toLease(name, document));
+        } catch (DuplicateKeyException e) {
+            // Un bail valide est détenu par une autre instance
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void release(final String name, final String owner) {
+        this.mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(name).and(OWNER_FIELD).is(owner)),
+                new Update().set(EXPIRES_AT_FIELD, Date.from(Instant.EPOCH)),
+                COLLECTION
+        );
+    }
+
+    @Override
+    public void delete(final String name, final String owner) {
+        this.mongoTemplate.remove(Query.query(Criteria.where("_id").is(name).and(OWNER_FIELD).is(owner)), COLLECTION);
+    }
+
+    @Override
+    public void deleteExpired(final String namePrefix, final Instant now) {
+        this.mongoTemplate.remove(leaseQuery(new Document("_id", Pattern.compile("^" + Pattern.quote(namePrefix))), "$lt"), COLLECTION);
+    }
+
+    @Override
+    public boolean isHeld(final String name, final String owner, final long fencingToken, final Instant now) {
+        return this.mongoTemplate.exists(
+                leaseQuery(new Document("_id", name).append(OWNER_FIELD, owner).append(TOKEN_FIELD, fencingToken), "$gte"),
+                COLLECTION
+        );
+    }
+
+    @Override
+    public List<LeaderLease> findActive(final String namePrefix, final Instant now) {
+        return this.mongoTemplate.find(
+                        leaseQuery(new Document("_id", Pattern.compile("^" + Pattern.quote(namePrefix))), "$gte"),
+                        Document.class,
+                        COLLECTION
+                )
+                .stream()
+                .map(document -> toLease(document.getString("_id"), document))
+                .toList();
+    }
+
+    /**
+     * Filtre complété d'une comparaison de l'échéance à l'heure du serveur ({@code $gte} : bail valide,
+     * {@code $lt} : bail expiré).
+     */
+    private static Query leaseQuery(final Document filter, final String expiryComparison) {
+        return new BasicQuery(filter.append("$expr", new Document(expiryComparison, List.of("$" + EXPIRES_AT_FIELD, DATABASE_NOW))));
+    }
+
+    private static AggregationOperation set(final Document fields) {
+        return context -> new Document("$set", fields);
+    }
+
+    private static LeaderLease toLease(final String name, final Document document) {
+        return new LeaderLease(
+                name,
+                document.getString(OWNER_FIELD),
+                ((Number) document.get(TOKEN_FIELD)).longValue(),
+                document.getDate(EXPIRES_AT_FIELD).toInstant()
+        );
+    }
+}
@@ -1,10 +1,22 @@
 package com.imt.adaptersoutbdd.vehicle;
 
+import com.imt.adaptersoutbdd.common.versioning.ConditionalUpdate;
 import com.imt.adaptersoutbdd.vehicle.repositories.VehicleRepository;
+import com.imt.adaptersoutbdd.vehicle.repositories.entities.VehicleEntity;
+import com.imt.adaptersoutbdd.vehicle.repositories.entities.VehicleOutboxEntry;
 import com.imt.adaptersoutbdd.vehicle.repositories.mappers.VehicleBddMapper;
+import com.imt.common.exceptions.ConflictException;
+import com.imt.common.exceptions.VersionConflictException;
+import com.imt.common.model.FieldChanges;
 import com.imt.vehicle.VehicleStorageProvider;
 import com.imt.vehicle.model.Vehicle;
+import com.imt.vehicle.model.VehicleBrokenEvent;
+import com.imt.vehicle.model.VehicleStateEnum;
 import lombok.AllArgsConstructor; // <--- AJOUT
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service; // <--- AJOUT
 
 import java.util.Collection;
@@ -16,8 +28,11 @@ import java.util.UUID;
 @AllArgsConstructor // <--- Indispensable pour injecter le repository et le mapper
 public class VehicleBddService implements VehicleStorageProvider {
 
+    private static final String VERSION_CONFLICT_MESSAGE = "Le véhicule a été modifié entre-temps, veuillez réessayer.";
+
     private final VehicleRepository vehicleRepository;
     private final VehicleBddMapper vehicleBddMapper;
+    private final MongoTemplate mongoTemplate;
 
     @Override
     public boolean exist(String identifier) {
@@ -39,11 +54,79 @@ public class VehicleBddService implements VehicleStorageProvider {
     }
 
     @Override
-    public Vehicle save(final Vehicle vehicle) {
-        return this.vehicleBddMapper.from(
-                this.vehicleRepository.save(
-                        this.vehicleBddMapper.to(vehicle)
-                )
+    public Collection<Vehicle> getByState(final VehicleStateEnum state) {
+        if (state == null) {
+            return List.of();
+        }
+
+        return this.vehicleRepository.findByState(state)
+                .stream()
+                .map(this.vehicleBddMapper::from)
+                .toList();
+    }
+
+    @Override
+    public Vehicle save(final Vehicle vehicle) throws ConflictException {
+        try {
+            return this.vehicleBddMapper.from(
+                    this.vehicleRepository.save(
+                            this.vehicleBddMapper.to(vehicle)
+                    )
+            );
+        } catch (DuplicateKeyException e) {
+            throw licensePlateConflict(vehicle);
+        } catch (OptimisticLockingFailureException e) {
+            // La version lue n'est plus celle du document : un autre écrivain est passé entre-temps
+            throw new VersionConflictException(VERSION_CONFLICT_MESSAGE);
+        }
+    }
+
+    @Override
+    public Optional<Vehicle> applyChanges(final Vehicle vehicle, final FieldChanges changes) throws ConflictException {
+        if (changes.isEmpty()) {
+            return this.get(vehicle.getId());
+        }
+
+        return this.applyUpdate(vehicle, this.vehicleBddMapper.toUpdate(changes));
+    }
+
+    @Override
+    public Optional<Vehicle> applyChangesWithEvent(final Vehicle vehicle,
+                                                   final FieldChanges changes,
+                                                   final VehicleBrokenEvent event) throws ConflictException {
+        // Les champs modifiés et l'événement sont écrits par le même findAndModify : une écriture d'un seul
+        // document est atomique, aucune transaction n'est nécessaire
+        final Update update = this.vehicleBddMapper.toUpdate(changes)
+                .push(VehicleEntity.OUTBOX_FIELD, VehicleOutboxEntry.builder()
+                        .eventId(event.getIdentifier().toString())
+                        .occurredAt(event.getOccurredAt())
+                        .build());
+        return this.applyUpdate(vehicle, update);
+    }
+
+    private Optional<Vehicle> applyUpdate(final Vehicle vehicle, final Update update) throws ConflictException {
+        final VehicleEntity updated;
+        try {
+            updated = ConditionalUpdate.apply(this.mongoTemplate, VehicleEntity.class, vehicle.getId(), vehicle.getVersion(), update);
+        } catch (DuplicateKeyException e) {
+            throw licensePlateConflict(vehicle);
+        }
+
+        if (updated == null) {
+            // Aucun document dans la version lue : soit il a été modifié entre-temps, soit il a été supprimé
+            if (this.vehicleRepository.existsById(vehicle.getId())) {
+                throw new VersionConflictException(VERSION_CONFLICT_MESSAGE);
+            }
+            return Optional.empty();
+        }
+
+        return Optional.of(this.vehicleBddMapper.from(updated));
+    }
+
+    private static ConflictException licensePlateConflict(final Vehicle vehicle) {
+        // Seul l'index unique sur la plaque d'immatriculation peut refuser l'écriture
+        return new ConflictException(
+                String.format("Un véhicule avec la plaque d'immatriculation '%s' existe déjà.", vehicle.getLicensePlate())
         );
     }
 
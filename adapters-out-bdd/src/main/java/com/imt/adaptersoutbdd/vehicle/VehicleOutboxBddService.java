@@ -0,0 +1,143 @@
+package com.imt.adaptersoutbdd.vehicle;
+
+import com.imt.adaptersoutbdd.vehicle.repositories.entities.VehicleEntity;
+import com.imt.adaptersoutbdd.vehicle.repositories.entities.VehicleOutboxEntry;
+import com.imt.vehicle.model.VehicleBrokenEvent;
+import com.imt.vehicle.outbox.VehicleOutboxStorageProvider;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Boîte d'envoi des véhicules, enregistrée dans le champ {@value VehicleEntity#OUTBOX_FIELD} des documents des
+ * véhicules. Les documents ayant des événements en attente sont trouvés par l'index clairsemé
+ * {@value VehicleEntity#OUTBOX_INDEX}, qui ne contient que ceux-là. Les événements abandonnés sont déplacés dans le
+ * champ {@value VehicleEntity#OUTBOX_DEAD_LETTERS_FIELD}.
+ */
+@Service
+public class VehicleOutboxBddService implements VehicleOutboxStorageProvider {
+
+    private static final String FAILED_EVENT = "failed";
+    private static final String OCCURRED_AT_PATH = VehicleEntity.OUTBOX_FIELD + "." + VehicleOutboxEntry.OCCURRED_AT_FIELD;
+
+    private final MongoTemplate mongoTemplate;
+
+    public VehicleOutboxBddService(final MongoTemplate mongoTemplate) {
+        this.mongoTemplate = Objects.requireNonNull(mongoTemplate, "MongoTemplate cannot be null");
+    }
+
+    @Override
+    public List<VehicleBrokenEvent> findPending(final int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        // Chaque document a au moins un événement : "limit" documents suffisent pour "limit" événements
+        final Query query = Query.query(where(OCCURRED_AT_PATH).exists(true))
+                .with(Sort.by(Sort.Direction.ASC, OCCURRED_AT_PATH))
+                .limit(limit);
+        query.fields().include(VehicleEntity.OUTBOX_FIELD);
+
+        return this.mongoTemplate.find(query, VehicleEntity.class)
+                .stream()
+                .flatMap(vehicle -> Objects.requireNonNullElse(vehicle.getOutbox(), List.<VehicleOutboxEntry>of())
+                        .stream()
+                        .map(entry -> toEvent(vehicle.getId(), entry)))
+                .sorted(Comparator.comparing(VehicleBrokenEvent::getOccurredAt))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public void acknowledge(final Collection<VehicleBrokenEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+
+        // Un seul updateMulti retire les événements traités de tous les véhicules concernés ; la version n'est pas
+        // incrémentée, la boîte d'envoi ne faisant pas partie des champs du véhicule
+        this.mongoTemplate.updateMulti(
+                Query.query(where("id").in(vehicleIds(events))),
+                new Update().pull(VehicleEntity.OUTBOX_FIELD,
+                        new Document(VehicleOutboxEntry.EVENT_ID_FIELD, new Document("$in", eventIds(events)))),
+                VehicleEntity.class
+        );
+    }
+
+    @Override
+    public void recordFailures(final Collection<VehicleBrokenEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+
+        // Un seul updateMulti incrémente le compteur des seuls événements en échec, désignés par un filtre de tableau
+        this.mongoTemplate.updateMulti(
+                Query.query(where("id").in(vehicleIds(events))),
+                new Update()
+                        .inc(VehicleEntity.OUTBOX_FIELD + ".$[" + FAILED_EVENT + "]." + VehicleOutboxEntry.ATTEMPTS_FIELD, 1)
+                        .filterArray(where(FAILED_EVENT + "." + VehicleOutboxEntry.EVENT_ID_FIELD).in(eventIds(events))),
+                VehicleEntity.class
+        );
+    }
+
+    @Override
+    public void deadLetter(final Collection<VehicleBrokenEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+
+        // Une seule écriture groupée : pour chaque véhicule, les événements sont retirés de la boîte d'envoi et
+        // ajoutés aux événements abandonnés par la même mise à jour
+        final BulkOperations bulk = this.mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, VehicleEntity.class);
+        events.stream()
+                .collect(Collectors.groupingBy(VehicleBrokenEvent::getVehicleId))
+                .forEach((vehicleId, abandoned) -> bulk.updateOne(
+                        Query.query(where("id").is(vehicleId)),
+                        new Update()
+                                .pull(VehicleEntity.OUTBOX_FIELD, new Document(VehicleOutboxEntry.EVENT_ID_FIELD,
+                                        new Document("$in", eventIds(abandoned))))
+                                .push(VehicleEntity.OUTBOX_DEAD_LETTERS_FIELD)
+                                .each(abandoned.stream().map(VehicleOutboxBddService::toEntry).toArray())
+                ));
+        bulk.execute();
+    }
+
+    private static Set<String> vehicleIds(final Collection<VehicleBrokenEvent> events) {
+        return events.stream()
+                .map(VehicleBrokenEvent::getVehicleId)
+                .collect(Collectors.toSet());
+    }
+
+    private static List<String> eventIds(final Collection<VehicleBrokenEvent> events) {
+        return events.stream()
+                .map(event -> event.getIdentifier().toString())
+                .toList();
+    }
+
+    private static VehicleBrokenEvent toEvent(final String vehicleId, final VehicleOutboxEntry entry) {
+        return new VehicleBrokenEvent(UUID.fromString(entry.getEventId()), vehicleId, entry.getOccurredAt(),
+                Objects.requireNonNullElse(entry.getAttempts(), 0));
+    }
+
+    private static VehicleOutboxEntry toEntry(final VehicleBrokenEvent event) {
+        return VehicleOutboxEntry.builder()
+                .eventId(event.getIdentifier().toString())
+                .occurredAt(event.getOccurredAt())
+                .attempts(event.getAttempts() + 1)
+                .build();
+    }
+}
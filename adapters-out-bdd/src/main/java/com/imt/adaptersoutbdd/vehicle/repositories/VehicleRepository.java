@@ -1,9 +1,11 @@
 package com.imt.adaptersoutbdd.vehicle.repositories;
 
 import com.imt.adaptersoutbdd.vehicle.repositories.entities.VehicleEntity;
+import com.imt.vehicle.model.VehicleStateEnum;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import javax.swing.text.html.Option;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +13,5 @@ public interface VehicleRepository extends MongoRepository<VehicleEntity, String
 
     Optional<VehicleEntity> findByLicensePlate(String LicensePlate);
     Optional<VehicleEntity> findById(UUID id);
+    List<VehicleEntity> findByState(VehicleStateEnum state);
 }
\ No newline at end of file
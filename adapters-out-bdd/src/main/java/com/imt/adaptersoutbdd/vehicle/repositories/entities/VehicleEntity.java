@@ -8,23 +8,54 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "vehicle")
+@CompoundIndex(name = VehicleEntity.OUTBOX_INDEX, def = "{ 'outbox.occurredAt': 1 }", sparse = true)
 public class VehicleEntity {
+    public static final String LICENSE_PLATE_INDEX = "unique_vehicle_license_plate";
+    public static final String STATE_INDEX = "vehicle_state";
+    public static final String OUTBOX_INDEX = "vehicle_outbox_occurred_at";
+    public static final String OUTBOX_FIELD = "outbox";
+    public static final String OUTBOX_DEAD_LETTERS_FIELD = "outboxDeadLetters";
+
     @Id
     private String id;
+    @Indexed(name = LICENSE_PLATE_INDEX, unique = true)
     private String licensePlate;
     private String brand;
     private String model;
     private EngineTypeEnum engineType;
     private String color;
     private LocalDate acquisitionDate;
+    @Indexed(name = STATE_INDEX)
     private VehicleStateEnum state;
+
+    /**
+     * Version de l'enregistrement : toute écriture d'un document déjà enregistré est conditionnée à cette valeur.
+     */
+    @Version
+    private Long version;
+
+    /**
+     * Boîte d'envoi du véhicule : événements enregistrés par la même écriture que le véhicule, retirés une fois
+     * traités. Absente tant qu'aucun événement n'a été enregistré.
+     */
+    private List<VehicleOutboxEntry> outbox;
+
+    /**
+     * Événements de la boîte d'envoi abandonnés après trop d'échecs, conservés pour analyse. Hors de l'index de la
+     * boîte d'envoi : ils ne sont plus traités.
+     */
+    private List<VehicleOutboxEntry> outboxDeadLetters;
 }
@@ -0,0 +1,28 @@
+package com.imt.adaptersoutbdd.vehicle.repositories.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Événement en attente dans la boîte d'envoi d'un véhicule, enregistré dans le document du véhicule.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleOutboxEntry {
+    public static final String EVENT_ID_FIELD = "eventId";
+    public static final String OCCURRED_AT_FIELD = "occurredAt";
+    public static final String ATTEMPTS_FIELD = "attempts";
+
+    private String eventId;
+    private Instant occurredAt;
+    /**
+     * Nombre de traitements en échec, absent tant qu'aucun n'a échoué.
+     */
+    private Integer attempts;
+}
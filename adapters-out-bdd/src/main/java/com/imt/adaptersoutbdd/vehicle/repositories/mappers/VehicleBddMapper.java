@@ -22,6 +22,7 @@ public class VehicleBddMapper extends AbstractBddMapper<Vehicle, VehicleEntity>
                 .color(input.getColor())
                 .acquisitionDate(input.getAcquisitionDate())
                 .state(input.getState())
+                .version(input.getVersion())
                 .build();
     }
 
@@ -38,6 +39,7 @@ public class VehicleBddMapper extends AbstractBddMapper<Vehicle, VehicleEntity>
                 .color(object.getColor())
                 .acquisitionDate(object.getAcquisitionDate())
                 .state(object.getState())
+                .version(object.getVersion())
                 .build();
     }
 }
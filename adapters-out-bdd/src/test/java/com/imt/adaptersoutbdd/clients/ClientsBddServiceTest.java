@@ -4,6 +4,9 @@ import com.imt.adaptersoutbdd.clients.repositories.ClientRepository;
 import com.imt.adaptersoutbdd.clients.repositories.entities.ClientEntity;
 import com.imt.adaptersoutbdd.clients.repositories.mappers.ClientBddMapper;
 import com.imt.clients.model.Client;
+import com.imt.clients.model.ClientUnicityConflict;
+import com.imt.common.exceptions.ConflictException;
+import com.imt.common.exceptions.VersionConflictException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,6 +14,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.time.LocalDate;
 import java.util.Collection;
@@ -91,7 +96,7 @@ class ClientsBddServiceTest {
 
     @Test
     @DisplayName("save() - Sauvegarde l'entité et retourne le domaine")
-    void save_shouldSaveAndReturnClient() {
+    void save_shouldSaveAndReturnClient() throws ConflictException {
         // Given
         when(mapper.to(testClient)).thenReturn(testClientEntity);
         when(repository.save(testClientEntity)).thenReturn(testClientEntity);
@@ -105,6 +110,52 @@ class ClientsBddServiceTest {
         verify(repository).save(testClientEntity);
     }
 
+    @Test
+    @DisplayName("save() - Traduit un doublon sur le numéro de permis en ConflictException")
+    void save_shouldThrowConflict_whenLicenseNumberIndexRejectsWrite() {
+        // Given
+        Client client = Client.builder().id(testId).licenseNumber("AB123").build();
+        when(mapper.to(client)).thenReturn(testClientEntity);
+        when(repository.save(testClientEntity)).thenThrow(new DuplicateKeyException(
+                "E11000 duplicate key error collection: carrentaldb.clients index: "
+                        + ClientEntity.LICENSE_NUMBER_INDEX + " dup key: { licenseNumber: \"AB123\" }"));
+
+        // When & Then
+        ConflictException exception = assertThrows(ConflictException.class, () -> service.save(client));
+        assertEquals("A client with license number 'AB123' already exists.", exception.getMessage());
+        verify(mapper, never()).from(any(ClientEntity.class));
+    }
+
+    @Test
+    @DisplayName("save() - Traduit un doublon sur l'identité en ConflictException")
+    void save_shouldThrowConflict_whenIdentityIndexRejectsWrite() {
+        // Given
+        Client client = Client.builder()
+                .id(testId).lastName("Dupont").firstName("Jean").dateOfBirth(LocalDate.of(1990, 1, 1))
+                .build();
+        when(mapper.to(client)).thenReturn(testClientEntity);
+        when(repository.save(testClientEntity)).thenThrow(new DuplicateKeyException(
+                "E11000 duplicate key error collection: carrentaldb.clients index: " + ClientEntity.IDENTITY_INDEX));
+
+        // When & Then
+        ConflictException exception = assertThrows(ConflictException.class, () -> service.save(client));
+        assertEquals("A client with name 'Jean Dupont' and birth date '1990-01-01' already exists.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("save() - Traduit un refus de l'écriture conditionnelle en VersionConflictException")
+    void save_shouldThrowVersionConflict_whenVersionIsStale() {
+        // Given : la version lue n'est plus celle du document
+        Client client = Client.builder().id(testId).version(1L).build();
+        when(mapper.to(client)).thenReturn(testClientEntity);
+        when(repository.save(testClientEntity)).thenThrow(new OptimisticLockingFailureException("Cannot save entity with version 1"));
+
+        // When & Then
+        VersionConflictException exception = assertThrows(VersionConflictException.class, () -> service.save(client));
+        assertEquals("Le client a été modifié entre-temps, veuillez réessayer.", exception.getMessage());
+        verify(mapper, never()).from(any(ClientEntity.class));
+    }
+
     @Test
     @DisplayName("delete() - Appelle le delete du repository")
     void delete_shouldCallRepository() {
@@ -154,4 +205,52 @@ class ClientsBddServiceTest {
 
         verify(repository).findByLastNameAndFirstNameAndDateOfBirth(nom, prenom, date);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("findUnicityConflicts() - Rapporte chaque règle enfreinte en un seul appel")
+    void findUnicityConflicts_shouldReportEachViolatedRule() {
+        // Given
+        LocalDate birthDate = LocalDate.of(1990, 1, 1);
+        Client candidate = Client.builder()
+                .id(testId).lastName("Dupont").firstName("Jean").dateOfBirth(birthDate).licenseNumber("AB123")
+                .build();
+        ClientEntity homonym = ClientEntity.builder()
+                .id("homonym").lastName("Dupont").firstName("Jean").dateOfBirth(birthDate).licenseNumber("ZZ999")
+                .build();
+        ClientEntity sameLicense = ClientEntity.builder()
+                .id("same-license").lastName("Martin").firstName("Paul").dateOfBirth(birthDate).licenseNumber("AB123")
+                .build();
+        ClientEntity duplicate = ClientEntity.builder()
+                .id("duplicate").lastName("Dupont").firstName("Jean").dateOfBirth(birthDate).licenseNumber("AB123")
+                .build();
+
+        when(repository.findUnicityConflicts(testId, "Dupont", "Jean", birthDate, "AB123"))
+                .thenReturn(List.of(homonym, sameLicense, duplicate));
+
+        // When
+        Collection<ClientUnicityConflict> result = service.findUnicityConflicts(candidate);
+
+        // Then
+        assertEquals(List.of(
+                new ClientUnicityConflict("homonym", ClientUnicityConflict.Rule.IDENTITY),
+                new ClientUnicityConflict("same-license", ClientUnicityConflict.Rule.LICENSE_NUMBER),
+                new ClientUnicityConflict("duplicate", ClientUnicityConflict.Rule.IDENTITY),
+                new ClientUnicityConflict("duplicate", ClientUnicityConflict.Rule.LICENSE_NUMBER)
+        ), result);
+        verify(repository, times(1)).findUnicityConflicts(any(), any(), any(), any(), any());
+        verifyNoInteractions(mapper);
+    }
+
+    @Test
+    @DisplayName("findUnicityConflicts() - Retourne une collection vide sans conflit")
+    void findUnicityConflicts_shouldReturnEmpty_whenNoMatch() {
+        // Given
+        when(repository.findUnicityConflicts(any(), any(), any(), any(), any())).thenReturn(Collections.emptyList());
+
+        // When
+        Collection<ClientUnicityConflict> result = service.findUnicityConflicts(testClient);
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+}
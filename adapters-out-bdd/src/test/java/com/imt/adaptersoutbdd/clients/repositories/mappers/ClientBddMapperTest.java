@@ -33,6 +33,7 @@ class ClientBddMapperTest {
                 .dateOfBirth(LocalDate.of(1990, 1, 1))
                 .licenseNumber("AB123CD")
                 .address("1 Rue de la Paix")
+                .version(3L)
                 .build();
 
         // When
@@ -46,6 +47,7 @@ class ClientBddMapperTest {
         assertEquals(LocalDate.of(1990, 1, 1), result.getDateOfBirth());
         assertEquals("AB123CD", result.getLicenseNumber());
         assertEquals("1 Rue de la Paix", result.getAddress());
+        assertEquals(3L, result.getVersion());
     }
 
     @Test
@@ -65,6 +67,7 @@ class ClientBddMapperTest {
                 .dateOfBirth(LocalDate.of(1985, 5, 20))
                 .licenseNumber("XY987ZT")
                 .address("10 Avenue Foch")
+                .version(7L)
                 .build();
 
         // When
@@ -78,6 +81,7 @@ class ClientBddMapperTest {
         assertEquals(LocalDate.of(1985, 5, 20), result.getDateOfBirth());
         assertEquals("XY987ZT", result.getLicenseNumber());
         assertEquals("10 Avenue Foch", result.getAddress());
+        assertEquals(7L, result.getVersion());
     }
 
     @Test
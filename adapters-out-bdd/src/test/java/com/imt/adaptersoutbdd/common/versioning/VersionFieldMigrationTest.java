@@ -0,0 +1,51 @@
+package com.imt.adaptersoutbdd.common.versioning;
+
+import com.imt.adaptersoutbdd.clients.repositories.entities.ClientEntity;
+import com.imt.adaptersoutbdd.contracts.repositories.entities.ContractEntity;
+import com.imt.adaptersoutbdd.vehicle.repositories.entities.VehicleEntity;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VersionFieldMigration - Tests unitaires")
+class VersionFieldMigrationTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    @DisplayName("afterPropertiesSet() - Initialise la version des documents qui n'en ont pas, pour chaque entité versionnée")
+    void afterPropertiesSet_shouldSetInitialVersionOnUnversionedDocuments() {
+        // Given
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), any(Class.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        // When
+        new VersionFieldMigration(mongoTemplate).afterPropertiesSet();
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(query.capture(), update.capture(), eq(ClientEntity.class));
+        verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(VehicleEntity.class));
+        verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(ContractEntity.class));
+
+        Document versionFilter = query.getValue().getQueryObject().get(VersionFieldMigration.VERSION_FIELD, Document.class);
+        assertEquals(false, versionFilter.get("$exists"));
+        assertEquals(0L, update.getValue().getUpdateObject().get("$set", Document.class).get(VersionFieldMigration.VERSION_FIELD));
+    }
+}
@@ -1,27 +1,49 @@
 package com.imt.adaptersoutbdd.contracts;
 
+import com.imt.adaptersoutbdd.common.versioning.ConditionalUpdate;
 import com.imt.adaptersoutbdd.contracts.repositories.ContractRepository;
 import com.imt.adaptersoutbdd.contracts.repositories.entities.ContractEntity;
 import com.imt.adaptersoutbdd.contracts.repositories.mappers.ContractBddMapper;
+import com.imt.common.exceptions.ConflictException;
+import com.imt.common.exceptions.VersionConflictException;
+import com.imt.common.model.FieldChanges;
 import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractCursor;
 import com.imt.contracts.model.ContractStateEnum;
+import com.imt.contracts.model.ContractTransition;
+import com.imt.contracts.model.OccupancyPeriod;
+import com.imt.contracts.model.OccupancyStatusEnum;
+import com.imt.contracts.model.VehiclePartition;
 import com.imt.vehicle.model.VehicleStateEnum;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +56,9 @@ class ContractsBddServiceTest {
     @Mock
     private ContractBddMapper mapper;
 
+    @Mock
+    private MongoTemplate mongoTemplate;
+
     @InjectMocks
     private ContractsBddService service;
 
@@ -156,7 +181,7 @@ class ContractsBddServiceTest {
 
     @Test
     @DisplayName("save() - Sauvegarde l'entité et retourne le contrat")
-    void save_shouldSaveAndReturnContract() {
+    void save_shouldSaveAndReturnContract() throws ConflictException {
         // Given
         when(mapper.to(testContract)).thenReturn(testContractEntity);
         when(repository.save(testContractEntity)).thenReturn(testContractEntity);
@@ -173,6 +198,297 @@ class ContractsBddServiceTest {
         verify(mapper).from(testContractEntity);
     }
 
+    @Test
+    @DisplayName("save() - Traduit un refus de l'écriture conditionnelle en VersionConflictException")
+    void save_shouldThrowVersionConflict_whenVersionIsStale() {
+        // Given : la version lue n'est plus celle du document
+        when(mapper.to(testContract)).thenReturn(testContractEntity);
+        when(repository.save(testContractEntity)).thenThrow(new OptimisticLockingFailureException("Cannot save entity with version 1"));
+
+        // When & Then
+        VersionConflictException exception = assertThrows(VersionConflictException.class, () -> service.save(testContract));
+        assertEquals("Le contrat a été modifié entre-temps, veuillez réessayer.", exception.getMessage());
+        verify(mapper, never()).from(any(ContractEntity.class));
+    }
+
+    @Test
+    @DisplayName("applyChanges() - Écrit le $set des champs modifiés, conditionné à la version lue, en une seule opération")
+    void applyChanges_shouldUpdateOnlyModifiedFieldsOfReadVersion() throws ConflictException {
+        // Given : le contrat annulé n'a plus d'échéance
+        Contract read = testContract.toBuilder().state(ContractStateEnum.CANCELLED).version(4L).build();
+        FieldChanges changes = FieldChanges.builder().compare("state", ContractStateEnum.PENDING, ContractStateEnum.CANCELLED).build();
+        when(mapper.toUpdate(changes)).thenReturn(new Update().set("state", ContractStateEnum.CANCELLED));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(ContractEntity.class)))
+                .thenReturn(testContractEntity);
+        when(mapper.from(testContractEntity)).thenReturn(testContract);
+
+        // When
+        Optional<Contract> result = service.applyChanges(read, changes);
+
+        // Then
+        assertEquals(Optional.of(testContract), result);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(ContractEntity.class));
+        assertEquals(testIdString, query.getValue().getQueryObject().get("id"));
+        assertEquals(4L, query.getValue().getQueryObject().get("version"));
+        assertEquals(new Document("state", ContractStateEnum.CANCELLED), update.getValue().getUpdateObject().get("$set"));
+        assertEquals(new Document("dueDate", 1), update.getValue().getUpdateObject().get("$unset"));
+        assertEquals(new Document("version", 1), update.getValue().getUpdateObject().get("$inc"));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("applyChanges() - Recalcule l'échéance lorsque les dates du contrat changent")
+    void applyChanges_shouldRescheduleDueDate_whenDatesChange() throws ConflictException {
+        // Given : le contrat en attente commence désormais le 5 janvier
+        Contract postponed = testContract.toBuilder().startDate(LocalDate.of(2024, 1, 5)).version(1L).build();
+        FieldChanges changes = FieldChanges.builder().compare("startDate", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 5)).build();
+        when(mapper.toUpdate(changes)).thenReturn(new Update().set("startDate", LocalDate.of(2024, 1, 5)));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(ContractEntity.class)))
+                .thenReturn(testContractEntity);
+        when(mapper.from(testContractEntity)).thenReturn(postponed);
+
+        // When
+        service.applyChanges(postponed, changes);
+
+        // Then
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(ContractEntity.class));
+        assertEquals(
+                new Document("startDate", LocalDate.of(2024, 1, 5)).append("dueDate", LocalDate.of(2024, 1, 5)),
+                update.getValue().getUpdateObject().get("$set")
+        );
+    }
+
+    @Test
+    @DisplayName("applyChanges() - Signale un conflit de version si le document existe dans une autre version")
+    void applyChanges_shouldThrowVersionConflict_whenVersionIsStale() {
+        // Given
+        FieldChanges changes = FieldChanges.builder().compare("state", ContractStateEnum.PENDING, ContractStateEnum.CANCELLED).build();
+        when(mapper.toUpdate(changes)).thenReturn(new Update().set("state", ContractStateEnum.CANCELLED));
+        when(repository.existsById(testIdString)).thenReturn(true);
+
+        // When & Then
+        assertThrows(VersionConflictException.class, () -> service.applyChanges(testContract, changes));
+    }
+
+    @Test
+    @DisplayName("applyChanges() - Retourne un Optional vide si le contrat a été supprimé, et n'écrit rien sans modification")
+    void applyChanges_shouldReturnEmpty_whenContractNoLongerExists() throws ConflictException {
+        // Given
+        FieldChanges changes = FieldChanges.builder().compare("state", ContractStateEnum.PENDING, ContractStateEnum.CANCELLED).build();
+        when(mapper.toUpdate(changes)).thenReturn(new Update().set("state", ContractStateEnum.CANCELLED));
+        when(repository.existsById(testIdString)).thenReturn(false);
+
+        // When & Then
+        assertTrue(service.applyChanges(testContract, changes).isEmpty());
+
+        // Sans modification, aucune écriture n'est émise
+        when(repository.findById(testIdString)).thenReturn(Optional.of(testContractEntity));
+        when(mapper.from(testContractEntity)).thenReturn(testContract);
+        assertEquals(Optional.of(testContract), service.applyChanges(testContract, FieldChanges.none()));
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(ContractEntity.class));
+    }
+
+    @Test
+    @DisplayName("cancelPendingContractsByVehicleId() - Annule tous les contrats en attente en un seul updateMany")
+    void cancelPendingContractsByVehicleId_shouldCancelWithSingleUpdateMany() {
+        // Given
+        String otherId = UUID.randomUUID().toString();
+        when(repository.findIdsByVehicleIdAndState(vehicleIdString, ContractStateEnum.PENDING))
+                .thenReturn(List.of(ContractEntity.builder().id(testIdString).build(), ContractEntity.builder().id(otherId).build()));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(ContractEntity.class)))
+                .thenReturn(UpdateResult.acknowledged(2, 2L, null));
+
+        // When
+        Collection<UUID> result = service.cancelPendingContractsByVehicleId(vehicleId);
+
+        // Then
+        assertEquals(List.of(testId, UUID.fromString(otherId)), List.copyOf(result));
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(any(Query.class), update.capture(), eq(ContractEntity.class));
+        assertEquals(new Document("state", ContractStateEnum.CANCELLED), update.getValue().getUpdateObject().get("$set"));
+        assertEquals(new Document("dueDate", 1), update.getValue().getUpdateObject().get("$unset"));
+        assertEquals(new Document("version", 1), update.getValue().getUpdateObject().get("$inc"));
+        verify(repository, never()).save(any());
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("cancelPendingContractsByVehicleId() - Ne retient que les contrats effectivement annulés si certains ont changé entre-temps")
+    void cancelPendingContractsByVehicleId_shouldReturnOnlyCancelled_whenSomeChangedMeanwhile() {
+        // Given : le second contrat a démarré entre la lecture des identifiants et l'écriture
+        String startedId = UUID.randomUUID().toString();
+        when(repository.findIdsByVehicleIdAndState(vehicleIdString, ContractStateEnum.PENDING))
+                .thenReturn(List.of(ContractEntity.builder().id(testIdString).build(), ContractEntity.builder().id(startedId).build()));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(ContractEntity.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        when(repository.findAllById(List.of(testIdString, startedId))).thenReturn(List.of(
+                ContractEntity.builder().id(testIdString).state(ContractStateEnum.CANCELLED).build(),
+                ContractEntity.builder().id(startedId).state(ContractStateEnum.IN_PROGRESS).build()
+        ));
+
+        // When
+        Collection<UUID> result = service.cancelPendingContractsByVehicleId(vehicleId);
+
+        // Then
+        assertEquals(List.of(testId), List.copyOf(result));
+    }
+
+    @Test
+    @DisplayName("cancelPendingContractsByVehicleId() - N'écrit rien si le véhicule n'a aucun contrat en attente")
+    void cancelPendingContractsByVehicleId_shouldNotWrite_whenNoPendingContract() {
+        // Given
+        when(repository.findIdsByVehicleIdAndState(vehicleIdString, ContractStateEnum.PENDING)).thenReturn(List.of());
+
+        // When & Then
+        assertTrue(service.cancelPendingContractsByVehicleId(vehicleId).isEmpty());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("applyTransitions() - Applique toutes les transitions du lot en une seule écriture groupée, chacune conditionnée à l'état et à la version lus")
+    void applyTransitions_shouldWriteChunkWithSingleBulkWrite() {
+        // Given
+        BulkOperations bulk = mock(BulkOperations.class);
+        Contract pending = testContract.toBuilder().version(1L).build();
+        Contract inProgress = testContract.toBuilder().identifier(UUID.randomUUID()).state(ContractStateEnum.IN_PROGRESS).version(3L).build();
+        List<ContractTransition> transitions = List.of(
+                new ContractTransition(pending, ContractStateEnum.IN_PROGRESS),
+                new ContractTransition(inProgress, ContractStateEnum.LATE)
+        );
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ContractEntity.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(BulkWriteResult.acknowledged(0, 2, 0, 2, List.of(), List.of()));
+
+        // When
+        Collection<Contract> result = service.applyTransitions(transitions);
+
+        // Then : les contrats retournés portent le nouvel état et la version écrite, sans relecture
+        assertEquals(List.of(
+                pending.toBuilder().state(ContractStateEnum.IN_PROGRESS).version(2L).build(),
+                inProgress.toBuilder().state(ContractStateEnum.LATE).version(4L).build()
+        ), List.copyOf(result));
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(2)).updateOne(query.capture(), update.capture());
+        verify(bulk).execute();
+        assertEquals(ContractStateEnum.PENDING, query.getAllValues().get(0).getQueryObject().get("state"));
+        assertEquals(1L, query.getAllValues().get(0).getQueryObject().get(ConditionalUpdate.VERSION_FIELD));
+        assertEquals(3L, query.getAllValues().get(1).getQueryObject().get(ConditionalUpdate.VERSION_FIELD));
+        assertEquals(
+                new Document("state", ContractStateEnum.IN_PROGRESS).append("dueDate", LocalDate.of(2024, 2, 1)),
+                update.getAllValues().get(0).getUpdateObject().get("$set")
+        );
+        assertEquals(new Document("dueDate", 1), update.getAllValues().get(1).getUpdateObject().get("$unset"));
+        verify(repository, never()).findAllById(any());
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(ContractEntity.class));
+    }
+
+    @Test
+    @DisplayName("applyTransitions() - Ne retient que les transitions effectivement appliquées si certains contrats ont changé entre-temps")
+    void applyTransitions_shouldReturnOnlyApplied_whenSomeChangedMeanwhile() {
+        // Given : le second contrat a été annulé, le troisième a été démarré par un autre écrivain après une
+        // modification de ses dates, entre la lecture et l'écriture
+        BulkOperations bulk = mock(BulkOperations.class);
+        Contract applied = testContract.toBuilder().version(1L).build();
+        Contract cancelledMeanwhile = testContract.toBuilder().identifier(UUID.randomUUID()).version(1L).build();
+        Contract startedByOther = testContract.toBuilder().identifier(UUID.randomUUID()).version(1L).build();
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ContractEntity.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+        when(repository.findAllById(List.of(testIdString, cancelledMeanwhile.getIdentifier().toString(),
+                startedByOther.getIdentifier().toString()))).thenReturn(List.of(
+                ContractEntity.builder().id(testIdString).state(ContractStateEnum.IN_PROGRESS).version(2L).build(),
+                ContractEntity.builder().id(cancelledMeanwhile.getIdentifier().toString()).state(ContractStateEnum.CANCELLED).version(2L).build(),
+                ContractEntity.builder().id(startedByOther.getIdentifier().toString()).state(ContractStateEnum.IN_PROGRESS).version(3L).build()
+        ));
+
+        // When
+        Collection<Contract> result = service.applyTransitions(List.of(
+                new ContractTransition(applied, ContractStateEnum.IN_PROGRESS),
+                new ContractTransition(cancelledMeanwhile, ContractStateEnum.IN_PROGRESS),
+                new ContractTransition(startedByOther, ContractStateEnum.IN_PROGRESS)
+        ));
+
+        // Then : seul le contrat enregistré dans la version écrite par ce lot est retenu
+        assertEquals(List.of(testId), result.stream().map(Contract::getIdentifier).toList());
+    }
+
+    @Test
+    @DisplayName("applyTransitions() - Ne relit rien si aucune transition n'a été appliquée")
+    void applyTransitions_shouldReturnNothing_whenNoneApplied() {
+        // Given
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ContractEntity.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()));
+
+        // When
+        Collection<Contract> result = service.applyTransitions(List.of(
+                new ContractTransition(testContract.toBuilder().version(1L).build(), ContractStateEnum.IN_PROGRESS)
+        ));
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("streamDueContracts() - Parcourt par curseur les échéances de la plage de la partition, après la position donnée")
+    void streamDueContracts_shouldStreamPartitionRangeAfterCursor() {
+        // Given
+        LocalDate today = LocalDate.of(2024, 2, 1);
+        ContractCursor after = new ContractCursor(LocalDate.of(2024, 1, 15), testId);
+        when(mongoTemplate.stream(any(Query.class), eq(ContractEntity.class))).thenReturn(Stream.of(testContractEntity));
+        when(mapper.from(testContractEntity)).thenReturn(testContract);
+
+        // When
+        List<Contract> result;
+        try (Stream<Contract> due = service.streamDueContracts(today, new VehiclePartition(1, 4), after)) {
+            result = due.toList();
+        }
+
+        // Then : échéances atteintes de la plage [4000, 8000) des identifiants de véhicules, strictement après
+        // (dueDate, id), lues par l'index qui commence par le véhicule
+        assertEquals(List.of(testContract), result);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(ContractEntity.class));
+        assertEquals(new Document("$lte", today), query.getValue().getQueryObject().get("dueDate"));
+        assertEquals(List.of(
+                new Document("vehicleId", new Document("$gte", "4000").append("$lt", "8000")),
+                new Document("$or", List.of(
+                        new Document("dueDate", new Document("$gt", after.getDueDate())),
+                        new Document("dueDate", after.getDueDate()).append("id", new Document("$gt", testIdString))
+                ))
+        ), query.getValue().getQueryObject().get("$and"));
+        assertEquals(new Document("dueDate", 1).append("id", 1), query.getValue().getSortObject());
+        assertEquals(ContractEntity.VEHICLE_DUE_DATE_INDEX, query.getValue().getHint());
+    }
+
+    @Test
+    @DisplayName("findVehiclesHeldByLateContracts() - Lit en une requête les véhicules retenus parmi ceux donnés")
+    void findVehiclesHeldByLateContracts_shouldUseOneInQuery() {
+        // Given
+        LocalDate today = LocalDate.of(2024, 2, 1);
+        UUID otherVehicle = UUID.randomUUID();
+        when(repository.findVehicleIdsHeldByLateContracts(List.of(vehicleIdString, otherVehicle.toString()), today))
+                .thenReturn(List.of(ContractEntity.builder().vehicleId(vehicleIdString).build()));
+
+        // When
+        Set<UUID> result = service.findVehiclesHeldByLateContracts(List.of(vehicleId, otherVehicle), today);
+
+        // Then
+        assertEquals(Set.of(vehicleId), result);
+        verify(repository, never()).findByVehicleIdAndState(any(), any());
+    }
+
+    @Test
+    @DisplayName("findVehiclesHeldByLateContracts() - N'interroge pas le stockage sans véhicule")
+    void findVehiclesHeldByLateContracts_shouldDoNothing_whenNoVehicle() {
+        // When & Then
+        assertTrue(service.findVehiclesHeldByLateContracts(List.of(), LocalDate.now()).isEmpty());
+        verifyNoInteractions(repository, mongoTemplate);
+    }
+
     @Test
     @DisplayName("delete() - Appelle le delete du repository")
     void delete_shouldCallRepository() {
@@ -219,6 +535,124 @@ class ContractsBddServiceTest {
         verify(mapper).from(testContractEntity);
     }
 
+    @Test
+    @DisplayName("findFirstOverlappingContract() - Délègue le filtrage (états bloquants, chevauchement, exclusion) au stockage")
+    void findFirstOverlappingContract_shouldQueryStorageForFirstLockingOverlap() {
+        // Given
+        LocalDate startDate = LocalDate.of(2024, 1, 10);
+        LocalDate endDate = LocalDate.of(2024, 1, 20);
+        UUID excludedId = UUID.randomUUID();
+
+        when(repository.findFirstByVehicleIdAndIdNotAndStateInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                vehicleIdString, excludedId.toString(), ContractStateEnum.lockingStates(), endDate, startDate))
+                .thenReturn(Optional.of(testContractEntity));
+        when(mapper.from(testContractEntity)).thenReturn(testContract);
+
+        // When
+        Optional<Contract> result = service.findFirstOverlappingContract(vehicleId, startDate, endDate, excludedId);
+
+        // Then
+        assertEquals(Optional.of(testContract), result);
+        verify(repository, never()).findByVehicleId(any());
+    }
+
+    @Test
+    @DisplayName("findFirstOverlappingContract() - Retourne vide sans interroger le stockage si la période est incomplète")
+    void findFirstOverlappingContract_shouldReturnEmpty_whenPeriodIsIncomplete() {
+        // When
+        Optional<Contract> result = service.findFirstOverlappingContract(vehicleId, null, LocalDate.now(), null);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("findLockingContractsBetween() - Filtre les états bloquants et le chevauchement en base")
+    void findLockingContractsBetween_shouldQueryLockingOverlaps() {
+        // Given
+        LocalDate startDate = LocalDate.of(2024, 1, 10);
+        LocalDate endDate = LocalDate.of(2024, 1, 20);
+
+        when(repository.findByVehicleIdAndStateInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                vehicleIdString, ContractStateEnum.lockingStates(), endDate, startDate))
+                .thenReturn(List.of(testContractEntity));
+        when(mapper.from(testContractEntity)).thenReturn(testContract);
+
+        // When
+        Collection<Contract> result = service.findLockingContractsBetween(vehicleId, startDate, endDate);
+
+        // Then
+        assertEquals(List.of(testContract), result);
+    }
+
+    @Test
+    @DisplayName("findBusyPeriods() - Fusionne les contrats bloquants chevauchants ou contigus en plages limitées à la période")
+    void findBusyPeriods_shouldMergeLockingContracts() {
+        // Given
+        LocalDate from = LocalDate.of(2024, 1, 10);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+        Contract following = testContract.toBuilder().identifier(UUID.randomUUID())
+                .startDate(LocalDate.of(2024, 2, 1)).endDate(LocalDate.of(2024, 2, 5)).build();
+        Contract later = testContract.toBuilder().identifier(UUID.randomUUID())
+                .startDate(LocalDate.of(2024, 3, 1)).endDate(LocalDate.of(2024, 4, 15)).build();
+        ContractEntity followingEntity = ContractEntity.builder().id(following.getIdentifier().toString()).build();
+        ContractEntity laterEntity = ContractEntity.builder().id(later.getIdentifier().toString()).build();
+
+        when(repository.findByVehicleIdAndStateInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                vehicleIdString, ContractStateEnum.lockingStates(), to, from))
+                .thenReturn(List.of(laterEntity, testContractEntity, followingEntity));
+        when(mapper.from(testContractEntity)).thenReturn(testContract);
+        when(mapper.from(followingEntity)).thenReturn(following);
+        when(mapper.from(laterEntity)).thenReturn(later);
+
+        // When
+        List<OccupancyPeriod> result = service.findBusyPeriods(vehicleId, from, to);
+
+        // Then
+        assertEquals(List.of(
+                new OccupancyPeriod(from, LocalDate.of(2024, 2, 5), OccupancyStatusEnum.BUSY),
+                new OccupancyPeriod(LocalDate.of(2024, 3, 1), to, OccupancyStatusEnum.BUSY)
+        ), result);
+    }
+
+    @Test
+    @DisplayName("findOccupiedVehicles() - Ne lit que les identifiants de véhicules des contrats bloquants chevauchant la période")
+    void findOccupiedVehicles_shouldReturnDistinctVehicles() {
+        // Given
+        LocalDate startDate = LocalDate.of(2024, 1, 10);
+        LocalDate endDate = LocalDate.of(2024, 1, 20);
+        ContractEntity sameVehicle = ContractEntity.builder().vehicleId(vehicleIdString).build();
+
+        when(repository.findVehicleIdsByStateInAndPeriod(ContractStateEnum.lockingStates(), endDate, startDate))
+                .thenReturn(List.of(testContractEntity, sameVehicle));
+
+        // When
+        Set<UUID> result = service.findOccupiedVehicles(startDate, endDate);
+
+        // Then
+        assertEquals(Set.of(vehicleId), result);
+        assertTrue(service.findOccupiedVehicles(null, endDate).isEmpty());
+        verify(repository, times(1)).findVehicleIdsByStateInAndPeriod(any(), any(), any());
+        verifyNoInteractions(mapper);
+    }
+
+    @Test
+    @DisplayName("findByStates() - Charge les contrats des états demandés, sans requête si aucun état")
+    void findByStates_shouldCallRepo() {
+        // Given
+        when(repository.findByStateIn(ContractStateEnum.lockingStates())).thenReturn(List.of(testContractEntity));
+        when(mapper.from(testContractEntity)).thenReturn(testContract);
+
+        // When
+        Collection<Contract> result = service.findByStates(ContractStateEnum.lockingStates());
+
+        // Then
+        assertEquals(List.of(testContract), result);
+        assertTrue(service.findByStates(List.of()).isEmpty());
+        verify(repository, times(1)).findByStateIn(any());
+    }
+
     @Test
     @DisplayName("findByVehicleIdentifierBetween() - Appelle la méthode spécifique avec dates")
     void findByVehicleIdentifierBetween_shouldCallRepo() {
@@ -262,5 +696,64 @@ class ContractsBddServiceTest {
         verify(repository, never()).findByVehicleIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
                 any(), any(), any());
     }
-}
 
+    @Test
+    @DisplayName("findByVehicleIdentifiers() - Interroge tous les véhicules en une seule requête")
+    void findByVehicleIdentifiers_shouldCallRepoOnce() {
+        // Given
+        UUID otherVehicleId = UUID.randomUUID();
+        when(repository.findByVehicleIdIn(List.of(vehicleIdString, otherVehicleId.toString())))
+                .thenReturn(List.of(testContractEntity));
+        when(mapper.from(testContractEntity)).thenReturn(testContract);
+
+        // When
+        Collection<Contract> result = service.findByVehicleIdentifiers(List.of(vehicleId, otherVehicleId));
+
+        // Then
+        assertEquals(1, result.size());
+        assertTrue(result.contains(testContract));
+        verify(repository).findByVehicleIdIn(List.of(vehicleIdString, otherVehicleId.toString()));
+    }
+
+    @Test
+    @DisplayName("findByVehicleIdentifiers() - Retourne liste vide sans interroger le repository si aucun véhicule")
+    void findByVehicleIdentifiers_shouldReturnEmpty_whenNoVehicle() {
+        // When
+        Collection<Contract> result = service.findByVehicleIdentifiers(List.of());
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(repository, never()).findByVehicleIdIn(any());
+    }
+
+    @Test
+    @DisplayName("findByIdentifiers() - Lit tous les contrats donnés en une seule requête")
+    void findByIdentifiers_shouldCallRepoOnce() {
+        // Given
+        when(repository.findAllById(List.of(testIdString))).thenReturn(List.of(testContractEntity));
+        when(mapper.from(testContractEntity)).thenReturn(testContract);
+
+        // When
+        Collection<Contract> result = service.findByIdentifiers(List.of(testId));
+
+        // Then
+        assertEquals(List.of(testContract), List.copyOf(result));
+        verify(repository).findAllById(List.of(testIdString));
+    }
+
+    @Test
+    @DisplayName("saveAll() - Sauvegarde toutes les entités en une seule opération")
+    void saveAll_shouldSaveAllInOneCall() {
+        // Given
+        when(mapper.to(testContract)).thenReturn(testContractEntity);
+        when(repository.saveAll(List.of(testContractEntity))).thenReturn(List.of(testContractEntity));
+        when(mapper.from(testContractEntity)).thenReturn(testContract);
+
+        // When
+        Collection<Contract> result = service.saveAll(List.of(testContract));
+
+        // Then
+        assertEquals(List.of(testContract), result);
+        verify(repository).saveAll(List.of(testContractEntity));
+    }
+}
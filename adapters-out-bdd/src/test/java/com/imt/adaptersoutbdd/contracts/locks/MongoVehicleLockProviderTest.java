@@ -0,0 +1,147 @@
+package com.imt.adaptersoutbdd.contracts.locks;
+
+import com.imt.common.exceptions.ConflictException;
+import com.imt.common.exceptions.ImtException;
+import com.imt.contracts.locks.StripedVehicleLockProvider;
+import com.imt.contracts.locks.VehicleLock;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MongoVehicleLockProvider - Tests unitaires")
+class MongoVehicleLockProviderTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private MongoVehicleLockProvider provider;
+    private UUID vehicleId;
+
+    @BeforeEach
+    void setUp() {
+        provider = new MongoVehicleLockProvider(
+                mongoTemplate, new StripedVehicleLockProvider(), Duration.ofSeconds(10), Duration.ZERO, Clock.systemUTC());
+        vehicleId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("acquire() - Prend un bail conditionné à l'expiration du précédent, selon l'heure du serveur, et le libère à la fermeture")
+    void acquire_shouldLeaseAndRelease() throws ImtException {
+        // When
+        VehicleLock lock = provider.acquire(vehicleId);
+        lock.close();
+
+        // Then
+        ArgumentCaptor<Query> leaseQuery = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Query> releaseQuery = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).upsert(leaseQuery.capture(), any(UpdateDefinition.class), eq(MongoVehicleLockProvider.COLLECTION));
+        verify(mongoTemplate).remove(releaseQuery.capture(), eq(MongoVehicleLockProvider.COLLECTION));
+        assertThat(leaseQuery.getValue().getQueryObject().get("_id")).isEqualTo(vehicleId.toString());
+        assertThat(leaseQuery.getValue().getQueryObject().get("$expr", Document.class).get("$lt", List.class))
+                .containsExactly("$expiresAt", "$$NOW");
+        assertThat(releaseQuery.getValue().getQueryObject()).containsKey("owner");
+    }
+
+    @Test
+    @DisplayName("acquire() - Refuse la réservation si le bail reste détenu au-delà du délai d'attente")
+    void acquire_shouldFailWhenLeaseIsHeld() throws ImtException {
+        // Given
+        when(mongoTemplate.upsert(any(Query.class), any(UpdateDefinition.class), eq(MongoVehicleLockProvider.COLLECTION)))
+                .thenThrow(new DuplicateKeyException("E11000"));
+
+        // When & Then
+        assertThatThrownBy(() -> provider.acquire(vehicleId)).isInstanceOf(ConflictException.class);
+        verify(mongoTemplate, never()).remove(any(Query.class), anyString());
+
+        // Then : le verrou local a été rendu, une nouvelle tentative n'est pas bloquée
+        reset(mongoTemplate);
+        provider.acquire(vehicleId).close();
+    }
+
+    @Test
+    @DisplayName("acquireAll() - Prend les baux dans l'ordre des identifiants et rend ceux obtenus en cas d'échec")
+    void acquireAll_shouldReleaseObtainedLeasesOnFailure() {
+        // Given
+        String first = "00000000-0000-0000-0000-000000000001";
+        String second = "00000000-0000-0000-0000-000000000002";
+        when(mongoTemplate.upsert(any(Query.class), any(UpdateDefinition.class), eq(MongoVehicleLockProvider.COLLECTION)))
+                .thenAnswer(invocation -> {
+                    Query query = invocation.getArgument(0);
+                    if (second.equals(query.getQueryObject().get("_id"))) {
+                        throw new DuplicateKeyException("E11000");
+                    }
+                    return null;
+                });
+
+        // When & Then
+        assertThatThrownBy(() -> provider.acquireAll(List.of(UUID.fromString(second), UUID.fromString(first))))
+                .isInstanceOf(ConflictException.class);
+
+        InOrder inOrder = inOrder(mongoTemplate);
+        inOrder.verify(mongoTemplate).upsert(argThat(query -> first.equals(query.getQueryObject().get("_id"))),
+                any(UpdateDefinition.class), eq(MongoVehicleLockProvider.COLLECTION));
+        inOrder.verify(mongoTemplate).upsert(argThat(query -> second.equals(query.getQueryObject().get("_id"))),
+                any(UpdateDefinition.class), eq(MongoVehicleLockProvider.COLLECTION));
+        inOrder.verify(mongoTemplate).remove(argThat((Query query) -> first.equals(query.getQueryObject().get("_id"))),
+                eq(MongoVehicleLockProvider.COLLECTION));
+    }
+
+    @Test
+    @DisplayName("ensureHeld() - Prolonge le bail tant qu'il est détenu par la même acquisition")
+    void ensureHeld_shouldRenewLeaseOfSameOwner() throws ImtException {
+        // Given
+        when(mongoTemplate.updateMulti(any(Query.class), any(UpdateDefinition.class), eq(MongoVehicleLockProvider.COLLECTION)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // When
+        try (VehicleLock lock = provider.acquire(vehicleId)) {
+            lock.ensureHeld();
+        }
+
+        // Then
+        ArgumentCaptor<Query> leaseQuery = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Query> renewQuery = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).upsert(leaseQuery.capture(), any(UpdateDefinition.class), eq(MongoVehicleLockProvider.COLLECTION));
+        verify(mongoTemplate).updateMulti(renewQuery.capture(), any(UpdateDefinition.class), eq(MongoVehicleLockProvider.COLLECTION));
+        assertThat(renewQuery.getValue().getQueryObject().get("owner")).isNotNull();
+        assertThat(renewQuery.getValue().getQueryObject().get("$expr", Document.class).get("$gte", List.class))
+                .containsExactly("$expiresAt", "$$NOW");
+    }
+
+    @Test
+    @DisplayName("ensureHeld() - Refuse l'écriture si le bail a expiré et a été repris par une autre réservation")
+    void ensureHeld_shouldFailWhenLeaseWasTakenOver() throws ImtException {
+        // Given : le bail n'a plus ce détenteur
+        when(mongoTemplate.updateMulti(any(Query.class), any(UpdateDefinition.class), eq(MongoVehicleLockProvider.COLLECTION)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        // When & Then
+        try (VehicleLock lock = provider.acquire(vehicleId)) {
+            assertThatThrownBy(lock::ensureHeld).isInstanceOf(ConflictException.class);
+        }
+    }
+}
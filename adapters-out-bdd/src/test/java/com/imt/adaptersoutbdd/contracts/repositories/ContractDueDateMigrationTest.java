@@ -0,0 +1,87 @@
+package com.imt.adaptersoutbdd.contracts.repositories;
+
+import com.imt.adaptersoutbdd.contracts.repositories.entities.ContractEntity;
+import com.imt.contracts.model.ContractStateEnum;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ContractDueDateMigration - Tests unitaires")
+class ContractDueDateMigrationTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulk;
+
+    @Test
+    @DisplayName("afterPropertiesSet() - Écrit en une écriture groupée l'échéance des contrats en attente et en cours qui n'en ont pas")
+    void afterPropertiesSet_shouldSetDueDateOfAutomaticContracts() {
+        // Given
+        ContractEntity pending = aContract(ContractStateEnum.PENDING);
+        ContractEntity inProgress = aContract(ContractStateEnum.IN_PROGRESS);
+        when(mongoTemplate.stream(any(Query.class), eq(ContractEntity.class))).thenReturn(Stream.of(pending, inProgress));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ContractEntity.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(BulkWriteResult.acknowledged(0, 2, 0, 2, List.of(), List.of()));
+
+        // When
+        new ContractDueDateMigration(mongoTemplate).afterPropertiesSet();
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(ContractEntity.class));
+        assertEquals(false, query.getValue().getQueryObject().get(ContractDueDateMigration.DUE_DATE_FIELD, Document.class).get("$exists"));
+
+        ArgumentCaptor<Query> filter = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(2)).updateOne(filter.capture(), update.capture());
+        verify(bulk).execute();
+        // Une échéance écrite entre-temps par une autre instance n'est pas écrasée
+        assertEquals(false, filter.getValue().getQueryObject().get(ContractDueDateMigration.DUE_DATE_FIELD, Document.class).get("$exists"));
+        assertEquals(LocalDate.of(2024, 1, 1), update.getAllValues().get(0).getUpdateObject().get("$set", Document.class).get("dueDate"));
+        assertEquals(LocalDate.of(2024, 2, 1), update.getAllValues().get(1).getUpdateObject().get("$set", Document.class).get("dueDate"));
+    }
+
+    @Test
+    @DisplayName("afterPropertiesSet() - N'écrit rien lorsque tous les contrats sont migrés")
+    void afterPropertiesSet_shouldNotWrite_whenNothingToMigrate() {
+        // Given
+        when(mongoTemplate.stream(any(Query.class), eq(ContractEntity.class))).thenReturn(Stream.empty());
+
+        // When
+        new ContractDueDateMigration(mongoTemplate).afterPropertiesSet();
+
+        // Then
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(ContractEntity.class));
+    }
+
+    private static ContractEntity aContract(ContractStateEnum state) {
+        return ContractEntity.builder()
+                .id(UUID.randomUUID().toString())
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 31))
+                .state(state)
+                .build();
+    }
+}
@@ -0,0 +1,231 @@
+package com.imt.adaptersoutbdd.contracts.repositories;
+
+import com.imt.adaptersoutbdd.contracts.repositories.entities.ContractEntity;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ContractIndexVerifier - Tests unitaires")
+class ContractIndexVerifierTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private FindIterable<Document> findIterable;
+
+    @Test
+    @DisplayName("usesCollectionScan() - Détecte un COLLSCAN imbriqué dans le plan retenu")
+    void usesCollectionScan_shouldDetectNestedCollectionScan() {
+        Document classicPlan = explainOf(new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", ContractIndexVerifier.COLLECTION_SCAN)));
+        Document sbePlan = explainOf(new Document("queryPlan", new Document("stage", "OR")
+                .append("inputStages", List.of(new Document("stage", "IXSCAN"), new Document("stage", ContractIndexVerifier.COLLECTION_SCAN)))));
+
+        assertTrue(ContractIndexVerifier.usesCollectionScan(classicPlan));
+        assertTrue(ContractIndexVerifier.usesCollectionScan(sbePlan));
+    }
+
+    @Test
+    @DisplayName("usesCollectionScan() - Accepte un plan utilisant un index")
+    void usesCollectionScan_shouldAcceptIndexScan() {
+        Document plan = explainOf(new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN").append("indexName", ContractEntity.VEHICLE_PERIOD_INDEX)));
+
+        assertFalse(ContractIndexVerifier.usesCollectionScan(plan));
+        assertFalse(ContractIndexVerifier.usesCollectionScan(new Document()));
+    }
+
+    @Test
+    @DisplayName("queryShapes() - Couvre chaque requête dérivée du repository")
+    void queryShapes_shouldCoverEveryRepositoryQuery() {
+        assertEquals(List.of(
+                "findByClientId",
+                "findByVehicleId",
+                "findByVehicleIdIn",
+                "findByVehicleIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual",
+                "findFirstByVehicleIdAndIdNotAndStateInAndStartDateLessThanEqualAndEndDateGreaterThanEqual",
+                "findByVehicleIdAndStateInAndStartDateLessThanEqualAndEndDateGreaterThanEqual",
+                "findVehicleIdsByStateInAndPeriod",
+                "findByStateIn",
+                "findByVehicleIdAndState",
+                "findIdsByVehicleIdAndState",
+                "findVehicleIdsHeldByLateContracts",
+                "streamDueContracts",
+                "streamDueContracts (partition)"
+        ), List.copyOf(ContractIndexVerifier.queryShapes(LocalDate.now()).keySet()));
+    }
+
+    @Test
+    @DisplayName("verify() - Crée les index déclarés sur l'entité")
+    void verify_shouldCreateDeclaredIndexes() {
+        // Given
+        givenExplainReturns(explainOf(new Document("stage", "IXSCAN")));
+        ContractIndexVerifier verifier = new ContractIndexVerifier(mongoTemplate, ContractIndexVerifier.Mode.WARN);
+
+        // When
+        verifier.verify();
+
+        // Then
+        ArgumentCaptor<IndexDefinition> captor = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOperations, times(6)).createIndex(captor.capture());
+        assertEquals(
+                Set.of(ContractEntity.VEHICLE_PERIOD_INDEX, ContractEntity.VEHICLE_STATE_INDEX, ContractEntity.STATE_PERIOD_INDEX,
+                        ContractEntity.DUE_DATE_INDEX, ContractEntity.VEHICLE_DUE_DATE_INDEX, ContractEntity.CLIENT_INDEX),
+                captor.getAllValues().stream()
+                        .map(definition -> definition.getIndexOptions().getString("name"))
+                        .collect(Collectors.toSet())
+        );
+    }
+
+    @Test
+    @DisplayName("findCollectionScans() - Chaque forme de requête dispose d'un index déclaré dont elle contraint le premier champ")
+    void findCollectionScans_shouldFindIndexForEveryQueryShape() {
+        // Given : le plan de chaque requête est calculé comme le ferait le planificateur du serveur, à partir des
+        // index déclarés sur l'entité : un index n'est candidat que si la requête contraint son premier champ
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        when(mongoTemplate.getCollectionName(ContractEntity.class)).thenReturn("contracts");
+        when(mongoTemplate.getCollection("contracts")).thenReturn(collection);
+        List<String> leadingFields = new ArrayList<>(List.of("_id"));
+        new MongoPersistentEntityIndexResolver(mappingContext)
+                .resolveIndexFor(ContractEntity.class)
+                .forEach(index -> leadingFields.add(index.getIndexKeys().keySet().iterator().next()));
+        when(collection.find(any(Bson.class))).thenAnswer(invocation -> {
+            Document filter = Document.parse(((Bson) invocation.getArgument(0)).toBsonDocument().toJson());
+            FindIterable<Document> plan = mock(FindIterable.class);
+            when(plan.explain()).thenReturn(explainOf(new Document("stage",
+                    isIndexable(filter, leadingFields) ? "IXSCAN" : ContractIndexVerifier.COLLECTION_SCAN)));
+            return plan;
+        });
+
+        // When & Then
+        assertEquals(List.of(), new ContractIndexVerifier(mongoTemplate, ContractIndexVerifier.Mode.FAIL).findCollectionScans());
+    }
+
+    @Test
+    @DisplayName("verify() - Supprime les index obsolètes encore présents")
+    void verify_shouldDropObsoleteIndexes() {
+        // Given
+        givenExplainReturns(explainOf(new Document("stage", "IXSCAN")));
+        when(indexOperations.getIndexInfo()).thenReturn(List.of(
+                new IndexInfo(List.of(), "_id_", false, false, null),
+                new IndexInfo(List.of(), ContractEntity.VEHICLE_PERIOD_INDEX, false, false, null),
+                new IndexInfo(List.of(), "contract_state_end_date_id", false, false, null)
+        ));
+
+        // When
+        new ContractIndexVerifier(mongoTemplate, ContractIndexVerifier.Mode.WARN).verify();
+
+        // Then
+        verify(indexOperations).dropIndex("contract_state_end_date_id");
+        verify(indexOperations, never()).dropIndex(ContractEntity.VEHICLE_PERIOD_INDEX);
+        verify(indexOperations, never()).dropIndex("_id_");
+    }
+
+    @Test
+    @DisplayName("verify() - Signale sans bloquer en mode WARN")
+    void verify_shouldOnlyWarn_whenModeIsWarn() {
+        // Given
+        givenExplainReturns(explainOf(new Document("stage", ContractIndexVerifier.COLLECTION_SCAN)));
+        ContractIndexVerifier verifier = new ContractIndexVerifier(mongoTemplate, ContractIndexVerifier.Mode.WARN);
+
+        // When & Then
+        assertDoesNotThrow(verifier::verify);
+    }
+
+    @Test
+    @DisplayName("verify() - Bloque le démarrage en mode FAIL si une requête n'utilise aucun index")
+    void verify_shouldFail_whenModeIsFailAndQueryScansCollection() {
+        // Given
+        givenExplainReturns(explainOf(new Document("stage", ContractIndexVerifier.COLLECTION_SCAN)));
+        ContractIndexVerifier verifier = new ContractIndexVerifier(mongoTemplate, ContractIndexVerifier.Mode.FAIL);
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, verifier::verify);
+        assertTrue(exception.getMessage().contains("findByClientId"));
+    }
+
+    @Test
+    @DisplayName("verify() - Ne fait rien en mode OFF")
+    void verify_shouldDoNothing_whenModeIsOff() {
+        new ContractIndexVerifier(mongoTemplate, ContractIndexVerifier.Mode.OFF).verify();
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private void givenExplainReturns(Document explain) {
+        when(mongoTemplate.indexOps(ContractEntity.class)).thenReturn(indexOperations);
+        // Contexte de mapping configuré comme par Spring Boot (dates java.time traitées comme types simples)
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        when(mongoTemplate.getConverter())
+                .thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+        when(mongoTemplate.getCollectionName(ContractEntity.class)).thenReturn("contracts");
+        when(mongoTemplate.getCollection("contracts")).thenReturn(collection);
+        when(collection.find(any(Bson.class))).thenReturn(findIterable);
+        when(findIterable.explain()).thenReturn(explain);
+    }
+
+    /**
+     * Un filtre peut utiliser un index si l'un de ses champs contraints (hors négations) est le premier champ d'un
+     * index ; un $or ne le peut que si chacune de ses branches le peut.
+     */
+    private static boolean isIndexable(Document filter, List<String> leadingFields) {
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            if ("$and".equals(entry.getKey())) {
+                for (Object clause : (List<?>) entry.getValue()) {
+                    if (isIndexable((Document) clause, leadingFields)) {
+                        return true;
+                    }
+                }
+            } else if ("$or".equals(entry.getKey())) {
+                if (((List<?>) entry.getValue()).stream().allMatch(clause -> isIndexable((Document) clause, leadingFields))) {
+                    return true;
+                }
+            } else if (leadingFields.contains(entry.getKey())
+                    && !(entry.getValue() instanceof Document condition && condition.containsKey("$ne"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Document explainOf(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+}
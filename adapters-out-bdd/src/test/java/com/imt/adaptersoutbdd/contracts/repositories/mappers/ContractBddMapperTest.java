@@ -0,0 +1,65 @@
+package com.imt.adaptersoutbdd.contracts.repositories.mappers;
+
+import com.imt.common.model.FieldChanges;
+import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractStateEnum;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ContractBddMapper - Tests unitaires")
+class ContractBddMapperTest {
+
+    private ContractBddMapper contractMapper;
+
+    @BeforeEach
+    void setUp() {
+        contractMapper = new ContractBddMapper();
+    }
+
+    @Test
+    @DisplayName("toUpdate() - Ne retient que les champs modifiés, sous le nom et le format de l'entité")
+    void toUpdate_shouldSetOnlyModifiedFieldsWithEntityNames() {
+        // Given
+        UUID vehicleId = UUID.randomUUID();
+        FieldChanges changes = FieldChanges.builder()
+                .compare("vehicleIdentifier", UUID.randomUUID(), vehicleId)
+                .compare("startDate", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1))
+                .compare("endDate", LocalDate.of(2024, 1, 31), LocalDate.of(2024, 2, 10))
+                .compare("state", ContractStateEnum.PENDING, ContractStateEnum.CANCELLED)
+                .build();
+
+        // When
+        Document set = contractMapper.toUpdate(changes).getUpdateObject().get("$set", Document.class);
+
+        // Then
+        assertEquals(3, set.size());
+        assertEquals(vehicleId.toString(), set.get("vehicleId"));
+        assertEquals(LocalDate.of(2024, 2, 10), set.get("endDate"));
+        assertEquals(ContractStateEnum.CANCELLED, set.get("state"));
+        assertFalse(set.containsKey("startDate"));
+    }
+
+    @Test
+    @DisplayName("to() - Déduit l'échéance de l'état et des dates, absente pour un contrat sans transition automatique")
+    void to_shouldDeriveDueDate() {
+        // Given
+        Contract inProgress = Contract.builder()
+                .identifier(UUID.randomUUID())
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 31))
+                .state(ContractStateEnum.IN_PROGRESS)
+                .build();
+
+        // When & Then
+        assertEquals(LocalDate.of(2024, 2, 1), contractMapper.to(inProgress).getDueDate());
+        assertEquals(LocalDate.of(2024, 1, 1), contractMapper.to(inProgress.toBuilder().state(ContractStateEnum.PENDING).build()).getDueDate());
+        assertNull(contractMapper.to(inProgress.toBuilder().state(ContractStateEnum.COMPLETED).build()).getDueDate());
+    }
+}
@@ -0,0 +1,70 @@
+package com.imt.adaptersoutbdd.contracts.scheduling;
+
+import com.imt.contracts.model.ContractCursor;
+import com.imt.contracts.model.TransitionCheckpoint;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MongoCheckpointStorageProvider - Tests unitaires")
+class MongoCheckpointStorageProviderTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private MongoCheckpointStorageProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new MongoCheckpointStorageProvider(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("save() puis find() - Le point de reprise relu est identique au point de reprise enregistré")
+    void saveThenFind_shouldRoundTripCheckpoint() {
+        // Given
+        TransitionCheckpoint checkpoint = new TransitionCheckpoint(
+                "contract-transitions",
+                LocalDate.of(2024, 2, 1),
+                new ContractCursor(LocalDate.of(2024, 1, 15), UUID.randomUUID())
+        );
+
+        // When
+        provider.save(checkpoint);
+        ArgumentCaptor<Document> document = ArgumentCaptor.forClass(Document.class);
+        verify(mongoTemplate).save(document.capture(), eq(MongoCheckpointStorageProvider.COLLECTION));
+        when(mongoTemplate.findById("contract-transitions", Document.class, MongoCheckpointStorageProvider.COLLECTION))
+                .thenReturn(document.getValue());
+
+        // Then
+        assertThat(document.getValue().get("_id")).isEqualTo("contract-transitions");
+        assertThat(provider.find("contract-transitions")).contains(checkpoint);
+    }
+
+    @Test
+    @DisplayName("find() - Un point de reprise sans position reprend le parcours depuis le début")
+    void find_shouldReturnCheckpointWithoutPosition() {
+        // Given : interruption pendant le premier lot
+        when(mongoTemplate.findById("contract-transitions", Document.class, MongoCheckpointStorageProvider.COLLECTION))
+                .thenReturn(new Document("_id", "contract-transitions")
+                        .append("referenceDate", "2024-02-01"));
+
+        // When & Then
+        assertThat(provider.find("contract-transitions"))
+                .contains(new TransitionCheckpoint("contract-transitions", LocalDate.of(2024, 2, 1), null));
+    }
+}
@@ -0,0 +1,177 @@
+package com.imt.adaptersoutbdd.contracts.scheduling;
+
+import com.imt.contracts.scheduling.LeaderLease;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MongoLeaseStorageProvider - Tests unitaires")
+class MongoLeaseStorageProviderTest {
+
+    private static final Instant NOW = Instant.parse("2024-02-01T10:00:00Z");
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private MongoLeaseStorageProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new MongoLeaseStorageProvider(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("tryAcquire() - Le détenteur prolonge son bail sans changer de jeton")
+    void tryAcquire_shouldRenewOwnLease() {
+        // Given
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(Document.class), eq(MongoLeaseStorageProvider.COLLECTION)))
+                .thenReturn(aLeaseDocument("node-1", 4));
+
+        // When
+        Optional<LeaderLease> lease = provider.tryAcquire("contract-scheduler", "node-1", NOW, TTL);
+
+        // Then : une seule opération, sans incrément du jeton, l'échéance étant calculée par le serveur
+        assertThat(lease).contains(new LeaderLease("contract-scheduler", "node-1", 4, NOW.plus(TTL)));
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<AggregationUpdate> update = ArgumentCaptor.forClass(AggregationUpdate.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Document.class), eq(MongoLeaseStorageProvider.COLLECTION));
+        assertThat(query.getValue().getQueryObject().get("$expr")).isEqualTo(new Document("$gte", List.of("$expiresAt", "$$NOW")));
+        assertThat(setStage(update.getValue())).isEqualTo(new Document("expiresAt", new Document("$add", List.of("$$NOW", TTL.toMillis()))));
+    }
+
+    @Test
+    @DisplayName("tryAcquire() - Reprend un bail expiré en incrémentant le jeton")
+    void tryAcquire_shouldTakeOverExpiredLease() {
+        // Given : pas de bail valide à prolonger, la reprise conditionnée à l'expiration réussit
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(Document.class), eq(MongoLeaseStorageProvider.COLLECTION)))
+                .thenReturn(null)
+                .thenReturn(aLeaseDocument("node-2", 5));
+
+        // When
+        Optional<LeaderLease> lease = provider.tryAcquire("contract-scheduler", "node-2", NOW, TTL);
+
+        // Then
+        assertThat(lease).map(LeaderLease::getFencingToken).contains(5L);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<AggregationUpdate> update = ArgumentCaptor.forClass(AggregationUpdate.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate, times(2)).findAndModify(query.capture(), update.capture(), options.capture(), eq(Document.class), eq(MongoLeaseStorageProvider.COLLECTION));
+        assertThat(query.getAllValues().get(1).getQueryObject()).doesNotContainKey("owner");
+        assertThat(query.getAllValues().get(1).getQueryObject().get("$expr")).isEqualTo(new Document("$lt", List.of("$expiresAt", "$$NOW")));
+        assertThat(setStage(update.getAllValues().get(1)).get("token"))
+                .isEqualTo(new Document("$add", List.of(new Document("$ifNull", List.of("$token", 0)), 1)));
+        assertThat(options.getAllValues().get(1).isUpsert()).isTrue();
+    }
+
+    @Test
+    @DisplayName("tryAcquire() - Refuse le bail lorsqu'une autre instance détient un bail valide")
+    void tryAcquire_shouldFailWhenAnotherOwnerHoldsLease() {
+        // Given : l'upsert se heurte au document existant
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(Document.class), eq(MongoLeaseStorageProvider.COLLECTION)))
+                .thenReturn(null)
+                .thenThrow(new DuplicateKeyException("E11000"));
+
+        // When & Then
+        assertThat(provider.tryAcquire("contract-scheduler", "node-2", NOW, TTL)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("release() - Fait expirer le bail du détenteur sans supprimer le document")
+    void release_shouldExpireLeaseAndKeepToken() {
+        // When
+        provider.release("contract-scheduler", "node-1");
+
+        // Then
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(MongoLeaseStorageProvider.COLLECTION));
+        assertThat(update.getValue().getUpdateObject().get("$set")).isEqualTo(new Document("expiresAt", Date.from(Instant.EPOCH)));
+        verify(mongoTemplate, never()).remove(any(Query.class), anyString());
+    }
+
+    @Test
+    @DisplayName("deleteExpired() - Supprime les baux expirés du préfixe selon l'heure du serveur")
+    void deleteExpired_shouldRemoveExpiredLeasesMatchingPrefix() {
+        // When
+        provider.deleteExpired("contract-scheduler-member-", NOW);
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(query.capture(), eq(MongoLeaseStorageProvider.COLLECTION));
+        assertThat(query.getValue().getQueryObject().get("_id").toString()).isEqualTo("^\\Qcontract-scheduler-member-\\E");
+        assertThat(query.getValue().getQueryObject().get("$expr")).isEqualTo(new Document("$lt", List.of("$expiresAt", "$$NOW")));
+    }
+
+    @Test
+    @DisplayName("findActive() - Retourne les baux valides dont le nom commence par le préfixe")
+    void findActive_shouldReturnValidLeasesMatchingPrefix() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(MongoLeaseStorageProvider.COLLECTION)))
+                .thenReturn(List.of(aLeaseDocument("node-1", 1).append("_id", "contract-scheduler-member-node-1")));
+
+        // When
+        List<LeaderLease> leases = provider.findActive("contract-scheduler-member-", NOW);
+
+        // Then
+        assertThat(leases).containsExactly(new LeaderLease("contract-scheduler-member-node-1", "node-1", 1, NOW.plus(TTL)));
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Document.class), eq(MongoLeaseStorageProvider.COLLECTION));
+        assertThat(query.getValue().getQueryObject().get("$expr")).isEqualTo(new Document("$gte", List.of("$expiresAt", "$$NOW")));
+    }
+
+    @Test
+    @DisplayName("isHeld() - Vérifie le détenteur, le jeton et l'échéance à l'heure du serveur")
+    void isHeld_shouldMatchOwnerTokenAndServerTime() {
+        // Given
+        when(mongoTemplate.exists(any(Query.class), eq(MongoLeaseStorageProvider.COLLECTION))).thenReturn(true);
+
+        // When
+        boolean held = provider.isHeld("contract-scheduler", "node-1", 4, NOW);
+
+        // Then
+        assertThat(held).isTrue();
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).exists(query.capture(), eq(MongoLeaseStorageProvider.COLLECTION));
+        assertThat(query.getValue().getQueryObject())
+                .containsEntry("_id", "contract-scheduler")
+                .containsEntry("owner", "node-1")
+                .containsEntry("token", 4L)
+                .containsEntry("$expr", new Document("$gte", List.of("$expiresAt", "$$NOW")));
+    }
+
+    private static Document setStage(AggregationUpdate update) {
+        return (Document) update.toPipeline(Aggregation.DEFAULT_CONTEXT).getFirst().get("$set");
+    }
+
+    private static Document aLeaseDocument(String owner, int token) {
+        return new Document("_id", "contract-scheduler")
+                .append("owner", owner)
+                .append("expiresAt", Date.from(NOW.plus(TTL)))
+                .append("token", token);
+    }
+}
@@ -2,17 +2,32 @@ package com.imt.adaptersoutbdd.vehicle;
 
 import com.imt.adaptersoutbdd.vehicle.repositories.VehicleRepository;
 import com.imt.adaptersoutbdd.vehicle.repositories.entities.VehicleEntity;
+import com.imt.adaptersoutbdd.vehicle.repositories.entities.VehicleOutboxEntry;
 import com.imt.adaptersoutbdd.vehicle.repositories.mappers.VehicleBddMapper;
+import com.imt.common.exceptions.ConflictException;
+import com.imt.common.exceptions.VersionConflictException;
+import com.imt.common.model.FieldChanges;
 import com.imt.vehicle.model.EngineTypeEnum;
 import com.imt.vehicle.model.Vehicle;
+import com.imt.vehicle.model.VehicleBrokenEvent;
 import com.imt.vehicle.model.VehicleStateEnum;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
@@ -20,6 +35,9 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +50,9 @@ class VehicleBddServiceTest {
     @Mock
     private VehicleBddMapper mapper;
 
+    @Mock
+    private MongoTemplate mongoTemplate;
+
     @InjectMocks
     private VehicleBddService service;
 
@@ -98,6 +119,23 @@ class VehicleBddServiceTest {
         verifyNoInteractions(mapper);
     }
 
+    @Test
+    @DisplayName("getByState() - Filtre les véhicules par état en base")
+    void getByState_shouldQueryRepositoryByState() {
+        // Given
+        when(repository.findByState(VehicleStateEnum.AVAILABLE)).thenReturn(List.of(vehicleEntity));
+        when(mapper.from(vehicleEntity)).thenReturn(vehicle);
+
+        // When
+        Collection<Vehicle> result = service.getByState(VehicleStateEnum.AVAILABLE);
+
+        // Then
+        assertThat(result).containsExactly(vehicle);
+        assertThat(service.getByState(null)).isEmpty();
+        verify(repository).findByState(VehicleStateEnum.AVAILABLE);
+        verify(repository, never()).findAll();
+    }
+
     @Test
     @DisplayName("get() - Doit retourner le véhicule mappé si trouvé")
     void get_shouldReturnVehicle_whenFound() {
@@ -162,7 +200,7 @@ class VehicleBddServiceTest {
 
     @Test
     @DisplayName("save() - Doit mapper, sauvegarder et retourner le véhicule mappé")
-    void save_shouldSaveAndReturnVehicle() {
+    void save_shouldSaveAndReturnVehicle() throws ConflictException {
         // Given
         when(mapper.to(vehicle)).thenReturn(vehicleEntity);
         when(repository.save(vehicleEntity)).thenReturn(vehicleEntity);
@@ -178,6 +216,35 @@ class VehicleBddServiceTest {
         verify(mapper).from(vehicleEntity);
     }
 
+    @Test
+    @DisplayName("save() - Doit traduire un doublon de plaque d'immatriculation en ConflictException")
+    void save_shouldThrowConflict_whenLicensePlateIndexRejectsWrite() {
+        // Given
+        when(mapper.to(vehicle)).thenReturn(vehicleEntity);
+        when(repository.save(vehicleEntity)).thenThrow(new DuplicateKeyException(
+                "E11000 duplicate key error collection: carrentaldb.vehicle index: " + VehicleEntity.LICENSE_PLATE_INDEX));
+
+        // When & Then
+        assertThatThrownBy(() -> service.save(vehicle))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining(vehicle.getLicensePlate());
+        verify(mapper, never()).from(any(VehicleEntity.class));
+    }
+
+    @Test
+    @DisplayName("save() - Doit traduire un refus de l'écriture conditionnelle en VersionConflictException")
+    void save_shouldThrowVersionConflict_whenVersionIsStale() {
+        // Given : la version lue n'est plus celle du document
+        when(mapper.to(vehicle)).thenReturn(vehicleEntity);
+        when(repository.save(vehicleEntity)).thenThrow(new OptimisticLockingFailureException("Cannot save entity with version 1"));
+
+        // When & Then
+        assertThatThrownBy(() -> service.save(vehicle))
+                .isInstanceOf(VersionConflictException.class)
+                .hasMessage("Le véhicule a été modifié entre-temps, veuillez réessayer.");
+        verify(mapper, never()).from(any(VehicleEntity.class));
+    }
+
     @Test
     @DisplayName("delete() - Doit appeler la méthode delete du repository")
     void delete_shouldCallRepositoryDelete() {
@@ -201,4 +268,49 @@ class VehicleBddServiceTest {
         assertThat(result).isTrue();
         verify(repository).existsById(vehicleId);
     }
+
+    @Test
+    @DisplayName("applyChangesWithEvent() - Doit écrire les champs modifiés et l'événement dans la même écriture")
+    void applyChangesWithEvent_shouldPushEventWithChanges() throws ConflictException {
+        // Given
+        Vehicle toApply = vehicle.toBuilder().state(VehicleStateEnum.BROKEN).version(1L).build();
+        FieldChanges changes = FieldChanges.builder().compare("state", VehicleStateEnum.AVAILABLE, VehicleStateEnum.BROKEN).build();
+        VehicleBrokenEvent event = VehicleBrokenEvent.of(vehicleId, Instant.parse("2024-02-01T10:00:00Z"));
+        when(mapper.toUpdate(changes)).thenReturn(new Update().set("state", VehicleStateEnum.BROKEN));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(VehicleEntity.class)))
+                .thenReturn(vehicleEntity);
+        when(mapper.from(vehicleEntity)).thenReturn(toApply);
+
+        // When
+        Optional<Vehicle> result = service.applyChangesWithEvent(toApply, changes, event);
+
+        // Then : un seul findAndModify conditionnel porte le changement d'état et l'ajout à la boîte d'envoi
+        assertThat(result).contains(toApply);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(VehicleEntity.class));
+        Document updateObject = update.getValue().getUpdateObject();
+        assertThat(updateObject.get("$set", Document.class)).containsKey("state");
+        assertThat(updateObject.get("$push", Document.class).get(VehicleEntity.OUTBOX_FIELD))
+                .isEqualTo(VehicleOutboxEntry.builder()
+                        .eventId(event.getIdentifier().toString())
+                        .occurredAt(event.getOccurredAt())
+                        .build());
+    }
+
+    @Test
+    @DisplayName("applyChangesWithEvent() - Doit refuser l'écriture si le véhicule a été modifié entre-temps")
+    void applyChangesWithEvent_shouldThrowVersionConflict_whenVersionIsStale() {
+        // Given
+        Vehicle toApply = vehicle.toBuilder().state(VehicleStateEnum.BROKEN).version(1L).build();
+        FieldChanges changes = FieldChanges.builder().compare("state", VehicleStateEnum.AVAILABLE, VehicleStateEnum.BROKEN).build();
+        when(mapper.toUpdate(changes)).thenReturn(new Update().set("state", VehicleStateEnum.BROKEN));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(VehicleEntity.class)))
+                .thenReturn(null);
+        when(repository.existsById(vehicleId)).thenReturn(true);
+
+        // When & Then : ni le changement ni l'événement ne sont enregistrés
+        assertThatThrownBy(() -> service.applyChangesWithEvent(toApply, changes, VehicleBrokenEvent.of(vehicleId, Instant.now())))
+                .isInstanceOf(VersionConflictException.class);
+        verify(mapper, never()).from(any(VehicleEntity.class));
+    }
 }
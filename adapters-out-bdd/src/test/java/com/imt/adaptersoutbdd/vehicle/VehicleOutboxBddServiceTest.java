@@ -0,0 +1,143 @@
+package com.imt.adaptersoutbdd.vehicle;
+
+import com.imt.adaptersoutbdd.vehicle.repositories.entities.VehicleEntity;
+import com.imt.adaptersoutbdd.vehicle.repositories.entities.VehicleOutboxEntry;
+import com.imt.vehicle.model.VehicleBrokenEvent;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VehicleOutboxBddService - Tests unitaires")
+class VehicleOutboxBddServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-02-01T10:00:00Z");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private VehicleOutboxBddService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new VehicleOutboxBddService(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("findPending() - Doit retourner les plus anciens événements, tous véhicules confondus")
+    void findPending_shouldReturnOldestEventsAcrossVehicles() {
+        // Given
+        UUID oldest = UUID.randomUUID();
+        UUID middle = UUID.randomUUID();
+        UUID newest = UUID.randomUUID();
+        VehicleEntity first = VehicleEntity.builder()
+                .id("veh-1")
+                .outbox(List.of(entry(oldest, NOW.minusSeconds(30)), entry(newest, NOW)))
+                .build();
+        VehicleEntity second = VehicleEntity.builder()
+                .id("veh-2")
+                .outbox(List.of(VehicleOutboxEntry.builder().eventId(middle.toString()).occurredAt(NOW.minusSeconds(10)).attempts(2).build()))
+                .build();
+        when(mongoTemplate.find(any(Query.class), eq(VehicleEntity.class))).thenReturn(List.of(first, second));
+
+        // When
+        List<VehicleBrokenEvent> pending = service.findPending(2);
+
+        // Then : seuls les documents ayant des événements en attente sont lus, par ordre d'ancienneté
+        assertThat(pending).containsExactly(
+                new VehicleBrokenEvent(oldest, "veh-1", NOW.minusSeconds(30), 0),
+                new VehicleBrokenEvent(middle, "veh-2", NOW.minusSeconds(10), 2)
+        );
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(VehicleEntity.class));
+        assertThat(query.getValue().getQueryObject().toJson()).contains("outbox.occurredAt", "$exists");
+        assertThat(query.getValue().getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("acknowledge() - Doit retirer les événements traités en une seule écriture")
+    void acknowledge_shouldPullEventsInSingleWrite() {
+        // Given
+        VehicleBrokenEvent first = new VehicleBrokenEvent(UUID.randomUUID(), "veh-1", NOW, 0);
+        VehicleBrokenEvent second = new VehicleBrokenEvent(UUID.randomUUID(), "veh-2", NOW, 0);
+
+        // When
+        service.acknowledge(List.of(first, second));
+
+        // Then
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(1)).updateMulti(any(Query.class), update.capture(), eq(VehicleEntity.class));
+        Document pull = (Document) update.getValue().getUpdateObject().get("$pull");
+        assertThat(pull.toJson()).contains(first.getIdentifier().toString(), second.getIdentifier().toString());
+        assertThat(update.getValue().getUpdateObject()).doesNotContainKey("$inc");
+    }
+
+    @Test
+    @DisplayName("recordFailures() - Doit incrémenter le compteur des seuls événements en échec, en une seule écriture")
+    void recordFailures_shouldIncrementAttemptsOfFailedEvents() {
+        // Given
+        VehicleBrokenEvent failed = new VehicleBrokenEvent(UUID.randomUUID(), "veh-1", NOW, 1);
+
+        // When
+        service.recordFailures(List.of(failed));
+
+        // Then
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(1)).updateMulti(any(Query.class), update.capture(), eq(VehicleEntity.class));
+        assertThat(update.getValue().getUpdateObject().get("$inc", Document.class)).containsEntry("outbox.$[failed].attempts", 1);
+        assertThat(update.getValue().getArrayFilters()).hasSize(1);
+        assertThat(update.getValue().getArrayFilters().getFirst().asDocument().toJson()).contains(failed.getIdentifier().toString());
+    }
+
+    @Test
+    @DisplayName("deadLetter() - Doit déplacer les événements abandonnés hors de la boîte d'envoi, par la même mise à jour")
+    void deadLetter_shouldMoveEventsOutOfOutbox() {
+        // Given
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, VehicleEntity.class)).thenReturn(bulk);
+        VehicleBrokenEvent abandoned = new VehicleBrokenEvent(UUID.randomUUID(), "veh-1", NOW, 4);
+
+        // When
+        service.deadLetter(List.of(abandoned));
+
+        // Then
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulk).updateOne(any(Query.class), update.capture());
+        verify(bulk).execute();
+        Document updateObject = update.getValue().getUpdateObject();
+        assertThat(updateObject.get("$pull", Document.class).toJson()).contains(abandoned.getIdentifier().toString());
+        assertThat(updateObject.get("$push", Document.class)).containsKey(VehicleEntity.OUTBOX_DEAD_LETTERS_FIELD);
+    }
+
+    @Test
+    @DisplayName("acknowledge() - Ne doit rien écrire sans événement")
+    void acknowledge_shouldDoNothing_whenNoEvent() {
+        // When
+        service.acknowledge(List.of());
+
+        // Then
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private static VehicleOutboxEntry entry(final UUID eventId, final Instant occurredAt) {
+        return VehicleOutboxEntry.builder().eventId(eventId.toString()).occurredAt(occurredAt).build();
+    }
+}
@@ -39,6 +39,7 @@ class VehicleBddMapperTest {
                 .color("Blue")
                 .acquisitionDate(acquisitionDate)
                 .state(VehicleStateEnum.AVAILABLE)
+                .version(3L)
                 .build();
 
         // When
@@ -54,6 +55,7 @@ class VehicleBddMapperTest {
         assertThat(result.getColor()).isEqualTo("Blue");
         assertThat(result.getAcquisitionDate()).isEqualTo(acquisitionDate);
         assertThat(result.getState()).isEqualTo(VehicleStateEnum.AVAILABLE);
+        assertThat(result.getVersion()).isEqualTo(3L);
     }
 
     @Test
@@ -77,6 +79,7 @@ class VehicleBddMapperTest {
                 .color("Red")
                 .acquisitionDate(acquisitionDate)
                 .state(VehicleStateEnum.IN_RENTAL)
+                .version(7L)
                 .build();
 
         // When
@@ -92,6 +95,7 @@ class VehicleBddMapperTest {
         assertThat(result.getColor()).isEqualTo("Red");
         assertThat(result.getAcquisitionDate()).isEqualTo(acquisitionDate);
         assertThat(result.getState()).isEqualTo(VehicleStateEnum.IN_RENTAL);
+        assertThat(result.getVersion()).isEqualTo(7L);
     }
 
     @Test
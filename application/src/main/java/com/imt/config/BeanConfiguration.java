@@ -2,12 +2,37 @@ package com.imt.config;
 
 import com.imt.clients.ClientStorageProvider;
 import com.imt.clients.ClientsServiceValidator;
+import com.imt.clients.model.Client;
+import com.imt.common.validators.ConstraintValidationEngine;
+import com.imt.common.validators.UnicityEnforcement;
 import com.imt.contracts.ContractStorageProvider;
 import com.imt.contracts.ContractsServiceValidator;
+import com.imt.contracts.availability.IndexedContractStorageProvider;
+import com.imt.contracts.availability.VehicleAvailabilityIndex;
+import com.imt.contracts.locks.StripedVehicleLockProvider;
+import com.imt.contracts.locks.VehicleLockProvider;
+import com.imt.contracts.model.Contract;
+import com.imt.contracts.outbox.VehicleOutboxDispatcher;
+import com.imt.contracts.scheduling.CheckpointStorageProvider;
+import com.imt.contracts.scheduling.ContractDeadlineQueue;
+import com.imt.contracts.scheduling.DeadlineTrackingContractStorageProvider;
+import com.imt.contracts.scheduling.InMemoryCheckpointStorageProvider;
+import com.imt.contracts.scheduling.InMemoryLeaseStorageProvider;
+import com.imt.contracts.scheduling.LeaderElection;
+import com.imt.contracts.scheduling.LeaseStorageProvider;
+import com.imt.contracts.scheduling.PartitionClaims;
 import com.imt.vehicle.VehicleServiceValidator;
 import com.imt.vehicle.VehicleStorageProvider;
+import com.imt.vehicle.model.Vehicle;
+import com.imt.vehicle.outbox.VehicleOutboxStorageProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+import java.time.Duration;
 
 /**
  * Configuration Spring pour instancier les services du Domaine.
@@ -17,28 +42,175 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class BeanConfiguration {
 
+    /**
+     * Expose le moteur de validation des contraintes, partagé par tous les services.
+     * Les métadonnées des modèles du domaine sont calculées au démarrage.
+     */
+    @Bean(destroyMethod = "close")
+    public ConstraintValidationEngine constraintValidationEngine() {
+        return new ConstraintValidationEngine(Client.class, Vehicle.class, Contract.class);
+    }
+
+    /**
+     * Stratégie de contrôle d'unicité : en écriture rapide ({@code imt.validation.fast-write=true}), la lecture
+     * préalable est supprimée et seuls les index uniques de la base garantissent l'unicité.
+     */
+    @Bean
+    public UnicityEnforcement unicityEnforcement(@Value("${imt.validation.fast-write:false}") final boolean fastWrite) {
+        return fastWrite ? UnicityEnforcement.STORAGE_ONLY : UnicityEnforcement.PRE_CHECK;
+    }
+
     /**
      * Expose le service de gestion des clients (avec validation).
      * Ce Bean sera injecté partout où ClientsService ou ClientsServiceValidator est demandé.
      */
     @Bean
-    public ClientsServiceValidator clientsServiceValidator(final ClientStorageProvider clientStorageProvider) {
-        return new ClientsServiceValidator(clientStorageProvider);
+    public ClientsServiceValidator clientsServiceValidator(final ClientStorageProvider clientStorageProvider,
+                                                           final ConstraintValidationEngine constraintValidationEngine,
+                                                           final UnicityEnforcement unicityEnforcement) {
+        return new ClientsServiceValidator(clientStorageProvider, constraintValidationEngine, unicityEnforcement);
     }
 
     /**
      * Expose le service de gestion des véhicules (avec validation).
      */
     @Bean
-    public VehicleServiceValidator vehicleServiceValidator(final VehicleStorageProvider vehicleStorageProvider) {
-        return new VehicleServiceValidator(vehicleStorageProvider);
+    public VehicleServiceValidator vehicleServiceValidator(final VehicleStorageProvider vehicleStorageProvider,
+                                                           final ConstraintValidationEngine constraintValidationEngine,
+                                                           final UnicityEnforcement unicityEnforcement) {
+        return new VehicleServiceValidator(vehicleStorageProvider, constraintValidationEngine, unicityEnforcement);
+    }
+
+    /**
+     * Expose l'index en mémoire des périodes de réservation des véhicules, lorsqu'il est activé
+     * ({@code imt.contracts.availability-index.enabled=true}). L'index ne voit que les écritures de son instance :
+     * il est refusé dès que plusieurs instances partagent la base (verrous de réservation ou bail du leader en base).
+     */
+    @Bean
+    @ConditionalOnProperty(name = "imt.contracts.availability-index.enabled", havingValue = "true")
+    public VehicleAvailabilityIndex vehicleAvailabilityIndex(@Value("${imt.contracts.availability-index.max-span-days:"
+                                                                     + VehicleAvailabilityIndex.DEFAULT_MAX_SPAN_DAYS + "}")
+                                                             final int maxSpanDays,
+                                                             @Value("${imt.contracts.booking-lock:LOCAL}")
+                                                             final String bookingLock,
+                                                             @Value("${imt.contracts.scheduler.lease:LOCAL}")
+                                                             final String schedulerLease) {
+        if ("STORAGE".equalsIgnoreCase(bookingLock) || "STORAGE".equalsIgnoreCase(schedulerLease)) {
+            throw new IllegalStateException("imt.contracts.availability-index.enabled=true requires a single instance: "
+                    + "it cannot be combined with imt.contracts.booking-lock=STORAGE or imt.contracts.scheduler.lease=STORAGE");
+        }
+        return new VehicleAvailabilityIndex(maxSpanDays);
+    }
+
+    /**
+     * Expose la file des échéances des contrats, lorsque les transitions sont déclenchées à échéance
+     * ({@code imt.contracts.scheduler=EVENT}) plutôt que par un parcours périodique des contrats.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "imt.contracts.scheduler", havingValue = "EVENT")
+    public ContractDeadlineQueue contractDeadlineQueue() {
+        return new ContractDeadlineQueue();
+    }
+
+    /**
+     * Expose l'élection du leader des traitements planifiés des contrats : une seule instance applique les
+     * transitions des contrats à chaque tour. Le bail est local à l'instance, ou partagé en base lorsque plusieurs
+     * instances partagent la base ({@code imt.contracts.scheduler.lease=STORAGE}). Il est rendu à l'arrêt de l'instance.
+     */
+    @Bean(destroyMethod = "release")
+    public LeaderElection contractSchedulerLeaderElection(final ObjectProvider<LeaseStorageProvider> leaseStorageProvider,
+                                                          @Value("${imt.contracts.scheduler.lease.ttl:PT30S}")
+                                                          final Duration ttl) {
+        return new LeaderElection(
+                leaseStorageProvider.getIfAvailable(InMemoryLeaseStorageProvider::new),
+                "contract-scheduler",
+                ttl
+        );
+    }
+
+    /**
+     * Expose la répartition des partitions de véhicules entre les instances, lorsque les transitions des contrats
+     * sont appliquées par partitions ({@code imt.contracts.scheduler.partitions} supérieur à 1) : chaque instance traite
+     * en parallèle les partitions qu'elle détient. Les baux sont stockés comme celui du leader.
+     */
+    @Bean(destroyMethod = "release")
+    public PartitionClaims contractSchedulerPartitionClaims(final ObjectProvider<LeaseStorageProvider> leaseStorageProvider,
+                                                            @Value("${imt.contracts.scheduler.partitions:1}")
+                                                            final int partitions,
+                                                            @Value("${imt.contracts.scheduler.lease.ttl:PT30S}")
+                                                            final Duration ttl) {
+        return new PartitionClaims(
+                leaseStorageProvider.getIfAvailable(InMemoryLeaseStorageProvider::new),
+                "contract-scheduler",
+                partitions,
+                ttl
+        );
     }
 
     /**
      * Expose le service de gestion des contrats (avec validation).
+     * Lorsque l'index de disponibilité est activé, le stockage des contrats est enveloppé par cet index, reconstruit
+     * ici au démarrage : les consultations de disponibilité ne font plus d'aller-retour vers la base. Le contrôle de
+     * chevauchement d'une réservation interroge toujours la base.
+     * Les réservations d'un même véhicule sont sérialisées par des verrous par bandes, ou par des baux en base
+     * lorsque plusieurs instances partagent la base ({@code imt.contracts.booking-lock=STORAGE}).
+     * Lorsque la file des échéances existe, elle est chargée ici au démarrage puis tenue à jour à chaque écriture.
+     * Les transitions automatiques des contrats sont appliquées par lots, avec un point de reprise conservé en mémoire, ou en base
+     * ({@code imt.contracts.scheduler.checkpoint=STORAGE}) pour reprendre un passage interrompu par un arrêt.
+     * L'index n'est reconstruit qu'après l'initialisation des versions des anciens documents.
+     */
+    @Bean
+    @DependsOn("versionFieldMigration")
+    public ContractsServiceValidator contractsServiceValidator(final ContractStorageProvider contractStorageProvider,
+                                                               final ConstraintValidationEngine constraintValidationEngine,
+                                                               final ObjectProvider<VehicleAvailabilityIndex> vehicleAvailabilityIndex,
+                                                               @Value("${imt.contracts.availability-index.consistency-check:OFF}")
+                                                               final IndexedContractStorageProvider.ConsistencyCheck consistencyCheck,
+                                                               final ObjectProvider<VehicleLockProvider> vehicleLockProvider,
+                                                               final ObjectProvider<ContractDeadlineQueue> contractDeadlineQueue,
+                                                               final ObjectProvider<CheckpointStorageProvider> checkpointStorageProvider,
+                                                               @Value("${imt.contracts.scheduler.chunk-size:500}")
+                                                               final int chunkSize) {
+        ContractStorageProvider storage = contractStorageProvider;
+        final VehicleAvailabilityIndex index = vehicleAvailabilityIndex.getIfAvailable();
+        if (index != null) {
+            final IndexedContractStorageProvider indexedStorage =
+                    new IndexedContractStorageProvider(contractStorageProvider, index, consistencyCheck);
+            indexedStorage.rebuild();
+            storage = indexedStorage;
+        }
+
+        final ContractDeadlineQueue deadlines = contractDeadlineQueue.getIfAvailable();
+        if (deadlines != null) {
+            final DeadlineTrackingContractStorageProvider trackedStorage =
+                    new DeadlineTrackingContractStorageProvider(storage, deadlines);
+            trackedStorage.rebuild();
+            storage = trackedStorage;
+        }
+
+        return new ContractsServiceValidator(
+                storage,
+                constraintValidationEngine,
+                vehicleLockProvider.getIfAvailable(StripedVehicleLockProvider::new),
+                checkpointStorageProvider.getIfAvailable(InMemoryCheckpointStorageProvider::new),
+                chunkSize
+        );
+    }
+
+    /**
+     * Traitement en arrière-plan de la boîte d'envoi des véhicules : les contrats en attente d'un véhicule déclaré en
+     * panne sont annulés par lots ({@code imt.vehicles.outbox.batch-size}), hors de la requête de mise à jour.
+     * Un événement en échec est mis à l'écart après {@code imt.vehicles.outbox.max-attempts} tentatives.
      */
     @Bean
-    public ContractsServiceValidator contractsServiceValidator(final ContractStorageProvider contractStorageProvider) {
-        return new ContractsServiceValidator(contractStorageProvider);
+    public VehicleOutboxDispatcher vehicleOutboxDispatcher(final VehicleOutboxStorageProvider vehicleOutboxStorageProvider,
+                                                           final VehicleStorageProvider vehicleStorageProvider,
+                                                           final ContractsServiceValidator contractsServiceValidator,
+                                                           @Value("${imt.vehicles.outbox.batch-size:100}")
+                                                           final int batchSize,
+                                                           @Value("${imt.vehicles.outbox.max-attempts:5}")
+                                                           final int maxAttempts) {
+        return new VehicleOutboxDispatcher(vehicleOutboxStorageProvider, vehicleStorageProvider, contractsServiceValidator,
+                batchSize, maxAttempts);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package com.imt.constraints;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Demande la génération, à la compilation, d'un vérificateur de contraintes pour le modèle annoté.
+ * Le vérificateur {@code <Modèle>ConstraintChecker} est généré dans le même paquetage : il évalue les
+ * annotations {@code @NotNull}, {@code @Pattern}, {@code @Size} et {@code @Past} des champs sans réflexion,
+ * avec des expressions régulières précompilées, et produit les mêmes messages que Hibernate Validator.
+ * <p>
+ * Si un champ porte une contrainte non prise en charge, aucun vérificateur n'est généré et la validation
+ * réflexive reste utilisée pour ce modèle.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface CompiledConstraints {
+}
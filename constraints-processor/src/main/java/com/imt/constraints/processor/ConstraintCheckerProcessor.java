@@ -0,0 +1,339 @@
+package com.imt.constraints.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Génère un vérificateur de contraintes sans réflexion pour chaque modèle annoté par
+ * {@link com.imt.constraints.CompiledConstraints}, et l'enregistre comme service
+ * ({@code META-INF/services}) afin que le moteur de validation du domaine le découvre au démarrage.
+ * <p>
+ * La sémantique reproduit celle de Hibernate Validator : les contraintes autres que {@code @NotNull}
+ * considèrent une valeur nulle comme valide, {@code @Pattern} exige une correspondance complète et
+ * {@code @Past} compare à la date du jour.
+ */
+@SupportedAnnotationTypes(ConstraintCheckerProcessor.COMPILED_CONSTRAINTS)
+public class ConstraintCheckerProcessor extends AbstractProcessor {
+
+    static final String COMPILED_CONSTRAINTS = "com.imt.constraints.CompiledConstraints";
+
+    private static final String CHECKER_INTERFACE = "com.imt.common.validators.ConstraintChecker";
+    private static final String CHECKER_SUFFIX = "ConstraintChecker";
+    private static final String CONSTRAINTS_PACKAGE = "jakarta.validation.constraints.";
+
+    private static final String NOT_NULL = CONSTRAINTS_PACKAGE + "NotNull";
+    private static final String PATTERN = CONSTRAINTS_PACKAGE + "Pattern";
+    private static final String SIZE = CONSTRAINTS_PACKAGE + "Size";
+    private static final String PAST = CONSTRAINTS_PACKAGE + "Past";
+
+    private final Set<String> generatedCheckers = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        final TypeElement annotation = this.processingEnv.getElementUtils().getTypeElement(COMPILED_CONSTRAINTS);
+        if (annotation != null) {
+            for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    this.error(element, "@CompiledConstraints can only be applied to classes");
+                    continue;
+                }
+                this.generateChecker((TypeElement) element);
+            }
+        }
+
+        if (roundEnv.processingOver() && !this.generatedCheckers.isEmpty()) {
+            this.writeServiceFile();
+        }
+
+        return false;
+    }
+
+    private void generateChecker(final TypeElement type) {
+        final List<FieldConstraints> fields;
+        try {
+            fields = this.collectFieldConstraints(type);
+        } catch (final UnsupportedConstraintException e) {
+            this.processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.WARNING,
+                    String.format("Constraints of %s cannot be compiled (%s): reflective validation will be used",
+                            type.getQualifiedName(), e.getMessage()),
+                    type
+            );
+            return;
+        }
+
+        final String packageName = ((PackageElement) type.getEnclosingElement()).getQualifiedName().toString();
+        final String checkerName = type.getSimpleName() + CHECKER_SUFFIX;
+        final String qualifiedCheckerName = packageName.isEmpty() ? checkerName : packageName + "." + checkerName;
+
+        try {
+            final JavaFileObject source = this.processingEnv.getFiler().createSourceFile(qualifiedCheckerName, type);
+            try (Writer writer = source.openWriter()) {
+                writer.write(this.renderChecker(packageName, checkerName, type.getSimpleName().toString(), fields));
+            }
+        } catch (final IOException e) {
+            this.error(type, "Unable to write " + qualifiedCheckerName + ": " + e.getMessage());
+            return;
+        }
+
+        this.generatedCheckers.add(qualifiedCheckerName);
+    }
+
+    private List<FieldConstraints> collectFieldConstraints(final TypeElement type) throws UnsupportedConstraintException {
+        if (type.getSuperclass().getKind() != TypeKind.NONE
+                && !"java.lang.Object".equals(type.getSuperclass().toString())) {
+            throw new UnsupportedConstraintException("inherited fields are not supported");
+        }
+
+        final List<FieldConstraints> fields = new ArrayList<>();
+        for (final VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+
+            final FieldConstraints constraints = new FieldConstraints(field);
+            for (final AnnotationMirror mirror : field.getAnnotationMirrors()) {
+                this.collectConstraint(field, mirror, constraints);
+            }
+
+            if (constraints.checks.isEmpty()) {
+                continue;
+            }
+            if (field.asType().getKind().isPrimitive()) {
+                throw new UnsupportedConstraintException("constraints on primitive field " + field.getSimpleName());
+            }
+            fields.add(constraints);
+        }
+
+        return fields;
+    }
+
+    private void collectConstraint(final VariableElement field,
+                                   final AnnotationMirror mirror,
+                                   final FieldConstraints constraints) throws UnsupportedConstraintException {
+        final String annotationName = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+        if (!annotationName.startsWith(CONSTRAINTS_PACKAGE)) {
+            return;
+        }
+
+        final Map<String, Object> values = this.valuesOf(mirror);
+        if (!((List<?>) values.get("groups")).isEmpty()) {
+            throw new UnsupportedConstraintException("validation groups on field " + field.getSimpleName());
+        }
+
+        final String message = (String) values.get("message");
+        if (message.contains("{")) {
+            throw new UnsupportedConstraintException("message interpolation on field " + field.getSimpleName());
+        }
+
+        final String value = "value";
+        switch (annotationName) {
+            case NOT_NULL -> constraints.checks.add(new Check(value + " == null", message, null));
+            case PATTERN -> {
+                if (!((List<?>) values.get("flags")).isEmpty()) {
+                    throw new UnsupportedConstraintException("pattern flags on field " + field.getSimpleName());
+                }
+                this.requireAssignable(field, "java.lang.CharSequence", annotationName);
+                constraints.checks.add(new Check(
+                        value + " != null && !%s.matcher(" + value + ").matches()",
+                        message,
+                        (String) values.get("regexp")
+                ));
+            }
+            case SIZE -> constraints.checks.add(new Check(
+                    String.format("%1$s != null && (%2$s < %3$d || %2$s > %4$d)",
+                            value, this.sizeExpression(field, value), (Integer) values.get("min"), (Integer) values.get("max")),
+                    message,
+                    null
+            ));
+            case PAST -> {
+                this.requireAssignable(field, "java.time.LocalDate", annotationName);
+                constraints.checks.add(new Check(
+                        value + " != null && !" + value + ".isBefore(java.time.LocalDate.now())",
+                        message,
+                        null
+                ));
+            }
+            default -> throw new UnsupportedConstraintException(
+                    "@" + mirror.getAnnotationType().asElement().getSimpleName() + " on field " + field.getSimpleName());
+        }
+    }
+
+    private String sizeExpression(final VariableElement field, final String value) throws UnsupportedConstraintException {
+        if (this.isAssignable(field.asType(), "java.lang.CharSequence")) {
+            return value + ".length()";
+        }
+        if (this.isAssignable(field.asType(), "java.util.Collection") || this.isAssignable(field.asType(), "java.util.Map")) {
+            return value + ".size()";
+        }
+        throw new UnsupportedConstraintException("@Size on field " + field.getSimpleName() + " of type " + field.asType());
+    }
+
+    private void requireAssignable(final VariableElement field,
+                                   final String typeName,
+                                   final String annotationName) throws UnsupportedConstraintException {
+        if (!this.isAssignable(field.asType(), typeName)) {
+            throw new UnsupportedConstraintException(
+                    annotationName.substring(CONSTRAINTS_PACKAGE.length()) + " on field " + field.getSimpleName() + " of type " + field.asType());
+        }
+    }
+
+    private boolean isAssignable(final TypeMirror type, final String typeName) {
+        final TypeElement target = this.processingEnv.getElementUtils().getTypeElement(typeName);
+        return target != null && this.processingEnv.getTypeUtils().isAssignable(
+                this.processingEnv.getTypeUtils().erasure(type),
+                this.processingEnv.getTypeUtils().erasure(target.asType())
+        );
+    }
+
+    private Map<String, Object> valuesOf(final AnnotationMirror mirror) {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : this.processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            values.put(entry.getKey().getSimpleName().toString(), entry.getValue().getValue());
+        }
+        return values;
+    }
+
+    private String renderChecker(final String packageName,
+                                 final String checkerName,
+                                 final String modelName,
+                                 final List<FieldConstraints> fields) {
+        final Map<String, String> patternConstants = new LinkedHashMap<>();
+        for (final FieldConstraints field : fields) {
+            for (final Check check : field.checks) {
+                if (check.regexp != null) {
+                    patternConstants.computeIfAbsent(check.regexp, regexp -> "PATTERN_" + patternConstants.size());
+                }
+            }
+        }
+
+        final StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import ").append(CHECKER_INTERFACE).append(";\n\n")
+                .append("import java.util.ArrayList;\n")
+                .append("import java.util.List;\n")
+                .append("import java.util.regex.Pattern;\n\n")
+                .append("@javax.annotation.processing.Generated(\"").append(ConstraintCheckerProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(checkerName)
+                .append(" implements ConstraintChecker<").append(modelName).append("> {\n");
+
+        for (final Map.Entry<String, String> pattern : patternConstants.entrySet()) {
+            source.append("    private static final Pattern ").append(pattern.getValue())
+                    .append(" = Pattern.compile(").append(this.literal(pattern.getKey())).append(");\n");
+        }
+
+        source.append("\n    @Override\n")
+                .append("    public Class<").append(modelName).append("> getSupportedType() {\n")
+                .append("        return ").append(modelName).append(".class;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public List<String> check(final ").append(modelName).append(" toValidate) {\n")
+                .append("        final List<String> violations = new ArrayList<>(0);\n");
+
+        for (final FieldConstraints field : fields) {
+            source.append("        {\n")
+                    .append("            final var value = toValidate.").append(field.getter).append("();\n");
+            for (final Check check : field.checks) {
+                final String condition = check.regexp == null
+                        ? check.condition
+                        : String.format(check.condition, patternConstants.get(check.regexp));
+                source.append("            if (").append(condition).append(") {\n")
+                        .append("                violations.add(").append(this.literal(check.message)).append(");\n")
+                        .append("            }\n");
+            }
+            source.append("        }\n");
+        }
+
+        source.append("        return violations;\n")
+                .append("    }\n")
+                .append("}\n");
+
+        return source.toString();
+    }
+
+    private String literal(final String value) {
+        return this.processingEnv.getElementUtils().getConstantExpression(value);
+    }
+
+    private void writeServiceFile() {
+        try {
+            final FileObject serviceFile = this.processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + CHECKER_INTERFACE);
+            try (Writer writer = serviceFile.openWriter()) {
+                for (final String checker : this.generatedCheckers) {
+                    writer.write(checker);
+                    writer.write('\n');
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Unable to register generated constraint checkers", e);
+        }
+    }
+
+    private void error(final Element element, final String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * Contraintes d'un champ, évaluées sur la valeur lue via son accesseur.
+     */
+    private static final class FieldConstraints {
+        private final String getter;
+        private final List<Check> checks = new ArrayList<>();
+
+        private FieldConstraints(final VariableElement field) {
+            final String name = field.getSimpleName().toString();
+            final String prefix = field.asType().getKind() == TypeKind.BOOLEAN ? "is" : "get";
+
+            this.getter = prefix + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+    }
+
+    /**
+     * Vérification élémentaire : une condition de violation et le message associé.
+     * La condition peut référencer une expression régulière précompilée via {@code %s}.
+     */
+    private record Check(String condition, String message, String regexp) {
+    }
+
+    private static final class UnsupportedConstraintException extends Exception {
+        private UnsupportedConstraintException(final String message) {
+            super(message, null, false, false);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.imt.clients;
 
 import com.imt.clients.model.Client;
+import com.imt.clients.model.ClientUnicityConflict;
+import com.imt.common.exceptions.ConflictException;
+import com.imt.common.model.FieldChanges;
 
 import java.time.LocalDate;
 import java.util.Collection;
@@ -37,8 +40,21 @@ public interface ClientStorageProvider {
      * @param client le client à sauvegarder
      * @return le client sauvegardé
      * @throws NullPointerException si le client est null
+     * @throws ConflictException    si le stockage refuse l'écriture au nom d'une règle d'unicité
      */
-    Client save(final Client client);
+    Client save(final Client client) throws ConflictException;
+
+    /**
+     * Écrit uniquement les champs modifiés d'un client, si sa version est toujours celle portée par le client.
+     *
+     * @param client  le client modifié, portant l'identifiant et la version lue avant modification
+     * @param changes les champs modifiés et leur nouvelle valeur
+     * @return le client mis à jour, ou Optional.empty() s'il n'existe plus
+     * @throws ConflictException si le client a été modifié depuis sa lecture
+     *                           ({@link com.imt.common.exceptions.VersionConflictException}), ou si le stockage refuse
+     *                           l'écriture au nom d'une règle d'unicité
+     */
+    Optional<Client> applyChanges(final Client client, final FieldChanges changes) throws ConflictException;
 
     /**
      * Supprime un client du stockage.
@@ -62,4 +78,14 @@ public interface ClientStorageProvider {
      * @param birthDate
      */
     Optional<Client> findByLastNameAndFirstNameAndBirthDate(final String lastName, final String firstName, final LocalDate birthDate);
+
+    /**
+     * Recherche, en une seule requête, les autres clients qui enfreignent une règle d'unicité du client donné :
+     * même nom, prénom et date de naissance, ou même numéro de permis.
+     * Le client lui-même (même identifiant) est exclu. Un client enfreignant les deux règles apparaît deux fois.
+     *
+     * @param client le client à vérifier
+     * @return les conflits trouvés (identifiant du client existant et règle enfreinte), vide si aucun
+     */
+    Collection<ClientUnicityConflict> findUnicityConflicts(final Client client);
 }
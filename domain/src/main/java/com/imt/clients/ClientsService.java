@@ -2,9 +2,12 @@ package com.imt.clients;
 
 import com.imt.clients.model.Client;
 import com.imt.common.exceptions.ImtException;
+import com.imt.common.model.FieldChanges;
+import com.imt.common.versioning.OptimisticRetry;
 import lombok.AllArgsConstructor;
 
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 /**
  * Service métier de gestion des clients.
@@ -32,6 +35,45 @@ public class ClientsService {
         return client;
     }
 
+    /**
+     * Met à jour un client à partir de sa dernière version enregistrée.
+     * Les modifications sont appliquées à la version lue et seuls les champs modifiés sont écrits, de façon
+     * conditionnelle ; si le client a été modifié entre-temps, elles sont réappliquées à la nouvelle version
+     * (voir {@link OptimisticRetry}).
+     *
+     * @param id      l'identifiant du client
+     * @param changes les modifications à appliquer à la version enregistrée
+     * @return le client mis à jour, ou Optional.empty() si le client n'existe pas
+     * @throws ImtException si la mise à jour est invalide ou reste en conflit après toutes les tentatives
+     */
+    public Optional<Client> update(final String id, final UnaryOperator<Client> changes) throws ImtException {
+        return OptimisticRetry.run(() -> {
+            final Optional<Client> current = this.getOne(id);
+            if (current.isEmpty()) {
+                return Optional.<Client>empty();
+            }
+            return this.applyChanges(current.get(), changes.apply(current.get()));
+        });
+    }
+
+    /**
+     * Écrit les champs de {@code updated} qui diffèrent de {@code current} ; rien n'est écrit si aucun champ n'a
+     * changé.
+     *
+     * @param current la version enregistrée du client
+     * @param updated le client modifié
+     * @return le client mis à jour, ou Optional.empty() s'il a été supprimé entre-temps
+     * @throws ImtException si la mise à jour est refusée par le stockage
+     */
+    protected Optional<Client> applyChanges(final Client current, final Client updated) throws ImtException {
+        final FieldChanges changes = updated.changesSince(current);
+        if (changes.isEmpty()) {
+            return Optional.of(current);
+        }
+
+        return this.service.applyChanges(updated, changes);
+    }
+
     public void delete(final String id) throws ImtException {
         this.service.delete(id);
     }
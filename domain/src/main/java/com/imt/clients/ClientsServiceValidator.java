@@ -1,25 +1,78 @@
 package com.imt.clients;
 
 import com.imt.clients.model.Client;
-import com.imt.clients.validators.ClientUnicityLicenseValidatorStep;
 import com.imt.clients.validators.ClientUnicityValidatorStep;
 import com.imt.common.exceptions.ImtException;
+import com.imt.common.validators.ConstraintValidationEngine;
 import com.imt.common.validators.ConstraintValidatorStep;
+import com.imt.common.validators.UnicityEnforcement;
+import com.imt.common.validators.ValidatorPipeline;
+
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Service métier de gestion des clients avec validation.
  * Étend ClientsService en ajoutant des validations métier avant les opérations de création et modification.
- * Utilise le pattern Chain of Responsibility pour enchaîner les validations.
+ * Utilise le pattern Chain of Responsibility pour enchaîner les validations ; les pipelines sont construits
+ * une seule fois et partagés entre les requêtes.
+ * Les deux règles d'unicité (identité et numéro de permis) sont vérifiées en un seul aller-retour vers le stockage,
+ * puis garanties par le stockage lui-même : en mode {@link UnicityEnforcement#STORAGE_ONLY}, la lecture préalable
+ * est supprimée et le conflit est signalé par {@link ClientStorageProvider#save(Client)}.
  */
 public class ClientsServiceValidator extends ClientsService {
 
+    private final ValidatorPipeline<Client> createPipeline;
+    private final ValidatorPipeline<Client> updatePipeline;
+
     /**
      * Constructeur du service de validation des clients.
      *
      * @param service le service d'accès à la base de données pour les clients
      */
     public ClientsServiceValidator(final ClientStorageProvider service) {
+        this(service, ConstraintValidationEngine.getDefault());
+    }
+
+    /**
+     * Constructeur du service de validation des clients avec un moteur de validation partagé.
+     *
+     * @param service          le service d'accès à la base de données pour les clients
+     * @param validationEngine le moteur de validation des contraintes
+     */
+    public ClientsServiceValidator(final ClientStorageProvider service, final ConstraintValidationEngine validationEngine) {
+        this(service, validationEngine, UnicityEnforcement.PRE_CHECK);
+    }
+
+    /**
+     * Constructeur du service de validation des clients avec un moteur de validation partagé et une stratégie
+     * de contrôle d'unicité.
+     *
+     * @param service            le service d'accès à la base de données pour les clients
+     * @param validationEngine   le moteur de validation des contraintes
+     * @param unicityEnforcement la stratégie de contrôle d'unicité (lecture préalable par défaut)
+     */
+    public ClientsServiceValidator(final ClientStorageProvider service,
+                                   final ConstraintValidationEngine validationEngine,
+                                   final UnicityEnforcement unicityEnforcement) {
         super(service);
+        final ConstraintValidationEngine engine = Objects.requireNonNullElseGet(validationEngine, ConstraintValidationEngine::getDefault);
+        final UnicityEnforcement enforcement = Objects.requireNonNullElse(unicityEnforcement, UnicityEnforcement.PRE_CHECK);
+
+        this.createPipeline = this.newPipeline(engine, enforcement);
+        this.updatePipeline = this.newPipeline(engine, enforcement);
+    }
+
+    private ValidatorPipeline<Client> newPipeline(final ConstraintValidationEngine engine, final UnicityEnforcement enforcement) {
+        final ValidatorPipeline.Builder<Client> builder = ValidatorPipeline.<Client>builder()
+                .then(new ConstraintValidatorStep<>(engine));
+
+        // En écriture rapide, les index uniques du stockage remplacent la lecture préalable
+        if (enforcement.isPreChecked()) {
+            builder.then(new ClientUnicityValidatorStep(this.service));
+        }
+
+        return builder.build();
     }
 
     /**
@@ -35,11 +88,7 @@ public class ClientsServiceValidator extends ClientsService {
      * @throws com.imt.common.exceptions.ConflictException   si un client similaire existe déjà
      */
     public Client create(final Client client) throws ImtException {
-        new ConstraintValidatorStep<Client>()
-                .linkWith(new ClientUnicityValidatorStep(this.service))
-                .linkWith(new ClientUnicityLicenseValidatorStep(this.service))
-                .validate(client)
-                .throwIfInvalid();
+        this.createPipeline.validate(client).throwIfInvalid();
 
         return super.create(client);
     }
@@ -53,14 +102,29 @@ public class ClientsServiceValidator extends ClientsService {
      * @throws ImtException
      */
     public Client update(final Client client) throws ImtException {
-        new ConstraintValidatorStep<Client>()
-                // On réactive les règles d'unicité ici
-                .linkWith(new ClientUnicityValidatorStep(this.service))
-                .linkWith(new ClientUnicityLicenseValidatorStep(this.service))
-                .validate(client)
-                .throwIfInvalid();
+        this.updatePipeline.validate(client).throwIfInvalid();
 
         super.update(client);
         return client;
     }
+
+    /**
+     * Valide le client modifié avant d'en écrire les champs modifiés.
+     */
+    @Override
+    protected Optional<Client> applyChanges(final Client current, final Client updated) throws ImtException {
+        this.updatePipeline.validate(updated).throwIfInvalid();
+
+        return super.applyChanges(current, updated);
+    }
+
+    /**
+     * Retourne le nombre d'allers-retours vers le stockage évités par les pipelines de validation des clients,
+     * grâce au rejet anticipé des requêtes invalides par les vérifications en mémoire.
+     *
+     * @return le nombre cumulé d'appels au stockage évités (création et mise à jour)
+     */
+    public long getAvoidedStorageCalls() {
+        return this.createPipeline.getAvoidedIoCalls() + this.updatePipeline.getAvoidedIoCalls();
+    }
 }
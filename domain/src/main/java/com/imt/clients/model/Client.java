@@ -1,5 +1,7 @@
 package com.imt.clients.model;
 
+import com.imt.common.model.FieldChanges;
+import com.imt.constraints.CompiledConstraints;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Past;
 import jakarta.validation.constraints.Pattern;
@@ -9,6 +11,7 @@ import lombok.*;
 import java.time.LocalDate;
 import java.util.UUID;
 
+@CompiledConstraints
 @Getter
 @Builder(toBuilder = true)      // Permet de cloner un objet en modifiant certains champs
 @EqualsAndHashCode(of = "id")   // Un client est unique par son ID ou son numPermis
@@ -48,6 +51,27 @@ public class Client {
     @Size(min = 5, max = 255, message = "Address must be between 5 and 255 characters")
     private String address;
 
+    /**
+     * Version de l'enregistrement, gérée par le stockage : null tant que le client n'a jamais été enregistré.
+     */
+    private Long version;
+
+    /**
+     * Retourne les champs de ce client qui diffèrent de sa version précédente (identifiant et version exclus).
+     *
+     * @param previous la version enregistrée du client
+     * @return les champs modifiés et leur nouvelle valeur
+     */
+    public FieldChanges changesSince(final Client previous) {
+        return FieldChanges.builder()
+                .compare("lastName", previous.getLastName(), this.lastName)
+                .compare("firstName", previous.getFirstName(), this.firstName)
+                .compare("dateOfBirth", previous.getDateOfBirth(), this.dateOfBirth)
+                .compare("licenseNumber", previous.getLicenseNumber(), this.licenseNumber)
+                .compare("address", previous.getAddress(), this.address)
+                .build();
+    }
+
     // A enlever
     // ca va planter;
 
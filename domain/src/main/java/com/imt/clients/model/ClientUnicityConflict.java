@@ -0,0 +1,57 @@
+package com.imt.clients.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Client existant entrant en conflit avec une règle d'unicité.
+ * Seuls l'identifiant du client en conflit et la règle enfreinte sont conservés.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ClientUnicityConflict {
+
+    private final String clientId;
+
+    private final Rule rule;
+
+    /**
+     * Règles d'unicité d'un client.
+     */
+    public enum Rule {
+        /**
+         * Même nom, prénom et date de naissance.
+         */
+        IDENTITY,
+
+        /**
+         * Même numéro de permis.
+         */
+        LICENSE_NUMBER;
+
+        /**
+         * Décrit le conflit rencontré par le client donné pour cette règle.
+         *
+         * @param client le client en conflit
+         * @return le message d'erreur associé
+         */
+        public String describe(final Client client) {
+            return switch (this) {
+                case IDENTITY -> String.format(
+                        "A client with name '%s %s' and birth date '%s' already exists.",
+                        client.getFirstName(),
+                        client.getLastName(),
+                        client.getDateOfBirth()
+                );
+                case LICENSE_NUMBER -> String.format(
+                        "A client with license number '%s' already exists.",
+                        client.getLicenseNumber()
+                );
+            };
+        }
+    }
+}
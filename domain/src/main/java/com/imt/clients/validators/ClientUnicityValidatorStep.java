@@ -2,31 +2,48 @@ package com.imt.clients.validators;
 
 import com.imt.clients.ClientStorageProvider;
 import com.imt.clients.model.Client;
-import com.imt.common.exceptions.ConflictException;
-import com.imt.common.exceptions.ImtException;
+import com.imt.clients.model.ClientUnicityConflict;
+import com.imt.common.model.ValidatorResult;
 import com.imt.common.validators.AbstractValidatorStep;
 import lombok.AllArgsConstructor;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
 
+/**
+ * Vérifie les deux règles d'unicité d'un client (identité et numéro de permis) en une seule requête.
+ * En cas de double conflit, la règle d'identité est signalée en priorité.
+ */
 @AllArgsConstructor
 public class ClientUnicityValidatorStep extends AbstractValidatorStep<Client> {
     protected ClientStorageProvider service;
 
     @Override
-    public void check(Client toValidate) throws ImtException {
-        Optional<Client> existing = service.findByLastNameAndFirstNameAndBirthDate(
-                toValidate.getLastName(), toValidate.getFirstName(), toValidate.getDateOfBirth()
+    public boolean isIoBound() {
+        return true;
+    }
+
+    @Override
+    public ValidatorResult evaluate(final Client toValidate) {
+        final Collection<ClientUnicityConflict> conflicts = Objects.requireNonNullElse(
+                service.findUnicityConflicts(toValidate),
+                Collections.emptySet()
         );
 
-        // Si un client existe ET que ce n'est pas le même (ID différents), alors conflit
-        if (existing.isPresent() && !existing.get().getId().equals(toValidate.getId())) {
-            throw new ConflictException(String.format(
-                    "A client with name '%s %s' and birth date '%s' already exists.",
-                    toValidate.getFirstName(),
-                    toValidate.getLastName(),
-                    toValidate.getDateOfBirth()
-            ));
+        // Le client lui-même est exclu par la requête : tout résultat est un autre client
+        if (hasConflict(conflicts, ClientUnicityConflict.Rule.IDENTITY)) {
+            return ValidatorResult.conflict(ClientUnicityConflict.Rule.IDENTITY.describe(toValidate));
+        }
+
+        if (hasConflict(conflicts, ClientUnicityConflict.Rule.LICENSE_NUMBER)) {
+            return ValidatorResult.conflict(ClientUnicityConflict.Rule.LICENSE_NUMBER.describe(toValidate));
         }
+
+        return ValidatorResult.valid();
+    }
+
+    private static boolean hasConflict(final Collection<ClientUnicityConflict> conflicts, final ClientUnicityConflict.Rule rule) {
+        return conflicts.stream().anyMatch(conflict -> rule == conflict.getRule());
     }
-}
\ No newline at end of file
+}
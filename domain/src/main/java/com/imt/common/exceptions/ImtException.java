@@ -2,10 +2,23 @@ package com.imt.common.exceptions;
 
 import java.io.Serial;
 
+/**
+ * Exception métier de base.
+ * Ces exceptions décrivent un refus fonctionnel (requête invalide, conflit, ressource absente) et non une
+ * anomalie technique : elles ne capturent donc pas de pile d'appels, dont le coût est élevé et l'intérêt nul
+ * pour un rejet attendu.
+ */
 public abstract class ImtException extends Exception {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Construit une exception métier sans pile d'appels ni exceptions supprimées.
+     */
+    protected ImtException() {
+        super(null, null, false, false);
+    }
+
     /**
      * Retourne le type de l'exception (nom de la classe).
      *
@@ -0,0 +1,19 @@
+package com.imt.common.exceptions;
+
+import lombok.ToString;
+
+import java.io.Serial;
+
+/**
+ * Exception levée lorsqu'une ressource a été modifiée par une autre requête entre sa lecture et son enregistrement :
+ * la version lue n'est plus celle du stockage et l'écriture conditionnelle a été refusée.
+ */
+@ToString(callSuper = true)
+public class VersionConflictException extends ConflictException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public VersionConflictException(final String message) {
+        super(message);
+    }
+}
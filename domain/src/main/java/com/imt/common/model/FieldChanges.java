@@ -0,0 +1,89 @@
+package com.imt.common.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Champs modifiés d'un objet métier, avec leur nouvelle valeur.
+ * Les champs sont désignés par le nom de la propriété de l'objet métier ; un champ dont la valeur n'a pas changé
+ * n'y figure pas. Permet au stockage de n'écrire que les champs modifiés plutôt que tout l'enregistrement, et de
+ * ne rien écrire du tout lorsqu'aucun champ n'a changé.
+ */
+@EqualsAndHashCode
+@ToString
+public final class FieldChanges {
+
+    private static final FieldChanges NONE = new FieldChanges(Map.of());
+
+    private final Map<String, Object> values;
+
+    private FieldChanges(final Map<String, Object> values) {
+        this.values = values;
+    }
+
+    /**
+     * Retourne l'ensemble vide de modifications (instance partagée).
+     */
+    public static FieldChanges none() {
+        return NONE;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Indique si aucun champ n'a été modifié.
+     */
+    public boolean isEmpty() {
+        return this.values.isEmpty();
+    }
+
+    /**
+     * Indique si le champ a été modifié.
+     */
+    public boolean contains(final String field) {
+        return this.values.containsKey(field);
+    }
+
+    /**
+     * Retourne les champs modifiés et leur nouvelle valeur (éventuellement nulle), dans l'ordre de déclaration.
+     */
+    public Map<String, Object> asMap() {
+        return Collections.unmodifiableMap(this.values);
+    }
+
+    /**
+     * Constructeur des modifications, par comparaison champ à champ de l'ancienne et de la nouvelle valeur.
+     */
+    public static final class Builder {
+        private final Map<String, Object> values = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Retient le champ uniquement si sa valeur a changé.
+         *
+         * @param field    le nom de la propriété de l'objet métier
+         * @param previous la valeur enregistrée
+         * @param current  la nouvelle valeur
+         * @return ce constructeur
+         */
+        public Builder compare(final String field, final Object previous, final Object current) {
+            if (!Objects.equals(previous, current)) {
+                this.values.put(field, current);
+            }
+            return this;
+        }
+
+        public FieldChanges build() {
+            return this.values.isEmpty() ? NONE : new FieldChanges(new LinkedHashMap<>(this.values));
+        }
+    }
+}
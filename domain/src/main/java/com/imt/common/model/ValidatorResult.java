@@ -1,46 +1,81 @@
 package com.imt.common.model;
 
 import com.imt.common.exceptions.BadRequestException;
+import com.imt.common.exceptions.ConflictException;
 import com.imt.common.exceptions.ImtException;
-import lombok.Builder;
+import com.imt.common.exceptions.ResourceNotFoundException;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
+import java.util.Objects;
+import java.util.function.Function;
+
 /**
  * Classe représentant le résultat d'une validation.
- * Encapsule les informations sur le succès ou l'échec de la validation, et l'exception associée en cas d'échec.
+ * Encapsule le succès ou l'échec de la validation sous forme de valeur immuable : en cas d'échec, seuls le type
+ * d'erreur et le message sont conservés. L'exception métier correspondante n'est construite qu'au moment où elle
+ * doit effectivement être levée ({@link #throwIfInvalid()}), ce qui évite tout coût d'exception sur le chemin
+ * de rejet tant que le résultat est manipulé comme une valeur.
  */
 @Getter
-@Builder
 @EqualsAndHashCode
 @ToString
-public class ValidatorResult {
+public final class ValidatorResult {
+    private static final ValidatorResult VALID = new ValidatorResult(true, null, null, null);
+
     private final boolean isValid;
 
-    private final ImtException exceptionToThrow;
+    private final FailureType failureType;
+
+    private final String message;
+
+    /**
+     * Exception déjà construite par l'appelant, réutilisée telle quelle si elle existe.
+     */
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final ImtException exception;
+
+    private ValidatorResult(final boolean isValid,
+                            final FailureType failureType,
+                            final String message,
+                            final ImtException exception) {
+        this.isValid = isValid;
+        this.failureType = failureType;
+        this.message = message;
+        this.exception = exception;
+    }
 
     /**
-     * Crée un résultat de validation valide.
+     * Retourne le résultat de validation valide (instance partagée).
      *
      * @return un ValidatorResult marqué comme valide
      */
     public static ValidatorResult valid() {
-        return ValidatorResult.builder().isValid(true).build();
+        return VALID;
     }
 
     /**
      * Crée un résultat de validation invalide avec un message d'erreur.
      *
      * @param message le message d'erreur de validation
-     * @return un ValidatorResult marqué comme invalide avec une BadRequestException
+     * @return un ValidatorResult marqué comme invalide, levant une BadRequestException
      */
     public static ValidatorResult invalid(final String message) {
-        return ValidatorResult
-                .builder()
-                .isValid(false)
-                .exceptionToThrow(new BadRequestException(message))
-                .build();
+        return new ValidatorResult(false, FailureType.BAD_REQUEST, message, null);
+    }
+
+    /**
+     * Crée un résultat de validation invalide signalant un conflit avec l'état actuel des données.
+     *
+     * @param message le message décrivant le conflit
+     * @return un ValidatorResult marqué comme invalide, levant une ConflictException
+     */
+    public static ValidatorResult conflict(final String message) {
+        return new ValidatorResult(false, FailureType.CONFLICT, message, null);
     }
 
     /**
@@ -50,11 +85,22 @@ public class ValidatorResult {
      * @return un ValidatorResult marqué comme invalide avec l'exception fournie
      */
     public static ValidatorResult invalid(final ImtException exceptionToThrow) {
-        return ValidatorResult
-                .builder()
-                .isValid(false)
-                .exceptionToThrow(exceptionToThrow)
-                .build();
+        Objects.requireNonNull(exceptionToThrow, "Exception to throw cannot be null");
+
+        return new ValidatorResult(false, FailureType.of(exceptionToThrow), exceptionToThrow.getMessage(), exceptionToThrow);
+    }
+
+    /**
+     * Retourne l'exception correspondant à l'échec, construite à la demande.
+     *
+     * @return l'exception à lever, ou null si la validation est valide
+     */
+    public ImtException getExceptionToThrow() {
+        if (this.isValid) {
+            return null;
+        }
+
+        return Objects.nonNull(this.exception) ? this.exception : this.failureType.toException(this.message);
     }
 
     /**
@@ -65,7 +111,42 @@ public class ValidatorResult {
      */
     public void throwIfInvalid() throws ImtException {
         if (!this.isValid()) {
-            throw this.exceptionToThrow;
+            throw this.getExceptionToThrow();
+        }
+    }
+
+    /**
+     * Catégories d'échec de validation, chacune associée à l'exception métier à lever.
+     */
+    public enum FailureType {
+        BAD_REQUEST(BadRequestException::new),
+        CONFLICT(ConflictException::new),
+        NOT_FOUND(ResourceNotFoundException::new);
+
+        private final Function<String, ImtException> exceptionFactory;
+
+        FailureType(final Function<String, ImtException> exceptionFactory) {
+            this.exceptionFactory = exceptionFactory;
+        }
+
+        /**
+         * Construit l'exception métier correspondant à ce type d'échec.
+         *
+         * @param message le message de l'exception
+         * @return l'exception construite
+         */
+        public ImtException toException(final String message) {
+            return this.exceptionFactory.apply(message);
+        }
+
+        private static FailureType of(final ImtException exception) {
+            if (exception instanceof ConflictException) {
+                return CONFLICT;
+            }
+            if (exception instanceof ResourceNotFoundException) {
+                return NOT_FOUND;
+            }
+            return BAD_REQUEST;
         }
     }
 }
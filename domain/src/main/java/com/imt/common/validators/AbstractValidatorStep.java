@@ -1,6 +1,5 @@
 package com.imt.common.validators;
 
-import com.imt.clients.model.Client;
 import com.imt.common.exceptions.ImtException;
 import com.imt.common.model.ValidatorResult;
 
@@ -13,18 +12,61 @@ import java.util.Objects;
  * @param <T> le type d'objet à valider
  */
 public abstract class AbstractValidatorStep<T> {
+    /**
+     * Coût estimé par défaut d'une vérification en mémoire.
+     */
+    public static final int DEFAULT_PURE_COST = 1;
+
+    /**
+     * Coût estimé par défaut d'une vérification nécessitant un aller-retour vers le stockage.
+     */
+    public static final int DEFAULT_IO_COST = 100;
+
     private AbstractValidatorStep<T> nextStep;
 
     /**
      * Effectue la vérification métier spécifique à cette étape de validation.
+     * L'échec est retourné sous forme de valeur : aucune exception n'est construite sur le chemin de rejet.
      *
      * @param toValidate l'objet à valider
-     * @throws RuntimeException si la validation échoue
+     * @return {@link ValidatorResult#valid()} si la vérification passe, un résultat invalide sinon (jamais null)
+     */
+    public abstract ValidatorResult evaluate(final T toValidate);
+
+    /**
+     * Effectue la vérification métier et lève l'exception correspondante en cas d'échec.
+     *
+     * @param toValidate l'objet à valider
+     * @throws ImtException si la validation échoue
+     */
+    public void check(final T toValidate) throws ImtException {
+        this.evaluate(toValidate).throwIfInvalid();
+    }
+
+    /**
+     * Indique si cette étape interroge le stockage (ou tout autre système externe).
+     * Les étapes d'entrée/sortie sont exécutées après toutes les vérifications en mémoire
+     * par {@link ValidatorPipeline}.
+     *
+     * @return true si l'étape effectue des entrées/sorties, false si elle est purement en mémoire
+     */
+    public boolean isIoBound() {
+        return false;
+    }
+
+    /**
+     * Coût estimé de l'étape, utilisé pour ordonner les étapes d'une même catégorie (en mémoire ou E/S).
+     * À coût égal, l'ordre de déclaration est conservé.
+     *
+     * @return le coût relatif estimé de l'étape
      */
-    public abstract void check(final T toValidate) throws ImtException;
+    public int getEstimatedCost() {
+        return this.isIoBound() ? DEFAULT_IO_COST : DEFAULT_PURE_COST;
+    }
 
     /**
      * Valide l'objet en exécutant cette étape et toutes les étapes suivantes.
+     * Pour les chemins critiques, préférer un {@link ValidatorPipeline} construit une seule fois.
      *
      * @param toValidate l'objet à valider
      * @return le résultat de la validation (valide ou invalide avec l'exception)
@@ -33,14 +75,11 @@ public abstract class AbstractValidatorStep<T> {
     public ValidatorResult validate(final T toValidate) {
         Objects.requireNonNull(toValidate, "Object to validate cannot be null");
 
-        try {
-            this.check(toValidate);
-        } catch (final ImtException e) {
-            return ValidatorResult.invalid(e);
-        }
-
-        if (Objects.nonNull(this.nextStep)) {
-            return this.nextStep.validate(toValidate);
+        for (AbstractValidatorStep<T> step = this; Objects.nonNull(step); step = step.nextStep) {
+            final ValidatorResult result = step.evaluate(toValidate);
+            if (!result.isValid()) {
+                return result;
+            }
         }
 
         return ValidatorResult.valid();
@@ -53,11 +92,11 @@ public abstract class AbstractValidatorStep<T> {
      * @return cette instance pour permettre le chaînage
      */
     public AbstractValidatorStep<T> linkWith(final AbstractValidatorStep<T> nextStep) {
-        if (Objects.isNull(this.nextStep)) {
-            this.nextStep = nextStep;
-        } else {
-            this.nextStep.linkWith(nextStep);
+        AbstractValidatorStep<T> last = this;
+        while (Objects.nonNull(last.nextStep)) {
+            last = last.nextStep;
         }
+        last.nextStep = nextStep;
 
         return this;
     }
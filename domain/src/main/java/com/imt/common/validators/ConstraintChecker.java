@@ -0,0 +1,28 @@
+package com.imt.common.validators;
+
+import java.util.List;
+
+/**
+ * Vérificateur de contraintes dédié à un modèle, sans réflexion.
+ * Les implémentations sont générées à la compilation pour les modèles annotés par
+ * {@code @CompiledConstraints}, puis découvertes par {@link ConstraintValidationEngine} via {@link java.util.ServiceLoader}.
+ *
+ * @param <T> le type de modèle vérifié
+ */
+public interface ConstraintChecker<T> {
+
+    /**
+     * Retourne la classe du modèle vérifié.
+     *
+     * @return la classe prise en charge
+     */
+    Class<T> getSupportedType();
+
+    /**
+     * Vérifie les contraintes du modèle.
+     *
+     * @param toValidate l'objet à vérifier
+     * @return les messages des contraintes violées, dans l'ordre de déclaration des champs (vide si valide)
+     */
+    List<String> check(final T toValidate);
+}
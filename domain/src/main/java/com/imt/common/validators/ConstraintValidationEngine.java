@@ -0,0 +1,126 @@
+package com.imt.common.validators;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Moteur de validation Jakarta partagé.
+ * La fabrique de validateurs n'est amorcée qu'une seule fois : le Validator obtenu est thread-safe
+ * et conserve en cache les métadonnées de contraintes des classes déjà rencontrées.
+ * Les classes fournies à la construction sont introspectées immédiatement afin que la première
+ * requête ne paie pas le coût de cette analyse.
+ * <p>
+ * Les modèles disposant d'un {@link ConstraintChecker} généré à la compilation sont vérifiés par celui-ci,
+ * sans réflexion ; les autres restent validés par le Validator Jakarta.
+ */
+public class ConstraintValidationEngine implements AutoCloseable {
+
+    private final ValidatorFactory validatorFactory;
+    private final Validator validator;
+    private final Map<Class<?>, ConstraintChecker<?>> compiledCheckers;
+
+    /**
+     * Construit le moteur et pré-calcule les métadonnées de contraintes des classes fournies.
+     *
+     * @param preloadedTypes les classes dont les contraintes doivent être analysées dès le démarrage
+     */
+    public ConstraintValidationEngine(final Class<?>... preloadedTypes) {
+        this(Validation.buildDefaultValidatorFactory(), preloadedTypes);
+    }
+
+    /**
+     * Construit le moteur à partir d'une fabrique existante.
+     *
+     * @param validatorFactory la fabrique de validateurs à utiliser (fermée avec le moteur)
+     * @param preloadedTypes   les classes dont les contraintes doivent être analysées dès le démarrage
+     */
+    public ConstraintValidationEngine(final ValidatorFactory validatorFactory, final Class<?>... preloadedTypes) {
+        this.validatorFactory = Objects.requireNonNull(validatorFactory, "Validator factory cannot be null");
+        this.validator = validatorFactory.getValidator();
+        this.compiledCheckers = loadCompiledCheckers();
+
+        for (final Class<?> type : preloadedTypes) {
+            this.validator.getConstraintsForClass(type);
+        }
+    }
+
+    /**
+     * Retourne le moteur partagé par défaut, amorcé au premier appel.
+     *
+     * @return l'instance par défaut du moteur
+     */
+    public static ConstraintValidationEngine getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Valide toutes les contraintes portées par l'objet.
+     *
+     * @param toValidate l'objet à valider
+     * @param <T>        le type de l'objet
+     * @return l'ensemble des violations, vide si l'objet est valide
+     */
+    public <T> Set<ConstraintViolation<T>> validate(final T toValidate) {
+        return this.validator.validate(toValidate);
+    }
+
+    /**
+     * Retourne les messages des contraintes violées par l'objet, en utilisant le vérificateur compilé
+     * du modèle s'il existe, la validation Jakarta sinon.
+     *
+     * @param toValidate l'objet à valider
+     * @param <T>        le type de l'objet
+     * @return les messages des violations, vide si l'objet est valide
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<String> violationMessages(final T toValidate) {
+        final ConstraintChecker<T> checker = (ConstraintChecker<T>) this.compiledCheckers.get(toValidate.getClass());
+        if (Objects.nonNull(checker)) {
+            return checker.check(toValidate);
+        }
+
+        return this.validator.validate(toValidate).stream()
+                .map(ConstraintViolation::getMessage)
+                .toList();
+    }
+
+    /**
+     * Indique si un vérificateur compilé est disponible pour la classe donnée.
+     *
+     * @param type la classe du modèle
+     * @return true si la classe est vérifiée sans réflexion
+     */
+    public boolean hasCompiledChecker(final Class<?> type) {
+        return this.compiledCheckers.containsKey(type);
+    }
+
+    @Override
+    public void close() {
+        this.validatorFactory.close();
+    }
+
+    private static Map<Class<?>, ConstraintChecker<?>> loadCompiledCheckers() {
+        final Map<Class<?>, ConstraintChecker<?>> checkers = new HashMap<>();
+        for (final ConstraintChecker<?> checker : ServiceLoader.load(ConstraintChecker.class, ConstraintValidationEngine.class.getClassLoader())) {
+            checkers.put(checker.getSupportedType(), checker);
+        }
+
+        return Map.copyOf(checkers);
+    }
+
+    /**
+     * Initialisation paresseuse et thread-safe de l'instance par défaut.
+     */
+    private static final class DefaultHolder {
+        private static final ConstraintValidationEngine INSTANCE = new ConstraintValidationEngine();
+    }
+}
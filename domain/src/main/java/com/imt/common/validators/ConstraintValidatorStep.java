@@ -1,39 +1,54 @@
 package com.imt.common.validators;
 
-import com.imt.common.exceptions.BadRequestException;
-import com.imt.common.exceptions.ImtException;
-import jakarta.validation.ConstraintViolation;
-import jakarta.validation.Validation;
-import jakarta.validation.ValidatorFactory;
+import com.imt.common.model.ValidatorResult;
 
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * Validateur pour les contraintes Jakarta Validation.
- * Vérifie que toutes les annotations de validation (@NotNull, @Pattern, etc.) sont respectées.
+ * Vérifie que toutes les annotations de validation (@NotNull, @Pattern, etc.) sont respectées,
+ * via le vérificateur généré à la compilation lorsque le modèle en dispose.
  *
  * @param <T> le type d'objet à valider
  */
 public class ConstraintValidatorStep<T> extends AbstractValidatorStep<T> {
 
+    private final ConstraintValidationEngine engine;
+
+    /**
+     * Construit l'étape avec le moteur de validation partagé par défaut.
+     */
+    public ConstraintValidatorStep() {
+        this(ConstraintValidationEngine.getDefault());
+    }
+
+    /**
+     * Construit l'étape avec un moteur de validation fourni.
+     *
+     * @param engine le moteur de validation à utiliser
+     */
+    public ConstraintValidatorStep(final ConstraintValidationEngine engine) {
+        this.engine = Objects.requireNonNull(engine, "Validation engine cannot be null");
+    }
+
     /**
      * Vérifie que toutes les contraintes de validation sur l'objet sont respectées.
      *
      * @param toValidate l'objet à valider
-     * @throws BadRequestException si au moins une contrainte n'est pas respectée
+     * @return un résultat invalide (requête incorrecte) si au moins une contrainte n'est pas respectée
      */
     @Override
-    public void check(final T toValidate) throws ImtException {
-        try (final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
-            final Set<ConstraintViolation<T>> violations = validatorFactory.getValidator().validate(toValidate);
-
-            if (!violations.isEmpty()) {
-                throw new BadRequestException(String.format(
-                        "At least one constraint violation found: %s",
-                        violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.joining(", ")))
-                );
-            }
+    public ValidatorResult evaluate(final T toValidate) {
+        final List<String> violations = this.engine.violationMessages(toValidate);
+
+        if (!violations.isEmpty()) {
+            return ValidatorResult.invalid(String.format(
+                    "At least one constraint violation found: %s",
+                    String.join(", ", violations))
+            );
         }
+
+        return ValidatorResult.valid();
     }
 }
@@ -0,0 +1,27 @@
+package com.imt.common.validators;
+
+/**
+ * Stratégie de contrôle des règles d'unicité lors des écritures.
+ */
+public enum UnicityEnforcement {
+    /**
+     * Les règles d'unicité sont vérifiées par une lecture avant l'écriture, puis garanties par le stockage.
+     * Le conflit est détecté avant toute écriture, au prix d'un aller-retour supplémentaire.
+     */
+    PRE_CHECK,
+
+    /**
+     * Écriture rapide : la lecture préalable est supprimée et seules les contraintes d'unicité du stockage
+     * sont utilisées. Un doublon est signalé par le stockage lui-même au moment de l'écriture.
+     */
+    STORAGE_ONLY;
+
+    /**
+     * Indique si les règles d'unicité doivent être vérifiées avant l'écriture.
+     *
+     * @return true si la lecture préalable est conservée
+     */
+    public boolean isPreChecked() {
+        return this == PRE_CHECK;
+    }
+}
@@ -0,0 +1,151 @@
+package com.imt.common.validators;
+
+import com.imt.common.model.ValidatorResult;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pipeline de validation immuable et thread-safe.
+ * Construit une seule fois par opération (création, mise à jour...), il exécute ses étapes
+ * séquentiellement à partir d'un tableau, sans récursion ni allocation de chaîne à chaque appel.
+ * Les étapes doivent être sans état (ou thread-safe) puisqu'elles sont partagées entre les requêtes.
+ * <p>
+ * Les étapes sont ordonnées à la construction : toutes les vérifications en mémoire d'abord, puis les étapes
+ * d'entrée/sortie, chaque groupe trié par coût estimé croissant (tri stable : à coût égal, l'ordre de
+ * déclaration est conservé). Une requête invalide est ainsi rejetée sans toucher au stockage.
+ *
+ * @param <T> le type d'objet à valider
+ */
+public final class ValidatorPipeline<T> {
+
+    private static final Comparator<AbstractValidatorStep<?>> EXECUTION_ORDER = Comparator
+            .<AbstractValidatorStep<?>, Boolean>comparing(AbstractValidatorStep::isIoBound)
+            .thenComparingInt(AbstractValidatorStep::getEstimatedCost);
+
+    private final AbstractValidatorStep<T>[] steps;
+
+    /**
+     * Index de la première étape d'entrée/sortie (égal à la taille si aucune).
+     */
+    private final int firstIoStep;
+
+    private final LongAdder validations = new LongAdder();
+    private final LongAdder avoidedIoCalls = new LongAdder();
+
+    private ValidatorPipeline(final AbstractValidatorStep<T>[] steps) {
+        this.steps = steps;
+
+        int index = 0;
+        while (index < steps.length && !steps[index].isIoBound()) {
+            index++;
+        }
+        this.firstIoStep = index;
+    }
+
+    /**
+     * Crée un constructeur de pipeline.
+     *
+     * @param <T> le type d'objet à valider
+     * @return un nouveau constructeur vide
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Valide l'objet en exécutant les étapes dans l'ordre, en s'arrêtant au premier échec.
+     *
+     * @param toValidate l'objet à valider
+     * @return le résultat de la validation (valide ou invalide avec l'exception)
+     * @throws NullPointerException si toValidate est null
+     */
+    public ValidatorResult validate(final T toValidate) {
+        Objects.requireNonNull(toValidate, "Object to validate cannot be null");
+        this.validations.increment();
+
+        for (int index = 0; index < this.steps.length; index++) {
+            final ValidatorResult result = this.steps[index].evaluate(toValidate);
+            if (!result.isValid()) {
+                this.recordAvoidedIoCalls(index);
+                return result;
+            }
+        }
+
+        return ValidatorResult.valid();
+    }
+
+    private void recordAvoidedIoCalls(final int failedStep) {
+        final int skippedIoSteps = this.steps.length - Math.max(this.firstIoStep, failedStep + 1);
+        if (skippedIoSteps > 0) {
+            this.avoidedIoCalls.add(skippedIoSteps);
+        }
+    }
+
+    /**
+     * Retourne le nombre de validations exécutées par ce pipeline.
+     *
+     * @return le nombre d'appels à {@link #validate(Object)}
+     */
+    public long getValidationCount() {
+        return this.validations.sum();
+    }
+
+    /**
+     * Retourne le nombre d'étapes d'entrée/sortie (allers-retours vers le stockage) qui n'ont pas été exécutées
+     * parce qu'une étape précédente avait déjà rejeté l'objet.
+     *
+     * @return le nombre cumulé d'appels au stockage évités
+     */
+    public long getAvoidedIoCalls() {
+        return this.avoidedIoCalls.sum();
+    }
+
+    /**
+     * Retourne le nombre d'étapes du pipeline.
+     *
+     * @return le nombre d'étapes
+     */
+    public int size() {
+        return this.steps.length;
+    }
+
+    /**
+     * Constructeur de pipeline : accumule les étapes puis fige le pipeline.
+     *
+     * @param <T> le type d'objet à valider
+     */
+    public static final class Builder<T> {
+        private final List<AbstractValidatorStep<T>> steps = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Ajoute une étape à la fin du pipeline.
+         *
+         * @param step l'étape à ajouter
+         * @return ce constructeur pour permettre le chaînage
+         */
+        public Builder<T> then(final AbstractValidatorStep<T> step) {
+            this.steps.add(Objects.requireNonNull(step, "Validator step cannot be null"));
+            return this;
+        }
+
+        /**
+         * Fige les étapes accumulées dans un pipeline immuable, ordonné par catégorie puis par coût.
+         *
+         * @return le pipeline construit
+         */
+        @SuppressWarnings("unchecked")
+        public ValidatorPipeline<T> build() {
+            final List<AbstractValidatorStep<T>> ordered = new ArrayList<>(this.steps);
+            ordered.sort(EXECUTION_ORDER);
+
+            return new ValidatorPipeline<>(ordered.toArray(new AbstractValidatorStep[0]));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.imt.common.versioning;
+
+import com.imt.common.exceptions.ImtException;
+import com.imt.common.exceptions.VersionConflictException;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reprise automatique des mises à jour refusées pour conflit de version (verrouillage optimiste).
+ * Chaque tentative relit l'enregistrement, applique les modifications et l'enregistre de façon conditionnelle ;
+ * si un autre écrivain est passé entre-temps, la tentative est rejouée sur la nouvelle version après une courte
+ * attente aléatoire, dans la limite d'un nombre fixe de tentatives. Un enregistrement très sollicité continue ainsi
+ * d'avancer sans verrou pessimiste.
+ */
+public final class OptimisticRetry {
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+    private static final long MAX_BACKOFF_MILLIS = 50;
+
+    private OptimisticRetry() {
+    }
+
+    /**
+     * Tentative de mise à jour : lecture, modification et enregistrement conditionnel.
+     */
+    @FunctionalInterface
+    public interface Attempt<T> {
+        T run() throws ImtException;
+    }
+
+    /**
+     * Exécute la tentative, rejouée au plus {@link #DEFAULT_MAX_ATTEMPTS} fois en cas de conflit de version.
+     */
+    public static <T> T run(final Attempt<T> attempt) throws ImtException {
+        return run(DEFAULT_MAX_ATTEMPTS, attempt);
+    }
+
+    /**
+     * Exécute la tentative, rejouée en cas de conflit de version.
+     *
+     * @param maxAttempts le nombre maximal de tentatives (au moins une)
+     * @param attempt     la tentative à exécuter
+     * @return le résultat de la première tentative aboutie
+     * @throws VersionConflictException si toutes les tentatives sont en conflit
+     * @throws ImtException             toute autre erreur métier, sans nouvelle tentative
+     */
+    public static <T> T run(final int maxAttempts, final Attempt<T> attempt) throws ImtException {
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return attempt.run();
+            } catch (VersionConflictException e) {
+                if (attemptNumber >= maxAttempts) {
+                    throw e;
+                }
+                pause(attemptNumber, e);
+            }
+        }
+    }
+
+    private static void pause(final int attemptNumber, final VersionConflictException cause) throws VersionConflictException {
+        // Attente aléatoire croissante : les écrivains en conflit ne se retrouvent pas au même instant
+        final long bound = Math.min(MAX_BACKOFF_MILLIS, 1L << attemptNumber);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
@@ -1,11 +1,21 @@
 package com.imt.contracts;
 
+import com.imt.common.exceptions.ConflictException;
+import com.imt.common.model.FieldChanges;
 import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractCursor;
+import com.imt.contracts.model.ContractStateEnum;
+import com.imt.contracts.model.ContractTransition;
+import com.imt.contracts.model.OccupancyPeriod;
+import com.imt.contracts.model.VehiclePartition;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface ContractStorageProvider {
     boolean exist(final UUID identifier);
@@ -20,19 +30,127 @@ public interface ContractStorageProvider {
 
     Collection<Contract> findByVehicleIdentifierBetween(final UUID vehicleIdentifier, final LocalDate startDate, final LocalDate endDate);
 
-    Contract save(final Contract contract);
+    /**
+     * Recherche le premier contrat bloquant (voir {@link com.imt.contracts.model.ContractStateEnum#locksVehicle()})
+     * du véhicule dont la période chevauche [startDate, endDate], bornes incluses, en excluant un contrat donné.
+     * Le filtrage est entièrement délégué au stockage : au plus un contrat est lu.
+     *
+     * @param vehicleIdentifier          l'identifiant du véhicule
+     * @param startDate                  le début de la période demandée
+     * @param endDate                    la fin de la période demandée
+     * @param excludedContractIdentifier le contrat à ignorer (celui en cours de mise à jour), peut être null
+     * @return le premier contrat en conflit, ou Optional.empty() si le véhicule est libre sur la période
+     */
+    Optional<Contract> findFirstOverlappingContract(final UUID vehicleIdentifier,
+                                                    final LocalDate startDate,
+                                                    final LocalDate endDate,
+                                                    final UUID excludedContractIdentifier);
+
+    /**
+     * Trouve tous les contrats bloquants du véhicule dont la période chevauche [startDate, endDate], bornes incluses.
+     */
+    Collection<Contract> findLockingContractsBetween(final UUID vehicleIdentifier, final LocalDate startDate, final LocalDate endDate);
+
+    /**
+     * Trouve les plages pendant lesquelles le véhicule est occupé par un contrat bloquant sur [startDate, endDate],
+     * bornes incluses. Les contrats chevauchants ou contigus sont fusionnés en une seule plage.
+     *
+     * @return les plages occupées, disjointes, limitées à la période et triées par date de début
+     */
+    List<OccupancyPeriod> findBusyPeriods(final UUID vehicleIdentifier, final LocalDate startDate, final LocalDate endDate);
+
+    /**
+     * Trouve les véhicules ayant au moins un contrat bloquant dont la période chevauche [startDate, endDate],
+     * bornes incluses, toute la flotte confondue.
+     */
+    Set<UUID> findOccupiedVehicles(final LocalDate startDate, final LocalDate endDate);
+
+    /**
+     * Trouve tous les contrats se trouvant dans l'un des états donnés.
+     */
+    Collection<Contract> findByStates(final Collection<ContractStateEnum> states);
+
+    /**
+     * Trouve en une seule requête tous les contrats liés à l'un des véhicules donnés.
+     */
+    Collection<Contract> findByVehicleIdentifiers(final Collection<UUID> vehicleIdentifiers);
+
+    /**
+     * Trouve en une seule requête les contrats d'identifiants donnés ; les identifiants inconnus sont ignorés.
+     */
+    Collection<Contract> findByIdentifiers(final Collection<UUID> identifiers);
+
+    /**
+     * Enregistre un contrat. Un contrat déjà enregistré n'est mis à jour que si sa version est toujours celle du
+     * stockage.
+     *
+     * @throws ConflictException ({@link com.imt.common.exceptions.VersionConflictException}) si le contrat a été
+     *                           modifié depuis sa lecture
+     */
+    Contract save(final Contract contract) throws ConflictException;
+
+    /**
+     * Écrit uniquement les champs modifiés d'un contrat, si sa version est toujours celle portée par le contrat.
+     *
+     * @return le contrat mis à jour, ou Optional.empty() s'il n'existe plus
+     * @throws ConflictException ({@link com.imt.common.exceptions.VersionConflictException}) si le contrat a été
+     *                           modifié depuis sa lecture
+     */
+    Optional<Contract> applyChanges(final Contract contract, final FieldChanges changes) throws ConflictException;
+
+    /**
+     * Enregistre plusieurs contrats en une seule opération, en conservant l'ordre fourni.
+     */
+    Collection<Contract> saveAll(final Collection<Contract> contracts);
 
     void delete(final UUID identifier);
 
     /**
-     * Règle 2 : Trouve les contrats "En cours" dont la date de fin est passée (avant la date donnée).
+     * Parcourt les contrats de la partition dont la transition automatique est due à la date donnée (voir
+     * {@link ContractStateEnum#dueDate}), triés par date d'échéance puis par identifiant, en une seule lecture
+     * indexée. Les contrats sont lus au fil du parcours, par un curseur du stockage : la mémoire occupée ne dépend
+     * pas du nombre de contrats concernés. Le flux doit être fermé.
+     *
+     * @param referenceDate la date de référence
+     * @param partition     la partition des véhicules concernés ({@link VehiclePartition#ALL} pour toute la flotte)
+     * @param after         la position après laquelle reprendre le parcours, ou null pour le commencer
+     * @return le flux des contrats dont la transition est due
      */
-    Collection<Contract> findOverdueContracts(final LocalDate referenceDate);
+    Stream<Contract> streamDueContracts(final LocalDate referenceDate,
+                                        final VehiclePartition partition,
+                                        final ContractCursor after);
+
+    /**
+     * Applique des transitions d'état en une seule écriture groupée. Chaque contrat n'est modifié que s'il est
+     * toujours dans l'état et la version lus ; sa version est incrémentée.
+     *
+     * @param transitions les transitions à appliquer
+     * @return les contrats effectivement modifiés, dans leur nouvel état
+     */
+    Collection<Contract> applyTransitions(final Collection<ContractTransition> transitions);
+
+    /**
+     * Règle 3 : Trouve, parmi les véhicules donnés, ceux que retient un contrat en retard, ou en cours dont la date
+     * de fin est passée (avant la date donnée).
+     *
+     * @param vehicleIds    les identifiants des véhicules
+     * @param referenceDate la date de référence
+     * @return les identifiants des véhicules retenus
+     */
+    Set<UUID> findVehiclesHeldByLateContracts(final Collection<UUID> vehicleIds, final LocalDate referenceDate);
 
     /**
      * Règle 1 & 3 : Trouve les contrats "En attente" liés à un véhicule spécifique.
      */
     Collection<Contract> findPendingContractsByVehicleId(final UUID vehicleId);
+
+    /**
+     * Règle 1 : Annule en une seule écriture groupée tous les contrats "En attente" d'un véhicule.
+     *
+     * @param vehicleId l'identifiant du véhicule
+     * @return les identifiants des contrats annulés
+     */
+    Collection<UUID> cancelPendingContractsByVehicleId(final UUID vehicleId);
 }
 
 
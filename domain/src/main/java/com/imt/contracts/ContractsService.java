@@ -1,22 +1,47 @@
 package com.imt.contracts;
 
+import com.imt.common.exceptions.BadRequestException;
 import com.imt.common.exceptions.ImtException;
+import com.imt.common.model.FieldChanges;
+import com.imt.common.versioning.OptimisticRetry;
 import com.imt.contracts.model.Contract;
-import com.imt.contracts.model.ContractStateEnum;
-import lombok.AllArgsConstructor;
+import com.imt.contracts.lifecycle.ContractTransitionEngine;
+import com.imt.contracts.model.ContractTransitionsReport;
+import com.imt.contracts.model.OccupancyPeriod;
+import com.imt.contracts.model.VehiclePartition;
+import com.imt.contracts.scheduling.CheckpointStorageProvider;
+import com.imt.vehicle.model.Vehicle;
+import com.imt.vehicle.model.VehicleStateEnum;
 
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
-@AllArgsConstructor
 public class ContractsService {
 
     protected ContractStorageProvider service;
 
+    private final ContractTransitionEngine transitionEngine;
+
+    public ContractsService(final ContractStorageProvider service) {
+        this(service, null, ContractTransitionEngine.DEFAULT_CHUNK_SIZE);
+    }
+
+    public ContractsService(final ContractStorageProvider service,
+                            final CheckpointStorageProvider checkpoints,
+                            final int chunkSize) {
+        this.service = service;
+        this.transitionEngine = new ContractTransitionEngine(service, checkpoints, chunkSize);
+    }
+
     public Collection<Contract> getAll() {
         return Objects.requireNonNullElse(this.service.getAll(), Collections.emptySet());
     }
@@ -48,6 +73,59 @@ public class ContractsService {
         );
     }
 
+    /**
+     * Retourne, parmi les véhicules fournis, ceux qui sont disponibles ({@link VehicleStateEnum#AVAILABLE}) et
+     * qu'aucun contrat bloquant n'occupe sur la période [startDate, endDate], bornes incluses.
+     * Les véhicules occupés de toute la flotte sont obtenus en une seule interrogation du stockage.
+     *
+     * @param vehicles  les véhicules candidats
+     * @param startDate le début de la période
+     * @param endDate   la fin de la période
+     * @return les véhicules libres sur toute la période, dans l'ordre fourni
+     * @throws ImtException si la période est incomplète ou si sa fin précède son début
+     */
+    public Collection<Vehicle> getAvailableVehicles(final Collection<Vehicle> vehicles,
+                                                    final LocalDate startDate,
+                                                    final LocalDate endDate) throws ImtException {
+        requireValidPeriod(startDate, endDate);
+
+        final Set<String> occupiedVehicles = Objects.requireNonNullElse(
+                        this.service.findOccupiedVehicles(startDate, endDate),
+                        Collections.<UUID>emptySet()
+                )
+                .stream()
+                .map(UUID::toString)
+                .collect(Collectors.toSet());
+
+        return Objects.requireNonNullElse(vehicles, Collections.<Vehicle>emptyList())
+                .stream()
+                .filter(vehicle -> vehicle.getState() == VehicleStateEnum.AVAILABLE)
+                .filter(vehicle -> !occupiedVehicles.contains(vehicle.getId()))
+                .toList();
+    }
+
+    /**
+     * Retourne le calendrier d'occupation du véhicule sur [from, to], bornes incluses, sous forme de plages
+     * alternées libres / occupées couvrant toute la période.
+     *
+     * @param vehicleIdentifier l'identifiant du véhicule
+     * @param from              le premier jour du calendrier
+     * @param to                le dernier jour du calendrier
+     * @return les plages du calendrier, triées par date de début
+     * @throws ImtException si la période est incomplète ou si sa fin précède son début
+     */
+    public List<OccupancyPeriod> getCalendar(final UUID vehicleIdentifier,
+                                             final LocalDate from,
+                                             final LocalDate to) throws ImtException {
+        requireValidPeriod(from, to);
+
+        return OccupancyPeriod.fillCalendar(
+                Objects.requireNonNullElse(this.service.findBusyPeriods(vehicleIdentifier, from, to), List.of()),
+                from,
+                to
+        );
+    }
+
     public Contract create(final Contract newContract) throws ImtException {
         return this.service.save(newContract);
     }
@@ -56,6 +134,45 @@ public class ContractsService {
         this.service.save(updatedContract);
     }
 
+    /**
+     * Met à jour un contrat à partir de sa dernière version enregistrée.
+     * Les modifications sont appliquées à la version lue et seuls les champs modifiés sont écrits, de façon
+     * conditionnelle ; si le contrat a été modifié entre-temps, elles sont réappliquées à la nouvelle version
+     * (voir {@link OptimisticRetry}).
+     *
+     * @param identifier l'identifiant du contrat
+     * @param changes    les modifications à appliquer à la version enregistrée
+     * @return le contrat mis à jour, ou Optional.empty() si le contrat n'existe pas
+     * @throws ImtException si la mise à jour est invalide ou reste en conflit après toutes les tentatives
+     */
+    public Optional<Contract> update(final UUID identifier, final UnaryOperator<Contract> changes) throws ImtException {
+        return OptimisticRetry.run(() -> {
+            final Optional<Contract> current = this.getOne(identifier);
+            if (current.isEmpty()) {
+                return Optional.<Contract>empty();
+            }
+            return this.applyChanges(current.get(), changes.apply(current.get()));
+        });
+    }
+
+    /**
+     * Écrit les champs de {@code updated} qui diffèrent de {@code current} ; rien n'est écrit si aucun champ n'a
+     * changé.
+     *
+     * @param current la version enregistrée du contrat
+     * @param updated le contrat modifié
+     * @return le contrat mis à jour, ou Optional.empty() s'il a été supprimé entre-temps
+     * @throws ImtException si la mise à jour est refusée par le stockage
+     */
+    protected Optional<Contract> applyChanges(final Contract current, final Contract updated) throws ImtException {
+        final FieldChanges changes = updated.changesSince(current);
+        if (changes.isEmpty()) {
+            return Optional.of(current);
+        }
+
+        return this.service.applyChanges(updated, changes);
+    }
+
     public void delete(final UUID identifier) throws ImtException {
         this.service.delete(identifier);
     }
@@ -64,54 +181,70 @@ public class ContractsService {
      * Règle 1 : Annulation automatique.
      * Si un véhicule est déclaré en panne, annuler les contrats en attente.
      * Cette méthode doit être appelée par le VehicleService ou via un événement.
+     * Les contrats sont annulés par une seule écriture groupée, quel que soit leur nombre.
+     *
+     * @return les identifiants des contrats annulés
      */
-    public void cancelContractsForBrokenVehicule(final UUID vehicleId) throws ImtException {
-        Collection<Contract> pendingContracts = this.service.findPendingContractsByVehicleId(vehicleId);
+    public Collection<UUID> cancelContractsForBrokenVehicule(final UUID vehicleId) throws ImtException {
+        return this.service.cancelPendingContractsByVehicleId(vehicleId);
+    }
 
-        for (Contract contract : pendingContracts) {
-            Contract cancelledContract = contract.toBuilder()
-                    .state(ContractStateEnum.CANCELLED)
-                    .build();
+    /**
+     * Règle 2 et 3, avec le démarrage des contrats : applique toutes les transitions automatiques dues aujourd'hui.
+     * Méthode destinée à être appelée par le Scheduler.
+     * Les contrats concernés sont lus en un seul parcours indexé et traités par lots de taille fixe, chaque lot
+     * étant écrit en une seule écriture groupée (voir {@link ContractTransitionEngine}).
+     *
+     * @return le bilan du passage
+     */
+    public ContractTransitionsReport applyDueTransitions() throws ImtException {
+        return this.applyDueTransitions(VehiclePartition.ALL);
+    }
 
-            this.update(cancelledContract);
-        }
+    /**
+     * Transitions automatiques limitées aux véhicules d'une partition. Les contrats d'un véhicule et leurs
+     * annulations en cascade appartenant tous à la même partition, des partitions différentes peuvent être traitées
+     * en parallèle.
+     *
+     * @param partition la partition des véhicules à traiter
+     * @return le bilan du passage sur la partition
+     */
+    public ContractTransitionsReport applyDueTransitions(final VehiclePartition partition) throws ImtException {
+        return this.transitionEngine.run(LocalDate.now(), partition);
     }
 
     /**
-     * Règle 2 et 3 : Gestion des retards et annulation en cascade.
-     * Méthode destinée à être appelée par le Scheduler.
+     * Transitions automatiques appliquées au nom du détenteur d'un bail (leader ou partition) : le bail est vérifié
+     * avant chaque lot, et le passage s'arrête dès qu'une autre instance l'a repris.
+     *
+     * @param partition la partition des véhicules à traiter
+     * @param leaseHeld vérifie que le bail est toujours détenu
+     * @return le bilan des lots écrits avant la perte éventuelle du bail
      */
-    public void updateOverdueContracts() throws ImtException {
-        LocalDate today = LocalDate.now();
-        // Règle 2 : Trouver les contrats qui auraient dû finir hier ou avant
-        Collection<Contract> overdueContracts = this.service.findOverdueContracts(today);
-
-        for (Contract contract : overdueContracts) {
-            // Passage à l'état LATE
-            Contract lateContract = contract.toBuilder()
-                    .state(ContractStateEnum.LATE)
-                    .build();
-            this.update(lateContract);
-
-            // Règle 3 : Cascade. Si ce retard empêche un contrat futur de démarrer.
-            // On vérifie s'il y a des contrats en attente pour ce véhicule qui commencent aujourd'hui ou avant (puisque la voiture n'est pas là)
-            this.cancelConflictingPendingContracts(lateContract.getVehicleIdentifier(), today);
-        }
+    public ContractTransitionsReport applyDueTransitions(final VehiclePartition partition,
+                                                         final BooleanSupplier leaseHeld) throws ImtException {
+        return this.transitionEngine.run(LocalDate.now(), partition, leaseHeld);
     }
 
-    private void cancelConflictingPendingContracts(final UUID vehicleId, final LocalDate referenceDate) throws ImtException {
-        Collection<Contract> pendingContracts = this.service.findPendingContractsByVehicleId(vehicleId);
+    /**
+     * Transitions automatiques des seuls contrats donnés, dont l'échéance est atteinte, appliquées au nom du
+     * détenteur d'un bail.
+     *
+     * @param contractIdentifiers les identifiants des contrats échus
+     * @param leaseHeld           vérifie que le bail est toujours détenu
+     * @return le bilan des lots écrits avant la perte éventuelle du bail
+     */
+    public ContractTransitionsReport applyDueTransitionsOf(final Collection<UUID> contractIdentifiers,
+                                                           final BooleanSupplier leaseHeld) throws ImtException {
+        return this.transitionEngine.runFor(contractIdentifiers, LocalDate.now(), leaseHeld);
+    }
 
-        for (Contract pending : pendingContracts) {
-            // Si le contrat en attente est censé avoir commencé (ou commence ajd) alors que la voiture est absente
-            if (!pending.getStartDate().isAfter(referenceDate)) {
-                Contract cancelled = pending.toBuilder()
-                        .state(ContractStateEnum.CANCELLED)
-                        .build();
-                this.update(cancelled);
-            }
+    private static void requireValidPeriod(final LocalDate startDate, final LocalDate endDate) throws BadRequestException {
+        if (startDate == null || endDate == null) {
+            throw new BadRequestException("Les dates de début et de fin de la période sont obligatoires.");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new BadRequestException("La date de fin de la période ne peut pas précéder sa date de début.");
         }
     }
 }
-
-
@@ -1,42 +1,245 @@
 package com.imt.contracts;
 
 import com.imt.common.exceptions.ImtException;
+import com.imt.common.model.ValidatorResult;
+import com.imt.common.validators.ConstraintValidationEngine;
 import com.imt.common.validators.ConstraintValidatorStep;
+import com.imt.common.validators.ValidatorPipeline;
+import com.imt.contracts.lifecycle.ContractTransitionEngine;
 import com.imt.contracts.model.Contract;
+import com.imt.contracts.locks.StripedVehicleLockProvider;
+import com.imt.contracts.locks.VehicleLock;
+import com.imt.contracts.locks.VehicleLockProvider;
+import com.imt.contracts.model.ContractValidationResult;
+import com.imt.contracts.scheduling.CheckpointStorageProvider;
 import com.imt.contracts.validators.ContractPeriodValidatorStep;
 import com.imt.contracts.validators.ContractStateValidatorStep;
 import com.imt.contracts.validators.ContractVehicleAvailabilityValidatorStep;
 import com.imt.contracts.validators.ContractVehicleReadinessValidatorStep;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
 public class ContractsServiceValidator extends ContractsService {
 
+    private final ValidatorPipeline<Contract> createPipeline;
+    private final ValidatorPipeline<Contract> updatePipeline;
+
+    /**
+     * Vérifications en mémoire appliquées à chaque contrat d'un lot ; la disponibilité est vérifiée à part,
+     * à partir des contrats chargés une seule fois pour tout le lot.
+     */
+    private final ValidatorPipeline<Contract> batchPipeline;
+
+    /**
+     * Verrous par véhicule : la vérification de disponibilité et l'enregistrement d'un contrat sont atomiques
+     * vis-à-vis des autres réservations du même véhicule.
+     */
+    private final VehicleLockProvider vehicleLocks;
+
     public ContractsServiceValidator(final ContractStorageProvider service) {
-        super(service);
+        this(service, ConstraintValidationEngine.getDefault());
+    }
+
+    public ContractsServiceValidator(final ContractStorageProvider service, final ConstraintValidationEngine validationEngine) {
+        this(service, validationEngine, null);
+    }
+
+    public ContractsServiceValidator(final ContractStorageProvider service,
+                                     final ConstraintValidationEngine validationEngine,
+                                     final VehicleLockProvider vehicleLocks) {
+        this(service, validationEngine, vehicleLocks, null, ContractTransitionEngine.DEFAULT_CHUNK_SIZE);
+    }
+
+    public ContractsServiceValidator(final ContractStorageProvider service,
+                                     final ConstraintValidationEngine validationEngine,
+                                     final VehicleLockProvider vehicleLocks,
+                                     final CheckpointStorageProvider checkpoints,
+                                     final int overdueChunkSize) {
+        super(service, checkpoints, overdueChunkSize);
+        final ConstraintValidationEngine engine = Objects.requireNonNullElseGet(validationEngine, ConstraintValidationEngine::getDefault);
+        this.vehicleLocks = Objects.requireNonNullElseGet(vehicleLocks, StripedVehicleLockProvider::new);
+
+        this.createPipeline = ValidatorPipeline.<Contract>builder()
+                .then(new ConstraintValidatorStep<>(engine))
+                .then(new ContractStateValidatorStep())
+                .then(new ContractPeriodValidatorStep())
+                .then(new ContractVehicleReadinessValidatorStep())
+                .then(new ContractVehicleAvailabilityValidatorStep(this.service))
+                .build();
+
+        this.updatePipeline = ValidatorPipeline.<Contract>builder()
+                .then(new ConstraintValidatorStep<>(engine))
+                .then(new ContractStateValidatorStep())
+                .then(new ContractPeriodValidatorStep())
+                .then(new ContractVehicleReadinessValidatorStep())
+                .then(new ContractVehicleAvailabilityValidatorStep(this.service))
+                .build();
+
+        this.batchPipeline = ValidatorPipeline.<Contract>builder()
+                .then(new ConstraintValidatorStep<>(engine))
+                .then(new ContractStateValidatorStep())
+                .then(new ContractPeriodValidatorStep())
+                .then(new ContractVehicleReadinessValidatorStep())
+                .build();
     }
 
     public Contract create(final Contract newContract) throws ImtException {
-        new ConstraintValidatorStep<Contract>()
-                .linkWith(new ContractStateValidatorStep())
-                .linkWith(new ContractPeriodValidatorStep())
-                .linkWith(new ContractVehicleReadinessValidatorStep())
-                .linkWith(new ContractVehicleAvailabilityValidatorStep(this.service))
-                .validate(newContract)
-                .throwIfInvalid();
+        try (VehicleLock lock = this.vehicleLocks.acquire(newContract.getVehicleIdentifier())) {
+            this.createPipeline.validate(newContract).throwIfInvalid();
+            lock.ensureHeld();
 
-        return super.create(newContract);
+            return super.create(newContract);
+        }
     }
 
     public void update(final Contract contractToUpdate) throws ImtException {
-        new ConstraintValidatorStep<Contract>()
-                .linkWith(new ContractStateValidatorStep())
-                .linkWith(new ContractPeriodValidatorStep())
-                .linkWith(new ContractVehicleReadinessValidatorStep())
-                .linkWith(new ContractVehicleAvailabilityValidatorStep(this.service))
-                .validate(contractToUpdate)
-                .throwIfInvalid();
+        try (VehicleLock lock = this.vehicleLocks.acquire(contractToUpdate.getVehicleIdentifier())) {
+            this.updatePipeline.validate(contractToUpdate).throwIfInvalid();
+            lock.ensureHeld();
 
-        super.update(contractToUpdate);
+            super.update(contractToUpdate);
+        }
     }
-}
 
+    /**
+     * Valide le contrat modifié avant d'en écrire les champs modifiés, sous le verrou de son véhicule.
+     */
+    @Override
+    protected Optional<Contract> applyChanges(final Contract current, final Contract updated) throws ImtException {
+        try (VehicleLock lock = this.vehicleLocks.acquire(updated.getVehicleIdentifier())) {
+            this.updatePipeline.validate(updated).throwIfInvalid();
+            lock.ensureHeld();
+
+            return super.applyChanges(current, updated);
+        }
+    }
+
+    /**
+     * Valide un lot de contrats en mutualisant les accès au stockage.
+     * Les vérifications en mémoire sont appliquées à chaque contrat, puis les contrats existants de tous les
+     * véhicules concernés sont chargés en une seule requête. Chaque contrat est ensuite comparé à ces contrats
+     * ainsi qu'aux contrats du lot déjà acceptés pour le même véhicule, dans l'ordre du lot.
+     *
+     * @param contracts les contrats à valider
+     * @return le résultat de validation de chaque contrat, dans l'ordre du lot
+     */
+    public List<ContractValidationResult> validateAll(final Collection<Contract> contracts) {
+        final List<Contract> batch = List.copyOf(contracts);
+        final ValidatorResult[] results = new ValidatorResult[batch.size()];
+        final Set<UUID> vehicleIdentifiers = new HashSet<>();
+
+        for (int index = 0; index < batch.size(); index++) {
+            results[index] = this.batchPipeline.validate(batch.get(index));
+            if (results[index].isValid()) {
+                vehicleIdentifiers.add(batch.get(index).getVehicleIdentifier());
+            }
+        }
+
+        final Map<UUID, List<Contract>> knownContractsByVehicle = this.loadContractsByVehicle(vehicleIdentifiers);
+
+        final List<ContractValidationResult> validationResults = new ArrayList<>(batch.size());
+        for (int index = 0; index < batch.size(); index++) {
+            final Contract contract = batch.get(index);
+            ValidatorResult result = results[index];
 
+            if (result.isValid()) {
+                final List<Contract> knownContracts = knownContractsByVehicle
+                        .computeIfAbsent(contract.getVehicleIdentifier(), vehicleIdentifier -> new ArrayList<>());
+                result = ContractVehicleAvailabilityValidatorStep.checkAgainst(contract, knownContracts);
+
+                if (result.isValid()) {
+                    // Le contrat accepté réserve le véhicule pour les contrats suivants du lot
+                    knownContracts.removeIf(known -> known.getIdentifier().equals(contract.getIdentifier()));
+                    knownContracts.add(contract);
+                }
+            }
+
+            validationResults.add(new ContractValidationResult(contract, result));
+        }
+
+        return validationResults;
+    }
+
+    /**
+     * Valide un lot de contrats puis enregistre en une seule opération ceux qui sont valides.
+     * Les contrats invalides sont ignorés sans interrompre le traitement du lot.
+     *
+     * Tous les véhicules du lot sont verrouillés pendant la validation et l'enregistrement.
+     *
+     * @param newContracts les contrats à créer
+     * @return le résultat de chaque contrat dans l'ordre du lot, avec le contrat enregistré pour ceux créés
+     * @throws ImtException si les véhicules du lot n'ont pas pu être verrouillés
+     */
+    public List<ContractValidationResult> createAll(final Collection<Contract> newContracts) throws ImtException {
+        final Set<UUID> vehicleIdentifiers = new HashSet<>();
+        newContracts.forEach(contract -> vehicleIdentifiers.add(contract.getVehicleIdentifier()));
+
+        try (VehicleLock lock = this.vehicleLocks.acquireAll(vehicleIdentifiers)) {
+            return this.validateAndSaveAll(newContracts, lock);
+        }
+    }
+
+    private List<ContractValidationResult> validateAndSaveAll(final Collection<Contract> newContracts,
+                                                              final VehicleLock lock) throws ImtException {
+        final List<ContractValidationResult> validationResults = this.validateAll(newContracts);
+        final List<Contract> acceptedContracts = validationResults.stream()
+                .filter(ContractValidationResult::isValid)
+                .map(ContractValidationResult::getContract)
+                .toList();
+
+        if (acceptedContracts.isEmpty()) {
+            return validationResults;
+        }
+
+        lock.ensureHeld();
+        final List<Contract> savedContracts = List.copyOf(this.service.saveAll(acceptedContracts));
+        final List<ContractValidationResult> createdResults = new ArrayList<>(validationResults.size());
+        int savedIndex = 0;
+        for (final ContractValidationResult validationResult : validationResults) {
+            createdResults.add(validationResult.isValid()
+                    ? new ContractValidationResult(savedContracts.get(savedIndex++), validationResult.getResult())
+                    : validationResult);
+        }
+
+        return createdResults;
+    }
+
+    private Map<UUID, List<Contract>> loadContractsByVehicle(final Set<UUID> vehicleIdentifiers) {
+        final Map<UUID, List<Contract>> contractsByVehicle = new HashMap<>();
+        if (vehicleIdentifiers.isEmpty()) {
+            return contractsByVehicle;
+        }
+
+        final Collection<Contract> existingContracts = Objects.requireNonNullElse(
+                this.service.findByVehicleIdentifiers(vehicleIdentifiers),
+                Collections.emptySet()
+        );
+        for (final Contract existingContract : existingContracts) {
+            contractsByVehicle
+                    .computeIfAbsent(existingContract.getVehicleIdentifier(), vehicleIdentifier -> new ArrayList<>())
+                    .add(existingContract);
+        }
+
+        return contractsByVehicle;
+    }
+
+    /**
+     * Retourne le nombre d'allers-retours vers le stockage évités par les pipelines de validation des contrats,
+     * grâce au rejet anticipé des requêtes invalides par les vérifications en mémoire.
+     *
+     * @return le nombre cumulé d'appels au stockage évités (création et mise à jour)
+     */
+    public long getAvoidedStorageCalls() {
+        return this.createPipeline.getAvoidedIoCalls() + this.updatePipeline.getAvoidedIoCalls();
+    }
+}
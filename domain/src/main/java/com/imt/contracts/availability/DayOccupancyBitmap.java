@@ -0,0 +1,214 @@
+package com.imt.contracts.availability;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Bitmap d'occupation de la flotte, jour par jour.
+ * Chaque véhicule reçoit un numéro d'ordre dense ; pour chaque jour (jour epoch) où au moins un véhicule est réservé,
+ * un {@link BitSet} indique les véhicules occupés. Seuls les jours occupés sont conservés et chaque BitSet s'arrête
+ * au dernier véhicule occupé : trouver les véhicules occupés sur une période revient à un OU des jours de la période.
+ * <p>
+ * Une période plus longue que {@code maxSpanDays} n'est pas étalée jour par jour : elle est conservée telle quelle
+ * et parcourue à chaque recherche, ce qui borne la mémoire face à une date de fin aberrante. Le numéro d'ordre d'un
+ * véhicule est libéré dès son dernier jour occupé retiré ; il n'est pas réattribué, pour qu'une lecture concurrente
+ * ne l'associe jamais à un autre véhicule : {@link #compacted()} renumérote la flotte lorsque les trous dominent.
+ * <p>
+ * Les BitSet publiés ne sont jamais modifiés (copie à l'écriture) : les lectures sont sans verrou. Les écritures
+ * doivent être sérialisées par l'appelant ({@link VehicleAvailabilityIndex}).
+ */
+final class DayOccupancyBitmap {
+
+    /**
+     * En deçà, les numéros d'ordre libérés ne justifient pas une renumérotation.
+     */
+    private static final int MIN_FREED_BEFORE_COMPACTION = 64;
+
+    private final int maxSpanDays;
+
+    private final Map<UUID, Integer> ordinals = new ConcurrentHashMap<>();
+
+    private volatile UUID[] vehicleByOrdinal = new UUID[64];
+
+    /**
+     * Nombre de jours occupés par numéro d'ordre, lu et écrit uniquement sous la sérialisation des écritures.
+     */
+    private int[] occupiedDaysByOrdinal = new int[64];
+
+    private int nextOrdinal;
+
+    private int freedOrdinals;
+
+    private final ConcurrentSkipListMap<Long, BitSet> occupiedByDay = new ConcurrentSkipListMap<>();
+
+    private final List<LongSpan> longSpans = new CopyOnWriteArrayList<>();
+
+    DayOccupancyBitmap(final int maxSpanDays) {
+        if (maxSpanDays < 1) {
+            throw new IllegalArgumentException("maxSpanDays must be positive: " + maxSpanDays);
+        }
+        this.maxSpanDays = maxSpanDays;
+    }
+
+    /**
+     * Marque le véhicule comme occupé sur chaque jour de [fromDay, toDay].
+     */
+    void occupy(final UUID vehicleIdentifier, final long fromDay, final long toDay) {
+        if (toDay < fromDay) {
+            return;
+        }
+        if (toDay - fromDay >= this.maxSpanDays) {
+            this.longSpans.add(new LongSpan(vehicleIdentifier, fromDay, toDay));
+            return;
+        }
+
+        final int ordinal = this.ordinalOf(vehicleIdentifier);
+        for (long day = fromDay; day <= toDay; day++) {
+            final BitSet occupied = this.occupiedByDay.get(day);
+            if (occupied != null && occupied.get(ordinal)) {
+                continue;
+            }
+            final BitSet updated = occupied == null ? new BitSet(ordinal + 1) : (BitSet) occupied.clone();
+            updated.set(ordinal);
+            this.occupiedByDay.put(day, updated);
+            this.occupiedDaysByOrdinal[ordinal]++;
+        }
+    }
+
+    /**
+     * Marque le véhicule comme libre sur chaque jour de [fromDay, toDay] et retire ses longues périodes incluses
+     * dans cet intervalle. Seuls les jours déjà occupés sont parcourus.
+     */
+    void release(final UUID vehicleIdentifier, final long fromDay, final long toDay) {
+        this.longSpans.removeIf(span -> span.vehicle().equals(vehicleIdentifier) && span.fromDay() >= fromDay && span.toDay() <= toDay);
+
+        final Integer ordinal = this.ordinals.get(vehicleIdentifier);
+        if (ordinal == null || toDay < fromDay) {
+            return;
+        }
+
+        for (final Map.Entry<Long, BitSet> day : this.occupiedByDay.subMap(fromDay, true, toDay, true).entrySet()) {
+            if (!day.getValue().get(ordinal)) {
+                continue;
+            }
+            final BitSet updated = (BitSet) day.getValue().clone();
+            updated.clear(ordinal);
+            // Un jour sans aucun véhicule occupé n'est plus conservé
+            if (updated.isEmpty()) {
+                this.occupiedByDay.remove(day.getKey());
+            } else {
+                this.occupiedByDay.put(day.getKey(), updated);
+            }
+            this.occupiedDaysByOrdinal[ordinal]--;
+        }
+
+        if (this.occupiedDaysByOrdinal[ordinal] == 0) {
+            this.ordinals.remove(vehicleIdentifier);
+            this.vehicleByOrdinal[ordinal] = null;
+            this.freedOrdinals++;
+        }
+    }
+
+    /**
+     * Retourne les véhicules occupés au moins un jour de [fromDay, toDay].
+     */
+    Set<UUID> occupiedBetween(final long fromDay, final long toDay) {
+        final BitSet occupied = new BitSet();
+        for (final BitSet day : this.occupiedByDay.subMap(fromDay, true, toDay, true).values()) {
+            occupied.or(day);
+        }
+
+        final UUID[] vehicles = this.vehicleByOrdinal;
+        final Set<UUID> occupiedVehicles = new HashSet<>(Math.max(16, occupied.cardinality() * 2));
+        for (int ordinal = occupied.nextSetBit(0); ordinal >= 0; ordinal = occupied.nextSetBit(ordinal + 1)) {
+            // Un numéro d'ordre libéré pendant la lecture n'a plus de véhicule
+            final UUID vehicle = vehicles[ordinal];
+            if (vehicle != null) {
+                occupiedVehicles.add(vehicle);
+            }
+        }
+        for (final LongSpan span : this.longSpans) {
+            if (span.fromDay() <= toDay && span.toDay() >= fromDay) {
+                occupiedVehicles.add(span.vehicle());
+            }
+        }
+        return occupiedVehicles;
+    }
+
+    /**
+     * Retourne le nombre de jours ayant au moins un véhicule occupé.
+     */
+    int occupiedDays() {
+        return this.occupiedByDay.size();
+    }
+
+    /**
+     * Retourne le nombre de véhicules ayant un numéro d'ordre, c'est-à-dire au moins un jour occupé.
+     */
+    int trackedVehicles() {
+        return this.ordinals.size();
+    }
+
+    /**
+     * Indique si les numéros d'ordre libérés sont assez nombreux pour justifier {@link #compacted()}.
+     */
+    boolean isFragmented() {
+        return this.freedOrdinals >= MIN_FREED_BEFORE_COMPACTION && this.freedOrdinals > this.ordinals.size();
+    }
+
+    /**
+     * Retourne une copie de ce bitmap où les véhicules encore occupés sont renumérotés sans trou.
+     */
+    DayOccupancyBitmap compacted() {
+        final DayOccupancyBitmap compacted = new DayOccupancyBitmap(this.maxSpanDays);
+        final int[] renumbered = new int[this.nextOrdinal];
+        for (int ordinal = 0; ordinal < this.nextOrdinal; ordinal++) {
+            final UUID vehicle = this.vehicleByOrdinal[ordinal];
+            renumbered[ordinal] = vehicle == null ? -1 : compacted.ordinalOf(vehicle);
+        }
+
+        for (final Map.Entry<Long, BitSet> day : this.occupiedByDay.entrySet()) {
+            final BitSet occupied = new BitSet();
+            for (int ordinal = day.getValue().nextSetBit(0); ordinal >= 0; ordinal = day.getValue().nextSetBit(ordinal + 1)) {
+                occupied.set(renumbered[ordinal]);
+                compacted.occupiedDaysByOrdinal[renumbered[ordinal]]++;
+            }
+            compacted.occupiedByDay.put(day.getKey(), occupied);
+        }
+        compacted.longSpans.addAll(this.longSpans);
+        return compacted;
+    }
+
+    private int ordinalOf(final UUID vehicleIdentifier) {
+        final Integer known = this.ordinals.get(vehicleIdentifier);
+        if (known != null) {
+            return known;
+        }
+
+        final int ordinal = this.nextOrdinal++;
+        UUID[] vehicles = this.vehicleByOrdinal;
+        if (ordinal == vehicles.length) {
+            vehicles = Arrays.copyOf(vehicles, vehicles.length * 2);
+            this.occupiedDaysByOrdinal = Arrays.copyOf(this.occupiedDaysByOrdinal, vehicles.length);
+        }
+        vehicles[ordinal] = vehicleIdentifier;
+        // Le tableau est publié avant que le numéro d'ordre n'apparaisse dans un BitSet
+        this.vehicleByOrdinal = vehicles;
+        this.ordinals.put(vehicleIdentifier, ordinal);
+        return ordinal;
+    }
+
+    /**
+     * Période trop longue pour être étalée jour par jour.
+     */
+    private record LongSpan(UUID vehicle, long fromDay, long toDay) {
+    }
+}
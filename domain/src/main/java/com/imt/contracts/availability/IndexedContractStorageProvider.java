@@ -0,0 +1,301 @@
+package com.imt.contracts.availability;
+
+import com.imt.common.exceptions.ConflictException;
+import com.imt.common.model.FieldChanges;
+import com.imt.contracts.ContractStorageProvider;
+import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractCursor;
+import com.imt.contracts.model.ContractStateEnum;
+import com.imt.contracts.model.ContractTransition;
+import com.imt.contracts.model.OccupancyPeriod;
+import com.imt.contracts.model.VehiclePartition;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Fournisseur de stockage des contrats adossé à un {@link VehicleAvailabilityIndex}.
+ * Délègue toutes les opérations au stockage, mais répond depuis l'index en mémoire aux seules consultations de
+ * disponibilité, en lecture seule (calendrier d'un véhicule, véhicules libres de la flotte). Chaque écriture passant
+ * par ce fournisseur met l'index à jour une fois le stockage confirmé.
+ * <p>
+ * L'index ne voit que les écritures de cette instance : il ne sert jamais à décider d'une écriture. Le contrôle de
+ * chevauchement d'une réservation, effectué sous le verrou du véhicule, interroge toujours le stockage, seul à faire
+ * foi avant une écriture.
+ * <p>
+ * En mode {@link ConsistencyCheck#VERIFY}, chaque réponse de l'index est comparée à celle du stockage : la réponse
+ * du stockage fait foi, l'écart est comptabilisé et les contrats du véhicule sont rechargés dans l'index.
+ */
+public class IndexedContractStorageProvider implements ContractStorageProvider {
+
+    private final ContractStorageProvider delegate;
+    private final VehicleAvailabilityIndex index;
+    private final ConsistencyCheck consistencyCheck;
+
+    private final LongAdder inconsistencies = new LongAdder();
+
+    public IndexedContractStorageProvider(final ContractStorageProvider delegate, final VehicleAvailabilityIndex index) {
+        this(delegate, index, ConsistencyCheck.OFF);
+    }
+
+    public IndexedContractStorageProvider(final ContractStorageProvider delegate,
+                                          final VehicleAvailabilityIndex index,
+                                          final ConsistencyCheck consistencyCheck) {
+        this.delegate = Objects.requireNonNull(delegate, "Contract storage cannot be null");
+        this.index = Objects.requireNonNull(index, "Availability index cannot be null");
+        this.consistencyCheck = Objects.requireNonNullElse(consistencyCheck, ConsistencyCheck.OFF);
+    }
+
+    /**
+     * Reconstruit l'index à partir des contrats bloquants présents dans le stockage.
+     *
+     * @return le nombre de contrats indexés
+     */
+    public int rebuild() {
+        this.index.rebuild(Objects.requireNonNullElse(
+                this.delegate.findByStates(ContractStateEnum.lockingStates()),
+                Collections.emptySet()
+        ));
+        return this.index.size();
+    }
+
+    /**
+     * Retourne le nombre d'écarts constatés entre l'index et le stockage en mode {@link ConsistencyCheck#VERIFY}.
+     *
+     * @return le nombre cumulé de réponses divergentes
+     */
+    public long getInconsistencyCount() {
+        return this.inconsistencies.sum();
+    }
+
+    @Override
+    public Optional<Contract> findFirstOverlappingContract(final UUID vehicleIdentifier,
+                                                           final LocalDate startDate,
+                                                           final LocalDate endDate,
+                                                           final UUID excludedContractIdentifier) {
+        final Optional<Contract> stored = Objects.requireNonNullElse(
+                this.delegate.findFirstOverlappingContract(vehicleIdentifier, startDate, endDate, excludedContractIdentifier),
+                Optional.empty()
+        );
+        if (this.consistencyCheck == ConsistencyCheck.OFF) {
+            return stored;
+        }
+
+        // Le contrat retourné peut légitimement différer : seule la présence d'un conflit doit concorder
+        final Optional<Contract> indexed = this.index.findFirstOverlapping(vehicleIdentifier, startDate, endDate, excludedContractIdentifier);
+        if (indexed.isPresent() != stored.isPresent()) {
+            this.resynchronize(vehicleIdentifier);
+        }
+        return stored;
+    }
+
+    @Override
+    public Collection<Contract> findLockingContractsBetween(final UUID vehicleIdentifier,
+                                                            final LocalDate startDate,
+                                                            final LocalDate endDate) {
+        final List<Contract> indexed = this.index.findOverlapping(vehicleIdentifier, startDate, endDate);
+        if (this.consistencyCheck == ConsistencyCheck.OFF) {
+            return indexed;
+        }
+
+        final Collection<Contract> stored = Objects.requireNonNullElse(
+                this.delegate.findLockingContractsBetween(vehicleIdentifier, startDate, endDate),
+                Collections.emptySet()
+        );
+        if (!identifiersOf(indexed).equals(identifiersOf(stored))) {
+            this.resynchronize(vehicleIdentifier);
+        }
+        return stored;
+    }
+
+    @Override
+    public List<OccupancyPeriod> findBusyPeriods(final UUID vehicleIdentifier,
+                                                 final LocalDate startDate,
+                                                 final LocalDate endDate) {
+        final List<OccupancyPeriod> indexed = this.index.findBusyPeriods(vehicleIdentifier, startDate, endDate);
+        if (this.consistencyCheck == ConsistencyCheck.OFF) {
+            return indexed;
+        }
+
+        final List<OccupancyPeriod> stored = Objects.requireNonNullElse(
+                this.delegate.findBusyPeriods(vehicleIdentifier, startDate, endDate),
+                List.of()
+        );
+        if (!indexed.equals(stored)) {
+            this.resynchronize(vehicleIdentifier);
+        }
+        return stored;
+    }
+
+    @Override
+    public Set<UUID> findOccupiedVehicles(final LocalDate startDate, final LocalDate endDate) {
+        final Set<UUID> indexed = this.index.findOccupiedVehicles(startDate, endDate);
+        if (this.consistencyCheck == ConsistencyCheck.OFF) {
+            return indexed;
+        }
+
+        final Set<UUID> stored = Objects.requireNonNullElse(
+                this.delegate.findOccupiedVehicles(startDate, endDate),
+                Collections.emptySet()
+        );
+        if (!indexed.equals(stored)) {
+            final Set<UUID> divergent = new HashSet<>(indexed);
+            divergent.addAll(stored);
+            divergent.removeIf(vehicle -> indexed.contains(vehicle) && stored.contains(vehicle));
+            divergent.forEach(this::resynchronize);
+        }
+        return stored;
+    }
+
+    @Override
+    public Contract save(final Contract contract) throws ConflictException {
+        final Contract saved = this.delegate.save(contract);
+        this.index.put(saved);
+        return saved;
+    }
+
+    @Override
+    public Optional<Contract> applyChanges(final Contract contract, final FieldChanges changes) throws ConflictException {
+        final Optional<Contract> updated = this.delegate.applyChanges(contract, changes);
+        updated.ifPresent(this.index::put);
+        return updated;
+    }
+
+    @Override
+    public Collection<Contract> saveAll(final Collection<Contract> contracts) {
+        final Collection<Contract> saved = this.delegate.saveAll(contracts);
+        if (saved != null) {
+            saved.forEach(this.index::put);
+        }
+        return saved;
+    }
+
+    @Override
+    public void delete(final UUID identifier) {
+        this.delegate.delete(identifier);
+        this.index.remove(identifier);
+    }
+
+    @Override
+    public boolean exist(final UUID identifier) {
+        return this.delegate.exist(identifier);
+    }
+
+    @Override
+    public Collection<Contract> getAll() {
+        return this.delegate.getAll();
+    }
+
+    @Override
+    public Optional<Contract> get(final UUID identifier) {
+        return this.delegate.get(identifier);
+    }
+
+    @Override
+    public Collection<Contract> findByClientIdentifier(final UUID clientIdentifier) {
+        return this.delegate.findByClientIdentifier(clientIdentifier);
+    }
+
+    @Override
+    public Collection<Contract> findByVehicleIdentifier(final UUID vehicleIdentifier) {
+        return this.delegate.findByVehicleIdentifier(vehicleIdentifier);
+    }
+
+    @Override
+    public Collection<Contract> findByVehicleIdentifierBetween(final UUID vehicleIdentifier,
+                                                               final LocalDate startDate,
+                                                               final LocalDate endDate) {
+        return this.delegate.findByVehicleIdentifierBetween(vehicleIdentifier, startDate, endDate);
+    }
+
+    @Override
+    public Collection<Contract> findByStates(final Collection<ContractStateEnum> states) {
+        return this.delegate.findByStates(states);
+    }
+
+    @Override
+    public Collection<Contract> findByVehicleIdentifiers(final Collection<UUID> vehicleIdentifiers) {
+        return this.delegate.findByVehicleIdentifiers(vehicleIdentifiers);
+    }
+
+    @Override
+    public Collection<Contract> findByIdentifiers(final Collection<UUID> identifiers) {
+        return this.delegate.findByIdentifiers(identifiers);
+    }
+
+    @Override
+    public Stream<Contract> streamDueContracts(final LocalDate referenceDate,
+                                               final VehiclePartition partition,
+                                               final ContractCursor after) {
+        return this.delegate.streamDueContracts(referenceDate, partition, after);
+    }
+
+    @Override
+    public Collection<Contract> applyTransitions(final Collection<ContractTransition> transitions) {
+        final Collection<Contract> transitioned = this.delegate.applyTransitions(transitions);
+        // Un contrat démarré ou en retard bloque toujours son véhicule, un contrat annulé ne le bloque plus
+        transitioned.forEach(contract -> {
+            if (contract.getState().locksVehicle()) {
+                this.index.put(contract);
+            } else {
+                this.index.remove(contract.getIdentifier());
+            }
+        });
+        return transitioned;
+    }
+
+    @Override
+    public Set<UUID> findVehiclesHeldByLateContracts(final Collection<UUID> vehicleIds, final LocalDate referenceDate) {
+        return this.delegate.findVehiclesHeldByLateContracts(vehicleIds, referenceDate);
+    }
+
+    @Override
+    public Collection<Contract> findPendingContractsByVehicleId(final UUID vehicleId) {
+        return this.delegate.findPendingContractsByVehicleId(vehicleId);
+    }
+
+    @Override
+    public Collection<UUID> cancelPendingContractsByVehicleId(final UUID vehicleId) {
+        final Collection<UUID> cancelled = this.delegate.cancelPendingContractsByVehicleId(vehicleId);
+        // Un contrat annulé ne bloque plus le véhicule
+        cancelled.forEach(this.index::remove);
+        return cancelled;
+    }
+
+    private void resynchronize(final UUID vehicleIdentifier) {
+        this.inconsistencies.increment();
+        this.index.replaceVehicle(vehicleIdentifier, Objects.requireNonNullElse(
+                this.delegate.findByVehicleIdentifier(vehicleIdentifier),
+                Collections.emptySet()
+        ));
+    }
+
+    private static Set<UUID> identifiersOf(final Collection<Contract> contracts) {
+        return contracts.stream().map(Contract::getIdentifier).collect(Collectors.toSet());
+    }
+
+    /**
+     * Contrôle de cohérence entre l'index et le stockage.
+     */
+    public enum ConsistencyCheck {
+        /**
+         * Les questions de disponibilité sont traitées uniquement par l'index.
+         */
+        OFF,
+
+        /**
+         * Chaque réponse de l'index est vérifiée auprès du stockage, qui fait foi.
+         */
+        VERIFY
+    }
+}
@@ -0,0 +1,409 @@
+package com.imt.contracts.availability;
+
+import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.OccupancyPeriod;
+import com.imt.contracts.model.OccupancyStatusEnum;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index en mémoire des périodes de réservation des véhicules.
+ * Seuls les contrats bloquants (voir {@link com.imt.contracts.model.ContractStateEnum#locksVehicle()}) sont indexés.
+ * Pour chaque véhicule, les contrats sont conservés dans des tableaux triés par jour de début (jours epoch),
+ * accompagnés du maximum cumulé des jours de fin : une recherche de chevauchement se fait par dichotomie puis
+ * par un parcours limité aux seuls contrats susceptibles de chevaucher la période, sans aucun accès au stockage.
+ * <p>
+ * Les lectures sont sans verrou : chaque véhicule pointe vers un instantané immuable, remplacé à chaque écriture.
+ * Les écritures, bien plus rares, sont sérialisées.
+ * <p>
+ * L'index tient également à jour un {@link DayOccupancyBitmap} de toute la flotte, afin de répondre à
+ * « quels véhicules sont occupés sur la période ? » par un OU des jours de la période.
+ */
+public final class VehicleAvailabilityIndex {
+
+    /**
+     * Durée au-delà de laquelle un contrat n'est pas étalé jour par jour dans le bitmap d'occupation.
+     */
+    public static final int DEFAULT_MAX_SPAN_DAYS = 366;
+
+    private final int maxSpanDays;
+
+    private volatile Map<UUID, Timeline> timelines = new ConcurrentHashMap<>();
+
+    /**
+     * Véhicule de chaque contrat indexé, pour retirer un contrat sans connaître son véhicule.
+     */
+    private volatile Map<UUID, UUID> vehicleByContract = new ConcurrentHashMap<>();
+
+    private volatile DayOccupancyBitmap occupancy;
+
+    public VehicleAvailabilityIndex() {
+        this(DEFAULT_MAX_SPAN_DAYS);
+    }
+
+    /**
+     * @param maxSpanDays la durée, en jours, au-delà de laquelle un contrat est conservé comme une période
+     *                    plutôt que jour par jour dans le bitmap d'occupation
+     */
+    public VehicleAvailabilityIndex(final int maxSpanDays) {
+        this.maxSpanDays = maxSpanDays;
+        this.occupancy = new DayOccupancyBitmap(maxSpanDays);
+    }
+
+    /**
+     * Remplace tout le contenu de l'index par les contrats fournis. Les contrats non bloquants sont ignorés.
+     *
+     * @param contracts les contrats à indexer
+     */
+    public synchronized void rebuild(final Collection<Contract> contracts) {
+        final Map<UUID, List<Contract>> contractsByVehicle = new HashMap<>();
+        final Map<UUID, UUID> vehicles = new ConcurrentHashMap<>();
+        final DayOccupancyBitmap rebuiltOccupancy = new DayOccupancyBitmap(this.maxSpanDays);
+
+        for (final Contract contract : contracts) {
+            if (isIndexable(contract)) {
+                contractsByVehicle.computeIfAbsent(contract.getVehicleIdentifier(), vehicle -> new ArrayList<>()).add(contract);
+                vehicles.put(contract.getIdentifier(), contract.getVehicleIdentifier());
+                rebuiltOccupancy.occupy(contract.getVehicleIdentifier(),
+                        contract.getStartDate().toEpochDay(), contract.getEndDate().toEpochDay());
+            }
+        }
+
+        final Map<UUID, Timeline> rebuilt = new ConcurrentHashMap<>(Math.max(16, contractsByVehicle.size() * 2));
+        contractsByVehicle.forEach((vehicle, vehicleContracts) ->
+                rebuilt.put(vehicle, Timeline.of(vehicleContracts.toArray(Contract[]::new))));
+
+        this.timelines = rebuilt;
+        this.vehicleByContract = vehicles;
+        this.occupancy = rebuiltOccupancy;
+    }
+
+    /**
+     * Enregistre la dernière version d'un contrat : l'ancienne période est retirée, la nouvelle n'est indexée que
+     * si le contrat bloque toujours son véhicule.
+     *
+     * @param contract le contrat enregistré
+     */
+    public synchronized void put(final Contract contract) {
+        if (contract == null || contract.getIdentifier() == null) {
+            return;
+        }
+
+        this.remove(contract.getIdentifier());
+
+        if (isIndexable(contract)) {
+            this.timelines.compute(contract.getVehicleIdentifier(),
+                    (vehicle, timeline) -> Objects.requireNonNullElse(timeline, Timeline.EMPTY).with(contract));
+            this.vehicleByContract.put(contract.getIdentifier(), contract.getVehicleIdentifier());
+            this.occupancy.occupy(contract.getVehicleIdentifier(),
+                    contract.getStartDate().toEpochDay(), contract.getEndDate().toEpochDay());
+        }
+    }
+
+    /**
+     * Retire un contrat de l'index. Sans effet s'il n'est pas indexé.
+     *
+     * @param contractIdentifier l'identifiant du contrat
+     */
+    public synchronized void remove(final UUID contractIdentifier) {
+        if (contractIdentifier == null) {
+            return;
+        }
+
+        final UUID vehicle = this.vehicleByContract.remove(contractIdentifier);
+        final Timeline previous = vehicle == null ? null : this.timelines.get(vehicle);
+        if (previous == null) {
+            return;
+        }
+
+        final Timeline remaining = previous.without(contractIdentifier);
+        this.timelines.put(vehicle, remaining);
+
+        // Libère les jours du contrat retiré, puis réoccupe ceux encore couverts par un autre contrat du véhicule
+        for (int index = 0; index < previous.contracts.length; index++) {
+            if (previous.contracts[index].getIdentifier().equals(contractIdentifier)) {
+                this.occupancy.release(vehicle, previous.starts[index], previous.ends[index]);
+                remaining.reoccupy(this.occupancy, vehicle, previous.starts[index], previous.ends[index]);
+            }
+        }
+
+        // Les véhicules libérés laissent des trous de numérotation : le bitmap est renuméroté lorsqu'ils dominent
+        if (this.occupancy.isFragmented()) {
+            this.occupancy = this.occupancy.compacted();
+        }
+    }
+
+    /**
+     * Remplace les contrats indexés d'un véhicule par ceux fournis, par exemple après une resynchronisation.
+     *
+     * @param vehicleIdentifier l'identifiant du véhicule
+     * @param contracts         les contrats actuels du véhicule (tous états confondus)
+     */
+    public synchronized void replaceVehicle(final UUID vehicleIdentifier, final Collection<Contract> contracts) {
+        final Timeline previous = this.timelines.get(vehicleIdentifier);
+        if (previous != null) {
+            for (final Contract contract : previous.contracts) {
+                this.remove(contract.getIdentifier());
+            }
+        }
+
+        for (final Contract contract : contracts) {
+            if (vehicleIdentifier.equals(contract.getVehicleIdentifier())) {
+                this.put(contract);
+            }
+        }
+    }
+
+    /**
+     * Recherche un contrat bloquant du véhicule dont la période chevauche [startDate, endDate], bornes incluses.
+     *
+     * @param vehicleIdentifier          l'identifiant du véhicule
+     * @param startDate                  le début de la période
+     * @param endDate                    la fin de la période
+     * @param excludedContractIdentifier le contrat à ignorer, peut être null
+     * @return un contrat en conflit, ou Optional.empty() si le véhicule est libre
+     */
+    public Optional<Contract> findFirstOverlapping(final UUID vehicleIdentifier,
+                                                   final LocalDate startDate,
+                                                   final LocalDate endDate,
+                                                   final UUID excludedContractIdentifier) {
+        final Timeline timeline = this.timelineOf(vehicleIdentifier, startDate, endDate);
+        if (timeline == null) {
+            return Optional.empty();
+        }
+
+        final long start = startDate.toEpochDay();
+        for (int index = timeline.lastStartingBefore(endDate.toEpochDay()); index >= 0 && timeline.maxEnds[index] >= start; index--) {
+            if (timeline.ends[index] >= start && !timeline.contracts[index].getIdentifier().equals(excludedContractIdentifier)) {
+                return Optional.of(timeline.contracts[index]);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Retourne tous les contrats bloquants du véhicule dont la période chevauche [startDate, endDate], bornes incluses.
+     *
+     * @param vehicleIdentifier l'identifiant du véhicule
+     * @param startDate         le début de la période
+     * @param endDate           la fin de la période
+     * @return les contrats en conflit, triés par date de début
+     */
+    public List<Contract> findOverlapping(final UUID vehicleIdentifier, final LocalDate startDate, final LocalDate endDate) {
+        final Timeline timeline = this.timelineOf(vehicleIdentifier, startDate, endDate);
+        if (timeline == null) {
+            return List.of();
+        }
+
+        final long start = startDate.toEpochDay();
+        final List<Contract> overlapping = new ArrayList<>();
+        for (int index = timeline.lastStartingBefore(endDate.toEpochDay()); index >= 0 && timeline.maxEnds[index] >= start; index--) {
+            if (timeline.ends[index] >= start) {
+                overlapping.add(timeline.contracts[index]);
+            }
+        }
+
+        return overlapping.reversed();
+    }
+
+    /**
+     * Retourne les plages occupées du véhicule sur [startDate, endDate], bornes incluses. Les plages sont fusionnées
+     * à chaque écriture : la réponse est proportionnelle au nombre de plages de la période, pas au nombre de contrats.
+     *
+     * @param vehicleIdentifier l'identifiant du véhicule
+     * @param startDate         le début de la période
+     * @param endDate           la fin de la période
+     * @return les plages occupées, disjointes, limitées à la période et triées par date de début
+     */
+    public List<OccupancyPeriod> findBusyPeriods(final UUID vehicleIdentifier, final LocalDate startDate, final LocalDate endDate) {
+        final Timeline timeline = this.timelineOf(vehicleIdentifier, startDate, endDate);
+        if (timeline == null) {
+            return List.of();
+        }
+
+        final long from = startDate.toEpochDay();
+        final long to = endDate.toEpochDay();
+        final List<OccupancyPeriod> busy = new ArrayList<>();
+        for (int run = timeline.firstRunEndingAfter(from); run < timeline.runStarts.length && timeline.runStarts[run] <= to; run++) {
+            busy.add(new OccupancyPeriod(
+                    LocalDate.ofEpochDay(Math.max(from, timeline.runStarts[run])),
+                    LocalDate.ofEpochDay(Math.min(to, timeline.runEnds[run])),
+                    OccupancyStatusEnum.BUSY
+            ));
+        }
+
+        return busy;
+    }
+
+    /**
+     * Retourne les véhicules ayant au moins un contrat bloquant sur la période [startDate, endDate], bornes incluses.
+     *
+     * @param startDate le début de la période
+     * @param endDate   la fin de la période
+     * @return les identifiants des véhicules occupés sur tout ou partie de la période
+     */
+    public Set<UUID> findOccupiedVehicles(final LocalDate startDate, final LocalDate endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            return Set.of();
+        }
+
+        return this.occupancy.occupiedBetween(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    /**
+     * Retourne le nombre de contrats indexés.
+     *
+     * @return le nombre de contrats bloquants connus de l'index
+     */
+    public int size() {
+        return this.vehicleByContract.size();
+    }
+
+    private Timeline timelineOf(final UUID vehicleIdentifier, final LocalDate startDate, final LocalDate endDate) {
+        if (vehicleIdentifier == null || startDate == null || endDate == null) {
+            return null;
+        }
+
+        return this.timelines.get(vehicleIdentifier);
+    }
+
+    private static boolean isIndexable(final Contract contract) {
+        return contract.getIdentifier() != null
+                && contract.getVehicleIdentifier() != null
+                && contract.getStartDate() != null
+                && contract.getEndDate() != null
+                && contract.getState() != null
+                && contract.getState().locksVehicle();
+    }
+
+    /**
+     * Instantané immuable des contrats bloquants d'un véhicule, triés par jour de début.
+     */
+    private static final class Timeline {
+        private static final Timeline EMPTY = new Timeline(new Contract[0]);
+
+        private static final Comparator<Contract> BY_START = Comparator.comparing(Contract::getStartDate);
+
+        private final Contract[] contracts;
+        private final long[] starts;
+        private final long[] ends;
+
+        /**
+         * maxEnds[i] : plus grand jour de fin parmi les contrats 0..i (croissant), ce qui borne le parcours arrière.
+         */
+        private final long[] maxEnds;
+
+        /**
+         * Plages occupées disjointes (contrats chevauchants ou contigus fusionnés), triées : runEnds est croissant.
+         */
+        private final long[] runStarts;
+        private final long[] runEnds;
+
+        private Timeline(final Contract[] sortedContracts) {
+            this.contracts = sortedContracts;
+            this.starts = new long[sortedContracts.length];
+            this.ends = new long[sortedContracts.length];
+            this.maxEnds = new long[sortedContracts.length];
+
+            final long[] mergedStarts = new long[sortedContracts.length];
+            final long[] mergedEnds = new long[sortedContracts.length];
+            int runs = 0;
+
+            long maxEnd = Long.MIN_VALUE;
+            for (int index = 0; index < sortedContracts.length; index++) {
+                this.starts[index] = sortedContracts[index].getStartDate().toEpochDay();
+                this.ends[index] = sortedContracts[index].getEndDate().toEpochDay();
+
+                if (runs > 0 && this.starts[index] <= maxEnd + 1) {
+                    mergedEnds[runs - 1] = Math.max(mergedEnds[runs - 1], this.ends[index]);
+                } else {
+                    mergedStarts[runs] = this.starts[index];
+                    mergedEnds[runs] = this.ends[index];
+                    runs++;
+                }
+
+                maxEnd = Math.max(maxEnd, this.ends[index]);
+                this.maxEnds[index] = maxEnd;
+            }
+
+            this.runStarts = Arrays.copyOf(mergedStarts, runs);
+            this.runEnds = Arrays.copyOf(mergedEnds, runs);
+        }
+
+        private static Timeline of(final Contract[] contracts) {
+            Arrays.sort(contracts, BY_START);
+            return new Timeline(contracts);
+        }
+
+        private Timeline with(final Contract contract) {
+            final Contract[] extended = Arrays.copyOf(this.contracts, this.contracts.length + 1);
+            extended[this.contracts.length] = contract;
+            return of(extended);
+        }
+
+        private Timeline without(final UUID contractIdentifier) {
+            final Contract[] remaining = Arrays.stream(this.contracts)
+                    .filter(contract -> !contract.getIdentifier().equals(contractIdentifier))
+                    .toArray(Contract[]::new);
+            return remaining.length == 0 ? EMPTY : new Timeline(remaining);
+        }
+
+        /**
+         * Marque comme occupés les jours de [fromDay, toDay] couverts par les contrats de cet instantané.
+         */
+        private void reoccupy(final DayOccupancyBitmap occupancy, final UUID vehicle, final long fromDay, final long toDay) {
+            for (int index = this.lastStartingBefore(toDay); index >= 0 && this.maxEnds[index] >= fromDay; index--) {
+                if (this.ends[index] >= fromDay) {
+                    occupancy.occupy(vehicle, Math.max(fromDay, this.starts[index]), Math.min(toDay, this.ends[index]));
+                }
+            }
+        }
+
+        /**
+         * Retourne l'index de la première plage occupée finissant au plus tôt le jour donné, ou le nombre de plages.
+         */
+        private int firstRunEndingAfter(final long day) {
+            int low = 0;
+            int high = this.runEnds.length;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (this.runEnds[middle] < day) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Retourne l'index du dernier contrat commençant au plus tard le jour donné, ou -1 s'il n'y en a aucun.
+         */
+        private int lastStartingBefore(final long day) {
+            int low = 0;
+            int high = this.starts.length;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (this.starts[middle] <= day) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low - 1;
+        }
+    }
+}
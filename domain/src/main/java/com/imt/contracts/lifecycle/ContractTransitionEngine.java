@@ -0,0 +1,283 @@
+package com.imt.contracts.lifecycle;
+
+import com.imt.contracts.ContractStorageProvider;
+import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractCursor;
+import com.imt.contracts.model.ContractStateEnum;
+import com.imt.contracts.model.ContractTransition;
+import com.imt.contracts.model.ContractTransitionsReport;
+import com.imt.contracts.model.TransitionCheckpoint;
+import com.imt.contracts.model.VehiclePartition;
+import com.imt.contracts.scheduling.CheckpointStorageProvider;
+import com.imt.contracts.scheduling.InMemoryCheckpointStorageProvider;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Moteur des transitions automatiques des contrats, piloté par {@link ContractStateEnum#automaticSuccessor()}.
+ * Un passage parcourt en une seule lecture indexée les contrats dont la transition est due, par lots de taille
+ * fixe. Pour chaque lot, il calcule la transition due de chaque contrat, une seule par passage, puis applique
+ * toutes les transitions en une seule écriture groupée :
+ * <ul>
+ *     <li>"En attente" devient "En cours" le jour de son début ;</li>
+ *     <li>"En cours" devient "En retard" le lendemain de sa fin (règle 2) ;</li>
+ *     <li>"En attente" devient "Annulé" lorsque son véhicule est retenu par un contrat en retard (règle 3), ou
+ *     lorsque toute sa période est passée sans qu'il ait démarré : il ne retient alors pas son véhicule.</li>
+ * </ul>
+ * Un contrat en retard le reste jusqu'au retour du véhicule, signalé par une mise à jour du contrat.
+ */
+public class ContractTransitionEngine {
+
+    /**
+     * Nombre de contrats traités par lot, par défaut.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private static final String CHECKPOINT_NAME = "contract-transitions";
+
+    private final ContractStorageProvider storage;
+    private final CheckpointStorageProvider checkpoints;
+    private final int chunkSize;
+
+    public ContractTransitionEngine(final ContractStorageProvider storage) {
+        this(storage, null, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ContractTransitionEngine(final ContractStorageProvider storage,
+                                    final CheckpointStorageProvider checkpoints,
+                                    final int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.storage = storage;
+        this.checkpoints = Objects.requireNonNullElseGet(checkpoints, InMemoryCheckpointStorageProvider::new);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Applique toutes les transitions dues à la date de référence sur les contrats d'une partition.
+     * Un passage interrompu (arrêt, erreur du stockage) reprend au point de reprise enregistré avant chaque lot, s'il
+     * porte sur la même date de référence ; sinon le parcours reprend depuis le début, qui inclut les contrats
+     * restés en suspens.
+     *
+     * @param referenceDate la date de référence
+     * @param partition     la partition des véhicules à traiter
+     * @return le bilan du passage
+     */
+    public ContractTransitionsReport run(final LocalDate referenceDate, final VehiclePartition partition) {
+        return this.run(referenceDate, partition, () -> true);
+    }
+
+    /**
+     * Applique les transitions dues au nom du détenteur d'un bail : le bail est vérifié avant chaque lot, et le
+     * passage s'arrête dès qu'il a été perdu. Le point de reprise est alors laissé au nouveau détenteur.
+     *
+     * @param referenceDate la date de référence
+     * @param partition     la partition des véhicules à traiter
+     * @param leaseHeld     vérifie que le bail est toujours détenu
+     * @return le bilan du passage, limité aux lots écrits avant la perte du bail
+     */
+    public ContractTransitionsReport run(final LocalDate referenceDate,
+                                         final VehiclePartition partition,
+                                         final BooleanSupplier leaseHeld) {
+        final long start = System.nanoTime();
+        final String checkpointName = checkpointNameOf(partition);
+        final Optional<TransitionCheckpoint> checkpoint = this.checkpoints.find(checkpointName);
+        // Un point de reprise d'une autre date ne désigne pas une position du parcours de ce passage : il est écarté
+        final Optional<TransitionCheckpoint> interrupted = checkpoint
+                .filter(previous -> referenceDate.equals(previous.getReferenceDate()));
+
+        final Map<ContractStateEnum, Integer> applied = new EnumMap<>(ContractStateEnum.class);
+        boolean checkpointed = checkpoint.isPresent();
+        boolean leaseLost = false;
+        ContractCursor position = interrupted.map(TransitionCheckpoint::getPosition).orElse(null);
+        int storageCalls = 1;
+
+        try (Stream<Contract> dueContracts = Objects.requireNonNullElseGet(
+                this.storage.streamDueContracts(referenceDate, partition, position),
+                Stream::empty
+        )) {
+            final Iterator<Contract> cursor = dueContracts.iterator();
+            while (cursor.hasNext()) {
+                // Un ancien détenteur du bail n'écrit plus rien, pas même le point de reprise
+                if (!leaseHeld.getAsBoolean()) {
+                    leaseLost = true;
+                    break;
+                }
+                final List<Contract> chunk = this.nextChunk(cursor);
+
+                // Le point de reprise est enregistré avant l'écriture du lot, qui peut être rejouée sans effet
+                this.checkpoints.save(new TransitionCheckpoint(checkpointName, referenceDate, position));
+                checkpointed = true;
+                position = ContractCursor.of(chunk.getLast());
+
+                storageCalls += this.applyChunk(chunk, referenceDate, applied);
+            }
+        }
+
+        if (checkpointed && !leaseLost) {
+            this.checkpoints.delete(checkpointName);
+        }
+
+        return report(applied, storageCalls, start);
+    }
+
+    /**
+     * Applique au nom du détenteur d'un bail les transitions des seuls contrats donnés, lus en une requête : un
+     * contrat écrit depuis la planification de son échéance n'est transitionné que si une transition est encore due.
+     * Aucun point de reprise n'est enregistré : un passage interrompu est couvert par le parcours complet suivant.
+     *
+     * @param contractIdentifiers les identifiants des contrats dont l'échéance est atteinte
+     * @param referenceDate       la date de référence
+     * @param leaseHeld           vérifie que le bail est toujours détenu
+     * @return le bilan du passage, limité aux lots écrits avant la perte du bail
+     */
+    public ContractTransitionsReport runFor(final Collection<UUID> contractIdentifiers,
+                                            final LocalDate referenceDate,
+                                            final BooleanSupplier leaseHeld) {
+        final long start = System.nanoTime();
+        final Map<ContractStateEnum, Integer> applied = new EnumMap<>(ContractStateEnum.class);
+        int storageCalls = 0;
+
+        if (contractIdentifiers != null && !contractIdentifiers.isEmpty()) {
+            storageCalls++;
+            // Même ordre que le parcours complet : un retard est planifié avant les contrats suivants de son véhicule
+            final Iterator<Contract> cursor = Objects.requireNonNullElse(
+                            this.storage.findByIdentifiers(contractIdentifiers),
+                            Collections.<Contract>emptyList()
+                    )
+                    .stream()
+                    .filter(contract -> contract.dueDate().filter(day -> !day.isAfter(referenceDate)).isPresent())
+                    .sorted(Comparator.comparing((Contract contract) -> contract.dueDate().orElseThrow())
+                            .thenComparing(Contract::getIdentifier))
+                    .iterator();
+            while (cursor.hasNext() && leaseHeld.getAsBoolean()) {
+                storageCalls += this.applyChunk(this.nextChunk(cursor), referenceDate, applied);
+            }
+        }
+
+        return report(applied, storageCalls, start);
+    }
+
+    /**
+     * Calcule puis applique en une écriture groupée les transitions d'un lot, et les ajoute au décompte par état.
+     *
+     * @return le nombre d'appels au stockage effectués
+     */
+    private int applyChunk(final List<Contract> chunk,
+                           final LocalDate referenceDate,
+                           final Map<ContractStateEnum, Integer> applied) {
+        int storageCalls = 0;
+
+        // Règle 3 : un contrat en attente ne démarre pas si son véhicule n'a pas été rendu
+        final Set<UUID> pendingVehicles = chunk.stream()
+                .filter(contract -> contract.getState() == ContractStateEnum.PENDING)
+                .map(Contract::getVehicleIdentifier)
+                .collect(Collectors.toSet());
+        Set<UUID> heldVehicles = Set.of();
+        if (!pendingVehicles.isEmpty()) {
+            heldVehicles = Objects.requireNonNullElse(
+                    this.storage.findVehiclesHeldByLateContracts(pendingVehicles, referenceDate),
+                    Collections.emptySet()
+            );
+            storageCalls++;
+        }
+
+        final List<ContractTransition> planned = plan(chunk, heldVehicles, referenceDate);
+        if (!planned.isEmpty()) {
+            Objects.requireNonNullElse(this.storage.applyTransitions(planned), Collections.<Contract>emptyList())
+                    .forEach(contract -> applied.merge(contract.getState(), 1, Integer::sum));
+            storageCalls++;
+        }
+        return storageCalls;
+    }
+
+    private static ContractTransitionsReport report(final Map<ContractStateEnum, Integer> applied,
+                                                    final int storageCalls,
+                                                    final long start) {
+        return new ContractTransitionsReport(
+                applied.getOrDefault(ContractStateEnum.IN_PROGRESS, 0),
+                applied.getOrDefault(ContractStateEnum.LATE, 0),
+                applied.getOrDefault(ContractStateEnum.CANCELLED, 0),
+                storageCalls,
+                Duration.ofNanos(System.nanoTime() - start)
+        );
+    }
+
+    /**
+     * Calcule les transitions dues d'un lot de contrats, dans l'ordre du lot.
+     *
+     * @param contracts     les contrats du lot, tels que lus
+     * @param heldVehicles  les véhicules retenus par un contrat en retard
+     * @param referenceDate la date de référence
+     * @return les transitions à appliquer, hors contrats dont aucune transition n'est due
+     */
+    static List<ContractTransition> plan(final Collection<Contract> contracts,
+                                         final Set<UUID> heldVehicles,
+                                         final LocalDate referenceDate) {
+        final Set<UUID> held = new HashSet<>(heldVehicles);
+        final List<ContractTransition> planned = new ArrayList<>();
+        for (final Contract contract : contracts) {
+            ContractStateEnum target = targetStateOf(contract, referenceDate);
+            if (contract.getState() == ContractStateEnum.PENDING && held.contains(contract.getVehicleIdentifier())) {
+                target = ContractStateEnum.CANCELLED;
+            }
+            if (target == ContractStateEnum.LATE) {
+                held.add(contract.getVehicleIdentifier());
+            }
+            if (target != contract.getState()) {
+                planned.add(new ContractTransition(contract, target));
+            }
+        }
+        return planned;
+    }
+
+    /**
+     * Retourne l'état pris par le contrat à la date de référence, en une seule transition : un contrat en attente dont
+     * toute la période est passée n'a jamais démarré et est annulé, plutôt que de passer en retard et de retenir son
+     * véhicule au détriment des contrats suivants.
+     */
+    private static ContractStateEnum targetStateOf(final Contract contract, final LocalDate referenceDate) {
+        final ContractStateEnum state = contract.getState();
+        if (state == null
+                || state.dueDate(contract.getStartDate(), contract.getEndDate()).filter(day -> !day.isAfter(referenceDate)).isEmpty()) {
+            return state;
+        }
+        if (state == ContractStateEnum.PENDING && contract.getEndDate() != null && contract.getEndDate().isBefore(referenceDate)) {
+            return ContractStateEnum.CANCELLED;
+        }
+        return state.automaticSuccessor().orElse(state);
+    }
+
+    private List<Contract> nextChunk(final Iterator<Contract> cursor) {
+        final List<Contract> chunk = new ArrayList<>(this.chunkSize);
+        while (chunk.size() < this.chunkSize && cursor.hasNext()) {
+            chunk.add(cursor.next());
+        }
+        return chunk;
+    }
+
+    private static String checkpointNameOf(final VehiclePartition partition) {
+        if (partition == null || partition.isWhole()) {
+            return CHECKPOINT_NAME;
+        }
+        return CHECKPOINT_NAME + "-" + partition.getIndex() + "-of-" + partition.getCount();
+    }
+}
@@ -0,0 +1,89 @@
+package com.imt.contracts.locks;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Verrous par véhicule au sein d'une seule instance de l'application.
+ * Un nombre fixe de verrous (bandes) est partagé entre tous les véhicules : chaque véhicule est associé à une bande
+ * selon son identifiant. La mémoire reste constante quelle que soit la taille de la flotte, et deux véhicules ne
+ * s'attendent mutuellement que s'ils tombent sur la même bande.
+ */
+public class StripedVehicleLockProvider implements VehicleLockProvider {
+
+    public static final int DEFAULT_STRIPES = 256;
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public StripedVehicleLockProvider() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripes le nombre de bandes souhaité, arrondi à la puissance de deux supérieure
+     */
+    public StripedVehicleLockProvider(final int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+
+        final int size = Integer.highestOneBit(stripes) == stripes ? stripes : Integer.highestOneBit(stripes) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int index = 0; index < size; index++) {
+            this.stripes[index] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    @Override
+    public VehicleLock acquire(final UUID vehicleIdentifier) {
+        if (vehicleIdentifier == null) {
+            return VehicleLock.NONE;
+        }
+
+        final ReentrantLock lock = this.stripes[this.stripeOf(vehicleIdentifier)];
+        lock.lock();
+        return lock::unlock;
+    }
+
+    @Override
+    public VehicleLock acquireAll(final Collection<UUID> vehicleIdentifiers) {
+        // Les bandes sont toujours prises dans l'ordre croissant de leur index : pas d'interblocage entre deux lots
+        final int[] indexes = vehicleIdentifiers.stream()
+                .filter(Objects::nonNull)
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+        if (indexes.length == 0) {
+            return VehicleLock.NONE;
+        }
+
+        for (final int index : indexes) {
+            this.stripes[index].lock();
+        }
+        return () -> {
+            for (int position = indexes.length - 1; position >= 0; position--) {
+                this.stripes[indexes[position]].unlock();
+            }
+        };
+    }
+
+    /**
+     * Retourne le nombre de bandes.
+     *
+     * @return le nombre de verrous partagés entre les véhicules
+     */
+    public int getStripeCount() {
+        return this.stripes.length;
+    }
+
+    private int stripeOf(final UUID vehicleIdentifier) {
+        final int hash = vehicleIdentifier.hashCode();
+        // Mélange des bits de poids fort, comme HashMap, avant de ne garder que les bits de poids faible
+        return (hash ^ (hash >>> 16)) & this.mask;
+    }
+}
@@ -0,0 +1,31 @@
+package com.imt.contracts.locks;
+
+import com.imt.common.exceptions.ImtException;
+
+/**
+ * Verrou exclusif détenu sur un ou plusieurs véhicules, libéré à la fermeture (try-with-resources).
+ */
+@FunctionalInterface
+public interface VehicleLock extends AutoCloseable {
+
+    /**
+     * Verrou sans effet, utilisé lorsqu'il n'y a aucun véhicule à verrouiller.
+     */
+    VehicleLock NONE = () -> { };
+
+    /**
+     * Vérifie, juste avant l'écriture qu'il protège, que le verrou est toujours détenu. Un verrou local l'est
+     * jusqu'à sa fermeture ; un bail partagé a pu expirer (pause de l'instance) et être repris par une autre
+     * réservation, auquel cas l'écriture doit être abandonnée.
+     *
+     * @throws ImtException si le verrou n'est plus détenu
+     */
+    default void ensureHeld() throws ImtException {
+    }
+
+    /**
+     * Libère le verrou. Ne lève pas d'exception vérifiée.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,31 @@
+package com.imt.contracts.locks;
+
+import com.imt.common.exceptions.ImtException;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Exclusion mutuelle par véhicule autour des réservations : deux réservations d'un même véhicule sont traitées
+ * l'une après l'autre, tandis que des réservations de véhicules différents se déroulent en parallèle.
+ */
+public interface VehicleLockProvider {
+
+    /**
+     * Verrouille un véhicule, en attendant si nécessaire qu'il soit libéré.
+     *
+     * @param vehicleIdentifier l'identifiant du véhicule, un identifiant null ne verrouille rien
+     * @return le verrou à libérer une fois la réservation enregistrée
+     * @throws ImtException si le verrou n'a pas pu être obtenu
+     */
+    VehicleLock acquire(final UUID vehicleIdentifier) throws ImtException;
+
+    /**
+     * Verrouille plusieurs véhicules à la fois, dans un ordre global qui évite tout interblocage entre deux lots.
+     *
+     * @param vehicleIdentifiers les identifiants des véhicules
+     * @return un verrou unique libérant tous les véhicules
+     * @throws ImtException si l'un des verrous n'a pas pu être obtenu (aucun verrou n'est alors conservé)
+     */
+    VehicleLock acquireAll(final Collection<UUID> vehicleIdentifiers) throws ImtException;
+}
@@ -1,6 +1,8 @@
 package com.imt.contracts.model;
 
+import com.imt.common.model.FieldChanges;
 import com.imt.vehicle.model.VehicleStateEnum;
+import com.imt.constraints.CompiledConstraints;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,8 +11,10 @@ import lombok.Getter;
 import lombok.ToString;
 
 import java.time.LocalDate;
+import java.util.Optional;
 import java.util.UUID;
 
+@CompiledConstraints
 @Getter
 @Builder(toBuilder = true)
 @AllArgsConstructor
@@ -39,6 +43,47 @@ public class Contract {
 
     @NotNull(message = "L'état du véhicule ne peut pas être nul")
     private final VehicleStateEnum vehicleState;
+
+    /**
+     * Version de l'enregistrement, gérée par le stockage : null tant que le contrat n'a jamais été enregistré.
+     */
+    private final Long version;
+
+    /**
+     * Indique si la période de ce contrat chevauche celle d'un autre contrat (bornes incluses).
+     *
+     * @param other l'autre contrat
+     * @return true si les deux périodes ont au moins un jour en commun
+     */
+    public boolean overlaps(final Contract other) {
+        return !this.endDate.isBefore(other.getStartDate()) && !other.getEndDate().isBefore(this.startDate);
+    }
+
+    /**
+     * Retourne le jour de la prochaine transition automatique de ce contrat (voir {@link ContractStateEnum#dueDate}).
+     *
+     * @return le jour de la transition, ou Optional.empty() si son état n'évolue pas automatiquement
+     */
+    public Optional<LocalDate> dueDate() {
+        return this.state == null ? Optional.empty() : this.state.dueDate(this.startDate, this.endDate);
+    }
+
+    /**
+     * Retourne les champs de ce contrat qui diffèrent de sa version précédente (identifiant et version exclus).
+     *
+     * @param previous la version enregistrée du contrat
+     * @return les champs modifiés et leur nouvelle valeur
+     */
+    public FieldChanges changesSince(final Contract previous) {
+        return FieldChanges.builder()
+                .compare("clientIdentifier", previous.getClientIdentifier(), this.clientIdentifier)
+                .compare("vehicleIdentifier", previous.getVehicleIdentifier(), this.vehicleIdentifier)
+                .compare("startDate", previous.getStartDate(), this.startDate)
+                .compare("endDate", previous.getEndDate(), this.endDate)
+                .compare("state", previous.getState(), this.state)
+                .compare("vehicleState", previous.getVehicleState(), this.vehicleState)
+                .build();
+    }
 }
 
 
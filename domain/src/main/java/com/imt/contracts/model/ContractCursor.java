@@ -0,0 +1,40 @@
+package com.imt.contracts.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Position dans un parcours des contrats trié par date d'échéance puis par identifiant.
+ * Le parcours reprend strictement après cette position, sans relire les contrats qui la précèdent.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ContractCursor {
+
+    /**
+     * Date d'échéance du dernier contrat parcouru, telle que lue.
+     */
+    private final LocalDate dueDate;
+
+    /**
+     * Identifiant du dernier contrat parcouru, pour départager les contrats de même échéance.
+     */
+    private final UUID contractIdentifier;
+
+    /**
+     * Retourne la position d'un contrat dans le parcours.
+     *
+     * @param contract le contrat, tel que lu
+     * @return la position juste après laquelle reprendre le parcours
+     */
+    public static ContractCursor of(final Contract contract) {
+        return new ContractCursor(contract.dueDate().orElse(null), contract.getIdentifier());
+    }
+}
@@ -2,8 +2,11 @@ package com.imt.contracts.model;
 
 import lombok.Getter;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Getter
@@ -22,6 +25,8 @@ public enum ContractStateEnum {
 
     private static final EnumSet<ContractStateEnum> LOCKING_STATES = EnumSet.of(PENDING, IN_PROGRESS, LATE);
 
+    private static final EnumSet<ContractStateEnum> AUTOMATIC_STATES = EnumSet.of(PENDING, IN_PROGRESS);
+
     private final String label;
 
     ContractStateEnum(final String label) {
@@ -31,6 +36,54 @@ public enum ContractStateEnum {
     public boolean locksVehicle() {
         return LOCKING_STATES.contains(this);
     }
+
+    /**
+     * Retourne les états dans lesquels un contrat bloque son véhicule sur sa période.
+     *
+     * @return une copie de l'ensemble des états bloquants
+     */
+    public static Set<ContractStateEnum> lockingStates() {
+        return EnumSet.copyOf(LOCKING_STATES);
+    }
+
+    /**
+     * Retourne l'état que prend automatiquement un contrat de cet état à son échéance : un contrat "En attente"
+     * passe "En cours" le jour de son début, un contrat "En cours" passe "En retard" le lendemain de sa fin (règle 2).
+     * Les autres états ne changent que sur demande (retour du véhicule, annulation).
+     *
+     * @return l'état suivant, ou Optional.empty() si l'état n'évolue pas automatiquement
+     */
+    public Optional<ContractStateEnum> automaticSuccessor() {
+        return switch (this) {
+            case PENDING -> Optional.of(IN_PROGRESS);
+            case IN_PROGRESS -> Optional.of(LATE);
+            default -> Optional.empty();
+        };
+    }
+
+    /**
+     * Retourne le jour où un contrat de cet état prend automatiquement l'état suivant, d'après sa période.
+     *
+     * @param startDate la date de début du contrat
+     * @param endDate   la date de fin du contrat
+     * @return le jour de la transition, ou Optional.empty() si l'état n'évolue pas automatiquement
+     */
+    public Optional<LocalDate> dueDate(final LocalDate startDate, final LocalDate endDate) {
+        return switch (this) {
+            case PENDING -> Optional.ofNullable(startDate);
+            case IN_PROGRESS -> Optional.ofNullable(endDate).map(date -> date.plusDays(1));
+            default -> Optional.empty();
+        };
+    }
+
+    /**
+     * Retourne les états qui évoluent automatiquement à échéance.
+     *
+     * @return une copie de l'ensemble des états concernés
+     */
+    public static Set<ContractStateEnum> automaticStates() {
+        return EnumSet.copyOf(AUTOMATIC_STATES);
+    }
 }
 
 
@@ -0,0 +1,45 @@
+package com.imt.contracts.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Optional;
+
+/**
+ * Transition d'état due d'un contrat, calculée par le moteur de transitions à partir du contrat tel que lu.
+ * Le stockage ne l'applique que si le contrat est toujours dans l'état et la version lus.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ContractTransition {
+
+    /**
+     * Le contrat, tel que lu.
+     */
+    private final Contract contract;
+
+    /**
+     * L'état à lui faire prendre.
+     */
+    private final ContractStateEnum targetState;
+
+    public ContractStateEnum getSourceState() {
+        return this.contract.getState();
+    }
+
+    /**
+     * Retourne le contrat tel qu'il est enregistré une fois la transition appliquée.
+     *
+     * @return le contrat dans son nouvel état, avec la version incrémentée
+     */
+    public Contract applied() {
+        return this.contract.toBuilder()
+                .state(this.targetState)
+                .version(Optional.ofNullable(this.contract.getVersion()).map(version -> version + 1).orElse(null))
+                .build();
+    }
+}
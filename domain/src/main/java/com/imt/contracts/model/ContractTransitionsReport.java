@@ -0,0 +1,60 @@
+package com.imt.contracts.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * Bilan d'un passage du moteur de transitions des contrats (démarrages, retards et annulations en cascade).
+ * Chaque appel au stockage est une opération groupée portant sur un lot de contrats : le nombre d'appels croît
+ * avec le nombre de lots, et non avec le nombre de contrats.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ContractTransitionsReport {
+
+    /**
+     * Nombre de contrats en attente passés en cours.
+     */
+    private final int startedContracts;
+
+    /**
+     * Nombre de contrats passés en retard.
+     */
+    private final int lateContracts;
+
+    /**
+     * Nombre de contrats en attente annulés en cascade.
+     */
+    private final int cancelledContracts;
+
+    /**
+     * Nombre d'appels au stockage des contrats effectués pendant le passage.
+     */
+    private final int storageCalls;
+
+    /**
+     * Durée du passage.
+     */
+    @EqualsAndHashCode.Exclude
+    private final Duration elapsed;
+
+    public int getTransitions() {
+        return this.startedContracts + this.lateContracts + this.cancelledContracts;
+    }
+
+    /**
+     * Retourne le débit du passage.
+     *
+     * @return le nombre de transitions appliquées par seconde, 0 pour un passage sans transition
+     */
+    public double getTransitionsPerSecond() {
+        final long nanos = this.elapsed == null ? 0 : this.elapsed.toNanos();
+        return nanos <= 0 ? 0 : this.getTransitions() * 1_000_000_000d / nanos;
+    }
+}
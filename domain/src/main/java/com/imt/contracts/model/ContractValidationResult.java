@@ -0,0 +1,31 @@
+package com.imt.contracts.model;
+
+import com.imt.common.model.ValidatorResult;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Résultat de validation d'un contrat au sein d'un lot.
+ * Associe le contrat (tel qu'enregistré s'il a été créé) au résultat de sa validation.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ContractValidationResult {
+
+    private final Contract contract;
+
+    private final ValidatorResult result;
+
+    /**
+     * Indique si le contrat a passé toutes les validations.
+     *
+     * @return true si le contrat est valide
+     */
+    public boolean isValid() {
+        return this.result.isValid();
+    }
+}
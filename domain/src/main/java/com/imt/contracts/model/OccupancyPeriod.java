@@ -0,0 +1,104 @@
+package com.imt.contracts.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Plage de jours consécutifs, bornes incluses, pendant laquelle un véhicule est soit libre, soit occupé.
+ * Un calendrier d'occupation est une suite de plages alternées (codage par plages) : sa taille dépend du nombre
+ * de changements d'état sur la période, et non du nombre de contrats.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class OccupancyPeriod {
+
+    private final LocalDate startDate;
+
+    private final LocalDate endDate;
+
+    private final OccupancyStatusEnum status;
+
+    /**
+     * Fusionne les périodes des contrats bloquants en plages occupées disjointes, limitées à [from, to].
+     * Deux contrats qui se chevauchent ou se suivent sans jour libre forment une seule plage.
+     *
+     * @param lockingContracts les contrats bloquants du véhicule
+     * @param from             le premier jour de la fenêtre
+     * @param to               le dernier jour de la fenêtre
+     * @return les plages occupées, triées par date de début
+     */
+    public static List<OccupancyPeriod> mergeBusy(final Collection<Contract> lockingContracts,
+                                                  final LocalDate from,
+                                                  final LocalDate to) {
+        final List<Contract> sorted = lockingContracts.stream()
+                .filter(contract -> !contract.getStartDate().isAfter(to) && !contract.getEndDate().isBefore(from))
+                .sorted(Comparator.comparing(Contract::getStartDate))
+                .toList();
+
+        final List<OccupancyPeriod> busy = new ArrayList<>();
+        LocalDate runStart = null;
+        LocalDate runEnd = null;
+        for (final Contract contract : sorted) {
+            if (runEnd != null && !contract.getStartDate().isAfter(runEnd.plusDays(1))) {
+                runEnd = contract.getEndDate().isAfter(runEnd) ? contract.getEndDate() : runEnd;
+                continue;
+            }
+            if (runStart != null) {
+                busy.add(clipped(runStart, runEnd, from, to));
+            }
+            runStart = contract.getStartDate();
+            runEnd = contract.getEndDate();
+        }
+        if (runStart != null) {
+            busy.add(clipped(runStart, runEnd, from, to));
+        }
+
+        return busy;
+    }
+
+    /**
+     * Complète des plages occupées disjointes et triées par les plages libres qui les séparent, de façon à couvrir
+     * exactement [from, to].
+     *
+     * @param busy les plages occupées, comprises dans [from, to]
+     * @param from le premier jour du calendrier
+     * @param to   le dernier jour du calendrier
+     * @return le calendrier complet, en plages alternées
+     */
+    public static List<OccupancyPeriod> fillCalendar(final List<OccupancyPeriod> busy,
+                                                     final LocalDate from,
+                                                     final LocalDate to) {
+        final List<OccupancyPeriod> calendar = new ArrayList<>(busy.size() * 2 + 1);
+        LocalDate nextFree = from;
+        for (final OccupancyPeriod period : busy) {
+            if (period.getStartDate().isAfter(nextFree)) {
+                calendar.add(new OccupancyPeriod(nextFree, period.getStartDate().minusDays(1), OccupancyStatusEnum.FREE));
+            }
+            calendar.add(period);
+            nextFree = period.getEndDate().plusDays(1);
+        }
+        if (!nextFree.isAfter(to)) {
+            calendar.add(new OccupancyPeriod(nextFree, to, OccupancyStatusEnum.FREE));
+        }
+
+        return calendar;
+    }
+
+    private static OccupancyPeriod clipped(final LocalDate start, final LocalDate end, final LocalDate from, final LocalDate to) {
+        return new OccupancyPeriod(
+                start.isBefore(from) ? from : start,
+                end.isAfter(to) ? to : end,
+                OccupancyStatusEnum.BUSY
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.imt.contracts.model;
+
+import lombok.Getter;
+
+@Getter
+public enum OccupancyStatusEnum {
+    FREE("Libre"),
+    BUSY("Occupé");
+
+    private final String label;
+
+    OccupancyStatusEnum(final String label) {
+        this.label = label;
+    }
+}
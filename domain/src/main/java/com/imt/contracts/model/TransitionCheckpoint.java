@@ -0,0 +1,35 @@
+package com.imt.contracts.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Point de reprise d'un passage du moteur de transitions des contrats, enregistré avant chaque lot.
+ * Un passage interrompu reprend le parcours après {@link #getPosition()} : les transitions du lot en cours, déjà
+ * appliquées ou non, sont conditionnées à l'état lu et peuvent être rejouées sans effet.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class TransitionCheckpoint {
+
+    /**
+     * Nom du passage (un par partition de véhicules).
+     */
+    private final String name;
+
+    /**
+     * Date de référence du passage interrompu.
+     */
+    private final LocalDate referenceDate;
+
+    /**
+     * Position après laquelle reprendre le parcours, ou null pour le reprendre depuis le début.
+     */
+    private final ContractCursor position;
+}
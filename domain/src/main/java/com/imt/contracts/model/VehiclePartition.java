@@ -0,0 +1,93 @@
+package com.imt.contracts.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Partition de l'espace des contrats selon l'identifiant de leur véhicule.
+ * Les identifiants de véhicules étant aléatoires, leurs 16 premiers bits sont uniformément répartis : l'espace
+ * [0, 65536) de ces bits est découpé en {@code count} plages contiguës de même taille. Tous les contrats d'un même
+ * véhicule appartiennent à la même partition, et une partition se traduit en stockage par une simple plage
+ * d'identifiants (forme textuelle, préfixe hexadécimal).
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class VehiclePartition {
+
+    /**
+     * Partition unique couvrant toute la flotte.
+     */
+    public static final VehiclePartition ALL = new VehiclePartition(0, 1);
+
+    private static final int KEY_SPACE = 1 << 16;
+
+    private final int index;
+
+    private final int count;
+
+    public VehiclePartition(final int index, final int count) {
+        if (count < 1 || count > KEY_SPACE || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid partition " + index + " of " + count);
+        }
+        this.index = index;
+        this.count = count;
+    }
+
+    /**
+     * Découpe la flotte en partitions de même taille.
+     *
+     * @param count le nombre de partitions
+     * @return les partitions, par indice croissant
+     */
+    public static List<VehiclePartition> split(final int count) {
+        return IntStream.range(0, count).mapToObj(index -> new VehiclePartition(index, count)).toList();
+    }
+
+    /**
+     * Retourne l'indice de la partition d'un véhicule.
+     *
+     * @param vehicleIdentifier l'identifiant du véhicule
+     * @param count             le nombre de partitions
+     * @return l'indice de la partition, dans [0, count)
+     */
+    public static int indexOf(final UUID vehicleIdentifier, final int count) {
+        return (int) (((vehicleIdentifier.getMostSignificantBits() >>> 48) * count) / KEY_SPACE);
+    }
+
+    public boolean contains(final UUID vehicleIdentifier) {
+        return vehicleIdentifier != null && indexOf(vehicleIdentifier, this.count) == this.index;
+    }
+
+    public boolean isWhole() {
+        return this.count == 1;
+    }
+
+    /**
+     * Retourne la borne inférieure, incluse, des identifiants de véhicules de la partition (préfixe hexadécimal).
+     */
+    public String lowerBound() {
+        return prefixOf(this.index);
+    }
+
+    /**
+     * Retourne la borne supérieure, exclue, des identifiants de véhicules de la partition (préfixe hexadécimal).
+     *
+     * @return la borne, ou Optional.empty() pour la dernière partition
+     */
+    public Optional<String> upperBound() {
+        return this.index == this.count - 1 ? Optional.empty() : Optional.of(prefixOf(this.index + 1));
+    }
+
+    private String prefixOf(final int partition) {
+        // Premier préfixe de la partition : plafond de partition * 65536 / count
+        final long firstKey = ((long) partition * KEY_SPACE + this.count - 1) / this.count;
+        return "%04x".formatted(firstKey);
+    }
+}
@@ -0,0 +1,223 @@
+package com.imt.contracts.outbox;
+
+import com.imt.common.exceptions.ImtException;
+import com.imt.contracts.ContractsService;
+import com.imt.vehicle.VehicleStorageProvider;
+import com.imt.vehicle.model.VehicleBrokenEvent;
+import com.imt.vehicle.model.VehicleStateEnum;
+import com.imt.vehicle.outbox.VehicleOutboxStorageProvider;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Traite en arrière-plan la boîte d'envoi des véhicules : annule les contrats en attente des véhicules déclarés en
+ * panne (règle 1), hors de la requête qui a enregistré la panne.
+ * <p>
+ * Chaque passage lit un lot des plus anciens événements, traite chaque véhicule du lot sur son propre thread
+ * virtuel, puis acquitte en une seule écriture les événements traités. Un véhicule qui n'est plus en panne au moment
+ * du traitement (réparé entre-temps) ne voit pas ses contrats annulés. Un événement en échec reste dans la boîte
+ * d'envoi et sera repris au passage suivant, jusqu'à {@code maxAttempts} tentatives, puis est mis à l'écart :
+ * l'annulation est exécutée au moins une fois, ce qui est sans risque puisqu'elle ne concerne que les contrats
+ * encore "En attente".
+ */
+public class VehicleOutboxDispatcher {
+
+    private final VehicleOutboxStorageProvider outbox;
+    private final VehicleStorageProvider vehicles;
+    private final ContractsService contractsService;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Clock clock;
+
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private volatile Duration lag = Duration.ZERO;
+
+    public VehicleOutboxDispatcher(final VehicleOutboxStorageProvider outbox,
+                                   final VehicleStorageProvider vehicles,
+                                   final ContractsService contractsService,
+                                   final int batchSize,
+                                   final int maxAttempts) {
+        this(outbox, vehicles, contractsService, batchSize, maxAttempts, Clock.systemUTC());
+    }
+
+    public VehicleOutboxDispatcher(final VehicleOutboxStorageProvider outbox,
+                                   final VehicleStorageProvider vehicles,
+                                   final ContractsService contractsService,
+                                   final int batchSize,
+                                   final int maxAttempts,
+                                   final Clock clock) {
+        this.outbox = Objects.requireNonNull(outbox, "Vehicle outbox cannot be null");
+        this.vehicles = Objects.requireNonNull(vehicles, "Vehicle storage cannot be null");
+        this.contractsService = Objects.requireNonNull(contractsService, "Contracts service cannot be null");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Max attempts must be positive");
+        }
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.clock = Objects.requireNonNullElseGet(clock, Clock::systemUTC);
+    }
+
+    /**
+     * Traite un lot d'événements en attente.
+     *
+     * @return le nombre d'événements traités et acquittés
+     */
+    public synchronized int dispatch() {
+        final List<VehicleBrokenEvent> pending = this.outbox.findPending(this.batchSize);
+        this.lag = pending.isEmpty()
+                ? Duration.ZERO
+                : Duration.between(pending.getFirst().getOccurredAt(), this.clock.instant());
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        // Un véhicule déclaré plusieurs fois en panne n'est traité qu'une fois par lot
+        final Map<String, List<VehicleBrokenEvent>> byVehicle = pending.stream()
+                .collect(Collectors.groupingBy(VehicleBrokenEvent::getVehicleId, LinkedHashMap::new, Collectors.toList()));
+
+        final List<VehicleBrokenEvent> processed = new ArrayList<>(pending.size());
+        final List<VehicleBrokenEvent> failed = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final Map<String, Future<Outcome>> tasks = new LinkedHashMap<>();
+            byVehicle.keySet().forEach(vehicleId -> tasks.put(vehicleId, executor.submit(() -> this.cancelContracts(vehicleId))));
+
+            for (final Map.Entry<String, Future<Outcome>> task : tasks.entrySet()) {
+                final List<VehicleBrokenEvent> events = byVehicle.get(task.getKey());
+                switch (this.await(task.getValue())) {
+                    case CANCELLED -> processed.addAll(events);
+                    case SKIPPED -> {
+                        this.skipped.add(events.size());
+                        processed.addAll(events);
+                    }
+                    case FAILED -> {
+                        this.failures.increment();
+                        failed.addAll(events);
+                    }
+                }
+            }
+        }
+
+        if (!processed.isEmpty()) {
+            this.outbox.acknowledge(processed);
+            this.dispatched.add(processed.size());
+        }
+        this.handleFailures(failed);
+        return processed.size();
+    }
+
+    /**
+     * Retourne l'ancienneté du plus ancien événement en attente lors du dernier passage.
+     *
+     * @return le retard de la boîte d'envoi, nul si elle était vide
+     */
+    public Duration getLag() {
+        return this.lag;
+    }
+
+    /**
+     * @return le nombre cumulé d'événements traités
+     */
+    public long getDispatchedCount() {
+        return this.dispatched.sum();
+    }
+
+    /**
+     * @return le nombre cumulé d'événements acquittés sans annulation, le véhicule n'étant plus en panne
+     */
+    public long getSkippedCount() {
+        return this.skipped.sum();
+    }
+
+    /**
+     * @return le nombre cumulé de véhicules dont le traitement a échoué
+     */
+    public long getFailureCount() {
+        return this.failures.sum();
+    }
+
+    /**
+     * @return le nombre cumulé d'événements mis à l'écart après {@code maxAttempts} échecs
+     */
+    public long getDeadLetterCount() {
+        return this.deadLettered.sum();
+    }
+
+    /**
+     * Annule les contrats en attente du véhicule s'il est toujours en panne.
+     *
+     * @return CANCELLED si les contrats ont été annulés, SKIPPED si le véhicule n'est plus en panne
+     */
+    private Outcome cancelContracts(final String vehicleId) throws ImtException {
+        final boolean broken = this.vehicles.get(vehicleId)
+                .map(vehicle -> vehicle.getState() == VehicleStateEnum.BROKEN)
+                .orElse(false);
+        if (!broken) {
+            return Outcome.SKIPPED;
+        }
+
+        final UUID vehicleIdentifier;
+        try {
+            vehicleIdentifier = UUID.fromString(vehicleId);
+        } catch (IllegalArgumentException e) {
+            // Aucun contrat ne peut référencer ce véhicule : rien à annuler
+            return Outcome.SKIPPED;
+        }
+        this.contractsService.cancelContractsForBrokenVehicule(vehicleIdentifier);
+        return Outcome.CANCELLED;
+    }
+
+    private void handleFailures(final List<VehicleBrokenEvent> failed) {
+        if (failed.isEmpty()) {
+            return;
+        }
+
+        final Map<Boolean, List<VehicleBrokenEvent>> exhausted = failed.stream()
+                .collect(Collectors.partitioningBy(event -> event.getAttempts() + 1 >= this.maxAttempts));
+        if (!exhausted.get(true).isEmpty()) {
+            this.outbox.deadLetter(exhausted.get(true));
+            this.deadLettered.add(exhausted.get(true).size());
+        }
+        if (!exhausted.get(false).isEmpty()) {
+            this.outbox.recordFailures(exhausted.get(false));
+        }
+    }
+
+    private Outcome await(final Future<Outcome> task) {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            return Outcome.FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.FAILED;
+        }
+    }
+
+    /**
+     * Issue du traitement d'un véhicule.
+     */
+    private enum Outcome {
+        CANCELLED,
+        SKIPPED,
+        FAILED
+    }
+}
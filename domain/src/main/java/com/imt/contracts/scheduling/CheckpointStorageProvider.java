@@ -0,0 +1,33 @@
+package com.imt.contracts.scheduling;
+
+import com.imt.contracts.model.TransitionCheckpoint;
+
+import java.util.Optional;
+
+/**
+ * Stockage des points de reprise du moteur de transitions des contrats.
+ */
+public interface CheckpointStorageProvider {
+
+    /**
+     * Trouve le point de reprise laissé par un passage interrompu.
+     *
+     * @param name le nom du passage
+     * @return le point de reprise, ou Optional.empty() si le dernier passage s'est terminé
+     */
+    Optional<TransitionCheckpoint> find(final String name);
+
+    /**
+     * Enregistre (ou remplace) le point de reprise d'un passage.
+     *
+     * @param checkpoint le point de reprise
+     */
+    void save(final TransitionCheckpoint checkpoint);
+
+    /**
+     * Supprime le point de reprise d'un passage terminé.
+     *
+     * @param name le nom du passage
+     */
+    void delete(final String name);
+}
@@ -0,0 +1,151 @@
+package com.imt.contracts.scheduling;
+
+import com.imt.contracts.model.Contract;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * File en mémoire des échéances des contrats, triée par date.
+ * L'échéance d'un contrat est le jour de sa prochaine transition automatique ({@link Contract#dueDate()}) :
+ * le jour de son début pour un contrat "En attente", le lendemain de sa fin pour un contrat "En cours" (règle 2).
+ * Les autres contrats n'ont pas d'échéance, aucune transition automatique ne les concernant.
+ * <p>
+ * Les échéances sont regroupées par jour : la prochaine échéance est la première clé de l'arbre, et le retrait
+ * d'un contrat (terminé, annulé, supprimé) passe par l'échéance connue du contrat, sans parcours de la file.
+ * Les abonnés sont prévenus lorsqu'une écriture avance la prochaine échéance, afin de réarmer leur minuterie.
+ */
+public final class ContractDeadlineQueue {
+
+    private final TreeMap<LocalDate, Set<UUID>> contractsByDeadline = new TreeMap<>();
+    private final Map<UUID, LocalDate> deadlineByContract = new HashMap<>();
+    private final List<Consumer<LocalDate>> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Retourne l'échéance d'un contrat, c'est-à-dire le jour de sa prochaine transition automatique.
+     *
+     * @param contract le contrat
+     * @return le jour de sa prochaine transition automatique, Optional.empty() si son état n'évolue pas automatiquement
+     */
+    public static Optional<LocalDate> deadlineOf(final Contract contract) {
+        return contract == null ? Optional.empty() : contract.dueDate();
+    }
+
+    /**
+     * Remplace tout le contenu de la file par les échéances des contrats fournis.
+     *
+     * @param contracts les contrats à planifier
+     */
+    public void rebuild(final Collection<Contract> contracts) {
+        final Optional<LocalDate> next;
+        synchronized (this) {
+            this.contractsByDeadline.clear();
+            this.deadlineByContract.clear();
+            Objects.requireNonNullElse(contracts, List.<Contract>of()).forEach(this::schedule);
+            next = this.nextDeadline();
+        }
+        next.ifPresent(this::notifySubscribers);
+    }
+
+    /**
+     * Planifie (ou replanifie) l'échéance d'un contrat après son écriture. Un contrat sans échéance est retiré.
+     *
+     * @param contract le contrat enregistré
+     */
+    public void put(final Contract contract) {
+        final boolean advanced;
+        final Optional<LocalDate> deadline = deadlineOf(contract);
+        synchronized (this) {
+            final Optional<LocalDate> previousNext = this.nextDeadline();
+            this.unschedule(contract.getIdentifier());
+            deadline.ifPresent(day -> this.schedule(contract.getIdentifier(), day));
+            advanced = deadline.isPresent() && previousNext.map(deadline.get()::isBefore).orElse(true);
+        }
+        if (advanced) {
+            this.notifySubscribers(deadline.get());
+        }
+    }
+
+    /**
+     * Retire l'échéance d'un contrat.
+     *
+     * @param contractIdentifier l'identifiant du contrat
+     */
+    public synchronized void remove(final UUID contractIdentifier) {
+        this.unschedule(contractIdentifier);
+    }
+
+    /**
+     * Retourne la prochaine échéance, tous contrats confondus.
+     *
+     * @return le jour de la prochaine échéance, ou Optional.empty() si la file est vide
+     */
+    public synchronized Optional<LocalDate> nextDeadline() {
+        return this.contractsByDeadline.isEmpty() ? Optional.empty() : Optional.of(this.contractsByDeadline.firstKey());
+    }
+
+    /**
+     * Retire et retourne les contrats dont l'échéance est atteinte au jour donné.
+     *
+     * @param today le jour courant
+     * @return les identifiants des contrats échus, vide si aucun
+     */
+    public synchronized Set<UUID> pollDue(final LocalDate today) {
+        final Set<UUID> due = new HashSet<>();
+        final Map<LocalDate, Set<UUID>> reached = this.contractsByDeadline.headMap(today, true);
+        reached.values().forEach(due::addAll);
+        reached.clear();
+        due.forEach(this.deadlineByContract::remove);
+        return due;
+    }
+
+    /**
+     * Abonne un observateur, prévenu avec la nouvelle date chaque fois que la prochaine échéance avance.
+     *
+     * @param subscriber l'observateur
+     */
+    public void subscribe(final Consumer<LocalDate> subscriber) {
+        this.subscribers.add(Objects.requireNonNull(subscriber, "Subscriber cannot be null"));
+    }
+
+    public synchronized int size() {
+        return this.deadlineByContract.size();
+    }
+
+    private void schedule(final Contract contract) {
+        deadlineOf(contract).ifPresent(day -> this.schedule(contract.getIdentifier(), day));
+    }
+
+    private void schedule(final UUID contractIdentifier, final LocalDate deadline) {
+        this.contractsByDeadline.computeIfAbsent(deadline, day -> new HashSet<>()).add(contractIdentifier);
+        this.deadlineByContract.put(contractIdentifier, deadline);
+    }
+
+    private void unschedule(final UUID contractIdentifier) {
+        final LocalDate deadline = this.deadlineByContract.remove(contractIdentifier);
+        if (deadline == null) {
+            return;
+        }
+        final Set<UUID> sameDay = this.contractsByDeadline.get(deadline);
+        sameDay.remove(contractIdentifier);
+        if (sameDay.isEmpty()) {
+            this.contractsByDeadline.remove(deadline);
+        }
+    }
+
+    private void notifySubscribers(final LocalDate deadline) {
+        // Hors verrou : un abonné peut relire la file pour se réarmer
+        this.subscribers.forEach(subscriber -> subscriber.accept(deadline));
+    }
+}
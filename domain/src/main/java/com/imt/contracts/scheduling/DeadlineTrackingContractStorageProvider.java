@@ -0,0 +1,184 @@
+package com.imt.contracts.scheduling;
+
+import com.imt.common.exceptions.ConflictException;
+import com.imt.common.model.FieldChanges;
+import com.imt.contracts.ContractStorageProvider;
+import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractCursor;
+import com.imt.contracts.model.ContractStateEnum;
+import com.imt.contracts.model.ContractTransition;
+import com.imt.contracts.model.OccupancyPeriod;
+import com.imt.contracts.model.VehiclePartition;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Fournisseur de stockage des contrats qui tient à jour une {@link ContractDeadlineQueue}.
+ * Délègue toutes les opérations au stockage ; chaque écriture passant par ce fournisseur replanifie l'échéance
+ * du contrat concerné une fois le stockage confirmé.
+ */
+public class DeadlineTrackingContractStorageProvider implements ContractStorageProvider {
+
+    private final ContractStorageProvider delegate;
+    private final ContractDeadlineQueue deadlines;
+
+    public DeadlineTrackingContractStorageProvider(final ContractStorageProvider delegate, final ContractDeadlineQueue deadlines) {
+        this.delegate = Objects.requireNonNull(delegate, "Contract storage cannot be null");
+        this.deadlines = Objects.requireNonNull(deadlines, "Deadline queue cannot be null");
+    }
+
+    /**
+     * Recharge la file à partir des contrats du stockage dont l'état évolue automatiquement.
+     *
+     * @return le nombre d'échéances planifiées
+     */
+    public int rebuild() {
+        this.deadlines.rebuild(Objects.requireNonNullElse(
+                this.delegate.findByStates(ContractStateEnum.automaticStates()),
+                Collections.emptySet()
+        ));
+        return this.deadlines.size();
+    }
+
+    @Override
+    public Contract save(final Contract contract) throws ConflictException {
+        final Contract saved = this.delegate.save(contract);
+        this.deadlines.put(saved);
+        return saved;
+    }
+
+    @Override
+    public Optional<Contract> applyChanges(final Contract contract, final FieldChanges changes) throws ConflictException {
+        final Optional<Contract> updated = this.delegate.applyChanges(contract, changes);
+        updated.ifPresent(this.deadlines::put);
+        return updated;
+    }
+
+    @Override
+    public Collection<Contract> saveAll(final Collection<Contract> contracts) {
+        final Collection<Contract> saved = this.delegate.saveAll(contracts);
+        if (saved != null) {
+            saved.forEach(this.deadlines::put);
+        }
+        return saved;
+    }
+
+    @Override
+    public void delete(final UUID identifier) {
+        this.delegate.delete(identifier);
+        this.deadlines.remove(identifier);
+    }
+
+    @Override
+    public Stream<Contract> streamDueContracts(final LocalDate referenceDate,
+                                               final VehiclePartition partition,
+                                               final ContractCursor after) {
+        return this.delegate.streamDueContracts(referenceDate, partition, after);
+    }
+
+    @Override
+    public Collection<Contract> applyTransitions(final Collection<ContractTransition> transitions) {
+        final Collection<Contract> transitioned = this.delegate.applyTransitions(transitions);
+        transitioned.forEach(this.deadlines::put);
+        return transitioned;
+    }
+
+    @Override
+    public Set<UUID> findVehiclesHeldByLateContracts(final Collection<UUID> vehicleIds, final LocalDate referenceDate) {
+        return this.delegate.findVehiclesHeldByLateContracts(vehicleIds, referenceDate);
+    }
+
+    @Override
+    public Collection<UUID> cancelPendingContractsByVehicleId(final UUID vehicleId) {
+        final Collection<UUID> cancelled = this.delegate.cancelPendingContractsByVehicleId(vehicleId);
+        cancelled.forEach(this.deadlines::remove);
+        return cancelled;
+    }
+
+    @Override
+    public boolean exist(final UUID identifier) {
+        return this.delegate.exist(identifier);
+    }
+
+    @Override
+    public Collection<Contract> getAll() {
+        return this.delegate.getAll();
+    }
+
+    @Override
+    public Optional<Contract> get(final UUID identifier) {
+        return this.delegate.get(identifier);
+    }
+
+    @Override
+    public Collection<Contract> findByClientIdentifier(final UUID clientIdentifier) {
+        return this.delegate.findByClientIdentifier(clientIdentifier);
+    }
+
+    @Override
+    public Collection<Contract> findByVehicleIdentifier(final UUID vehicleIdentifier) {
+        return this.delegate.findByVehicleIdentifier(vehicleIdentifier);
+    }
+
+    @Override
+    public Collection<Contract> findByVehicleIdentifierBetween(final UUID vehicleIdentifier,
+                                                               final LocalDate startDate,
+                                                               final LocalDate endDate) {
+        return this.delegate.findByVehicleIdentifierBetween(vehicleIdentifier, startDate, endDate);
+    }
+
+    @Override
+    public Optional<Contract> findFirstOverlappingContract(final UUID vehicleIdentifier,
+                                                           final LocalDate startDate,
+                                                           final LocalDate endDate,
+                                                           final UUID excludedContractIdentifier) {
+        return this.delegate.findFirstOverlappingContract(vehicleIdentifier, startDate, endDate, excludedContractIdentifier);
+    }
+
+    @Override
+    public Collection<Contract> findLockingContractsBetween(final UUID vehicleIdentifier,
+                                                            final LocalDate startDate,
+                                                            final LocalDate endDate) {
+        return this.delegate.findLockingContractsBetween(vehicleIdentifier, startDate, endDate);
+    }
+
+    @Override
+    public List<OccupancyPeriod> findBusyPeriods(final UUID vehicleIdentifier,
+                                                 final LocalDate startDate,
+                                                 final LocalDate endDate) {
+        return this.delegate.findBusyPeriods(vehicleIdentifier, startDate, endDate);
+    }
+
+    @Override
+    public Set<UUID> findOccupiedVehicles(final LocalDate startDate, final LocalDate endDate) {
+        return this.delegate.findOccupiedVehicles(startDate, endDate);
+    }
+
+    @Override
+    public Collection<Contract> findByStates(final Collection<ContractStateEnum> states) {
+        return this.delegate.findByStates(states);
+    }
+
+    @Override
+    public Collection<Contract> findByVehicleIdentifiers(final Collection<UUID> vehicleIdentifiers) {
+        return this.delegate.findByVehicleIdentifiers(vehicleIdentifiers);
+    }
+
+    @Override
+    public Collection<Contract> findByIdentifiers(final Collection<UUID> identifiers) {
+        return this.delegate.findByIdentifiers(identifiers);
+    }
+
+    @Override
+    public Collection<Contract> findPendingContractsByVehicleId(final UUID vehicleId) {
+        return this.delegate.findPendingContractsByVehicleId(vehicleId);
+    }
+}
@@ -0,0 +1,31 @@
+package com.imt.contracts.scheduling;
+
+import com.imt.contracts.model.TransitionCheckpoint;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Points de reprise conservés en mémoire : un passage interrompu par une erreur reprend au passage suivant,
+ * mais un redémarrage de l'application repart du début.
+ */
+public class InMemoryCheckpointStorageProvider implements CheckpointStorageProvider {
+
+    private final Map<String, TransitionCheckpoint> checkpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<TransitionCheckpoint> find(final String name) {
+        return Optional.ofNullable(this.checkpoints.get(name));
+    }
+
+    @Override
+    public void save(final TransitionCheckpoint checkpoint) {
+        this.checkpoints.put(checkpoint.getName(), checkpoint);
+    }
+
+    @Override
+    public void delete(final String name) {
+        this.checkpoints.remove(name);
+    }
+}
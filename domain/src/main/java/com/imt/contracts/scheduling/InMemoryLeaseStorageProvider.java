@@ -0,0 +1,73 @@
+package com.imt.contracts.scheduling;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Baux de leader au sein d'une seule instance de l'application : l'instance est toujours leader.
+ * Sert également de stockage de substitution pour éprouver l'élection sans base de données.
+ */
+public class InMemoryLeaseStorageProvider implements LeaseStorageProvider {
+
+    private final Map<String, LeaderLease> leases = new HashMap<>();
+
+    @Override
+    public synchronized Optional<LeaderLease> tryAcquire(final String name,
+                                                         final String owner,
+                                                         final Instant now,
+                                                         final Duration ttl) {
+        final LeaderLease current = this.leases.get(name);
+        final boolean valid = current != null && current.getExpiresAt().isAfter(now);
+        if (valid && !current.getOwner().equals(owner)) {
+            return Optional.empty();
+        }
+
+        // Prolongation par le détenteur : même jeton ; reprise d'un bail libre ou expiré : jeton suivant
+        final long fencingToken = valid ? current.getFencingToken() : (current == null ? 1 : current.getFencingToken() + 1);
+        final LeaderLease lease = new LeaderLease(name, owner, fencingToken, now.plus(ttl));
+        this.leases.put(name, lease);
+        return Optional.of(lease);
+    }
+
+    @Override
+    public synchronized void release(final String name, final String owner) {
+        final LeaderLease current = this.leases.get(name);
+        if (current != null && current.getOwner().equals(owner)) {
+            this.leases.put(name, new LeaderLease(name, owner, current.getFencingToken(), Instant.EPOCH));
+        }
+    }
+
+    @Override
+    public synchronized void delete(final String name, final String owner) {
+        final LeaderLease current = this.leases.get(name);
+        if (current != null && current.getOwner().equals(owner)) {
+            this.leases.remove(name);
+        }
+    }
+
+    @Override
+    public synchronized void deleteExpired(final String namePrefix, final Instant now) {
+        this.leases.values().removeIf(lease -> lease.getName().startsWith(namePrefix) && !lease.getExpiresAt().isAfter(now));
+    }
+
+    @Override
+    public synchronized boolean isHeld(final String name, final String owner, final long fencingToken, final Instant now) {
+        final LeaderLease current = this.leases.get(name);
+        return current != null
+                && current.getOwner().equals(owner)
+                && current.getFencingToken() == fencingToken
+                && current.getExpiresAt().isAfter(now);
+    }
+
+    @Override
+    public synchronized List<LeaderLease> findActive(final String namePrefix, final Instant now) {
+        return this.leases.values().stream()
+                .filter(lease -> lease.getName().startsWith(namePrefix))
+                .filter(lease -> lease.getExpiresAt().isAfter(now))
+                .toList();
+    }
+}
@@ -0,0 +1,123 @@
+package com.imt.contracts.scheduling;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Élection d'un leader unique parmi les instances de l'application, par bail à durée limitée.
+ * Chaque instance candidate à chaque tour : le leader prolonge son bail, les autres ne le prennent qu'une fois
+ * expiré ou rendu. Si le leader s'arrête sans rendre son bail, une autre instance le reprend au plus tard à
+ * l'expiration du bail ; s'il le rend (arrêt normal), dès le tour suivant.
+ */
+public class LeaderElection {
+
+    private final LeaseStorageProvider storage;
+    private final String name;
+    private final String owner;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final LongAdder handovers = new LongAdder();
+    private volatile long fencingToken;
+    private volatile boolean leader;
+
+    public LeaderElection(final LeaseStorageProvider storage, final String name, final Duration ttl) {
+        this(storage, name, UUID.randomUUID().toString(), ttl, Clock.systemUTC());
+    }
+
+    public LeaderElection(final LeaseStorageProvider storage,
+                          final String name,
+                          final String owner,
+                          final Duration ttl,
+                          final Clock clock) {
+        this.storage = Objects.requireNonNull(storage, "Lease storage cannot be null");
+        this.name = Objects.requireNonNull(name, "Lease name cannot be null");
+        this.owner = Objects.requireNonNull(owner, "Lease owner cannot be null");
+        this.ttl = Objects.requireNonNullElse(ttl, Duration.ofSeconds(30));
+        this.clock = Objects.requireNonNullElseGet(clock, Clock::systemUTC);
+    }
+
+    /**
+     * Prend ou prolonge le bail. En cas d'erreur du stockage, l'instance se considère comme non leader.
+     *
+     * @return le jeton de fencing du bail si cette instance est leader, vide sinon
+     */
+    public synchronized OptionalLong acquireOrRenew() {
+        final Optional<LeaderLease> lease;
+        try {
+            lease = this.storage.tryAcquire(this.name, this.owner, this.clock.instant(), this.ttl);
+        } catch (RuntimeException e) {
+            this.leader = false;
+            throw e;
+        }
+
+        if (lease.isEmpty()) {
+            this.leader = false;
+            return OptionalLong.empty();
+        }
+
+        if (lease.get().getFencingToken() != this.fencingToken) {
+            // Nouveau bail (et non simple prolongation) : la direction a changé de main
+            this.handovers.increment();
+        }
+        this.fencingToken = lease.get().getFencingToken();
+        this.leader = true;
+        return OptionalLong.of(this.fencingToken);
+    }
+
+    /**
+     * Vérifie auprès du stockage que cette instance détient toujours le bail avec le jeton donné, avant d'écrire au
+     * nom du leader. En cas d'erreur du stockage, le bail est considéré comme perdu.
+     *
+     * @param fencingToken le jeton de fencing retourné par {@link #acquireOrRenew()}
+     * @return true si le bail est toujours détenu avec ce jeton
+     */
+    public boolean holds(final long fencingToken) {
+        try {
+            return this.storage.isHeld(this.name, this.owner, fencingToken, this.clock.instant());
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Rend le bail, pour un basculement immédiat vers une autre instance (arrêt de l'application).
+     */
+    public synchronized void release() {
+        if (this.leader) {
+            this.leader = false;
+            this.storage.release(this.name, this.owner);
+        }
+    }
+
+    public boolean isLeader() {
+        return this.leader;
+    }
+
+    public String getOwner() {
+        return this.owner;
+    }
+
+    /**
+     * Retourne le nombre de fois où cette instance a pris la direction.
+     *
+     * @return le nombre cumulé de prises de bail (hors prolongations)
+     */
+    public long getHandoverCount() {
+        return this.handovers.sum();
+    }
+
+    /**
+     * Retourne le jeton de fencing du dernier bail détenu, qui compte les changements de détenteur de tout le groupe.
+     *
+     * @return le dernier jeton connu, 0 si aucun bail n'a été détenu
+     */
+    public long getFencingToken() {
+        return this.fencingToken;
+    }
+}
@@ -0,0 +1,28 @@
+package com.imt.contracts.scheduling;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Bail de leader détenu par une instance de l'application.
+ * Le jeton de fencing augmente à chaque changement de détenteur : une instance qui a perdu le bail porte un jeton
+ * inférieur à celui du nouveau leader, ce qui permet de reconnaître un ancien leader encore actif.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class LeaderLease {
+
+    private final String name;
+
+    private final String owner;
+
+    private final long fencingToken;
+
+    private final Instant expiresAt;
+}
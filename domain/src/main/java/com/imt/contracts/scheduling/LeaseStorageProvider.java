@@ -0,0 +1,74 @@
+package com.imt.contracts.scheduling;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stockage des baux de leader partagés entre les instances de l'application.
+ * Un stockage partagé compare les échéances à sa propre horloge plutôt qu'à l'instant {@code now} fourni, afin que
+ * l'écart entre les horloges des instances ne permette pas à deux instances de se croire détentrices du même bail.
+ */
+public interface LeaseStorageProvider {
+
+    /**
+     * Prend le bail s'il est libre ou expiré, ou le prolonge s'il est déjà détenu par {@code owner}, de façon atomique.
+     * Le jeton de fencing est conservé lors d'une prolongation et incrémenté lors d'un changement de détenteur.
+     *
+     * @param name  le nom du bail
+     * @param owner l'identifiant de l'instance candidate
+     * @param now   l'instant courant
+     * @param ttl   la durée de validité du bail
+     * @return le bail détenu par {@code owner}, ou Optional.empty() si une autre instance détient un bail valide
+     */
+    Optional<LeaderLease> tryAcquire(final String name, final String owner, final Instant now, final Duration ttl);
+
+    /**
+     * Rend le bail s'il est détenu par {@code owner}, afin qu'une autre instance le reprenne sans attendre son
+     * expiration. Le jeton de fencing est conservé.
+     *
+     * @param name  le nom du bail
+     * @param owner l'identifiant de l'instance détentrice
+     */
+    void release(final String name, final String owner);
+
+    /**
+     * Supprime le bail s'il est détenu par {@code owner}. Réservé aux baux dont le jeton de fencing n'est pas
+     * utilisé (présence des instances) : le jeton d'un bail supprimé repartirait de zéro.
+     *
+     * @param name  le nom du bail
+     * @param owner l'identifiant de l'instance détentrice
+     */
+    void delete(final String name, final String owner);
+
+    /**
+     * Supprime les baux expirés dont le nom commence par le préfixe donné. Réservé, comme {@link #delete}, aux baux
+     * dont le jeton de fencing n'est pas utilisé.
+     *
+     * @param namePrefix le préfixe des noms de baux
+     * @param now        l'instant courant
+     */
+    void deleteExpired(final String namePrefix, final Instant now);
+
+    /**
+     * Vérifie que le bail est toujours détenu par {@code owner} avec ce jeton de fencing et qu'il n'a pas expiré.
+     * Un ancien détenteur, dont le bail a été repris entre-temps, obtient false.
+     *
+     * @param name         le nom du bail
+     * @param owner        l'identifiant de l'instance détentrice
+     * @param fencingToken le jeton de fencing obtenu à la prise du bail
+     * @param now          l'instant courant
+     * @return true si le bail est toujours détenu avec ce jeton
+     */
+    boolean isHeld(final String name, final String owner, final long fencingToken, final Instant now);
+
+    /**
+     * Trouve les baux encore valides dont le nom commence par le préfixe donné.
+     *
+     * @param namePrefix le préfixe des noms de baux
+     * @param now        l'instant courant
+     * @return les baux non expirés
+     */
+    List<LeaderLease> findActive(final String namePrefix, final Instant now);
+}
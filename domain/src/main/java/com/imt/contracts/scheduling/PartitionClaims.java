@@ -0,0 +1,169 @@
+package com.imt.contracts.scheduling;
+
+import com.imt.contracts.model.VehiclePartition;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Répartition des partitions de véhicules entre les instances de l'application, par baux à durée limitée.
+ * Chaque instance signale sa présence par un bail de membre, puis vise une part équitable des partitions
+ * (nombre de partitions divisé par le nombre d'instances présentes, arrondi au supérieur) : elle prolonge d'abord
+ * les partitions qu'elle détient, rend celles qui dépassent sa part, puis prend des partitions libres ou expirées.
+ * Une partition n'est jamais détenue par deux instances à la fois ; celles d'une instance arrêtée sont reprises
+ * au plus tard à l'expiration de leur bail.
+ * <p>
+ * Chaque démarrage crée un nouveau bail de membre : il est supprimé à l'arrêt de l'instance, et ceux des instances
+ * arrêtées sans le rendre sont supprimés à leur expiration par les instances restantes.
+ */
+public class PartitionClaims {
+
+    private static final String MEMBER_SUFFIX = "-member-";
+    private static final String PARTITION_SUFFIX = "-partition-";
+
+    private final LeaseStorageProvider storage;
+    private final String name;
+    private final String owner;
+    private final List<VehiclePartition> partitions;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final LongAdder handovers = new LongAdder();
+    private Set<VehiclePartition> held = Set.of();
+    private volatile Map<VehiclePartition, Long> fencingTokens = Map.of();
+
+    public PartitionClaims(final LeaseStorageProvider storage, final String name, final int partitionCount, final Duration ttl) {
+        this(storage, name, UUID.randomUUID().toString(), partitionCount, ttl, Clock.systemUTC());
+    }
+
+    public PartitionClaims(final LeaseStorageProvider storage,
+                           final String name,
+                           final String owner,
+                           final int partitionCount,
+                           final Duration ttl,
+                           final Clock clock) {
+        this.storage = Objects.requireNonNull(storage, "Lease storage cannot be null");
+        this.name = Objects.requireNonNull(name, "Lease name cannot be null");
+        this.owner = Objects.requireNonNull(owner, "Lease owner cannot be null");
+        this.partitions = VehiclePartition.split(partitionCount);
+        this.ttl = Objects.requireNonNullElse(ttl, Duration.ofSeconds(30));
+        this.clock = Objects.requireNonNullElseGet(clock, Clock::systemUTC);
+    }
+
+    /**
+     * Signale la présence de l'instance puis prend ou prolonge sa part des partitions.
+     *
+     * @return les partitions détenues par cette instance jusqu'au prochain tour, par indice croissant
+     */
+    public synchronized List<VehiclePartition> claim() {
+        final Instant now = this.clock.instant();
+        this.storage.deleteExpired(this.name + MEMBER_SUFFIX, now);
+        this.storage.tryAcquire(this.name + MEMBER_SUFFIX + this.owner, this.owner, now, this.ttl);
+        final int members = Math.max(1, this.storage.findActive(this.name + MEMBER_SUFFIX, now).size());
+        final int share = Math.ceilDiv(this.partitions.size(), members);
+
+        final List<VehiclePartition> claimed = new ArrayList<>(share);
+        final Map<VehiclePartition, Long> tokens = new HashMap<>();
+        for (final VehiclePartition partition : this.candidates()) {
+            if (claimed.size() >= share) {
+                if (this.held.contains(partition)) {
+                    // Au-delà de la part équitable : la partition est rendue à une instance arrivée entre-temps
+                    this.storage.release(this.partitionName(partition), this.owner);
+                }
+                continue;
+            }
+            final Optional<LeaderLease> lease = this.storage.tryAcquire(this.partitionName(partition), this.owner, now, this.ttl);
+            if (lease.isPresent()) {
+                claimed.add(partition);
+                tokens.put(partition, lease.get().getFencingToken());
+                if (!this.held.contains(partition)) {
+                    this.handovers.increment();
+                }
+            }
+        }
+
+        this.held = Set.copyOf(claimed);
+        this.fencingTokens = Map.copyOf(tokens);
+        return claimed.stream().sorted(Comparator.comparingInt(VehiclePartition::getIndex)).toList();
+    }
+
+    /**
+     * Vérifie auprès du stockage que cette instance détient toujours la partition avec le jeton obtenu au dernier
+     * tour, avant d'écrire pour cette partition. En cas d'erreur du stockage, la partition est considérée comme perdue.
+     *
+     * @param partition la partition traitée
+     * @return true si le bail de la partition est toujours détenu avec le même jeton
+     */
+    public boolean holds(final VehiclePartition partition) {
+        final Long fencingToken = this.fencingTokens.get(partition);
+        if (fencingToken == null) {
+            return false;
+        }
+        try {
+            return this.storage.isHeld(this.partitionName(partition), this.owner, fencingToken, this.clock.instant());
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Rend toutes les partitions détenues et supprime le bail de membre, pour une reprise immédiate (arrêt de
+     * l'application).
+     */
+    public synchronized void release() {
+        this.held.forEach(partition -> this.storage.release(this.partitionName(partition), this.owner));
+        this.storage.delete(this.name + MEMBER_SUFFIX + this.owner, this.owner);
+        this.held = Set.of();
+        this.fencingTokens = Map.of();
+    }
+
+    public int getPartitionCount() {
+        return this.partitions.size();
+    }
+
+    public boolean isPartitioned() {
+        return this.partitions.size() > 1;
+    }
+
+    /**
+     * Retourne le nombre de partitions prises par cette instance (hors prolongations).
+     *
+     * @return le nombre cumulé de prises de partition
+     */
+    public long getHandoverCount() {
+        return this.handovers.sum();
+    }
+
+    /**
+     * Partitions détenues d'abord, puis les autres à partir d'un point de départ propre à l'instance, afin que des
+     * instances démarrées ensemble ne se disputent pas toutes les mêmes partitions.
+     */
+    private List<VehiclePartition> candidates() {
+        final int start = Math.floorMod(this.owner.hashCode(), this.partitions.size());
+        final List<VehiclePartition> candidates = new ArrayList<>(this.held.stream()
+                .sorted(Comparator.comparingInt(VehiclePartition::getIndex))
+                .toList());
+        for (int offset = 0; offset < this.partitions.size(); offset++) {
+            final VehiclePartition partition = this.partitions.get((start + offset) % this.partitions.size());
+            if (!this.held.contains(partition)) {
+                candidates.add(partition);
+            }
+        }
+        return candidates;
+    }
+
+    private String partitionName(final VehiclePartition partition) {
+        return this.name + PARTITION_SUFFIX + partition.getIndex();
+    }
+}
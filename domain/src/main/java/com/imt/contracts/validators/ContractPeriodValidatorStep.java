@@ -1,17 +1,18 @@
 package com.imt.contracts.validators;
 
-import com.imt.common.exceptions.BadRequestException;
-import com.imt.common.exceptions.ImtException;
+import com.imt.common.model.ValidatorResult;
 import com.imt.common.validators.AbstractValidatorStep;
 import com.imt.contracts.model.Contract;
 
 public class ContractPeriodValidatorStep extends AbstractValidatorStep<Contract> {
 
     @Override
-    public void check(final Contract toValidate) throws ImtException {
+    public ValidatorResult evaluate(final Contract toValidate) {
         if (toValidate.getStartDate().isAfter(toValidate.getEndDate())) {
-            throw new BadRequestException("La date de début doit précéder ou être égale à la date de fin du contrat.");
+            return ValidatorResult.invalid("La date de début doit précéder ou être égale à la date de fin du contrat.");
         }
+
+        return ValidatorResult.valid();
     }
 }
 
@@ -1,7 +1,6 @@
 package com.imt.contracts.validators;
 
-import com.imt.common.exceptions.BadRequestException;
-import com.imt.common.exceptions.ImtException;
+import com.imt.common.model.ValidatorResult;
 import com.imt.common.validators.AbstractValidatorStep;
 import com.imt.contracts.model.Contract;
 import com.imt.contracts.model.ContractStateEnum;
@@ -9,15 +8,17 @@ import com.imt.contracts.model.ContractStateEnum;
 public class ContractStateValidatorStep extends AbstractValidatorStep<Contract> {
 
     @Override
-    public void check(final Contract toValidate) throws ImtException {
+    public ValidatorResult evaluate(final Contract toValidate) {
         if (ContractStateEnum.UNKNOWN.equals(toValidate.getState())) {
-            throw new BadRequestException(
+            return ValidatorResult.invalid(
                     String.format(
                             "Le statut communiqué ne correspond pas aux valeurs acceptables : %s",
                             ContractStateEnum.ACCEPTABLE_VALUES
                     )
             );
         }
+
+        return ValidatorResult.valid();
     }
 }
 
@@ -1,16 +1,14 @@
 package com.imt.contracts.validators;
 
-import com.imt.common.exceptions.ConflictException;
-import com.imt.common.exceptions.ImtException;
+import com.imt.common.model.ValidatorResult;
 import com.imt.common.validators.AbstractValidatorStep;
 import com.imt.contracts.ContractStorageProvider;
 import com.imt.contracts.model.Contract;
 import lombok.AllArgsConstructor;
 
-import java.time.LocalDate;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Objects;
+import java.util.Optional;
 
 @AllArgsConstructor
 public class ContractVehicleAvailabilityValidatorStep extends AbstractValidatorStep<Contract> {
@@ -18,12 +16,39 @@ public class ContractVehicleAvailabilityValidatorStep extends AbstractValidatorS
     private final ContractStorageProvider service;
 
     @Override
-    public void check(final Contract toValidate) throws ImtException {
-        final Collection<Contract> existingContracts = Objects.requireNonNullElse(
-                this.service.findByVehicleIdentifier(toValidate.getVehicleIdentifier()),
-                Collections.emptySet()
+    public boolean isIoBound() {
+        return true;
+    }
+
+    /**
+     * Demande au stockage le premier contrat bloquant qui chevauche la période, sans charger l'historique du véhicule.
+     */
+    @Override
+    public ValidatorResult evaluate(final Contract toValidate) {
+        final Optional<Contract> overlappingContract = Objects.requireNonNullElse(
+                this.service.findFirstOverlappingContract(
+                        toValidate.getVehicleIdentifier(),
+                        toValidate.getStartDate(),
+                        toValidate.getEndDate(),
+                        toValidate.getIdentifier()
+                ),
+                Optional.empty()
         );
 
+        return overlappingContract
+                .map(ContractVehicleAvailabilityValidatorStep::overlapConflict)
+                .orElseGet(ValidatorResult::valid);
+    }
+
+    /**
+     * Vérifie qu'aucun contrat bloquant parmi ceux fournis ne chevauche la période du contrat à valider.
+     * Les contrats fournis sont supposés concerner le même véhicule.
+     *
+     * @param toValidate        le contrat à valider
+     * @param existingContracts les contrats déjà connus pour le véhicule
+     * @return un résultat valide, ou un conflit désignant le premier contrat bloquant trouvé
+     */
+    public static ValidatorResult checkAgainst(final Contract toValidate, final Collection<Contract> existingContracts) {
         for (final Contract existingContract : existingContracts) {
             if (existingContract.getIdentifier().equals(toValidate.getIdentifier())) {
                 continue;
@@ -33,30 +58,22 @@ public class ContractVehicleAvailabilityValidatorStep extends AbstractValidatorS
                 continue;
             }
 
-            if (periodsOverlap(
-                    existingContract.getStartDate(),
-                    existingContract.getEndDate(),
-                    toValidate.getStartDate(),
-                    toValidate.getEndDate()
-            )) {
-                throw new ConflictException(
-                        String.format(
-                                "Le véhicule est déjà réservé par le contrat %s sur la période demandée (%s - %s).",
-                                existingContract.getIdentifier(),
-                                existingContract.getStartDate(),
-                                existingContract.getEndDate()
-                        )
-                );
+            if (existingContract.overlaps(toValidate)) {
+                return overlapConflict(existingContract);
             }
         }
+
+        return ValidatorResult.valid();
     }
 
-    private static boolean periodsOverlap(final LocalDate start1,
-                                          final LocalDate end1,
-                                          final LocalDate start2,
-                                          final LocalDate end2) {
-        return !end1.isBefore(start2) && !end2.isBefore(start1);
+    private static ValidatorResult overlapConflict(final Contract existingContract) {
+        return ValidatorResult.conflict(
+                String.format(
+                        "Le véhicule est déjà réservé par le contrat %s sur la période demandée (%s - %s).",
+                        existingContract.getIdentifier(),
+                        existingContract.getStartDate(),
+                        existingContract.getEndDate()
+                )
+        );
     }
 }
-
-
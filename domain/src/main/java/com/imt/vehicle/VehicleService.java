@@ -1,9 +1,16 @@
 package com.imt.vehicle;
 
 import com.imt.common.exceptions.ImtException;
+import com.imt.common.model.FieldChanges;
+import com.imt.common.versioning.OptimisticRetry;
 import com.imt.vehicle.model.Vehicle;
+import com.imt.vehicle.model.VehicleBrokenEvent;
+import com.imt.vehicle.model.VehicleStateEnum;
 import lombok.AllArgsConstructor;
+
+import java.time.Instant;
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 @AllArgsConstructor
 public class VehicleService {
@@ -22,12 +29,55 @@ public class VehicleService {
         return this.service.getByLicensePlate(licensePlate);
     }
 
+    public Collection<Vehicle> getByState(final VehicleStateEnum state) {
+        return Objects.requireNonNullElse(this.service.getByState(state), Collections.emptySet());
+    }
+
     public Vehicle create(final Vehicle newVehicle) throws ImtException {
         return this.service.save(newVehicle);
     }
 
-    public void update(final Vehicle updatedVehicle) throws ImtException {
-        this.service.save(updatedVehicle);
+    /**
+     * Met à jour un véhicule à partir de sa dernière version enregistrée.
+     * Les modifications sont appliquées à la version lue et seuls les champs modifiés sont écrits, de façon
+     * conditionnelle ; si le véhicule a été modifié entre-temps, elles sont réappliquées à la nouvelle version
+     * (voir {@link OptimisticRetry}).
+     *
+     * @param id      l'identifiant du véhicule
+     * @param changes les modifications à appliquer à la version enregistrée
+     * @return le véhicule mis à jour, ou Optional.empty() si le véhicule n'existe pas
+     * @throws ImtException si la mise à jour est invalide ou reste en conflit après toutes les tentatives
+     */
+    public Optional<Vehicle> update(final String id, final UnaryOperator<Vehicle> changes) throws ImtException {
+        return OptimisticRetry.run(() -> {
+            final Optional<Vehicle> current = this.getOne(id);
+            if (current.isEmpty()) {
+                return Optional.<Vehicle>empty();
+            }
+            return this.applyChanges(current.get(), changes.apply(current.get()));
+        });
+    }
+
+    /**
+     * Écrit les champs de {@code updated} qui diffèrent de {@code current} ; rien n'est écrit si aucun champ n'a
+     * changé. Un véhicule qui passe en panne enregistre dans la même écriture l'événement qui déclenchera
+     * l'annulation de ses contrats en attente (règle 1), traitée en arrière-plan.
+     *
+     * @param current la version enregistrée du véhicule
+     * @param updated le véhicule modifié
+     * @return le véhicule mis à jour, ou Optional.empty() s'il a été supprimé entre-temps
+     * @throws ImtException si la mise à jour est refusée par le stockage
+     */
+    protected Optional<Vehicle> applyChanges(final Vehicle current, final Vehicle updated) throws ImtException {
+        final FieldChanges changes = updated.changesSince(current);
+        if (changes.isEmpty()) {
+            return Optional.of(current);
+        }
+
+        if (changes.contains("state") && updated.getState() == VehicleStateEnum.BROKEN) {
+            return this.service.applyChangesWithEvent(updated, changes, VehicleBrokenEvent.of(updated.getId(), Instant.now()));
+        }
+        return this.service.applyChanges(updated, changes);
     }
 
     public void delete(final String identifier) throws ImtException {
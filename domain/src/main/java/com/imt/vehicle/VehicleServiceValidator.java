@@ -2,35 +2,85 @@ package com.imt.vehicle;
 
 import com.imt.common.exceptions.ImtException;
 import com.imt.vehicle.model.Vehicle;
+import com.imt.common.validators.ConstraintValidationEngine;
 import com.imt.common.validators.ConstraintValidatorStep;
+import com.imt.common.validators.UnicityEnforcement;
+import com.imt.common.validators.ValidatorPipeline;
 import com.imt.vehicle.validators.VehicleAlreadyExistValidatorStep;
 import com.imt.vehicle.validators.VehicleEngineTypeValidatorStep;
 import com.imt.vehicle.validators.VehicleStateValidatorStep;
 
+import java.util.Objects;
+import java.util.Optional;
+
 public class VehicleServiceValidator extends VehicleService {
 
+    private final ValidatorPipeline<Vehicle> createPipeline;
+    private final ValidatorPipeline<Vehicle> updatePipeline;
+
     public VehicleServiceValidator(final VehicleStorageProvider service) {
+        this(service, ConstraintValidationEngine.getDefault());
+    }
+
+    public VehicleServiceValidator(final VehicleStorageProvider service, final ConstraintValidationEngine validationEngine) {
+        this(service, validationEngine, UnicityEnforcement.PRE_CHECK);
+    }
+
+    /**
+     * Constructeur du service de validation des véhicules avec une stratégie de contrôle d'unicité.
+     * En mode {@link UnicityEnforcement#STORAGE_ONLY}, l'unicité de la plaque d'immatriculation n'est plus lue avant
+     * la création : elle est garantie par le stockage, qui signale le doublon lors de l'écriture.
+     *
+     * @param service            le service d'accès à la base de données pour les véhicules
+     * @param validationEngine   le moteur de validation des contraintes
+     * @param unicityEnforcement la stratégie de contrôle d'unicité (lecture préalable par défaut)
+     */
+    public VehicleServiceValidator(final VehicleStorageProvider service,
+                                   final ConstraintValidationEngine validationEngine,
+                                   final UnicityEnforcement unicityEnforcement) {
         super(service);
+        final ConstraintValidationEngine engine = Objects.requireNonNullElseGet(validationEngine, ConstraintValidationEngine::getDefault);
+        final UnicityEnforcement enforcement = Objects.requireNonNullElse(unicityEnforcement, UnicityEnforcement.PRE_CHECK);
+
+        final ValidatorPipeline.Builder<Vehicle> createBuilder = ValidatorPipeline.<Vehicle>builder()
+                .then(new ConstraintValidatorStep<>(engine))
+                .then(new VehicleStateValidatorStep())
+                .then(new VehicleEngineTypeValidatorStep());
+        if (enforcement.isPreChecked()) {
+            createBuilder.then(new VehicleAlreadyExistValidatorStep(this.service));
+        }
+        this.createPipeline = createBuilder.build();
+
+        this.updatePipeline = ValidatorPipeline.<Vehicle>builder()
+                .then(new ConstraintValidatorStep<>(engine))
+                .then(new VehicleStateValidatorStep())
+                .then(new VehicleEngineTypeValidatorStep())
+                .build();
     }
 
     public Vehicle create(final Vehicle newVehicle) throws ImtException {
-        new ConstraintValidatorStep<Vehicle>()
-                .linkWith(new VehicleAlreadyExistValidatorStep(this.service))
-                .linkWith(new VehicleStateValidatorStep())
-                .linkWith(new VehicleEngineTypeValidatorStep())
-                .validate(newVehicle)
-                .throwIfInvalid();
+        this.createPipeline.validate(newVehicle).throwIfInvalid();
 
         return super.create(newVehicle);
     }
 
-    public void update(final Vehicle updatedVehicle) throws ImtException {
-        new ConstraintValidatorStep<Vehicle>()
-                .linkWith(new VehicleStateValidatorStep())
-                .linkWith(new VehicleEngineTypeValidatorStep())
-                .validate(updatedVehicle)
-                .throwIfInvalid();
+    /**
+     * Valide le véhicule modifié avant d'en écrire les champs modifiés.
+     */
+    @Override
+    protected Optional<Vehicle> applyChanges(final Vehicle current, final Vehicle updated) throws ImtException {
+        this.updatePipeline.validate(updated).throwIfInvalid();
+
+        return super.applyChanges(current, updated);
+    }
 
-        super.update(updatedVehicle);
+    /**
+     * Retourne le nombre d'allers-retours vers le stockage évités par les pipelines de validation des véhicules,
+     * grâce au rejet anticipé des requêtes invalides par les vérifications en mémoire.
+     *
+     * @return le nombre cumulé d'appels au stockage évités (création et mise à jour)
+     */
+    public long getAvoidedStorageCalls() {
+        return this.createPipeline.getAvoidedIoCalls() + this.updatePipeline.getAvoidedIoCalls();
     }
 }
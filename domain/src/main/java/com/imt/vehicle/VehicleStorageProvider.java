@@ -1,6 +1,10 @@
 package com.imt.vehicle;
 
+import com.imt.common.exceptions.ConflictException;
+import com.imt.common.model.FieldChanges;
 import com.imt.vehicle.model.Vehicle;
+import com.imt.vehicle.model.VehicleBrokenEvent;
+import com.imt.vehicle.model.VehicleStateEnum;
 
 import java.util.Collection;
 import java.util.Optional;
@@ -11,6 +15,25 @@ public interface VehicleStorageProvider {
     Collection<Vehicle> getAll();
     Optional<Vehicle> get(final String id);
     Optional<Vehicle> getByLicensePlate(final String licensePlate);
-    Vehicle save(final Vehicle vehicle);
+    Collection<Vehicle> getByState(final VehicleStateEnum state);
+    Vehicle save(final Vehicle vehicle) throws ConflictException;
+
+    /**
+     * Écrit uniquement les champs modifiés d'un véhicule, si sa version est toujours celle portée par le véhicule.
+     *
+     * @return le véhicule mis à jour, ou Optional.empty() s'il n'existe plus
+     * @throws ConflictException ({@link com.imt.common.exceptions.VersionConflictException}) si le véhicule a été
+     *                           modifié depuis sa lecture, ou si la plaque d'immatriculation est déjà utilisée
+     */
+    Optional<Vehicle> applyChanges(final Vehicle vehicle, final FieldChanges changes) throws ConflictException;
+
+    /**
+     * Comme {@link #applyChanges}, en enregistrant l'événement dans la boîte d'envoi du véhicule par la même
+     * écriture : le changement et l'événement sont enregistrés ensemble, ou pas du tout.
+     *
+     * @return le véhicule mis à jour, ou Optional.empty() s'il n'existe plus
+     * @throws ConflictException dans les mêmes cas que {@link #applyChanges}
+     */
+    Optional<Vehicle> applyChangesWithEvent(final Vehicle vehicle, final FieldChanges changes, final VehicleBrokenEvent event) throws ConflictException;
     void delete(final String id);
 }
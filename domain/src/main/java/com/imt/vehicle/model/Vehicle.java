@@ -1,11 +1,14 @@
 package com.imt.vehicle.model;
 
+import com.imt.common.model.FieldChanges;
+import com.imt.constraints.CompiledConstraints;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import lombok.*;
 import java.time.LocalDate;
 import java.util.UUID;
 
+@CompiledConstraints
 @Getter
 @Builder(toBuilder = true)
 @AllArgsConstructor
@@ -44,5 +47,28 @@ public class Vehicle {
 
     @NotNull(message = "L'état ne peut pas être nul")
     private final VehicleStateEnum state;
+
+    /**
+     * Version de l'enregistrement, gérée par le stockage : null tant que le véhicule n'a jamais été enregistré.
+     */
+    private final Long version;
+
+    /**
+     * Retourne les champs de ce véhicule qui diffèrent de sa version précédente (identifiant et version exclus).
+     *
+     * @param previous la version enregistrée du véhicule
+     * @return les champs modifiés et leur nouvelle valeur
+     */
+    public FieldChanges changesSince(final Vehicle previous) {
+        return FieldChanges.builder()
+                .compare("brand", previous.getBrand(), this.brand)
+                .compare("model", previous.getModel(), this.model)
+                .compare("engineType", previous.getEngineType(), this.engineType)
+                .compare("color", previous.getColor(), this.color)
+                .compare("licensePlate", previous.getLicensePlate(), this.licensePlate)
+                .compare("acquisitionDate", previous.getAcquisitionDate(), this.acquisitionDate)
+                .compare("state", previous.getState(), this.state)
+                .build();
+    }
 }
 
@@ -0,0 +1,44 @@
+package com.imt.vehicle.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Événement "véhicule déclaré en panne", enregistré dans la boîte d'envoi du véhicule par la même écriture que son
+ * changement d'état. Il déclenche, en arrière-plan, l'annulation des contrats en attente du véhicule (règle 1).
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class VehicleBrokenEvent {
+
+    /**
+     * Identifiant de l'événement, unique dans la boîte d'envoi.
+     */
+    private final UUID identifier;
+
+    /**
+     * Identifiant du véhicule en panne.
+     */
+    private final String vehicleId;
+
+    /**
+     * Instant de l'enregistrement de la panne.
+     */
+    private final Instant occurredAt;
+
+    /**
+     * Nombre de traitements de l'événement déjà en échec.
+     */
+    private final int attempts;
+
+    public static VehicleBrokenEvent of(final String vehicleId, final Instant occurredAt) {
+        return new VehicleBrokenEvent(UUID.randomUUID(), vehicleId, occurredAt, 0);
+    }
+}
@@ -0,0 +1,45 @@
+package com.imt.vehicle.outbox;
+
+import com.imt.vehicle.model.VehicleBrokenEvent;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Boîte d'envoi des événements des véhicules, enregistrés avec le véhicule par
+ * {@link com.imt.vehicle.VehicleStorageProvider#applyChangesWithEvent}. Un événement reste en attente jusqu'à son
+ * acquittement : il est traité au moins une fois, même si le traitement est interrompu. Un événement dont le
+ * traitement échoue trop souvent est mis à l'écart, pour ne pas bloquer la boîte d'envoi.
+ */
+public interface VehicleOutboxStorageProvider {
+
+    /**
+     * Retourne les plus anciens événements en attente.
+     *
+     * @param limit le nombre maximal d'événements
+     * @return les événements en attente, du plus ancien au plus récent
+     */
+    List<VehicleBrokenEvent> findPending(final int limit);
+
+    /**
+     * Retire de la boîte d'envoi, en une seule écriture groupée, les événements traités.
+     *
+     * @param events les événements traités
+     */
+    void acknowledge(final Collection<VehicleBrokenEvent> events);
+
+    /**
+     * Incrémente, en une seule écriture groupée, le nombre de traitements en échec des événements, qui restent en
+     * attente.
+     *
+     * @param events les événements dont le traitement a échoué
+     */
+    void recordFailures(final Collection<VehicleBrokenEvent> events);
+
+    /**
+     * Retire les événements de la boîte d'envoi et les conserve à l'écart, pour analyse : ils ne sont plus traités.
+     *
+     * @param events les événements abandonnés
+     */
+    void deadLetter(final Collection<VehicleBrokenEvent> events);
+}
@@ -1,7 +1,6 @@
 package com.imt.vehicle.validators;
 
-import com.imt.common.exceptions.ConflictException;
-import com.imt.common.exceptions.ImtException;
+import com.imt.common.model.ValidatorResult;
 import com.imt.common.validators.AbstractValidatorStep;
 import com.imt.vehicle.VehicleStorageProvider;
 import com.imt.vehicle.model.Vehicle;
@@ -15,15 +14,22 @@ public class VehicleAlreadyExistValidatorStep extends AbstractValidatorStep<Vehi
     protected VehicleStorageProvider service;
 
     @Override
-    public void check(final Vehicle toValidate) throws ImtException {
+    public boolean isIoBound() {
+        return true;
+    }
+
+    @Override
+    public ValidatorResult evaluate(final Vehicle toValidate) {
         Optional<Vehicle> existingVehicleOpt = this.service.getByLicensePlate(toValidate.getLicensePlate());
         if (existingVehicleOpt.isPresent()) {
             Vehicle existingVehicle = existingVehicleOpt.get();
             if (!existingVehicle.getId().equals(toValidate.getId())) {
-                throw new ConflictException(
+                return ValidatorResult.conflict(
                         String.format("Un véhicule avec la plaque d'immatriculation '%s' existe déjà.", toValidate.getLicensePlate())
                 );
             }
         }
+
+        return ValidatorResult.valid();
     }
 }
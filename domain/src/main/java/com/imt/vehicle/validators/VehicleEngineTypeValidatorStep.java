@@ -1,7 +1,6 @@
 package com.imt.vehicle.validators;
 
-import com.imt.common.exceptions.BadRequestException;
-import com.imt.common.exceptions.ImtException;
+import com.imt.common.model.ValidatorResult;
 import com.imt.common.validators.AbstractValidatorStep;
 import com.imt.vehicle.model.EngineTypeEnum;
 import com.imt.vehicle.model.Vehicle;
@@ -11,13 +10,15 @@ import lombok.AllArgsConstructor;
 public class VehicleEngineTypeValidatorStep extends AbstractValidatorStep<Vehicle> {
 
     @Override
-    public void check(final Vehicle toValidate) throws ImtException {
+    public ValidatorResult evaluate(final Vehicle toValidate) {
         if (EngineTypeEnum.UNKNOWN.equals(toValidate.getEngineType())) {
-            throw new BadRequestException(
+            return ValidatorResult.invalid(
                     String.format("La motorisation communiquée ne correspond pas aux valeurs acceptables : %s",
                             EngineTypeEnum.ACCEPTABLE_VALUES)
             );
         }
+
+        return ValidatorResult.valid();
     }
 }
 
@@ -1,7 +1,6 @@
 package com.imt.vehicle.validators;
 
-import com.imt.common.exceptions.BadRequestException;
-import com.imt.common.exceptions.ImtException;
+import com.imt.common.model.ValidatorResult;
 import com.imt.common.validators.AbstractValidatorStep;
 import com.imt.vehicle.model.Vehicle;
 import com.imt.vehicle.model.VehicleStateEnum;
@@ -11,13 +10,15 @@ import lombok.AllArgsConstructor;
 public class VehicleStateValidatorStep extends AbstractValidatorStep<Vehicle> {
 
     @Override
-    public void check(final Vehicle toValidate) throws ImtException {
+    public ValidatorResult evaluate(final Vehicle toValidate) {
         if (VehicleStateEnum.UNKNOWN.equals(toValidate.getState())) {
-            throw new BadRequestException(
+            return ValidatorResult.invalid(
                     String.format("L'état communiqué ne correspond pas aux valeurs acceptables : %s",
                             VehicleStateEnum.ACCEPTABLE_VALUES)
             );
         }
+
+        return ValidatorResult.valid();
     }
 }
 
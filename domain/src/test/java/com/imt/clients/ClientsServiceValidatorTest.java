@@ -1,8 +1,10 @@
 package com.imt.clients;
 
 import com.imt.clients.model.Client;
+import com.imt.clients.model.ClientUnicityConflict;
 import com.imt.common.exceptions.ConflictException;
 import com.imt.common.exceptions.ImtException;
+import com.imt.common.validators.UnicityEnforcement;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,7 +13,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
-import java.util.Optional;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -47,11 +49,9 @@ class ClientsServiceValidatorTest {
                 .address("123 Rue Test")
                 .build();
 
-        // Mock des vérifications d'unicité (rien n'existe)
-        when(repository.findByLastNameAndFirstNameAndBirthDate(any(), any(), any()))
-                .thenReturn(Optional.empty());
-        when(repository.findByLicenseNumber(any()))
-                .thenReturn(Optional.empty());
+        // Mock de la vérification d'unicité (rien n'existe)
+        when(repository.findUnicityConflicts(any()))
+                .thenReturn(List.of());
 
         // Mock de la sauvegarde
         when(repository.save(any(Client.class))).thenReturn(newClient);
@@ -67,7 +67,7 @@ class ClientsServiceValidatorTest {
 
     @Test
     @DisplayName("CREATE - Doit échouer si le permis existe déjà")
-    void shouldNotCreateClientWhenLicenseExists() {
+    void shouldNotCreateClientWhenLicenseExists() throws ImtException {
         // Given
         String existingLicense = "010203040506123"; // Une valeur VALIDE pour le pattern, mais DÉJÀ PRISE
 
@@ -79,16 +79,18 @@ class ClientsServiceValidatorTest {
                 .address("123 Rue Test")
                 .build();
 
-        // Mock : On dit "Si on cherche '010203040506123', on trouve quelqu'un"
-        when(repository.findByLicenseNumber(existingLicense))
-                .thenReturn(Optional.of(Client.builder().build()));
+        // Mock : On dit "Le permis '010203040506123' appartient déjà à quelqu'un"
+        when(repository.findUnicityConflicts(invalidClient))
+                .thenReturn(List.of(new ClientUnicityConflict("other-id", ClientUnicityConflict.Rule.LICENSE_NUMBER)));
 
         // When & Then
         // 1. La ConstraintValidatorStep va passer (car "010203040506123" respecte le pattern)
-        // 2. La ClientUnicityLicenseValidatorStep va échouer (car le mock dit qu'il existe)
+        // 2. La ClientUnicityValidatorStep va échouer (car le mock dit qu'il existe)
         assertThatThrownBy(() -> service.create(invalidClient))
-                .isInstanceOf(ConflictException.class);
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("license number");
 
+        verify(repository, times(1)).findUnicityConflicts(any());
         verify(repository, never()).save(any());
     }
 
@@ -106,13 +108,9 @@ class ClientsServiceValidatorTest {
                 .address("New Adress")
                 .build();
 
-        // Mock: Unicité OK (soit empty, soit le même client trouvé)
-        // Cas 1 : Le repository ne trouve personne avec ce permis (parfait)
-        when(repository.findByLicenseNumber(updateClient.getLicenseNumber()))
-                .thenReturn(Optional.empty());
-        // Cas 2 : Le repository ne trouve personne avec ce nom (parfait)
-        when(repository.findByLastNameAndFirstNameAndBirthDate(any(), any(), any()))
-                .thenReturn(Optional.empty());
+        // Mock: Unicité OK (le client lui-même est exclu par la requête)
+        when(repository.findUnicityConflicts(updateClient))
+                .thenReturn(List.of());
 
         // When
         service.update(updateClient);
@@ -123,7 +121,7 @@ class ClientsServiceValidatorTest {
 
     @Test
     @DisplayName("UPDATE - Doit échouer si le nouveau permis appartient à un AUTRE client")
-    void shouldFailUpdateIfLicenseTakenByOther() {
+    void shouldFailUpdateIfLicenseTakenByOther() throws ImtException {
         // Given
         String myId = "my-id";
         String otherId = "other-id";
@@ -139,10 +137,8 @@ class ClientsServiceValidatorTest {
                 .build();
 
         // Mock : On trouve un client en base avec ce permis, mais c'est un AUTRE (otherId)
-        Client otherClient = Client.builder().id(otherId).build();
-
-        when(repository.findByLicenseNumber(conflictLicense))
-                .thenReturn(Optional.of(otherClient));
+        when(repository.findUnicityConflicts(clientToUpdate))
+                .thenReturn(List.of(new ClientUnicityConflict(otherId, ClientUnicityConflict.Rule.LICENSE_NUMBER)));
 
         // When & Then
         assertThatThrownBy(() -> service.update(clientToUpdate))
@@ -150,4 +146,31 @@ class ClientsServiceValidatorTest {
 
         verify(repository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("CREATE - En écriture rapide, l'unicité est laissée au stockage")
+    void shouldSkipUnicityReadInFastWriteMode() throws ImtException {
+        // Given
+        ClientsServiceValidator fastWriteService =
+                new ClientsServiceValidator(repository, null, UnicityEnforcement.STORAGE_ONLY);
+        Client newClient = Client.builder()
+                .id(UUID.randomUUID().toString())
+                .lastName("Valid")
+                .firstName("User")
+                .dateOfBirth(LocalDate.of(2000, 1, 1))
+                .licenseNumber("010203040506123")
+                .address("123 Rue Test")
+                .build();
+
+        // Mock : le stockage refuse l'écriture (index unique)
+        when(repository.save(newClient))
+                .thenThrow(new ConflictException("A client with license number '010203040506123' already exists."));
+
+        // When & Then
+        assertThatThrownBy(() -> fastWriteService.create(newClient))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("license number");
+
+        verify(repository, never()).findUnicityConflicts(any());
+    }
+}
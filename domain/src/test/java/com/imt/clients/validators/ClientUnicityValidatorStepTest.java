@@ -2,6 +2,7 @@ package com.imt.clients.validators;
 
 import com.imt.clients.ClientStorageProvider;
 import com.imt.clients.model.Client;
+import com.imt.clients.model.ClientUnicityConflict;
 import com.imt.common.exceptions.ConflictException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,11 +12,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
-import java.util.Optional;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,9 +46,8 @@ class ClientUnicityValidatorStepTest {
                 .build();
 
         // Mock : Trouvé
-        when(repository.findByLastNameAndFirstNameAndBirthDate(
-                "Dupont", "Jean", LocalDate.of(1990, 1, 1)))
-                .thenReturn(Optional.of(Client.builder().build()));
+        when(repository.findUnicityConflicts(clientToCheck))
+                .thenReturn(List.of(new ClientUnicityConflict("other-id", ClientUnicityConflict.Rule.IDENTITY)));
 
         // When & Then
         assertThatThrownBy(() -> validator.check(clientToCheck))
@@ -64,11 +66,33 @@ class ClientUnicityValidatorStepTest {
                 .build();
 
         // Mock : Pas trouvé
-        when(repository.findByLastNameAndFirstNameAndBirthDate(any(), any(), any()))
-                .thenReturn(Optional.empty());
+        when(repository.findUnicityConflicts(any()))
+                .thenReturn(List.of());
 
         // When & Then
         assertThatCode(() -> validator.check(clientToCheck))
                 .doesNotThrowAnyException();
     }
+
+    @Test
+    @DisplayName("Doit rejeter si le numéro de permis appartient à un autre client")
+    void shouldThrowConflictWhenLicenseNumberIsTaken() {
+        // Given
+        Client clientToCheck = Client.builder()
+                .lastName("Dupont")
+                .firstName("Jean")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .licenseNumber("AB123YZ")
+                .build();
+
+        // Mock : un seul appel au stockage couvre les deux règles
+        when(repository.findUnicityConflicts(clientToCheck))
+                .thenReturn(List.of(new ClientUnicityConflict("other-id", ClientUnicityConflict.Rule.LICENSE_NUMBER)));
+
+        // When & Then
+        assertThatThrownBy(() -> validator.check(clientToCheck))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("license number 'AB123YZ'");
+        verify(repository, times(1)).findUnicityConflicts(clientToCheck);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.imt.common.model;
+
+import com.imt.common.exceptions.BadRequestException;
+import com.imt.common.exceptions.ConflictException;
+import com.imt.common.exceptions.ImtException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ValidatorResult - Tests unitaires")
+class ValidatorResultTest {
+
+    @Test
+    @DisplayName("valid() - Doit toujours retourner la même instance")
+    void shouldReuseValidInstance() {
+        assertThat(ValidatorResult.valid()).isSameAs(ValidatorResult.valid());
+        assertThat(ValidatorResult.valid().getExceptionToThrow()).isNull();
+    }
+
+    @Test
+    @DisplayName("conflict() - Doit lever une ConflictException sans pile d'appels")
+    void shouldThrowStacklessConflictException() {
+        ValidatorResult result = ValidatorResult.conflict("already booked");
+
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getFailureType()).isEqualTo(ValidatorResult.FailureType.CONFLICT);
+        assertThatThrownBy(result::throwIfInvalid)
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("already booked")
+                .satisfies(exception -> assertThat(exception.getStackTrace()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("invalid() - Doit comparer les échecs par valeur")
+    void shouldCompareFailuresByValue() {
+        assertThat(ValidatorResult.invalid("bad")).isEqualTo(ValidatorResult.invalid("bad"));
+        assertThat(ValidatorResult.invalid("bad")).isNotEqualTo(ValidatorResult.conflict("bad"));
+    }
+
+    @Test
+    @DisplayName("invalid(ImtException) - Doit lever l'exception fournie telle quelle")
+    void shouldRethrowProvidedException() {
+        ImtException exception = new BadRequestException("provided");
+        ValidatorResult result = ValidatorResult.invalid(exception);
+
+        assertThat(result.getFailureType()).isEqualTo(ValidatorResult.FailureType.BAD_REQUEST);
+        assertThat(result.getMessage()).isEqualTo("provided");
+        assertThat(result.getExceptionToThrow()).isSameAs(exception);
+    }
+}
@@ -0,0 +1,90 @@
+package com.imt.common.validators;
+
+import com.imt.clients.model.Client;
+import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractStateEnum;
+import com.imt.vehicle.model.EngineTypeEnum;
+import com.imt.vehicle.model.Vehicle;
+import com.imt.vehicle.model.VehicleStateEnum;
+import jakarta.validation.ConstraintViolation;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Vérificateurs de contraintes générés - Parité avec Hibernate Validator")
+class CompiledConstraintCheckerTest {
+
+    private static ConstraintValidationEngine engine;
+
+    @BeforeAll
+    static void setUp() {
+        engine = new ConstraintValidationEngine(Client.class, Vehicle.class, Contract.class);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        engine.close();
+    }
+
+    static Stream<Object> models() {
+        final Client validClient = Client.builder()
+                .lastName("Valid")
+                .firstName("User")
+                .dateOfBirth(LocalDate.of(2000, 1, 1))
+                .licenseNumber("010203040506123")
+                .address("123 Rue Test")
+                .build();
+        final Vehicle validVehicle = Vehicle.builder()
+                .brand("Renault")
+                .model("Clio")
+                .engineType(EngineTypeEnum.values()[0])
+                .color("Rouge")
+                .licensePlate("AB-123-CD")
+                .acquisitionDate(LocalDate.of(2023, 1, 1))
+                .state(VehicleStateEnum.AVAILABLE)
+                .build();
+        final Contract validContract = Contract.builder()
+                .clientIdentifier(UUID.randomUUID())
+                .vehicleIdentifier(UUID.randomUUID())
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 31))
+                .state(ContractStateEnum.PENDING)
+                .vehicleState(VehicleStateEnum.AVAILABLE)
+                .build();
+
+        return Stream.of(
+                validClient,
+                Client.builder().build(),
+                validClient.toBuilder().lastName("X").firstName("J3an").build(),
+                validClient.toBuilder().licenseNumber("invalid license").address("abc").build(),
+                validClient.toBuilder().dateOfBirth(LocalDate.now()).build(),
+                validClient.toBuilder().address("a".repeat(256)).build(),
+                validVehicle,
+                Vehicle.builder().build(),
+                validVehicle.toBuilder().licensePlate("AB123CD").color("Rouge 2").brand("").build(),
+                validContract,
+                Contract.builder().identifier(null).build()
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("models")
+    @DisplayName("violationMessages() - Doit produire les mêmes messages que la validation réflexive")
+    void shouldProduceSameMessagesAsReflectiveValidation(final Object model) {
+        assertThat(engine.hasCompiledChecker(model.getClass())).isTrue();
+
+        assertThat(engine.violationMessages(model))
+                .containsExactlyInAnyOrderElementsOf(engine.validate(model).stream()
+                        .map(ConstraintViolation::getMessage)
+                        .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,54 @@
+package com.imt.common.validators;
+
+import com.imt.clients.model.Client;
+import com.imt.common.exceptions.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ConstraintValidationEngine - Tests unitaires")
+class ConstraintValidationEngineTest {
+
+    @Test
+    @DisplayName("getDefault() - Doit toujours retourner la même instance")
+    void shouldReturnSameDefaultInstance() {
+        assertThat(ConstraintValidationEngine.getDefault()).isSameAs(ConstraintValidationEngine.getDefault());
+    }
+
+    @Test
+    @DisplayName("validate() - Doit détecter les violations avec un moteur préchargé")
+    void shouldDetectViolationsWithPreloadedEngine() {
+        // Given
+        try (ConstraintValidationEngine engine = new ConstraintValidationEngine(Client.class)) {
+            Client invalidClient = Client.builder()
+                    .lastName("Valid")
+                    .firstName("User")
+                    .dateOfBirth(LocalDate.of(2000, 1, 1))
+                    .licenseNumber("invalid license")
+                    .address("123 Rue Test")
+                    .build();
+
+            // When & Then
+            assertThat(engine.validate(invalidClient)).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("ConstraintValidatorStep - Doit réutiliser le moteur fourni")
+    void shouldUseProvidedEngineInStep() {
+        // Given
+        try (ConstraintValidationEngine engine = new ConstraintValidationEngine(Client.class)) {
+            ConstraintValidatorStep<Client> step = new ConstraintValidatorStep<>(engine);
+            Client invalidClient = Client.builder().build();
+
+            // When & Then
+            assertThatThrownBy(() -> step.check(invalidClient))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessageContaining("Last name cannot be null");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.imt.common.validators;
+
+import com.imt.clients.model.Client;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût par appel de la validation des contraintes d'un client :
+ * fabrique reconstruite à chaque appel (ancien comportement) contre moteur partagé.
+ * Lancement : exécuter la méthode main depuis le classpath de test du module domain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstraintValidatorStepBenchmark {
+
+    private Client client;
+    private ConstraintValidationEngine engine;
+
+    @Setup
+    public void setUp() {
+        this.client = Client.builder()
+                .lastName("Valid")
+                .firstName("User")
+                .dateOfBirth(LocalDate.of(2000, 1, 1))
+                .licenseNumber("010203040506123")
+                .address("123 Rue Test")
+                .build();
+        this.engine = new ConstraintValidationEngine(Client.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.engine.close();
+    }
+
+    @Benchmark
+    public int factoryPerCall() {
+        try (final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
+            return validatorFactory.getValidator().validate(this.client).size();
+        }
+    }
+
+    @Benchmark
+    public int sharedEngine() {
+        return this.engine.validate(this.client).size();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ConstraintValidatorStepBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
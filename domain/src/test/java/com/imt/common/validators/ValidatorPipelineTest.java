@@ -0,0 +1,177 @@
+package com.imt.common.validators;
+
+import com.imt.common.exceptions.BadRequestException;
+import com.imt.common.model.ValidatorResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ValidatorPipeline - Tests unitaires")
+class ValidatorPipelineTest {
+
+    @Test
+    @DisplayName("validate() - Doit exécuter les étapes dans l'ordre de déclaration")
+    void shouldRunStepsInDeclarationOrder() {
+        // Given
+        List<String> calls = new ArrayList<>();
+        ValidatorPipeline<String> pipeline = ValidatorPipeline.<String>builder()
+                .then(new RecordingStep("first", calls, false))
+                .then(new RecordingStep("second", calls, false))
+                .build();
+
+        // When
+        ValidatorResult result = pipeline.validate("value");
+
+        // Then
+        assertThat(result.isValid()).isTrue();
+        assertThat(calls).containsExactly("first", "second");
+    }
+
+    @Test
+    @DisplayName("validate() - Doit s'arrêter à la première étape en échec")
+    void shouldStopAtFirstFailure() {
+        // Given
+        List<String> calls = new ArrayList<>();
+        ValidatorPipeline<String> pipeline = ValidatorPipeline.<String>builder()
+                .then(new RecordingStep("first", calls, true))
+                .then(new RecordingStep("second", calls, false))
+                .build();
+
+        // When
+        ValidatorResult result = pipeline.validate("value");
+
+        // Then
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getExceptionToThrow()).isInstanceOf(BadRequestException.class);
+        assertThat(calls).containsExactly("first");
+    }
+
+    @Test
+    @DisplayName("validate() - Doit pouvoir être réutilisé entre plusieurs appels")
+    void shouldBeReusable() {
+        // Given
+        List<String> calls = new ArrayList<>();
+        ValidatorPipeline<String> pipeline = ValidatorPipeline.<String>builder()
+                .then(new RecordingStep("only", calls, false))
+                .build();
+
+        // When
+        pipeline.validate("a");
+        pipeline.validate("b");
+
+        // Then
+        assertThat(pipeline.size()).isEqualTo(1);
+        assertThat(calls).containsExactly("only", "only");
+    }
+
+    @Test
+    @DisplayName("validate() - Doit rejeter un objet null")
+    void shouldRejectNullObject() {
+        ValidatorPipeline<String> pipeline = ValidatorPipeline.<String>builder().build();
+
+        assertThatThrownBy(() -> pipeline.validate(null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    @DisplayName("build() - Doit placer les étapes en mémoire avant les étapes d'entrée/sortie")
+    void shouldRunPureStepsBeforeIoSteps() {
+        // Given
+        List<String> calls = new ArrayList<>();
+        ValidatorPipeline<String> pipeline = ValidatorPipeline.<String>builder()
+                .then(new RecordingStep("io", calls, false, true, AbstractValidatorStep.DEFAULT_IO_COST))
+                .then(new RecordingStep("pure", calls, false))
+                .then(new RecordingStep("cheapIo", calls, false, true, 10))
+                .then(new RecordingStep("otherPure", calls, false))
+                .build();
+
+        // When
+        pipeline.validate("value");
+
+        // Then
+        assertThat(calls).containsExactly("pure", "otherPure", "cheapIo", "io");
+    }
+
+    @Test
+    @DisplayName("validate() - Doit compter les appels au stockage évités après un échec en mémoire")
+    void shouldCountAvoidedIoCalls() {
+        // Given
+        List<String> calls = new ArrayList<>();
+        ValidatorPipeline<String> pipeline = ValidatorPipeline.<String>builder()
+                .then(new RecordingStep("firstIo", calls, false, true, AbstractValidatorStep.DEFAULT_IO_COST))
+                .then(new RecordingStep("secondIo", calls, false, true, AbstractValidatorStep.DEFAULT_IO_COST))
+                .then(new RecordingStep("pure", calls, true))
+                .build();
+
+        // When
+        ValidatorResult first = pipeline.validate("a");
+        ValidatorResult second = pipeline.validate("b");
+
+        // Then
+        assertThat(first.isValid()).isFalse();
+        assertThat(second.isValid()).isFalse();
+        assertThat(calls).containsExactly("pure", "pure");
+        assertThat(pipeline.getValidationCount()).isEqualTo(2);
+        assertThat(pipeline.getAvoidedIoCalls()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("validate() - Doit compter uniquement les étapes d'entrée/sortie restantes après un échec d'E/S")
+    void shouldCountRemainingIoStepsAfterIoFailure() {
+        // Given
+        List<String> calls = new ArrayList<>();
+        ValidatorPipeline<String> pipeline = ValidatorPipeline.<String>builder()
+                .then(new RecordingStep("pure", calls, false))
+                .then(new RecordingStep("firstIo", calls, true, true, AbstractValidatorStep.DEFAULT_IO_COST))
+                .then(new RecordingStep("secondIo", calls, false, true, AbstractValidatorStep.DEFAULT_IO_COST))
+                .build();
+
+        // When
+        pipeline.validate("value");
+
+        // Then
+        assertThat(calls).containsExactly("pure", "firstIo");
+        assertThat(pipeline.getAvoidedIoCalls()).isEqualTo(1);
+    }
+
+    private static class RecordingStep extends AbstractValidatorStep<String> {
+        private final String name;
+        private final List<String> calls;
+        private final boolean fails;
+        private final boolean ioBound;
+        private final int cost;
+
+        RecordingStep(final String name, final List<String> calls, final boolean fails) {
+            this(name, calls, fails, false, AbstractValidatorStep.DEFAULT_PURE_COST);
+        }
+
+        RecordingStep(final String name, final List<String> calls, final boolean fails, final boolean ioBound, final int cost) {
+            this.name = name;
+            this.calls = calls;
+            this.fails = fails;
+            this.ioBound = ioBound;
+            this.cost = cost;
+        }
+
+        @Override
+        public boolean isIoBound() {
+            return this.ioBound;
+        }
+
+        @Override
+        public int getEstimatedCost() {
+            return this.cost;
+        }
+
+        @Override
+        public ValidatorResult evaluate(final String toValidate) {
+            this.calls.add(this.name);
+            return this.fails ? ValidatorResult.invalid(this.name + " failed") : ValidatorResult.valid();
+        }
+    }
+}
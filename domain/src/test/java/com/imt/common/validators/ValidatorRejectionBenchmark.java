@@ -0,0 +1,108 @@
+package com.imt.common.validators;
+
+import com.imt.common.exceptions.ImtException;
+import com.imt.common.model.ValidatorResult;
+import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractStateEnum;
+import com.imt.contracts.validators.ContractPeriodValidatorStep;
+import com.imt.contracts.validators.ContractStateValidatorStep;
+import com.imt.contracts.validators.ContractVehicleReadinessValidatorStep;
+import com.imt.vehicle.model.VehicleStateEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du chemin de rejet d'un contrat (dates inversées) :
+ * exceptions avec pile d'appels levées par chaque étape (ancien comportement), exceptions métier sans pile
+ * d'appels, et résultats retournés comme valeurs par le pipeline.
+ * Lancement : exécuter la méthode main depuis le classpath de test du module domain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorRejectionBenchmark {
+
+    private Contract invalidContract;
+    private AbstractValidatorStep<Contract> periodStep;
+    private ValidatorPipeline<Contract> pipeline;
+
+    @Setup
+    public void setUp() {
+        this.invalidContract = Contract.builder()
+                .identifier(UUID.randomUUID())
+                .clientIdentifier(UUID.randomUUID())
+                .vehicleIdentifier(UUID.randomUUID())
+                .startDate(LocalDate.of(2024, 1, 31))
+                .endDate(LocalDate.of(2024, 1, 1))
+                .state(ContractStateEnum.PENDING)
+                .vehicleState(VehicleStateEnum.AVAILABLE)
+                .build();
+        this.periodStep = new ContractPeriodValidatorStep();
+        this.pipeline = ValidatorPipeline.<Contract>builder()
+                .then(new ContractStateValidatorStep())
+                .then(this.periodStep)
+                .then(new ContractVehicleReadinessValidatorStep())
+                .build();
+    }
+
+    @Benchmark
+    public Object stackfulException() {
+        try {
+            if (!this.periodStep.evaluate(this.invalidContract).isValid()) {
+                throw new StackfulRejection("La date de début doit précéder ou être égale à la date de fin du contrat.");
+            }
+            return null;
+        } catch (final StackfulRejection e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object stacklessException() {
+        try {
+            this.periodStep.check(this.invalidContract);
+            return null;
+        } catch (final ImtException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public ValidatorResult resultValue() {
+        return this.pipeline.validate(this.invalidContract);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ValidatorRejectionBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+    /**
+     * Exception capturant sa pile d'appels, comme les exceptions métier avant cette optimisation.
+     */
+    private static final class StackfulRejection extends Exception {
+        StackfulRejection(final String message) {
+            super(message);
+        }
+    }
+}
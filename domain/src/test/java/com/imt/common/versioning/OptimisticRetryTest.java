@@ -0,0 +1,65 @@
+package com.imt.common.versioning;
+
+import com.imt.common.exceptions.BadRequestException;
+import com.imt.common.exceptions.VersionConflictException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("OptimisticRetry - Tests unitaires")
+class OptimisticRetryTest {
+
+    @Test
+    @DisplayName("run() - Rejoue la tentative après un conflit de version")
+    void shouldRetryOnVersionConflict() throws Exception {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = OptimisticRetry.run(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new VersionConflictException("conflit");
+            }
+            return "ok";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("run() - Abandonne après le nombre maximal de tentatives")
+    void shouldGiveUpAfterMaxAttempts() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When & Then
+        assertThatThrownBy(() -> OptimisticRetry.run(2, () -> {
+            attempts.incrementAndGet();
+            throw new VersionConflictException("conflit");
+        }))
+                .isInstanceOf(VersionConflictException.class)
+                .hasMessage("conflit");
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("run() - Ne rejoue pas les autres erreurs métier")
+    void shouldNotRetryOtherErrors() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When & Then
+        assertThatThrownBy(() -> OptimisticRetry.run(() -> {
+            attempts.incrementAndGet();
+            throw new BadRequestException("invalide");
+        }))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(attempts).hasValue(1);
+    }
+}
@@ -1,21 +1,35 @@
 package com.imt.contracts;
 
+import com.imt.common.exceptions.BadRequestException;
 import com.imt.common.exceptions.ImtException;
 import com.imt.contracts.model.Contract;
 import com.imt.contracts.model.ContractStateEnum;
+import com.imt.contracts.model.ContractTransition;
+import com.imt.contracts.model.ContractTransitionsReport;
+import com.imt.contracts.model.OccupancyPeriod;
+import com.imt.contracts.model.OccupancyStatusEnum;
+import com.imt.contracts.model.VehiclePartition;
+import com.imt.contracts.scheduling.InMemoryCheckpointStorageProvider;
+import com.imt.vehicle.model.EngineTypeEnum;
+import com.imt.vehicle.model.Vehicle;
+import com.imt.vehicle.model.VehicleStateEnum;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -25,52 +39,151 @@ public class ContractsServiceTest {
     @Mock
     private ContractStorageProvider repository;
 
-    @InjectMocks
+    private InMemoryCheckpointStorageProvider checkpoints;
+
     private ContractsService service;
 
+    @BeforeEach
+    void setUp() {
+        checkpoints = new InMemoryCheckpointStorageProvider();
+        // Lots de deux contrats, pour éprouver le découpage
+        service = new ContractsService(repository, checkpoints, 2);
+    }
+
+    @Test
+    @DisplayName("applyDueTransitions should apply today's due transitions of the whole fleet in one bulk write per chunk")
+    void applyDueTransitions_shouldStartAndMarkLate_inBulk() throws ImtException {
+        // Given : un contrat qui commence aujourd'hui et un contrat fini hier
+        Contract starting = aContract(ContractStateEnum.PENDING, LocalDate.now(), LocalDate.now().plusDays(3));
+        Contract overdue = aContract(ContractStateEnum.IN_PROGRESS, LocalDate.now().minusDays(5), LocalDate.now().minusDays(1));
+        when(repository.streamDueContracts(eq(LocalDate.now()), eq(VehiclePartition.ALL), isNull()))
+                .thenReturn(Stream.of(starting, overdue));
+        when(repository.findVehiclesHeldByLateContracts(Set.of(starting.getVehicleIdentifier()), LocalDate.now()))
+                .thenReturn(Set.of());
+        when(repository.applyTransitions(any())).thenAnswer(invocation -> applied(invocation.getArgument(0)));
+
+        // When
+        ContractTransitionsReport report = service.applyDueTransitions();
+
+        // Then : une lecture par curseur, une recherche des véhicules retenus et une écriture groupée
+        assertThat(report).isEqualTo(new ContractTransitionsReport(1, 1, 0, 3, null));
+        verify(repository).applyTransitions(List.of(
+                new ContractTransition(starting, ContractStateEnum.IN_PROGRESS),
+                new ContractTransition(overdue, ContractStateEnum.LATE)
+        ));
+        verify(repository, never()).save(any());
+        assertThat(checkpoints.find("contract-transitions")).isEmpty();
+    }
+
     @Test
-    @DisplayName("updateOverdueContracts should update overdue contracts to LATE and cancel future contracts for the same vehicle")
-    void updateOverdueContracts_shouldUpdateToLate_AndCancelNext() throws ImtException {
+    @DisplayName("applyDueTransitions should only read due contracts when nothing is due")
+    void applyDueTransitions_shouldStop_whenNothingIsDue() throws ImtException {
         // Given
-        Contract overdueContract = Contract.builder()
-                .identifier(UUID.randomUUID())
-                .vehicleIdentifier(UUID.randomUUID())
-                .state(ContractStateEnum.IN_PROGRESS)
-                .endDate(LocalDate.now().minusDays(1)) // Fini hier
-                .build();
+        when(repository.streamDueContracts(any(), any(), any())).thenReturn(Stream.empty());
 
-        Contract futureContract = Contract.builder()
-                .identifier(UUID.randomUUID())
-                .vehicleIdentifier(overdueContract.getVehicleIdentifier()) // Même véhicule
-                .state(ContractStateEnum.PENDING)
-                .startDate(LocalDate.now()) // Commence aujourd'hui
-                .build();
+        // When
+        ContractTransitionsReport report = service.applyDueTransitions();
+
+        // Then
+        assertThat(report).isEqualTo(new ContractTransitionsReport(0, 0, 0, 1, null));
+        verify(repository, never()).findVehiclesHeldByLateContracts(any(), any());
+        verify(repository, never()).applyTransitions(any());
+    }
+
+    @Test
+    @DisplayName("cancelContractsForBrokenVehicule should cancel pending contracts with one bulk storage operation")
+    void cancelContractsForBrokenVehicule_shouldDelegateToBulkCancellation() throws ImtException {
+        // Given
+        UUID vehicleId = UUID.randomUUID();
+        List<UUID> cancelled = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(repository.cancelPendingContractsByVehicleId(vehicleId)).thenReturn(cancelled);
+
+        // When
+        Collection<UUID> result = service.cancelContractsForBrokenVehicule(vehicleId);
+
+        // Then : aucune lecture ni écriture contrat par contrat
+        assertThat(result).containsExactlyElementsOf(cancelled);
+        verify(repository, never()).findPendingContractsByVehicleId(any());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("getAvailableVehicles should keep AVAILABLE vehicles that no locking contract occupies over the period")
+    void getAvailableVehicles_shouldFilterStateAndOccupiedVehicles() throws ImtException {
+        // Given
+        LocalDate startDate = LocalDate.of(2024, 3, 1);
+        LocalDate endDate = LocalDate.of(2024, 3, 31);
+        Vehicle free = aVehicle(VehicleStateEnum.AVAILABLE);
+        Vehicle occupied = aVehicle(VehicleStateEnum.AVAILABLE);
+        Vehicle broken = aVehicle(VehicleStateEnum.BROKEN);
 
-        // Mock du port de sortie
-        when(repository.findOverdueContracts(any())).thenReturn(List.of(overdueContract));
-        when(repository.findPendingContractsByVehicleId(overdueContract.getVehicleIdentifier()))
-                .thenReturn(List.of(futureContract));
+        when(repository.findOccupiedVehicles(startDate, endDate)).thenReturn(Set.of(UUID.fromString(occupied.getId())));
 
         // When
-        service.updateOverdueContracts();
+        Collection<Vehicle> result = service.getAvailableVehicles(List.of(free, occupied, broken), startDate, endDate);
 
         // Then
-        // On capture les sauvegardes pour vérifier les changements d'état
-        ArgumentCaptor<Contract> captor = ArgumentCaptor.forClass(Contract.class);
-        verify(repository, times(2)).save(captor.capture()); // 1 pour le retard, 1 pour l'annulation
+        assertThat(result).containsExactly(free);
+    }
+
+    @Test
+    @DisplayName("getAvailableVehicles should reject a period ending before it starts without querying storage")
+    void getAvailableVehicles_shouldRejectInvalidPeriod() {
+        // When & Then
+        assertThatThrownBy(() -> service.getAvailableVehicles(List.of(), LocalDate.of(2024, 3, 31), LocalDate.of(2024, 3, 1)))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.getAvailableVehicles(List.of(), null, LocalDate.of(2024, 3, 1)))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("getCalendar should fill the gaps between busy periods with free periods over the whole window")
+    void getCalendar_shouldReturnAlternatingRuns() throws ImtException {
+        // Given
+        UUID vehicleId = UUID.randomUUID();
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        OccupancyPeriod march = new OccupancyPeriod(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 10), OccupancyStatusEnum.BUSY);
+        OccupancyPeriod lastDay = new OccupancyPeriod(to, to, OccupancyStatusEnum.BUSY);
 
-        List<Contract> savedContracts = captor.getAllValues();
+        when(repository.findBusyPeriods(vehicleId, from, to)).thenReturn(List.of(march, lastDay));
 
-        // Règle 2 : Le contrat expiré doit passer à LATE
-        assertThat(savedContracts).anyMatch(c ->
-                c.getIdentifier().equals(overdueContract.getIdentifier())
-                        && c.getState() == ContractStateEnum.LATE
-        );
+        // When
+        List<OccupancyPeriod> result = service.getCalendar(vehicleId, from, to);
 
-        // Règle 3 : Le contrat futur bloqué doit passer à CANCELLED
-        assertThat(savedContracts).anyMatch(c ->
-                c.getIdentifier().equals(futureContract.getIdentifier())
-                        && c.getState() == ContractStateEnum.CANCELLED
+        // Then
+        assertThat(result).containsExactly(
+                new OccupancyPeriod(from, LocalDate.of(2024, 2, 29), OccupancyStatusEnum.FREE),
+                march,
+                new OccupancyPeriod(LocalDate.of(2024, 3, 11), LocalDate.of(2024, 12, 30), OccupancyStatusEnum.FREE),
+                lastDay
         );
     }
+
+    private static Vehicle aVehicle(VehicleStateEnum state) {
+        return Vehicle.builder()
+                .brand("Renault")
+                .model("Clio")
+                .engineType(EngineTypeEnum.GASOLINE)
+                .color("Bleu")
+                .licensePlate("AA-123-BB")
+                .acquisitionDate(LocalDate.of(2023, 1, 1))
+                .state(state)
+                .build();
+    }
+
+    private static Contract aContract(ContractStateEnum state, LocalDate startDate, LocalDate endDate) {
+        return Contract.builder()
+                .identifier(UUID.randomUUID())
+                .vehicleIdentifier(UUID.randomUUID())
+                .state(state)
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+    }
+
+    private static List<Contract> applied(Collection<ContractTransition> transitions) {
+        return transitions.stream().map(ContractTransition::applied).toList();
+    }
 }
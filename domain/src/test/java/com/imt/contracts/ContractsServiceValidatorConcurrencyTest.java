@@ -0,0 +1,139 @@
+package com.imt.contracts;
+
+import com.imt.common.exceptions.ConflictException;
+import com.imt.common.validators.ConstraintValidationEngine;
+import com.imt.contracts.availability.IndexedContractStorageProvider;
+import com.imt.contracts.availability.VehicleAvailabilityIndex;
+import com.imt.contracts.locks.StripedVehicleLockProvider;
+import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractStateEnum;
+import com.imt.vehicle.model.VehicleStateEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ContractsServiceValidator - Réservations concurrentes")
+class ContractsServiceValidatorConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int BOOKINGS_PER_THREAD = 200;
+
+    @Mock
+    private ContractStorageProvider storage;
+
+    private ContractsServiceValidator service;
+    private Queue<Contract> saved;
+
+    @BeforeEach
+    void setUp() throws ConflictException {
+        saved = new ConcurrentLinkedQueue<>();
+        // Enregistrement lent : élargit la fenêtre entre la vérification de disponibilité et l'écriture
+        when(storage.save(any())).thenAnswer(invocation -> {
+            Thread.sleep(0, 200_000);
+            Contract contract = invocation.getArgument(0);
+            saved.add(contract);
+            return contract;
+        });
+        // Le contrôle de chevauchement fait sous le verrou interroge le stockage
+        when(storage.findFirstOverlappingContract(any(), any(), any(), any())).thenAnswer(invocation -> saved.stream()
+                .filter(contract -> contract.getVehicleIdentifier().equals(invocation.getArgument(0)))
+                .filter(contract -> !contract.getStartDate().isAfter(invocation.getArgument(2))
+                        && !contract.getEndDate().isBefore(invocation.getArgument(1)))
+                .findFirst());
+
+        service = new ContractsServiceValidator(
+                new IndexedContractStorageProvider(storage, new VehicleAvailabilityIndex()),
+                ConstraintValidationEngine.getDefault(),
+                new StripedVehicleLockProvider(16)
+        );
+    }
+
+    @Test
+    @DisplayName("STRESS - Aucune double réservation d'un véhicule sous forte concurrence")
+    void shouldNeverDoubleBookVehicle() throws Exception {
+        // Given : peu de véhicules et des périodes courtes, pour multiplier les demandes en conflit
+        List<UUID> fleet = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            fleet.add(UUID.randomUUID());
+        }
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // When
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            Random random = new Random(thread);
+            tasks.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+                    LocalDate startDate = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(60));
+                    try {
+                        service.create(aBooking(fleet.get(random.nextInt(fleet.size())), startDate, startDate.plusDays(random.nextInt(3))));
+                    } catch (ConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> task : tasks) {
+            task.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(saved.size() + conflicts.get()).isEqualTo(THREADS * BOOKINGS_PER_THREAD);
+        assertThat(conflicts.get()).isPositive();
+        assertThat(doubleBookings(saved)).isZero();
+    }
+
+    private static long doubleBookings(final Collection<Contract> contracts) {
+        List<Contract> all = List.copyOf(contracts);
+        long overlaps = 0;
+        for (int i = 0; i < all.size(); i++) {
+            for (int j = i + 1; j < all.size(); j++) {
+                if (all.get(i).getVehicleIdentifier().equals(all.get(j).getVehicleIdentifier()) && all.get(i).overlaps(all.get(j))) {
+                    overlaps++;
+                }
+            }
+        }
+        return overlaps;
+    }
+
+    private static Contract aBooking(final UUID vehicleId, final LocalDate startDate, final LocalDate endDate) {
+        return Contract.builder()
+                .identifier(UUID.randomUUID())
+                .clientIdentifier(UUID.randomUUID())
+                .vehicleIdentifier(vehicleId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .state(ContractStateEnum.PENDING)
+                .vehicleState(VehicleStateEnum.AVAILABLE)
+                .build();
+    }
+}
@@ -2,9 +2,15 @@ package com.imt.contracts;
 
 import com.imt.contracts.model.Contract;
 import com.imt.contracts.model.ContractStateEnum;
+import com.imt.contracts.model.ContractValidationResult;
 import com.imt.common.exceptions.BadRequestException;
 import com.imt.common.exceptions.ConflictException;
 import com.imt.common.exceptions.ImtException;
+import com.imt.common.model.FieldChanges;
+import com.imt.common.model.ValidatorResult;
+import com.imt.common.validators.ConstraintValidationEngine;
+import com.imt.contracts.locks.VehicleLock;
+import com.imt.contracts.locks.VehicleLockProvider;
 import com.imt.vehicle.model.VehicleStateEnum;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +25,7 @@ import java.util.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,8 +65,9 @@ class ContractsServiceValidatorTest {
                 .vehicleState(VehicleStateEnum.AVAILABLE)
                 .build();
 
-        // Mock : aucun contrat existant pour ce véhicule
-        when(repository.findByVehicleIdentifier(vehicleId)).thenReturn(Collections.emptyList());
+        // Mock : aucun contrat bloquant sur la période pour ce véhicule
+        when(repository.findFirstOverlappingContract(vehicleId, newContract.getStartDate(), newContract.getEndDate(), contractId))
+                .thenReturn(Optional.empty());
         // Mock de la sauvegarde
         when(repository.save(any(Contract.class))).thenReturn(newContract);
 
@@ -73,7 +81,7 @@ class ContractsServiceValidatorTest {
 
     @Test
     @DisplayName("CREATE - Doit échouer si l'état du contrat est UNKNOWN")
-    void shouldNotCreateContractWhenStateIsUnknown() {
+    void shouldNotCreateContractWhenStateIsUnknown() throws ConflictException {
         // Given
         Contract invalidContract = Contract.builder()
                 .clientIdentifier(clientId)
@@ -94,7 +102,7 @@ class ContractsServiceValidatorTest {
 
     @Test
     @DisplayName("CREATE - Doit échouer si la date de début est après la date de fin")
-    void shouldNotCreateContractWhenStartDateAfterEndDate() {
+    void shouldNotCreateContractWhenStartDateAfterEndDate() throws ConflictException {
         // Given
         Contract invalidContract = Contract.builder()
                 .clientIdentifier(clientId)
@@ -111,11 +119,14 @@ class ContractsServiceValidatorTest {
                 .hasMessageContaining("La date de début doit précéder ou être égale à la date de fin");
 
         verify(repository, never()).save(any());
+        // La vérification de période, en mémoire, rejette la demande avant toute requête de disponibilité
+        verify(repository, never()).findFirstOverlappingContract(any(), any(), any(), any());
+        assertThat(service.getAvoidedStorageCalls()).isEqualTo(1);
     }
 
     @Test
     @DisplayName("CREATE - Doit échouer si le véhicule est en panne")
-    void shouldNotCreateContractWhenVehicleIsBroken() {
+    void shouldNotCreateContractWhenVehicleIsBroken() throws ConflictException {
         // Given
         Contract invalidContract = Contract.builder()
                 .clientIdentifier(clientId)
@@ -136,7 +147,7 @@ class ContractsServiceValidatorTest {
 
     @Test
     @DisplayName("CREATE - Doit échouer si l'état du véhicule est UNKNOWN")
-    void shouldNotCreateContractWhenVehicleStateIsUnknown() {
+    void shouldNotCreateContractWhenVehicleStateIsUnknown() throws ConflictException {
         // Given
         Contract invalidContract = Contract.builder()
                 .clientIdentifier(clientId)
@@ -157,7 +168,7 @@ class ContractsServiceValidatorTest {
 
     @Test
     @DisplayName("CREATE - Doit échouer si le véhicule est déjà réservé sur la période")
-    void shouldNotCreateContractWhenVehicleIsAlreadyRented() {
+    void shouldNotCreateContractWhenVehicleIsAlreadyRented() throws ConflictException {
         // Given
         Contract newContract = Contract.builder()
                 .identifier(contractId)
@@ -181,9 +192,9 @@ class ContractsServiceValidatorTest {
                 .vehicleState(VehicleStateEnum.IN_RENTAL)
                 .build();
 
-        // Mock : on trouve un contrat existant qui bloque
-        when(repository.findByVehicleIdentifier(vehicleId))
-                .thenReturn(Collections.singletonList(existingContract));
+        // Mock : le stockage trouve un contrat existant qui bloque
+        when(repository.findFirstOverlappingContract(vehicleId, newContract.getStartDate(), newContract.getEndDate(), contractId))
+                .thenReturn(Optional.of(existingContract));
 
         // When & Then
         assertThatThrownBy(() -> service.create(newContract))
@@ -219,9 +230,9 @@ class ContractsServiceValidatorTest {
                 .vehicleState(VehicleStateEnum.AVAILABLE)
                 .build();
 
-        // Mock : on trouve un contrat existant mais terminé
-        when(repository.findByVehicleIdentifier(vehicleId))
-                .thenReturn(Collections.singletonList(existingContract));
+        // Mock : le stockage ne retient que les états bloquants, le contrat terminé n'est donc pas remonté
+        when(repository.findFirstOverlappingContract(vehicleId, newContract.getStartDate(), newContract.getEndDate(), contractId))
+                .thenReturn(Optional.empty());
         when(repository.save(any(Contract.class))).thenReturn(newContract);
 
         // When
@@ -247,7 +258,8 @@ class ContractsServiceValidatorTest {
                 .build();
 
         // Mock: Aucun autre contrat qui bloque
-        when(repository.findByVehicleIdentifier(vehicleId)).thenReturn(Collections.emptyList());
+        when(repository.findFirstOverlappingContract(vehicleId, updateContract.getStartDate(), updateContract.getEndDate(), contractId))
+                .thenReturn(Optional.empty());
 
         // When
         service.update(updateContract);
@@ -258,7 +270,7 @@ class ContractsServiceValidatorTest {
 
     @Test
     @DisplayName("UPDATE - Doit échouer si un autre contrat bloque le véhicule sur la période")
-    void shouldFailUpdateIfOtherContractBlocksVehicle() {
+    void shouldFailUpdateIfOtherContractBlocksVehicle() throws ConflictException {
         // Given
         Contract contractToUpdate = Contract.builder()
                 .identifier(contractId)
@@ -282,8 +294,8 @@ class ContractsServiceValidatorTest {
                 .vehicleState(VehicleStateEnum.IN_RENTAL)
                 .build();
 
-        when(repository.findByVehicleIdentifier(vehicleId))
-                .thenReturn(Collections.singletonList(otherContract));
+        when(repository.findFirstOverlappingContract(vehicleId, contractToUpdate.getStartDate(), contractToUpdate.getEndDate(), contractId))
+                .thenReturn(Optional.of(otherContract));
 
         // When & Then
         assertThatThrownBy(() -> service.update(contractToUpdate))
@@ -293,6 +305,55 @@ class ContractsServiceValidatorTest {
         verify(repository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("UPDATE (champs) - N'écrit que les champs modifiés, après validation du contrat modifié")
+    void shouldApplyOnlyModifiedFieldsAfterValidation() throws ImtException {
+        // Given
+        Contract saved = Contract.builder()
+                .identifier(contractId)
+                .clientIdentifier(clientId)
+                .vehicleIdentifier(vehicleId)
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 31))
+                .state(ContractStateEnum.PENDING)
+                .vehicleState(VehicleStateEnum.AVAILABLE)
+                .version(4L)
+                .build();
+        when(repository.get(contractId)).thenReturn(Optional.of(saved));
+        when(repository.findFirstOverlappingContract(vehicleId, saved.getStartDate(), LocalDate.of(2024, 2, 10), contractId))
+                .thenReturn(Optional.empty());
+        when(repository.applyChanges(any(), any())).thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+
+        // When
+        Optional<Contract> updated = service.update(contractId, current -> current.toBuilder().endDate(LocalDate.of(2024, 2, 10)).build());
+
+        // Then
+        assertThat(updated).hasValueSatisfying(contract -> assertThat(contract.getEndDate()).isEqualTo(LocalDate.of(2024, 2, 10)));
+        verify(repository).applyChanges(any(), eq(FieldChanges.builder().compare("endDate", null, LocalDate.of(2024, 2, 10)).build()));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("UPDATE (champs) - N'écrit rien si le contrat modifié est invalide")
+    void shouldNotApplyChangesWhenUpdatedContractIsInvalid() throws ImtException {
+        // Given
+        Contract saved = Contract.builder()
+                .identifier(contractId)
+                .clientIdentifier(clientId)
+                .vehicleIdentifier(vehicleId)
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 31))
+                .state(ContractStateEnum.PENDING)
+                .vehicleState(VehicleStateEnum.AVAILABLE)
+                .build();
+        when(repository.get(contractId)).thenReturn(Optional.of(saved));
+
+        // When & Then : date de fin antérieure à la date de début
+        assertThatThrownBy(() -> service.update(contractId, current -> current.toBuilder().endDate(LocalDate.of(2023, 12, 1)).build()))
+                .isInstanceOf(BadRequestException.class);
+        verify(repository, never()).applyChanges(any(), any());
+    }
+
     @Test
     @DisplayName("UPDATE - Doit réussir si le même contrat bloque (mise à jour de soi-même)")
     void shouldSucceedUpdateWhenSameContractBlocks() throws ImtException {
@@ -307,9 +368,9 @@ class ContractsServiceValidatorTest {
                 .vehicleState(VehicleStateEnum.IN_RENTAL)
                 .build();
 
-        // Le même contrat existe déjà (mise à jour)
-        when(repository.findByVehicleIdentifier(vehicleId))
-                .thenReturn(Collections.singletonList(contractToUpdate));
+        // Le même contrat existe déjà (mise à jour) : il est exclu de la recherche par son identifiant
+        when(repository.findFirstOverlappingContract(vehicleId, contractToUpdate.getStartDate(), contractToUpdate.getEndDate(), contractId))
+                .thenReturn(Optional.empty());
         when(repository.save(any(Contract.class))).thenReturn(contractToUpdate);
 
         // When
@@ -318,5 +379,108 @@ class ContractsServiceValidatorTest {
         // Then
         verify(repository).save(contractToUpdate);
     }
-}
 
+    @Test
+    @DisplayName("BATCH - Doit charger les contrats de tous les véhicules en une seule requête et détecter les conflits")
+    void shouldValidateBatchWithSingleLookup() {
+        // Given
+        UUID otherVehicleId = UUID.randomUUID();
+        Contract existingContract = aContract(vehicleId, LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 20), ContractStateEnum.PENDING);
+        Contract conflictingWithStorage = aContract(vehicleId, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 25), ContractStateEnum.PENDING);
+        Contract accepted = aContract(otherVehicleId, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 10), ContractStateEnum.PENDING);
+        Contract conflictingWithBatch = aContract(otherVehicleId, LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 12), ContractStateEnum.PENDING);
+        Contract invalidPeriod = aContract(vehicleId, LocalDate.of(2024, 5, 10), LocalDate.of(2024, 5, 1), ContractStateEnum.PENDING);
+
+        when(repository.findByVehicleIdentifiers(Set.of(vehicleId, otherVehicleId)))
+                .thenReturn(List.of(existingContract));
+
+        // When
+        List<ContractValidationResult> results = service.validateAll(
+                List.of(conflictingWithStorage, accepted, conflictingWithBatch, invalidPeriod)
+        );
+
+        // Then
+        assertThat(results).extracting(ContractValidationResult::getContract)
+                .containsExactly(conflictingWithStorage, accepted, conflictingWithBatch, invalidPeriod);
+        assertThat(results).extracting(ContractValidationResult::isValid)
+                .containsExactly(false, true, false, false);
+        assertThat(results.get(0).getResult().getFailureType()).isEqualTo(ValidatorResult.FailureType.CONFLICT);
+        assertThat(results.get(2).getResult().getMessage()).contains(accepted.getIdentifier().toString());
+        assertThat(results.get(3).getResult().getFailureType()).isEqualTo(ValidatorResult.FailureType.BAD_REQUEST);
+        verify(repository, times(1)).findByVehicleIdentifiers(any());
+        verify(repository, never()).findFirstOverlappingContract(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("BATCH - Doit enregistrer uniquement les contrats valides en une seule opération")
+    void shouldCreateOnlyValidContractsOfBatch() throws ImtException {
+        // Given
+        Contract valid = aContract(vehicleId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 5), ContractStateEnum.PENDING);
+        Contract overlapping = aContract(vehicleId, LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 8), ContractStateEnum.PENDING);
+        Contract saved = valid.toBuilder().build();
+
+        when(repository.findByVehicleIdentifiers(Set.of(vehicleId))).thenReturn(List.of());
+        when(repository.saveAll(List.of(valid))).thenReturn(List.of(saved));
+
+        // When
+        List<ContractValidationResult> results = service.createAll(List.of(valid, overlapping));
+
+        // Then
+        assertThat(results.get(0).isValid()).isTrue();
+        assertThat(results.get(0).getContract()).isSameAs(saved);
+        assertThat(results.get(1).isValid()).isFalse();
+        verify(repository).saveAll(List.of(valid));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("BATCH - Ne doit pas interroger le stockage si aucun contrat ne passe les vérifications en mémoire")
+    void shouldNotQueryStorageWhenWholeBatchIsInvalid() throws ImtException {
+        // Given
+        Contract invalid = aContract(vehicleId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 5), ContractStateEnum.UNKNOWN);
+
+        // When
+        List<ContractValidationResult> results = service.createAll(List.of(invalid));
+
+        // Then
+        assertThat(results).singleElement().extracting(ContractValidationResult::isValid).isEqualTo(false);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("CREATE - Ne doit pas enregistrer le contrat si le verrou du véhicule a été perdu avant l'écriture")
+    void shouldNotCreateContractWhenLockIsLostBeforeWrite() throws ImtException {
+        // Given : un bail partagé repris par une autre réservation pendant la validation
+        VehicleLock lostLock = new VehicleLock() {
+            @Override
+            public void ensureHeld() throws ConflictException {
+                throw new ConflictException("Le verrou du véhicule a expiré");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        VehicleLockProvider vehicleLocks = mock(VehicleLockProvider.class);
+        when(vehicleLocks.acquire(vehicleId)).thenReturn(lostLock);
+        ContractsServiceValidator lockedService =
+                new ContractsServiceValidator(repository, ConstraintValidationEngine.getDefault(), vehicleLocks);
+        Contract newContract = aContract(vehicleId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), ContractStateEnum.PENDING);
+        when(repository.findFirstOverlappingContract(eq(vehicleId), any(), any(), any())).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> lockedService.create(newContract)).isInstanceOf(ConflictException.class);
+        verify(repository, never()).save(any());
+    }
+
+    private Contract aContract(final UUID vehicle, final LocalDate start, final LocalDate end, final ContractStateEnum state) {
+        return Contract.builder()
+                .clientIdentifier(clientId)
+                .vehicleIdentifier(vehicle)
+                .startDate(start)
+                .endDate(end)
+                .state(state)
+                .vehicleState(VehicleStateEnum.AVAILABLE)
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.imt.contracts.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("DayOccupancyBitmap - Tests unitaires")
+class DayOccupancyBitmapTest {
+
+    private DayOccupancyBitmap bitmap;
+
+    @BeforeEach
+    void setUp() {
+        bitmap = new DayOccupancyBitmap(30);
+    }
+
+    @Test
+    @DisplayName("Conserve une période trop longue sans l'étaler jour par jour")
+    void shouldKeepLongSpanWithoutExpandingDays() {
+        // Given
+        UUID vehicle = UUID.randomUUID();
+
+        // When : une date de fin aberrante
+        bitmap.occupy(vehicle, 0, 2_900_000);
+
+        // Then
+        assertThat(bitmap.occupiedDays()).isZero();
+        assertThat(bitmap.occupiedBetween(1_000_000, 1_000_000)).containsExactly(vehicle);
+        assertThat(bitmap.occupiedBetween(2_900_001, 2_900_010)).isEmpty();
+
+        // When
+        bitmap.release(vehicle, 0, 2_900_000);
+
+        // Then
+        assertThat(bitmap.occupiedBetween(1_000_000, 1_000_000)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Libère le numéro d'ordre d'un véhicule dont le dernier jour occupé est retiré")
+    void shouldFreeOrdinalOnLastReleasedDay() {
+        // Given
+        UUID vehicle = UUID.randomUUID();
+        bitmap.occupy(vehicle, 10, 15);
+        bitmap.occupy(vehicle, 20, 22);
+
+        // When
+        bitmap.release(vehicle, 10, 15);
+
+        // Then : le véhicule reste suivi tant qu'il occupe un jour
+        assertThat(bitmap.trackedVehicles()).isEqualTo(1);
+        assertThat(bitmap.occupiedBetween(0, 100)).containsExactly(vehicle);
+
+        // When
+        bitmap.release(vehicle, 20, 22);
+
+        // Then
+        assertThat(bitmap.trackedVehicles()).isZero();
+        assertThat(bitmap.occupiedDays()).isZero();
+        assertThat(bitmap.occupiedBetween(0, 100)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Renumérote la flotte sans changer les réponses lorsque les numéros libérés dominent")
+    void shouldCompactFreedOrdinals() {
+        // Given
+        List<UUID> vehicles = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            UUID vehicle = UUID.randomUUID();
+            vehicles.add(vehicle);
+            bitmap.occupy(vehicle, i, i + 2);
+        }
+        for (int i = 0; i < 150; i++) {
+            bitmap.release(vehicles.get(i), i, i + 2);
+        }
+        assertThat(bitmap.isFragmented()).isTrue();
+
+        // When
+        DayOccupancyBitmap compacted = bitmap.compacted();
+
+        // Then
+        assertThat(compacted.isFragmented()).isFalse();
+        assertThat(compacted.trackedVehicles()).isEqualTo(50);
+        for (int day = 0; day < 210; day += 5) {
+            assertThat(compacted.occupiedBetween(day, day + 4)).isEqualTo(bitmap.occupiedBetween(day, day + 4));
+        }
+    }
+
+    @Test
+    @DisplayName("Refuse une durée maximale non positive")
+    void shouldRejectNonPositiveMaxSpan() {
+        assertThatThrownBy(() -> new DayOccupancyBitmap(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.imt.contracts.availability;
+
+import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractStateEnum;
+import com.imt.vehicle.model.VehicleStateEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Coût de la recherche des véhicules occupés sur un mois, pour une flotte de 50 000 véhicules ayant chacun
+ * quelques contrats bloquants sur l'année : parcours de tous les contrats contre un OU des jours du bitmap.
+ * Lancement : exécuter la méthode main depuis le classpath de test du module domain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FleetOccupancyBenchmark {
+
+    private static final int FLEET_SIZE = 50_000;
+    private static final int CONTRACTS_PER_VEHICLE = 4;
+
+    private List<Contract> contracts;
+    private VehicleAvailabilityIndex index;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        this.contracts = new ArrayList<>(FLEET_SIZE * CONTRACTS_PER_VEHICLE);
+        for (int vehicle = 0; vehicle < FLEET_SIZE; vehicle++) {
+            final UUID vehicleId = UUID.randomUUID();
+            for (int i = 0; i < CONTRACTS_PER_VEHICLE; i++) {
+                final LocalDate start = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365));
+                this.contracts.add(Contract.builder()
+                        .identifier(UUID.randomUUID())
+                        .clientIdentifier(UUID.randomUUID())
+                        .vehicleIdentifier(vehicleId)
+                        .startDate(start)
+                        .endDate(start.plusDays(random.nextInt(10)))
+                        .state(ContractStateEnum.PENDING)
+                        .vehicleState(VehicleStateEnum.AVAILABLE)
+                        .build());
+            }
+        }
+
+        this.index = new VehicleAvailabilityIndex();
+        this.index.rebuild(this.contracts);
+        this.startDate = LocalDate.of(2024, 6, 1);
+        this.endDate = LocalDate.of(2024, 6, 30);
+    }
+
+    @Benchmark
+    public Set<UUID> fullScan() {
+        final long start = this.startDate.toEpochDay();
+        final long end = this.endDate.toEpochDay();
+        return this.contracts.stream()
+                .filter(contract -> contract.getStartDate().toEpochDay() <= end && contract.getEndDate().toEpochDay() >= start)
+                .map(Contract::getVehicleIdentifier)
+                .collect(Collectors.toSet());
+    }
+
+    @Benchmark
+    public Set<UUID> dayBitmap() {
+        return this.index.findOccupiedVehicles(this.startDate, this.endDate);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FleetOccupancyBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
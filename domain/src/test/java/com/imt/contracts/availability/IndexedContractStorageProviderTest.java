@@ -0,0 +1,228 @@
+package com.imt.contracts.availability;
+
+import com.imt.common.exceptions.ConflictException;
+import com.imt.common.model.FieldChanges;
+import com.imt.contracts.ContractStorageProvider;
+import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractStateEnum;
+import com.imt.contracts.model.ContractTransition;
+import com.imt.vehicle.model.VehicleStateEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IndexedContractStorageProvider - Tests unitaires")
+class IndexedContractStorageProviderTest {
+
+    @Mock
+    private ContractStorageProvider storage;
+
+    private VehicleAvailabilityIndex index;
+    private UUID vehicleId;
+    private Contract pendingContract;
+
+    @BeforeEach
+    void setUp() {
+        index = new VehicleAvailabilityIndex();
+        vehicleId = UUID.randomUUID();
+        pendingContract = Contract.builder()
+                .identifier(UUID.randomUUID())
+                .clientIdentifier(UUID.randomUUID())
+                .vehicleIdentifier(vehicleId)
+                .startDate(LocalDate.of(2024, 1, 10))
+                .endDate(LocalDate.of(2024, 1, 20))
+                .state(ContractStateEnum.PENDING)
+                .vehicleState(VehicleStateEnum.AVAILABLE)
+                .build();
+    }
+
+    @Test
+    @DisplayName("rebuild() - Charge uniquement les contrats bloquants depuis le stockage")
+    void rebuild_shouldLoadLockingContracts() {
+        // Given
+        IndexedContractStorageProvider provider = new IndexedContractStorageProvider(storage, index);
+        when(storage.findByStates(ContractStateEnum.lockingStates())).thenReturn(List.of(pendingContract));
+
+        // When
+        int indexed = provider.rebuild();
+
+        // Then
+        assertThat(indexed).isEqualTo(1);
+        assertThat(provider.findLockingContractsBetween(vehicleId, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 16)))
+                .containsExactly(pendingContract);
+        verify(storage, never()).findLockingContractsBetween(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("findFirstOverlappingContract() - Interroge toujours le stockage, l'index pouvant ignorer les écritures d'autres instances")
+    void findFirstOverlappingContract_shouldAskStorage() {
+        // Given : l'index connaît le contrat, mais il a été annulé depuis par une autre instance
+        IndexedContractStorageProvider provider = new IndexedContractStorageProvider(storage, index);
+        index.put(pendingContract);
+        LocalDate start = LocalDate.of(2024, 1, 15);
+        LocalDate end = LocalDate.of(2024, 1, 16);
+        when(storage.findFirstOverlappingContract(vehicleId, start, end, null)).thenReturn(Optional.empty());
+
+        // When
+        Optional<Contract> result = provider.findFirstOverlappingContract(vehicleId, start, end, null);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(storage).findFirstOverlappingContract(vehicleId, start, end, null);
+    }
+
+    @Test
+    @DisplayName("save() / delete() - Maintiennent l'index après l'écriture en base")
+    void writes_shouldKeepIndexInSync() throws ConflictException {
+        // Given
+        IndexedContractStorageProvider provider = new IndexedContractStorageProvider(storage, index);
+        when(storage.save(pendingContract)).thenReturn(pendingContract);
+
+        // When
+        provider.save(pendingContract);
+
+        // Then
+        assertThat(provider.findLockingContractsBetween(vehicleId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)))
+                .containsExactly(pendingContract);
+
+        // When
+        provider.delete(pendingContract.getIdentifier());
+
+        // Then
+        assertThat(provider.findLockingContractsBetween(vehicleId, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 16)))
+                .isEmpty();
+        verify(storage).delete(pendingContract.getIdentifier());
+    }
+
+    @Test
+    @DisplayName("findOccupiedVehicles() - Répond depuis le bitmap d'occupation sans interroger le stockage")
+    void findOccupiedVehicles_shouldAnswerFromIndex() {
+        // Given
+        IndexedContractStorageProvider provider = new IndexedContractStorageProvider(storage, index);
+        index.put(pendingContract);
+
+        // When & Then
+        assertThat(provider.findOccupiedVehicles(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 10))).containsExactly(vehicleId);
+        assertThat(provider.findOccupiedVehicles(LocalDate.of(2024, 1, 21), LocalDate.of(2024, 2, 29))).isEmpty();
+        verify(storage, never()).findOccupiedVehicles(any(), any());
+    }
+
+    @Test
+    @DisplayName("save() - N'indexe pas un contrat dont l'écriture a échoué")
+    void save_shouldNotIndexWhenStorageFails() throws ConflictException {
+        // Given
+        IndexedContractStorageProvider provider = new IndexedContractStorageProvider(storage, index);
+        when(storage.save(pendingContract)).thenThrow(new IllegalStateException("Base indisponible"));
+
+        // When
+        try {
+            provider.save(pendingContract);
+        } catch (IllegalStateException ignored) {
+            // attendu
+        }
+
+        // Then
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("applyChanges() - Indexe le contrat tel que retourné par le stockage après la mise à jour partielle")
+    void applyChanges_shouldIndexUpdatedContract() throws ConflictException {
+        // Given : le contrat est annulé, il ne bloque plus le véhicule
+        IndexedContractStorageProvider provider = new IndexedContractStorageProvider(storage, index);
+        index.put(pendingContract);
+        Contract canceled = pendingContract.toBuilder().state(ContractStateEnum.CANCELLED).build();
+        FieldChanges changes = canceled.changesSince(pendingContract);
+        when(storage.applyChanges(canceled, changes)).thenReturn(Optional.of(canceled));
+
+        // When
+        provider.applyChanges(canceled, changes);
+
+        // Then
+        assertThat(provider.findOccupiedVehicles(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("cancelPendingContractsByVehicleId() - Retire de l'index les contrats annulés")
+    void cancelPendingContractsByVehicleId_shouldRemoveCancelledContractsFromIndex() {
+        // Given
+        IndexedContractStorageProvider provider = new IndexedContractStorageProvider(storage, index);
+        index.put(pendingContract);
+        when(storage.cancelPendingContractsByVehicleId(vehicleId)).thenReturn(List.of(pendingContract.getIdentifier()));
+
+        // When
+        provider.cancelPendingContractsByVehicleId(vehicleId);
+
+        // Then
+        assertThat(index.size()).isZero();
+        assertThat(provider.findOccupiedVehicles(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("applyTransitions() - Les contrats en retard restent bloquants dans l'index")
+    void applyTransitions_shouldKeepLateContractsInIndex() {
+        // Given
+        IndexedContractStorageProvider provider = new IndexedContractStorageProvider(storage, index);
+        Contract late = pendingContract.toBuilder().state(ContractStateEnum.LATE).build();
+        when(storage.applyTransitions(any())).thenReturn(List.of(late));
+
+        // When
+        provider.applyTransitions(List.of(new ContractTransition(pendingContract, ContractStateEnum.LATE)));
+
+        // Then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(provider.findOccupiedVehicles(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31))).containsExactly(vehicleId);
+    }
+
+    @Test
+    @DisplayName("VERIFY - Le stockage fait foi et l'écart resynchronise le véhicule")
+    void verify_shouldTrustStorageAndResynchronize() {
+        // Given : le contrat a été écrit par une autre instance, l'index l'ignore
+        IndexedContractStorageProvider provider = new IndexedContractStorageProvider(
+                storage, index, IndexedContractStorageProvider.ConsistencyCheck.VERIFY);
+        LocalDate start = LocalDate.of(2024, 1, 15);
+        LocalDate end = LocalDate.of(2024, 1, 16);
+        when(storage.findFirstOverlappingContract(vehicleId, start, end, null)).thenReturn(Optional.of(pendingContract));
+        when(storage.findByVehicleIdentifier(vehicleId)).thenReturn(List.of(pendingContract));
+
+        // When
+        Optional<Contract> result = provider.findFirstOverlappingContract(vehicleId, start, end, null);
+
+        // Then
+        assertThat(result).contains(pendingContract);
+        assertThat(provider.getInconsistencyCount()).isEqualTo(1);
+        assertThat(index.findFirstOverlapping(vehicleId, start, end, null)).contains(pendingContract);
+    }
+
+    @Test
+    @DisplayName("VERIFY - Aucun écart lorsque l'index et le stockage concordent")
+    void verify_shouldNotCountMatchingAnswers() {
+        // Given
+        IndexedContractStorageProvider provider = new IndexedContractStorageProvider(
+                storage, index, IndexedContractStorageProvider.ConsistencyCheck.VERIFY);
+        index.put(pendingContract);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 1, 31);
+        when(storage.findLockingContractsBetween(vehicleId, start, end)).thenReturn(List.of(pendingContract));
+
+        // When
+        provider.findLockingContractsBetween(vehicleId, start, end);
+
+        // Then
+        assertThat(provider.getInconsistencyCount()).isZero();
+        verify(storage, never()).findByVehicleIdentifier(any());
+    }
+}
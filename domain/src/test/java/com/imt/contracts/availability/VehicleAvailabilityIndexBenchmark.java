@@ -0,0 +1,104 @@
+package com.imt.contracts.availability;
+
+import com.imt.common.model.ValidatorResult;
+import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractStateEnum;
+import com.imt.contracts.validators.ContractVehicleAvailabilityValidatorStep;
+import com.imt.vehicle.model.VehicleStateEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d'une vérification de disponibilité pour un véhicule ayant un long historique de contrats :
+ * parcours de tout l'historique en mémoire (comportement avant l'index, hors aller-retour vers la base)
+ * contre une recherche dans l'index par véhicule.
+ * Lancement : exécuter la méthode main depuis le classpath de test du module domain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VehicleAvailabilityIndexBenchmark {
+
+    @Param({"100", "5000"})
+    private int history;
+
+    private List<Contract> contracts;
+    private VehicleAvailabilityIndex index;
+    private Contract candidate;
+
+    @Setup
+    public void setUp() {
+        final UUID vehicleId = UUID.randomUUID();
+        final ContractStateEnum[] states = {ContractStateEnum.COMPLETED, ContractStateEnum.COMPLETED, ContractStateEnum.PENDING};
+
+        this.contracts = new ArrayList<>(this.history);
+        LocalDate start = LocalDate.of(2000, 1, 1);
+        for (int i = 0; i < this.history; i++) {
+            this.contracts.add(Contract.builder()
+                    .identifier(UUID.randomUUID())
+                    .clientIdentifier(UUID.randomUUID())
+                    .vehicleIdentifier(vehicleId)
+                    .startDate(start)
+                    .endDate(start.plusDays(3))
+                    .state(states[i % states.length])
+                    .vehicleState(VehicleStateEnum.AVAILABLE)
+                    .build());
+            start = start.plusDays(5);
+        }
+
+        this.index = new VehicleAvailabilityIndex();
+        this.index.rebuild(this.contracts);
+
+        // Période libre au milieu de l'historique : le pire cas pour le parcours complet
+        final Contract middle = this.contracts.get(this.history / 2);
+        this.candidate = middle.toBuilder()
+                .identifier(UUID.randomUUID())
+                .startDate(middle.getEndDate().plusDays(1))
+                .endDate(middle.getEndDate().plusDays(1))
+                .build();
+    }
+
+    @Benchmark
+    public ValidatorResult fullHistoryScan() {
+        return ContractVehicleAvailabilityValidatorStep.checkAgainst(this.candidate, this.contracts);
+    }
+
+    @Benchmark
+    public Optional<Contract> intervalIndex() {
+        return this.index.findFirstOverlapping(
+                this.candidate.getVehicleIdentifier(),
+                this.candidate.getStartDate(),
+                this.candidate.getEndDate(),
+                this.candidate.getIdentifier()
+        );
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VehicleAvailabilityIndexBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,255 @@
+package com.imt.contracts.availability;
+
+import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractStateEnum;
+import com.imt.contracts.model.OccupancyPeriod;
+import com.imt.contracts.model.OccupancyStatusEnum;
+import com.imt.vehicle.model.VehicleStateEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("VehicleAvailabilityIndex - Tests unitaires")
+class VehicleAvailabilityIndexTest {
+
+    private VehicleAvailabilityIndex index;
+    private UUID vehicleId;
+
+    @BeforeEach
+    void setUp() {
+        index = new VehicleAvailabilityIndex();
+        vehicleId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Détecte un chevauchement, bornes incluses")
+    void shouldDetectOverlapIncludingBounds() {
+        // Given
+        Contract existing = aContract(vehicleId, LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 20), ContractStateEnum.PENDING);
+        index.put(existing);
+
+        // When & Then
+        assertThat(index.findFirstOverlapping(vehicleId, LocalDate.of(2024, 1, 20), LocalDate.of(2024, 1, 25), null)).contains(existing);
+        assertThat(index.findFirstOverlapping(vehicleId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 10), null)).contains(existing);
+        assertThat(index.findFirstOverlapping(vehicleId, LocalDate.of(2024, 1, 21), LocalDate.of(2024, 1, 25), null)).isEmpty();
+        assertThat(index.findFirstOverlapping(vehicleId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 9), null)).isEmpty();
+        assertThat(index.findFirstOverlapping(UUID.randomUUID(), LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 15), null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Ignore le contrat exclu (mise à jour de soi-même)")
+    void shouldIgnoreExcludedContract() {
+        // Given
+        Contract existing = aContract(vehicleId, LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 20), ContractStateEnum.IN_PROGRESS);
+        index.put(existing);
+
+        // When & Then
+        assertThat(index.findFirstOverlapping(vehicleId, LocalDate.of(2024, 1, 12), LocalDate.of(2024, 1, 14), existing.getIdentifier())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("N'indexe que les contrats bloquants et suit les changements d'état et de véhicule")
+    void shouldFollowContractUpdates() {
+        // Given
+        Contract completed = aContract(vehicleId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), ContractStateEnum.COMPLETED);
+        Contract pending = aContract(vehicleId, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31), ContractStateEnum.PENDING);
+        index.put(completed);
+        index.put(pending);
+        assertThat(index.size()).isEqualTo(1);
+
+        // When : le contrat en attente est annulé
+        index.put(pending.toBuilder().state(ContractStateEnum.CANCELLED).build());
+
+        // Then
+        assertThat(index.findFirstOverlapping(vehicleId, LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 10), null)).isEmpty();
+        assertThat(index.size()).isZero();
+
+        // When : un contrat change de véhicule
+        UUID otherVehicleId = UUID.randomUUID();
+        Contract moved = pending.toBuilder().vehicleIdentifier(otherVehicleId).build();
+        index.put(pending);
+        index.put(moved);
+
+        // Then
+        assertThat(index.findFirstOverlapping(vehicleId, LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 10), null)).isEmpty();
+        assertThat(index.findFirstOverlapping(otherVehicleId, LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 10), null)).contains(moved);
+
+        // When : le contrat est supprimé
+        index.remove(moved.getIdentifier());
+
+        // Then
+        assertThat(index.findOverlapping(otherVehicleId, LocalDate.MIN.plusDays(1), LocalDate.of(2100, 1, 1))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Reconstruit l'index à partir d'un lot et liste les chevauchements triés")
+    void shouldRebuildAndListOverlaps() {
+        // Given
+        Contract first = aContract(vehicleId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 5), ContractStateEnum.LATE);
+        Contract second = aContract(vehicleId, LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 15), ContractStateEnum.PENDING);
+        Contract third = aContract(vehicleId, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 5), ContractStateEnum.PENDING);
+        index.put(aContract(UUID.randomUUID(), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1), ContractStateEnum.PENDING));
+
+        // When
+        index.rebuild(List.of(third, first, second));
+
+        // Then
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.findOverlapping(vehicleId, LocalDate.of(2024, 1, 4), LocalDate.of(2024, 1, 31)))
+                .containsExactly(first, second);
+    }
+
+    @Test
+    @DisplayName("Donne les mêmes réponses qu'une comparaison exhaustive")
+    void shouldMatchBruteForce() {
+        // Given
+        Random random = new Random(42);
+        List<Contract> contracts = new ArrayList<>();
+        ContractStateEnum[] states = ContractStateEnum.values();
+        for (int i = 0; i < 500; i++) {
+            LocalDate start = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365));
+            Contract contract = aContract(vehicleId, start, start.plusDays(random.nextInt(40)), states[random.nextInt(states.length)]);
+            contracts.add(contract);
+            index.put(contract);
+        }
+
+        // When & Then
+        for (int i = 0; i < 1_000; i++) {
+            LocalDate start = LocalDate.of(2023, 12, 1).plusDays(random.nextInt(420));
+            Contract candidate = aContract(vehicleId, start, start.plusDays(random.nextInt(10)), ContractStateEnum.PENDING);
+
+            List<Contract> expected = contracts.stream()
+                    .filter(contract -> contract.getState().locksVehicle())
+                    .filter(contract -> contract.overlaps(candidate))
+                    .toList();
+
+            assertThat(index.findOverlapping(vehicleId, candidate.getStartDate(), candidate.getEndDate()))
+                    .containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(index.findFirstOverlapping(vehicleId, candidate.getStartDate(), candidate.getEndDate(), null).isPresent())
+                    .isEqualTo(!expected.isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Suit les véhicules occupés de la flotte au fil des écritures, comme une comparaison exhaustive")
+    void shouldTrackOccupiedVehiclesAcrossFleet() {
+        // Given
+        Random random = new Random(7);
+        List<UUID> fleet = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            fleet.add(UUID.randomUUID());
+        }
+        ContractStateEnum[] states = ContractStateEnum.values();
+        List<Contract> current = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            LocalDate start = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(200));
+            Contract contract = aContract(fleet.get(random.nextInt(fleet.size())), start, start.plusDays(random.nextInt(20)),
+                    states[random.nextInt(states.length)]);
+            current.add(contract);
+            index.put(contract);
+        }
+
+        // When : une partie des contrats est annulée, supprimée ou déplacée
+        for (int i = 0; i < 100; i++) {
+            int position = random.nextInt(current.size());
+            Contract contract = current.get(position);
+            switch (i % 3) {
+                case 0 -> current.set(position, contract.toBuilder().state(ContractStateEnum.CANCELLED).build());
+                case 1 -> current.set(position, contract.toBuilder().vehicleIdentifier(fleet.get(random.nextInt(fleet.size()))).build());
+                default -> current.set(position, contract.toBuilder().startDate(contract.getStartDate().plusDays(3)).endDate(contract.getEndDate().plusDays(5)).build());
+            }
+            index.put(current.get(position));
+        }
+        index.remove(current.removeFirst().getIdentifier());
+
+        // Then
+        for (int i = 0; i < 200; i++) {
+            LocalDate start = LocalDate.of(2023, 12, 15).plusDays(random.nextInt(240));
+            LocalDate end = start.plusDays(random.nextInt(31));
+            Contract period = aContract(null, start, end, ContractStateEnum.PENDING);
+
+            Set<UUID> expected = current.stream()
+                    .filter(contract -> contract.getState().locksVehicle())
+                    .filter(contract -> contract.overlaps(period))
+                    .map(Contract::getVehicleIdentifier)
+                    .collect(Collectors.toSet());
+
+            assertThat(index.findOccupiedVehicles(start, end)).isEqualTo(expected);
+        }
+        assertThat(index.findOccupiedVehicles(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Suit les contrats plus longs que la durée maximale du bitmap, y compris après leur retrait")
+    void shouldTrackContractsLongerThanMaxSpan() {
+        // Given
+        index = new VehicleAvailabilityIndex(5);
+        Contract longContract = aContract(vehicleId, LocalDate.of(2024, 1, 1), LocalDate.of(9999, 12, 31), ContractStateEnum.PENDING);
+        Contract shortContract = aContract(vehicleId, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 3), ContractStateEnum.PENDING);
+        index.put(longContract);
+        index.put(shortContract);
+
+        // When & Then
+        assertThat(index.findOccupiedVehicles(LocalDate.of(5000, 1, 1), LocalDate.of(5000, 1, 1))).containsExactly(vehicleId);
+
+        index.remove(longContract.getIdentifier());
+        assertThat(index.findOccupiedVehicles(LocalDate.of(5000, 1, 1), LocalDate.of(5000, 1, 1))).isEmpty();
+        assertThat(index.findOccupiedVehicles(LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 2))).containsExactly(vehicleId);
+
+        index.remove(shortContract.getIdentifier());
+        assertThat(index.findOccupiedVehicles(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Fusionne les contrats chevauchants ou contigus en plages occupées, comme une fusion exhaustive")
+    void shouldPrecomputeBusyPeriods() {
+        // Given
+        Random random = new Random(11);
+        List<Contract> contracts = new ArrayList<>();
+        ContractStateEnum[] states = ContractStateEnum.values();
+        for (int i = 0; i < 200; i++) {
+            LocalDate start = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365));
+            Contract contract = aContract(vehicleId, start, start.plusDays(random.nextInt(6)), states[random.nextInt(states.length)]);
+            contracts.add(contract);
+            index.put(contract);
+        }
+        Contract first = aContract(vehicleId, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 5), ContractStateEnum.PENDING);
+        Contract adjacent = aContract(vehicleId, LocalDate.of(2025, 3, 6), LocalDate.of(2025, 3, 8), ContractStateEnum.PENDING);
+        index.put(first);
+        index.put(adjacent);
+
+        // When & Then : deux contrats contigus forment une seule plage
+        assertThat(index.findBusyPeriods(vehicleId, LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 31)))
+                .containsExactly(new OccupancyPeriod(LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 8), OccupancyStatusEnum.BUSY));
+
+        List<Contract> locking = contracts.stream().filter(contract -> contract.getState().locksVehicle()).toList();
+        for (int i = 0; i < 200; i++) {
+            LocalDate from = LocalDate.of(2023, 12, 1).plusDays(random.nextInt(400));
+            LocalDate to = from.plusDays(random.nextInt(60));
+
+            assertThat(index.findBusyPeriods(vehicleId, from, to)).isEqualTo(OccupancyPeriod.mergeBusy(locking, from, to));
+        }
+    }
+
+    private static Contract aContract(UUID vehicleId, LocalDate startDate, LocalDate endDate, ContractStateEnum state) {
+        return Contract.builder()
+                .identifier(UUID.randomUUID())
+                .clientIdentifier(UUID.randomUUID())
+                .vehicleIdentifier(vehicleId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .state(state)
+                .vehicleState(VehicleStateEnum.AVAILABLE)
+                .build();
+    }
+}
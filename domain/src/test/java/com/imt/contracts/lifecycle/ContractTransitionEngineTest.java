@@ -0,0 +1,246 @@
+package com.imt.contracts.lifecycle;
+
+import com.imt.contracts.ContractStorageProvider;
+import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractCursor;
+import com.imt.contracts.model.ContractStateEnum;
+import com.imt.contracts.model.ContractTransition;
+import com.imt.contracts.model.ContractTransitionsReport;
+import com.imt.contracts.model.TransitionCheckpoint;
+import com.imt.contracts.model.VehiclePartition;
+import com.imt.contracts.scheduling.InMemoryCheckpointStorageProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ContractTransitionEngine - Tests unitaires")
+class ContractTransitionEngineTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 10);
+
+    @Mock
+    private ContractStorageProvider storage;
+
+    private InMemoryCheckpointStorageProvider checkpoints;
+
+    private ContractTransitionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        checkpoints = new InMemoryCheckpointStorageProvider();
+        // Lots de deux contrats, pour éprouver le découpage
+        engine = new ContractTransitionEngine(storage, checkpoints, 2);
+    }
+
+    @Test
+    @DisplayName("plan() - Applique une seule transition par contrat : un contrat en attente dont la période est passée est annulé")
+    void plan_shouldApplyOneTransitionPerContract() {
+        // Given
+        Contract starting = aContract(UUID.randomUUID(), ContractStateEnum.PENDING, TODAY, TODAY.plusDays(2));
+        Contract missed = aContract(UUID.randomUUID(), ContractStateEnum.PENDING, TODAY.minusDays(5), TODAY.minusDays(1));
+        Contract running = aContract(UUID.randomUUID(), ContractStateEnum.IN_PROGRESS, TODAY.minusDays(2), TODAY);
+
+        // When
+        List<ContractTransition> planned = ContractTransitionEngine.plan(List.of(starting, missed, running), Set.of(), TODAY);
+
+        // Then : le contrat qui finit aujourd'hui n'est pas encore en retard
+        assertThat(planned).containsExactly(
+                new ContractTransition(starting, ContractStateEnum.IN_PROGRESS),
+                new ContractTransition(missed, ContractStateEnum.CANCELLED)
+        );
+    }
+
+    @Test
+    @DisplayName("plan() - Un contrat en attente dont la période est passée ne retient pas son véhicule")
+    void plan_shouldNotHoldVehicle_whenPendingContractExpired() {
+        // Given : un contrat jamais démarré, puis un contrat du même véhicule qui commence aujourd'hui
+        UUID vehicle = UUID.randomUUID();
+        Contract missed = aContract(vehicle, ContractStateEnum.PENDING, TODAY.minusDays(5), TODAY.minusDays(1));
+        Contract next = aContract(vehicle, ContractStateEnum.PENDING, TODAY, TODAY.plusDays(3));
+
+        // When
+        List<ContractTransition> planned = ContractTransitionEngine.plan(List.of(missed, next), Set.of(), TODAY);
+
+        // Then
+        assertThat(planned).containsExactly(
+                new ContractTransition(missed, ContractStateEnum.CANCELLED),
+                new ContractTransition(next, ContractStateEnum.IN_PROGRESS)
+        );
+    }
+
+    @Test
+    @DisplayName("plan() - Annule les contrats en attente des véhicules retenus, y compris par un retard du même lot")
+    void plan_shouldCancelPendingContracts_whenVehicleIsHeld() {
+        // Given : le véhicule A est retenu en base, le véhicule B passe en retard dans ce lot
+        UUID vehicleA = UUID.randomUUID();
+        UUID vehicleB = UUID.randomUUID();
+        Contract heldByStorage = aContract(vehicleA, ContractStateEnum.PENDING, TODAY, TODAY.plusDays(2));
+        Contract late = aContract(vehicleB, ContractStateEnum.IN_PROGRESS, TODAY.minusDays(3), TODAY.minusDays(1));
+        Contract heldByChunk = aContract(vehicleB, ContractStateEnum.PENDING, TODAY, TODAY.plusDays(4));
+
+        // When
+        List<ContractTransition> planned = ContractTransitionEngine.plan(List.of(heldByStorage, late, heldByChunk), Set.of(vehicleA), TODAY);
+
+        // Then
+        assertThat(planned).containsExactly(
+                new ContractTransition(heldByStorage, ContractStateEnum.CANCELLED),
+                new ContractTransition(late, ContractStateEnum.LATE),
+                new ContractTransition(heldByChunk, ContractStateEnum.CANCELLED)
+        );
+    }
+
+    @Test
+    @DisplayName("run() - Applique chaque lot en une écriture groupée et compte les transitions par état cible")
+    void run_shouldApplyEachChunkInOneBulkWrite() {
+        // Given : trois contrats dus, soit deux lots, dont un seul contient des contrats en attente
+        Contract overdueA = aContract(UUID.randomUUID(), ContractStateEnum.IN_PROGRESS, TODAY.minusDays(4), TODAY.minusDays(2));
+        Contract overdueB = aContract(UUID.randomUUID(), ContractStateEnum.IN_PROGRESS, TODAY.minusDays(4), TODAY.minusDays(1));
+        Contract starting = aContract(UUID.randomUUID(), ContractStateEnum.PENDING, TODAY, TODAY.plusDays(1));
+        when(storage.streamDueContracts(TODAY, VehiclePartition.ALL, null)).thenReturn(Stream.of(overdueA, overdueB, starting));
+        when(storage.findVehiclesHeldByLateContracts(Set.of(starting.getVehicleIdentifier()), TODAY)).thenReturn(Set.of());
+        when(storage.applyTransitions(any())).thenAnswer(invocation -> applied(invocation.getArgument(0)));
+
+        // When
+        ContractTransitionsReport report = engine.run(TODAY, VehiclePartition.ALL);
+
+        // Then : une lecture, deux écritures groupées et une seule recherche des véhicules retenus
+        assertThat(report).isEqualTo(new ContractTransitionsReport(1, 2, 0, 4, null));
+        assertThat(report.getElapsed()).isNotNull();
+        verify(storage, times(2)).applyTransitions(any());
+        verify(storage, times(1)).findVehiclesHeldByLateContracts(any(), any());
+        assertThat(checkpoints.find("contract-transitions")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("run() - Laisse un point de reprise avant le lot en échec")
+    void run_shouldKeepCheckpoint_whenInterrupted() {
+        // Given : le stockage devient injoignable au second lot
+        List<Contract> due = List.of(
+                aContract(UUID.randomUUID(), ContractStateEnum.IN_PROGRESS, TODAY.minusDays(4), TODAY.minusDays(3)),
+                aContract(UUID.randomUUID(), ContractStateEnum.IN_PROGRESS, TODAY.minusDays(4), TODAY.minusDays(2)),
+                aContract(UUID.randomUUID(), ContractStateEnum.IN_PROGRESS, TODAY.minusDays(4), TODAY.minusDays(1))
+        );
+        VehiclePartition partition = new VehiclePartition(1, 4);
+        when(storage.streamDueContracts(TODAY, partition, null)).thenReturn(due.stream());
+        when(storage.applyTransitions(any()))
+                .thenAnswer(invocation -> applied(invocation.getArgument(0)))
+                .thenThrow(new IllegalStateException("Base injoignable"));
+
+        // When
+        assertThatThrownBy(() -> engine.run(TODAY, partition)).isInstanceOf(IllegalStateException.class);
+
+        // Then : reprise après le premier lot, sous le nom propre à la partition
+        assertThat(checkpoints.find("contract-transitions-1-of-4")).hasValue(
+                new TransitionCheckpoint("contract-transitions-1-of-4", TODAY, ContractCursor.of(due.get(1)))
+        );
+    }
+
+    @Test
+    @DisplayName("run() - S'arrête sans rien écrire dès que le bail est perdu, en laissant le point de reprise")
+    void run_shouldStop_whenLeaseIsLost() {
+        // Given : le bail est repris par une autre instance après le premier lot
+        List<Contract> due = List.of(
+                aContract(UUID.randomUUID(), ContractStateEnum.IN_PROGRESS, TODAY.minusDays(4), TODAY.minusDays(3)),
+                aContract(UUID.randomUUID(), ContractStateEnum.IN_PROGRESS, TODAY.minusDays(4), TODAY.minusDays(2)),
+                aContract(UUID.randomUUID(), ContractStateEnum.IN_PROGRESS, TODAY.minusDays(4), TODAY.minusDays(1))
+        );
+        when(storage.streamDueContracts(TODAY, VehiclePartition.ALL, null)).thenReturn(due.stream());
+        when(storage.applyTransitions(any())).thenAnswer(invocation -> applied(invocation.getArgument(0)));
+        AtomicInteger checks = new AtomicInteger();
+
+        // When
+        ContractTransitionsReport report = engine.run(TODAY, VehiclePartition.ALL, () -> checks.incrementAndGet() == 1);
+
+        // Then : seul le premier lot est écrit, et le nouveau détenteur reprendra après lui
+        assertThat(report.getLateContracts()).isEqualTo(2);
+        verify(storage, times(1)).applyTransitions(any());
+        assertThat(checkpoints.find("contract-transitions")).hasValue(
+                new TransitionCheckpoint("contract-transitions", TODAY, null)
+        );
+    }
+
+    @Test
+    @DisplayName("run() - Reprend le parcours après la position du point de reprise, puis le supprime")
+    void run_shouldResumeFromCheckpoint() {
+        // Given : un passage interrompu plus tôt dans la journée
+        ContractCursor position = new ContractCursor(TODAY.minusDays(3), UUID.randomUUID());
+        checkpoints.save(new TransitionCheckpoint("contract-transitions", TODAY, position));
+        when(storage.streamDueContracts(TODAY, VehiclePartition.ALL, position)).thenReturn(Stream.empty());
+
+        // When
+        ContractTransitionsReport report = engine.run(TODAY, VehiclePartition.ALL);
+
+        // Then
+        assertThat(report).isEqualTo(new ContractTransitionsReport(0, 0, 0, 1, null));
+        assertThat(checkpoints.find("contract-transitions")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("run() - Écarte le point de reprise d'une autre date de référence et reprend le parcours depuis le début")
+    void run_shouldDiscardCheckpointOfAnotherDate() {
+        // Given : un passage interrompu la veille
+        ContractCursor position = new ContractCursor(TODAY.minusDays(3), UUID.randomUUID());
+        checkpoints.save(new TransitionCheckpoint("contract-transitions", TODAY.minusDays(1), position));
+        when(storage.streamDueContracts(TODAY, VehiclePartition.ALL, null)).thenReturn(Stream.empty());
+
+        // When
+        ContractTransitionsReport report = engine.run(TODAY, VehiclePartition.ALL);
+
+        // Then
+        assertThat(report).isEqualTo(new ContractTransitionsReport(0, 0, 0, 1, null));
+        verify(storage, never()).streamDueContracts(TODAY, VehiclePartition.ALL, position);
+        assertThat(checkpoints.find("contract-transitions")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("runFor() - Ne relit et ne transitionne que les contrats donnés dont une transition est encore due")
+    void runFor_shouldApplyGivenContractsOnly() {
+        // Given : un contrat en retard, et un contrat prolongé depuis la planification de son échéance
+        Contract overdue = aContract(UUID.randomUUID(), ContractStateEnum.IN_PROGRESS, TODAY.minusDays(4), TODAY.minusDays(1));
+        Contract extended = aContract(UUID.randomUUID(), ContractStateEnum.IN_PROGRESS, TODAY.minusDays(4), TODAY.plusDays(5));
+        Set<UUID> identifiers = Set.of(overdue.getIdentifier(), extended.getIdentifier());
+        when(storage.findByIdentifiers(identifiers)).thenReturn(List.of(extended, overdue));
+        when(storage.applyTransitions(any())).thenAnswer(invocation -> applied(invocation.getArgument(0)));
+
+        // When
+        ContractTransitionsReport report = engine.runFor(identifiers, TODAY, () -> true);
+
+        // Then : une lecture ciblée, une écriture, sans parcours des échéances ni point de reprise
+        assertThat(report).isEqualTo(new ContractTransitionsReport(0, 1, 0, 2, null));
+        verify(storage).applyTransitions(List.of(new ContractTransition(overdue, ContractStateEnum.LATE)));
+        verify(storage, never()).streamDueContracts(any(), any(), any());
+        assertThat(checkpoints.find("contract-transitions")).isEmpty();
+    }
+
+    private static Contract aContract(UUID vehicleIdentifier, ContractStateEnum state, LocalDate startDate, LocalDate endDate) {
+        return Contract.builder()
+                .identifier(UUID.randomUUID())
+                .vehicleIdentifier(vehicleIdentifier)
+                .state(state)
+                .startDate(startDate)
+                .endDate(endDate)
+                .version(0L)
+                .build();
+    }
+
+    private static List<Contract> applied(Collection<ContractTransition> transitions) {
+        return transitions.stream().map(ContractTransition::applied).toList();
+    }
+}
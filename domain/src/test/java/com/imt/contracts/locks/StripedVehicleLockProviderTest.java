@@ -0,0 +1,110 @@
+package com.imt.contracts.locks;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("StripedVehicleLockProvider - Tests unitaires")
+class StripedVehicleLockProviderTest {
+
+    @Test
+    @DisplayName("Arrondit le nombre de bandes à la puissance de deux supérieure")
+    void shouldRoundStripesToPowerOfTwo() {
+        assertThat(new StripedVehicleLockProvider(100).getStripeCount()).isEqualTo(128);
+        assertThat(new StripedVehicleLockProvider(1).getStripeCount()).isEqualTo(1);
+        assertThatThrownBy(() -> new StripedVehicleLockProvider(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Bloque une seconde réservation du même véhicule jusqu'à la libération du verrou")
+    void shouldExcludeSameVehicle() throws Exception {
+        // Given
+        StripedVehicleLockProvider provider = new StripedVehicleLockProvider();
+        UUID vehicleId = UUID.randomUUID();
+        VehicleLock held = provider.acquire(vehicleId);
+
+        // When
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> provider.acquire(vehicleId).close());
+
+        // Then
+        assertThatThrownBy(() -> second.get(100, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        held.close();
+        second.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Laisse passer la réservation d'un véhicule d'une autre bande")
+    void shouldNotBlockOtherStripes() throws Exception {
+        // Given : deux bandes, on cherche deux véhicules qui tombent sur des bandes différentes
+        StripedVehicleLockProvider provider = new StripedVehicleLockProvider(2);
+        UUID first = UUID.randomUUID();
+        VehicleLock held = provider.acquire(first);
+        UUID other = null;
+        for (int i = 0; i < 100 && other == null; i++) {
+            UUID candidate = UUID.randomUUID();
+            CompletableFuture<Void> attempt = CompletableFuture.runAsync(() -> provider.acquire(candidate).close());
+            try {
+                attempt.get(50, TimeUnit.MILLISECONDS);
+                other = candidate;
+            } catch (TimeoutException sameStripe) {
+                held.close();
+                attempt.get(1, TimeUnit.SECONDS);
+                held = provider.acquire(first);
+            }
+        }
+
+        // Then
+        assertThat(other).isNotNull();
+        held.close();
+    }
+
+    @Test
+    @DisplayName("Verrouille des lots de véhicules se recouvrant sans interblocage")
+    void shouldAcquireOverlappingBatchesWithoutDeadlock() throws Exception {
+        // Given : peu de bandes et beaucoup de lots croisés, le pire cas pour un interblocage
+        StripedVehicleLockProvider provider = new StripedVehicleLockProvider(4);
+        List<UUID> fleet = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            fleet.add(UUID.randomUUID());
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            Random random = new Random(thread);
+            tasks.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 2_000; i++) {
+                    List<UUID> batch = List.of(fleet.get(random.nextInt(16)), fleet.get(random.nextInt(16)), fleet.get(random.nextInt(16)));
+                    provider.acquireAll(batch).close();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+
+        // Then
+        for (Future<?> task : tasks) {
+            task.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertThat(provider.acquireAll(List.of())).isSameAs(VehicleLock.NONE);
+        assertThat(provider.acquire(null)).isSameAs(VehicleLock.NONE);
+    }
+}
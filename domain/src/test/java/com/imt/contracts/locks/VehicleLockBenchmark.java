@@ -0,0 +1,69 @@
+package com.imt.contracts.locks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Débit de réservations concurrentes, chaque fil réservant son propre véhicule : un verrou global (une seule bande)
+ * sérialise toutes les réservations, alors que des verrous par bandes les laissent progresser en parallèle.
+ * La section critique (validation + enregistrement) est simulée par une attente fixe, équivalente à un aller-retour
+ * vers la base.
+ * Lancement : exécuter la méthode main depuis le classpath de test du module domain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class VehicleLockBenchmark {
+
+    private static final long STORAGE_ROUND_TRIP_NANOS = 100_000;
+
+    @Param({"1", "256"})
+    private int stripes;
+
+    private StripedVehicleLockProvider provider;
+
+    @Setup
+    public void setUp() {
+        this.provider = new StripedVehicleLockProvider(this.stripes);
+    }
+
+    @State(Scope.Thread)
+    public static class Booking {
+        private final UUID vehicleId = UUID.randomUUID();
+    }
+
+    @Benchmark
+    public void bookOwnVehicle(final Booking booking) {
+        try (VehicleLock ignored = this.provider.acquire(booking.vehicleId)) {
+            LockSupport.parkNanos(STORAGE_ROUND_TRIP_NANOS);
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VehicleLockBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
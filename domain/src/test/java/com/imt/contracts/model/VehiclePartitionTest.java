@@ -0,0 +1,52 @@
+package com.imt.contracts.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("VehiclePartition - Tests unitaires")
+class VehiclePartitionTest {
+
+    @Test
+    @DisplayName("split() - Chaque véhicule appartient à une seule partition")
+    void split_shouldAssignEachVehicleToExactlyOnePartition() {
+        // Given
+        List<VehiclePartition> partitions = VehiclePartition.split(3);
+
+        // When & Then
+        IntStream.range(0, 1000).mapToObj(i -> UUID.randomUUID()).forEach(vehicleId ->
+                assertThat(partitions.stream().filter(partition -> partition.contains(vehicleId))).hasSize(1));
+    }
+
+    @Test
+    @DisplayName("lowerBound() / upperBound() - Les bornes textuelles délimitent les identifiants de la partition")
+    void bounds_shouldMatchPartitionMembership() {
+        // Given
+        List<VehiclePartition> partitions = VehiclePartition.split(3);
+
+        // When & Then : la plage d'identifiants (comparaison de chaînes, comme en base) coïncide avec contains()
+        IntStream.range(0, 1000).mapToObj(i -> UUID.randomUUID()).forEach(vehicleId -> {
+            String id = vehicleId.toString();
+            partitions.forEach(partition -> {
+                boolean inRange = id.compareTo(partition.lowerBound()) >= 0
+                        && partition.upperBound().map(upper -> id.compareTo(upper) < 0).orElse(true);
+                assertThat(inRange).isEqualTo(partition.contains(vehicleId));
+            });
+        });
+        assertThat(partitions.get(0).lowerBound()).isEqualTo("0000");
+        assertThat(partitions.get(2).upperBound()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Constructeur - Refuse un indice hors des partitions")
+    void constructor_shouldRejectInvalidIndex() {
+        assertThatThrownBy(() -> new VehiclePartition(2, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(VehiclePartition.ALL.isWhole()).isTrue();
+    }
+}
@@ -0,0 +1,238 @@
+package com.imt.contracts.outbox;
+
+import com.imt.common.exceptions.ImtException;
+import com.imt.contracts.ContractsService;
+import com.imt.vehicle.VehicleStorageProvider;
+import com.imt.vehicle.model.Vehicle;
+import com.imt.vehicle.model.VehicleBrokenEvent;
+import com.imt.vehicle.model.VehicleStateEnum;
+import com.imt.vehicle.outbox.VehicleOutboxStorageProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VehicleOutboxDispatcher - Tests unitaires")
+class VehicleOutboxDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2024-02-01T10:00:00Z");
+
+    @Mock
+    private VehicleOutboxStorageProvider outbox;
+
+    @Mock
+    private VehicleStorageProvider vehicles;
+
+    @Mock
+    private ContractsService contractsService;
+
+    private VehicleOutboxDispatcher dispatcher;
+
+    private final UUID firstVehicle = UUID.randomUUID();
+    private final UUID secondVehicle = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new VehicleOutboxDispatcher(outbox, vehicles, contractsService, 10, 3, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("dispatch() - Doit annuler les contrats de chaque véhicule en panne puis acquitter le lot")
+    void dispatch_shouldCancelContractsAndAcknowledgeBatch() throws ImtException {
+        // Given
+        VehicleBrokenEvent first = event(firstVehicle, NOW.minusSeconds(5));
+        VehicleBrokenEvent second = event(secondVehicle, NOW.minusSeconds(2));
+        when(outbox.findPending(10)).thenReturn(List.of(first, second));
+        givenVehicleState(firstVehicle, VehicleStateEnum.BROKEN);
+        givenVehicleState(secondVehicle, VehicleStateEnum.BROKEN);
+
+        // When
+        int dispatched = dispatcher.dispatch();
+
+        // Then
+        assertThat(dispatched).isEqualTo(2);
+        verify(contractsService).cancelContractsForBrokenVehicule(firstVehicle);
+        verify(contractsService).cancelContractsForBrokenVehicule(secondVehicle);
+        assertThat(acknowledged()).containsExactlyInAnyOrder(first, second);
+        assertThat(dispatcher.getLag()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(dispatcher.getDispatchedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("dispatch() - Un véhicule déclaré plusieurs fois en panne n'est traité qu'une fois par lot")
+    void dispatch_shouldProcessEachVehicleOnce() throws ImtException {
+        // Given
+        VehicleBrokenEvent first = event(firstVehicle, NOW.minusSeconds(5));
+        VehicleBrokenEvent again = event(firstVehicle, NOW.minusSeconds(1));
+        when(outbox.findPending(10)).thenReturn(List.of(first, again));
+        givenVehicleState(firstVehicle, VehicleStateEnum.BROKEN);
+
+        // When
+        int dispatched = dispatcher.dispatch();
+
+        // Then
+        assertThat(dispatched).isEqualTo(2);
+        verify(contractsService, times(1)).cancelContractsForBrokenVehicule(firstVehicle);
+        assertThat(acknowledged()).containsExactlyInAnyOrder(first, again);
+    }
+
+    @Test
+    @DisplayName("dispatch() - Un événement en échec reste dans la boîte d'envoi pour le passage suivant")
+    void dispatch_shouldKeepFailedEventsPending() throws ImtException {
+        // Given
+        VehicleBrokenEvent failing = event(firstVehicle, NOW.minusSeconds(5));
+        VehicleBrokenEvent succeeding = event(secondVehicle, NOW.minusSeconds(2));
+        when(outbox.findPending(10)).thenReturn(List.of(failing, succeeding));
+        givenVehicleState(firstVehicle, VehicleStateEnum.BROKEN);
+        givenVehicleState(secondVehicle, VehicleStateEnum.BROKEN);
+        // Un seul bouchon pour les deux véhicules : les appels arrivent en parallèle, depuis des threads virtuels
+        when(contractsService.cancelContractsForBrokenVehicule(any())).thenAnswer(invocation -> {
+            if (firstVehicle.equals(invocation.getArgument(0))) {
+                throw new IllegalStateException("Base injoignable");
+            }
+            return List.of();
+        });
+
+        // When
+        int dispatched = dispatcher.dispatch();
+
+        // Then : seul l'événement traité est acquitté, l'échec de l'autre est compté
+        assertThat(dispatched).isEqualTo(1);
+        assertThat(acknowledged()).containsExactly(succeeding);
+        verify(outbox).recordFailures(List.of(failing));
+        verify(outbox, never()).deadLetter(any());
+        assertThat(dispatcher.getFailureCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("dispatch() - Un événement en échec trop de fois est mis à l'écart")
+    void dispatch_shouldDeadLetterEvent_whenAttemptsAreExhausted() throws ImtException {
+        // Given : deux échecs déjà enregistrés, la troisième tentative est la dernière
+        VehicleBrokenEvent poisoned = new VehicleBrokenEvent(UUID.randomUUID(), firstVehicle.toString(), NOW.minusSeconds(60), 2);
+        when(outbox.findPending(10)).thenReturn(List.of(poisoned));
+        givenVehicleState(firstVehicle, VehicleStateEnum.BROKEN);
+        when(contractsService.cancelContractsForBrokenVehicule(firstVehicle)).thenThrow(new IllegalStateException("Base injoignable"));
+
+        // When
+        int dispatched = dispatcher.dispatch();
+
+        // Then
+        assertThat(dispatched).isZero();
+        verify(outbox).deadLetter(List.of(poisoned));
+        verify(outbox, never()).recordFailures(any());
+        verify(outbox, never()).acknowledge(any());
+        assertThat(dispatcher.getDeadLetterCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("dispatch() - Un véhicule réparé avant le traitement ne voit pas ses contrats annulés")
+    void dispatch_shouldSkipCancellation_whenVehicleIsNoLongerBroken() throws ImtException {
+        // Given : le véhicule est repassé "Disponible" après l'enregistrement de la panne
+        VehicleBrokenEvent repaired = event(firstVehicle, NOW.minusSeconds(5));
+        when(outbox.findPending(10)).thenReturn(List.of(repaired));
+        givenVehicleState(firstVehicle, VehicleStateEnum.AVAILABLE);
+
+        // When
+        int dispatched = dispatcher.dispatch();
+
+        // Then : l'événement est acquitté sans annulation
+        assertThat(dispatched).isEqualTo(1);
+        verify(contractsService, never()).cancelContractsForBrokenVehicule(any());
+        assertThat(acknowledged()).containsExactly(repaired);
+        assertThat(dispatcher.getSkippedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("dispatch() - Un véhicule supprimé entre-temps n'est pas traité")
+    void dispatch_shouldSkipCancellation_whenVehicleWasDeleted() throws ImtException {
+        // Given
+        VehicleBrokenEvent deleted = event(firstVehicle, NOW.minusSeconds(5));
+        when(outbox.findPending(10)).thenReturn(List.of(deleted));
+        when(vehicles.get(firstVehicle.toString())).thenReturn(Optional.empty());
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        verify(contractsService, never()).cancelContractsForBrokenVehicule(any());
+        assertThat(acknowledged()).containsExactly(deleted);
+    }
+
+    @Test
+    @DisplayName("dispatch() - Ne doit rien acquitter si la boîte d'envoi est vide")
+    void dispatch_shouldDoNothing_whenOutboxIsEmpty() throws ImtException {
+        // Given
+        when(outbox.findPending(10)).thenReturn(List.of());
+
+        // When
+        int dispatched = dispatcher.dispatch();
+
+        // Then
+        assertThat(dispatched).isZero();
+        assertThat(dispatcher.getLag()).isEqualTo(Duration.ZERO);
+        verify(contractsService, never()).cancelContractsForBrokenVehicule(any());
+        verify(outbox, never()).acknowledge(any());
+    }
+
+    @Test
+    @DisplayName("dispatch() - Un véhicule sans identifiant de contrat valide est acquitté sans traitement")
+    void dispatch_shouldAcknowledgeEvent_whenVehicleIdIsNotAUuid() throws ImtException {
+        // Given
+        VehicleBrokenEvent legacy = new VehicleBrokenEvent(UUID.randomUUID(), "veh-123", NOW, 0);
+        when(outbox.findPending(10)).thenReturn(List.of(legacy));
+        when(vehicles.get("veh-123")).thenReturn(Optional.of(Vehicle.builder().id("veh-123").state(VehicleStateEnum.BROKEN).build()));
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        verify(contractsService, never()).cancelContractsForBrokenVehicule(any());
+        assertThat(acknowledged()).containsExactly(legacy);
+    }
+
+    @Test
+    @DisplayName("constructeur - Doit refuser une taille de lot ou un nombre de tentatives nuls")
+    void constructor_shouldRejectNonPositiveBatchSizeOrAttempts() {
+        assertThatThrownBy(() -> new VehicleOutboxDispatcher(outbox, vehicles, contractsService, 0, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new VehicleOutboxDispatcher(outbox, vehicles, contractsService, 10, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<VehicleBrokenEvent> acknowledged() {
+        ArgumentCaptor<Collection<VehicleBrokenEvent>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(outbox).acknowledge(captor.capture());
+        return captor.getValue();
+    }
+
+    private void givenVehicleState(final UUID vehicleId, final VehicleStateEnum state) {
+        when(vehicles.get(vehicleId.toString()))
+                .thenReturn(Optional.of(Vehicle.builder().id(vehicleId.toString()).state(state).build()));
+    }
+
+    private static VehicleBrokenEvent event(final UUID vehicleId, final Instant occurredAt) {
+        return new VehicleBrokenEvent(UUID.randomUUID(), vehicleId.toString(), occurredAt, 0);
+    }
+}
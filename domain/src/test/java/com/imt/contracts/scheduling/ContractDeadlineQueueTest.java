@@ -0,0 +1,108 @@
+package com.imt.contracts.scheduling;
+
+import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractStateEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ContractDeadlineQueue - Tests unitaires")
+class ContractDeadlineQueueTest {
+
+    private ContractDeadlineQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new ContractDeadlineQueue();
+    }
+
+    @Test
+    @DisplayName("Échéance : le début d'un contrat en attente, le lendemain de la fin d'un contrat en cours, aucune sinon")
+    void shouldScheduleOnlyAutomaticStates() {
+        // Given
+        Contract inProgress = aContract(LocalDate.of(2024, 1, 31), ContractStateEnum.IN_PROGRESS);
+
+        // When & Then
+        assertThat(ContractDeadlineQueue.deadlineOf(inProgress)).contains(LocalDate.of(2024, 2, 1));
+        assertThat(ContractDeadlineQueue.deadlineOf(inProgress.toBuilder().state(ContractStateEnum.PENDING).build())).contains(LocalDate.of(2024, 1, 24));
+        assertThat(ContractDeadlineQueue.deadlineOf(inProgress.toBuilder().state(ContractStateEnum.LATE).build())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Suit les écritures : replanifie un contrat prolongé et retire un contrat terminé")
+    void shouldFollowContractWrites() {
+        // Given
+        Contract first = aContract(LocalDate.of(2024, 1, 31), ContractStateEnum.IN_PROGRESS);
+        Contract second = aContract(LocalDate.of(2024, 2, 15), ContractStateEnum.IN_PROGRESS);
+        queue.rebuild(List.of(first, second));
+        assertThat(queue.nextDeadline()).contains(LocalDate.of(2024, 2, 1));
+
+        // When : le premier contrat est prolongé
+        queue.put(first.toBuilder().endDate(LocalDate.of(2024, 3, 31)).build());
+
+        // Then
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.nextDeadline()).contains(LocalDate.of(2024, 2, 16));
+
+        // When : le second contrat est terminé, puis le premier supprimé
+        queue.put(second.toBuilder().state(ContractStateEnum.COMPLETED).build());
+        queue.remove(first.getIdentifier());
+
+        // Then
+        assertThat(queue.size()).isZero();
+        assertThat(queue.nextDeadline()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("pollDue() - Retire et retourne toutes les échéances atteintes, sans toucher aux suivantes")
+    void pollDue_shouldReturnReachedDeadlinesOnly() {
+        // Given
+        Contract yesterday = aContract(LocalDate.of(2024, 1, 30), ContractStateEnum.IN_PROGRESS);
+        Contract today = aContract(LocalDate.of(2024, 1, 31), ContractStateEnum.IN_PROGRESS);
+        Contract tomorrow = aContract(LocalDate.of(2024, 2, 1), ContractStateEnum.IN_PROGRESS);
+        queue.rebuild(List.of(yesterday, today, tomorrow));
+
+        // When
+        Set<UUID> due = queue.pollDue(LocalDate.of(2024, 2, 1));
+
+        // Then
+        assertThat(due).containsExactlyInAnyOrder(yesterday.getIdentifier(), today.getIdentifier());
+        assertThat(queue.nextDeadline()).contains(LocalDate.of(2024, 2, 2));
+        assertThat(queue.pollDue(LocalDate.of(2024, 2, 1))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Prévient les abonnés uniquement lorsque la prochaine échéance avance")
+    void shouldNotifySubscribersWhenNextDeadlineAdvances() {
+        // Given
+        List<LocalDate> notified = new ArrayList<>();
+        queue.subscribe(notified::add);
+        queue.put(aContract(LocalDate.of(2024, 2, 15), ContractStateEnum.IN_PROGRESS));
+
+        // When
+        queue.put(aContract(LocalDate.of(2024, 3, 15), ContractStateEnum.IN_PROGRESS));
+        queue.put(aContract(LocalDate.of(2024, 1, 31), ContractStateEnum.IN_PROGRESS));
+
+        // Then
+        assertThat(notified).containsExactly(LocalDate.of(2024, 2, 16), LocalDate.of(2024, 2, 1));
+    }
+
+    private static Contract aContract(LocalDate endDate, ContractStateEnum state) {
+        return Contract.builder()
+                .identifier(UUID.randomUUID())
+                .clientIdentifier(UUID.randomUUID())
+                .vehicleIdentifier(UUID.randomUUID())
+                .startDate(endDate.minusDays(7))
+                .endDate(endDate)
+                .state(state)
+                .build();
+    }
+}
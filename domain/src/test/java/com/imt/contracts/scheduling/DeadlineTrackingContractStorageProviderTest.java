@@ -0,0 +1,83 @@
+package com.imt.contracts.scheduling;
+
+import com.imt.common.exceptions.ConflictException;
+import com.imt.contracts.ContractStorageProvider;
+import com.imt.contracts.model.Contract;
+import com.imt.contracts.model.ContractStateEnum;
+import com.imt.contracts.model.ContractTransition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DeadlineTrackingContractStorageProvider - Tests unitaires")
+class DeadlineTrackingContractStorageProviderTest {
+
+    @Mock
+    private ContractStorageProvider storage;
+
+    private ContractDeadlineQueue deadlines;
+    private DeadlineTrackingContractStorageProvider provider;
+    private Contract inProgress;
+
+    @BeforeEach
+    void setUp() {
+        deadlines = new ContractDeadlineQueue();
+        provider = new DeadlineTrackingContractStorageProvider(storage, deadlines);
+        inProgress = Contract.builder()
+                .identifier(UUID.randomUUID())
+                .clientIdentifier(UUID.randomUUID())
+                .vehicleIdentifier(UUID.randomUUID())
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 31))
+                .state(ContractStateEnum.IN_PROGRESS)
+                .build();
+    }
+
+    @Test
+    @DisplayName("rebuild() - Charge les échéances des contrats en attente et en cours du stockage")
+    void rebuild_shouldLoadAutomaticContracts() {
+        // Given
+        when(storage.findByStates(Set.of(ContractStateEnum.PENDING, ContractStateEnum.IN_PROGRESS))).thenReturn(List.of(inProgress));
+
+        // When
+        int scheduled = provider.rebuild();
+
+        // Then
+        assertThat(scheduled).isEqualTo(1);
+        assertThat(deadlines.nextDeadline()).contains(LocalDate.of(2024, 2, 1));
+    }
+
+    @Test
+    @DisplayName("Les écritures confirmées par le stockage replanifient les échéances")
+    void writes_shouldUpdateDeadlines() throws ConflictException {
+        // Given
+        when(storage.save(inProgress)).thenReturn(inProgress);
+        Contract late = inProgress.toBuilder().state(ContractStateEnum.LATE).build();
+        List<ContractTransition> transitions = List.of(new ContractTransition(inProgress, ContractStateEnum.LATE));
+        when(storage.applyTransitions(transitions)).thenReturn(List.of(late));
+
+        // When
+        provider.save(inProgress);
+
+        // Then
+        assertThat(deadlines.size()).isEqualTo(1);
+
+        // When : le contrat passe en retard
+        provider.applyTransitions(transitions);
+
+        // Then
+        assertThat(deadlines.size()).isZero();
+    }
+}
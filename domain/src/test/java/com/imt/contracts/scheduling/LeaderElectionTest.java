@@ -0,0 +1,108 @@
+package com.imt.contracts.scheduling;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LeaderElection - Tests unitaires")
+class LeaderElectionTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private MutableClock clock;
+    private InMemoryLeaseStorageProvider storage;
+    private LeaderElection first;
+    private LeaderElection second;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-02-01T10:00:00Z"));
+        storage = new InMemoryLeaseStorageProvider();
+        first = new LeaderElection(storage, "contract-scheduler", "node-1", TTL, clock);
+        second = new LeaderElection(storage, "contract-scheduler", "node-2", TTL, clock);
+    }
+
+    @Test
+    @DisplayName("Une seule instance est leader, et le reste tant qu'elle prolonge son bail")
+    void shouldElectSingleLeader() {
+        // When
+        assertThat(first.acquireOrRenew()).hasValue(1);
+        assertThat(second.acquireOrRenew()).isEmpty();
+        clock.advance(Duration.ofSeconds(20));
+
+        // Then : la prolongation conserve le jeton et ne compte pas comme une prise de bail
+        assertThat(first.acquireOrRenew()).hasValue(1);
+        clock.advance(Duration.ofSeconds(20));
+        assertThat(second.acquireOrRenew()).isEmpty();
+        assertThat(first.isLeader()).isTrue();
+        assertThat(first.getHandoverCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Bascule vers une autre instance à l'expiration du bail, avec un jeton supérieur")
+    void shouldFailOverWhenLeaseExpires() {
+        // Given : le leader s'arrête sans rendre son bail
+        first.acquireOrRenew();
+
+        // When
+        clock.advance(TTL.plusSeconds(1));
+
+        // Then
+        assertThat(second.acquireOrRenew()).hasValue(2);
+        assertThat(second.getHandoverCount()).isEqualTo(1);
+        assertThat(first.acquireOrRenew()).isEmpty();
+        assertThat(first.isLeader()).isFalse();
+    }
+
+    @Test
+    @DisplayName("holds() - Un ancien leader dont le bail a été repris ne détient plus son jeton")
+    void holds_shouldRejectStaleFencingToken() {
+        // Given
+        long token = first.acquireOrRenew().getAsLong();
+        assertThat(first.holds(token)).isTrue();
+
+        // When : le leader est suspendu plus longtemps que son bail, une autre instance le reprend
+        clock.advance(TTL.plusSeconds(1));
+        second.acquireOrRenew();
+
+        // Then
+        assertThat(first.holds(token)).isFalse();
+        assertThat(second.holds(token + 1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("release() - Un bail rendu est repris immédiatement par une autre instance")
+    void release_shouldAllowImmediateFailover() {
+        // Given
+        first.acquireOrRenew();
+
+        // When
+        first.release();
+
+        // Then
+        assertThat(second.acquireOrRenew()).hasValue(2);
+        assertThat(first.acquireOrRenew()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Un ancien leader qui reprend le bail obtient un nouveau jeton et une nouvelle prise de bail")
+    void shouldCountEachHandover() {
+        // Given
+        first.acquireOrRenew();
+        clock.advance(TTL.plusSeconds(1));
+        second.acquireOrRenew();
+        second.release();
+
+        // When
+        assertThat(first.acquireOrRenew()).hasValue(3);
+
+        // Then
+        assertThat(first.getHandoverCount()).isEqualTo(2);
+        assertThat(first.getFencingToken()).isEqualTo(3);
+    }
+}
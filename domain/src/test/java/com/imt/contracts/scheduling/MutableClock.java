@@ -0,0 +1,37 @@
+package com.imt.contracts.scheduling;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Horloge de test avancée à la main, pour faire expirer les baux sans attendre.
+ */
+final class MutableClock extends Clock {
+    private Instant now;
+
+    MutableClock(final Instant now) {
+        this.now = now;
+    }
+
+    void advance(final Duration duration) {
+        this.now = this.now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+        return this;
+    }
+
+    @Override
+    public Instant instant() {
+        return this.now;
+    }
+}
@@ -0,0 +1,135 @@
+package com.imt.contracts.scheduling;
+
+import com.imt.contracts.model.VehiclePartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PartitionClaims - Tests unitaires")
+class PartitionClaimsTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private MutableClock clock;
+    private InMemoryLeaseStorageProvider storage;
+    private PartitionClaims first;
+    private PartitionClaims second;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-02-01T10:00:00Z"));
+        storage = new InMemoryLeaseStorageProvider();
+        first = new PartitionClaims(storage, "contract-scheduler", "node-1", 4, TTL, clock);
+        second = new PartitionClaims(storage, "contract-scheduler", "node-2", 4, TTL, clock);
+    }
+
+    @Test
+    @DisplayName("claim() - Une instance seule prend toutes les partitions")
+    void claim_shouldTakeAllPartitions_whenAlone() {
+        // When
+        List<VehiclePartition> claimed = first.claim();
+
+        // Then
+        assertThat(claimed).isEqualTo(VehiclePartition.split(4));
+        assertThat(first.getHandoverCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("claim() - Deux instances se partagent les partitions sans recouvrement")
+    void claim_shouldShareFairlyWithoutOverlap() {
+        // Given : la première instance détient tout avant l'arrivée de la seconde
+        first.claim();
+        second.claim();
+
+        // When : la première rend l'excédent, que la seconde prend au tour suivant
+        List<VehiclePartition> firstShare = first.claim();
+        List<VehiclePartition> secondShare = second.claim();
+
+        // Then
+        assertThat(firstShare).hasSize(2);
+        assertThat(secondShare).hasSize(2).doesNotContainAnyElementsOf(firstShare);
+        assertThat(first.claim()).isEqualTo(firstShare);
+    }
+
+    @Test
+    @DisplayName("claim() - Les partitions d'une instance arrêtée sont reprises à l'expiration de ses baux")
+    void claim_shouldTakeOverPartitionsOfStoppedInstance() {
+        // Given
+        first.claim();
+        second.claim();
+        first.claim();
+        second.claim();
+
+        // When : la seconde instance s'arrête sans rendre ses baux
+        clock.advance(TTL.plusSeconds(1));
+
+        // Then
+        assertThat(first.claim()).isEqualTo(VehiclePartition.split(4));
+        assertThat(first.getHandoverCount()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("holds() - Une partition reprise par une autre instance n'est plus détenue")
+    void holds_shouldRejectPartitionTakenOver() {
+        // Given
+        VehiclePartition partition = first.claim().getFirst();
+        assertThat(first.holds(partition)).isTrue();
+
+        // When : la première instance est suspendue plus longtemps que ses baux
+        clock.advance(TTL.plusSeconds(1));
+        second.claim();
+
+        // Then
+        assertThat(first.holds(partition)).isFalse();
+        assertThat(second.holds(partition)).isTrue();
+    }
+
+    @Test
+    @DisplayName("release() - Les partitions rendues sont reprises immédiatement")
+    void release_shouldAllowImmediateTakeOver() {
+        // Given
+        first.claim();
+
+        // When
+        first.release();
+
+        // Then
+        assertThat(second.claim()).isEqualTo(VehiclePartition.split(4));
+    }
+
+    @Test
+    @DisplayName("release() - Supprime le bail de membre de l'instance arrêtée")
+    void release_shouldDeleteMemberLease() {
+        // Given
+        first.claim();
+
+        // When
+        first.release();
+
+        // Then : aucun bail de membre ne subsiste, même expiré
+        assertThat(storage.findActive("contract-scheduler-member-", Instant.EPOCH.minusSeconds(1))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("claim() - Supprime les baux de membre expirés des instances arrêtées sans les rendre")
+    void claim_shouldDeleteExpiredMemberLeases() {
+        // Given : la seconde instance s'arrête sans rendre son bail de membre
+        first.claim();
+        second.claim();
+        clock.advance(TTL.plusSeconds(1));
+
+        // When
+        first.claim();
+
+        // Then
+        assertThat(storage.findActive("contract-scheduler-member-", Instant.EPOCH))
+                .extracting(LeaderLease::getOwner)
+                .containsExactly("node-1");
+    }
+}
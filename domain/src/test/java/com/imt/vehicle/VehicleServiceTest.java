@@ -1,6 +1,8 @@
 package com.imt.vehicle;
 
 import com.imt.common.exceptions.ImtException;
+import com.imt.common.exceptions.VersionConflictException;
+import com.imt.common.model.FieldChanges;
 import com.imt.vehicle.model.EngineTypeEnum;
 import com.imt.vehicle.model.Vehicle;
 import com.imt.vehicle.model.VehicleStateEnum;
@@ -16,6 +18,11 @@ import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -136,12 +143,116 @@ class VehicleServiceTest {
     }
 
     @Test
-    void update_shouldCallProvider() throws ImtException {
+    void updateWithChanges_shouldWriteOnlyModifiedFields() throws ImtException {
+        // Given
+        Vehicle saved = vehicle.toBuilder().version(1L).build();
+        when(service.get("123")).thenReturn(Optional.of(saved));
+        when(service.applyChanges(any(), any())).thenAnswer(invocation -> {
+            Vehicle toApply = invocation.getArgument(0);
+            return Optional.of(toApply.toBuilder().version(2L).build());
+        });
+
+        // When
+        var result = vehicleService.update("123", current -> current.toBuilder().state(VehicleStateEnum.IN_RENTAL).build());
+
+        // Then : seul l'état est écrit, à partir de la version lue
+        assertThat(result).hasValueSatisfying(updated -> assertThat(updated.getVersion()).isEqualTo(2L));
+        verify(service).applyChanges(
+                argThat(toApply -> toApply.getVersion() == 1L),
+                eq(FieldChanges.builder().compare("state", VehicleStateEnum.AVAILABLE, VehicleStateEnum.IN_RENTAL).build())
+        );
+        verify(service, never()).save(any());
+    }
+
+    @Test
+    void updateWithChanges_shouldSkipWrite_whenNothingChanged() throws ImtException {
+        // Given
+        when(service.get("123")).thenReturn(Optional.of(vehicle));
+
         // When
-        vehicleService.update(vehicle);
+        var result = vehicleService.update("123", current -> current.toBuilder().color("Bleu").build());
 
         // Then
-        verify(service).save(vehicle);
+        assertThat(result).contains(vehicle);
+        verify(service, never()).applyChanges(any(), any());
+        verify(service, never()).save(any());
+    }
+
+    @Test
+    void updateWithChanges_shouldReapplyChangesOnLatestVersion_whenVersionConflicts() throws ImtException {
+        // Given : un autre écrivain enregistre le véhicule entre la première lecture et l'écriture
+        Vehicle firstRead = vehicle.toBuilder().version(1L).build();
+        Vehicle latest = vehicle.toBuilder().color("Noir").version(2L).build();
+        when(service.get("123")).thenReturn(Optional.of(firstRead)).thenReturn(Optional.of(latest));
+        when(service.applyChanges(any(), any())).thenAnswer(invocation -> {
+            Vehicle toApply = invocation.getArgument(0);
+            if (toApply.getVersion() == 1L) {
+                throw new VersionConflictException("Le véhicule a été modifié entre-temps, veuillez réessayer.");
+            }
+            return Optional.of(toApply.toBuilder().version(3L).build());
+        });
+
+        // When
+        var result = vehicleService.update("123", saved -> saved.toBuilder().state(VehicleStateEnum.IN_RENTAL).build());
+
+        // Then : la modification est rejouée sur la dernière version, sans perdre celle de l'autre écrivain
+        assertThat(result).hasValueSatisfying(updated -> {
+            assertThat(updated.getState()).isEqualTo(VehicleStateEnum.IN_RENTAL);
+            assertThat(updated.getColor()).isEqualTo("Noir");
+            assertThat(updated.getVersion()).isEqualTo(3L);
+        });
+        verify(service, times(2)).applyChanges(any(), any());
+    }
+
+    @Test
+    void updateWithChanges_shouldRecordBrokenEvent_whenVehicleBecomesBroken() throws ImtException {
+        // Given
+        Vehicle saved = vehicle.toBuilder().version(1L).build();
+        when(service.get("123")).thenReturn(Optional.of(saved));
+        when(service.applyChangesWithEvent(any(), any(), any())).thenAnswer(invocation -> {
+            Vehicle toApply = invocation.getArgument(0);
+            return Optional.of(toApply.toBuilder().version(2L).build());
+        });
+
+        // When
+        var result = vehicleService.update("123", current -> current.toBuilder().state(VehicleStateEnum.BROKEN).build());
+
+        // Then : l'état et l'événement de panne sont écrits ensemble
+        assertThat(result).hasValueSatisfying(updated -> assertThat(updated.getState()).isEqualTo(VehicleStateEnum.BROKEN));
+        verify(service).applyChangesWithEvent(
+                argThat(toApply -> toApply.getVersion() == 1L),
+                eq(FieldChanges.builder().compare("state", VehicleStateEnum.AVAILABLE, VehicleStateEnum.BROKEN).build()),
+                argThat(event -> "123".equals(event.getVehicleId()) && event.getIdentifier() != null)
+        );
+        verify(service, never()).applyChanges(any(), any());
+    }
+
+    @Test
+    void updateWithChanges_shouldNotRecordBrokenEvent_whenVehicleWasAlreadyBroken() throws ImtException {
+        // Given
+        Vehicle broken = vehicle.toBuilder().state(VehicleStateEnum.BROKEN).version(1L).build();
+        when(service.get("123")).thenReturn(Optional.of(broken));
+        when(service.applyChanges(any(), any())).thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+
+        // When
+        vehicleService.update("123", current -> current.toBuilder().color("Rouge").build());
+
+        // Then : seule la couleur est écrite, aucune nouvelle annulation n'est déclenchée
+        verify(service).applyChanges(any(), any());
+        verify(service, never()).applyChangesWithEvent(any(), any(), any());
+    }
+
+    @Test
+    void updateWithChanges_shouldReturnEmpty_whenVehicleNotFound() throws ImtException {
+        // Given
+        when(service.get("123")).thenReturn(Optional.empty());
+
+        // When
+        var result = vehicleService.update("123", saved -> saved);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(service, never()).applyChanges(any(), any());
     }
 
     @Test
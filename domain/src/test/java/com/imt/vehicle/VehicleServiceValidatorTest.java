@@ -3,6 +3,7 @@ package com.imt.vehicle;
 import com.imt.common.exceptions.BadRequestException;
 import com.imt.common.exceptions.ConflictException;
 import com.imt.common.exceptions.ImtException;
+import com.imt.common.validators.UnicityEnforcement;
 import com.imt.vehicle.model.EngineTypeEnum;
 import com.imt.vehicle.model.Vehicle;
 import com.imt.vehicle.model.VehicleStateEnum;
@@ -60,7 +61,7 @@ class VehicleServiceValidatorTest {
     }
 
     @Test
-    void create_shouldThrowBadRequest_whenConstraintValidationFails() {
+    void create_shouldThrowBadRequest_whenConstraintValidationFails() throws ImtException {
         // Given
         Vehicle invalidVehicle = vehicle.toBuilder().brand(null).build();
 
@@ -73,7 +74,7 @@ class VehicleServiceValidatorTest {
     }
 
     @Test
-    void create_shouldThrowConflict_whenLicensePlateAlreadyExists() {
+    void create_shouldThrowConflict_whenLicensePlateAlreadyExists() throws ImtException {
         // Given
         Vehicle existingVehicle = vehicle.toBuilder().id("456").build();
         when(service.getByLicensePlate(vehicle.getLicensePlate())).thenReturn(Optional.of(existingVehicle));
@@ -87,7 +88,7 @@ class VehicleServiceValidatorTest {
     }
 
     @Test
-    void create_shouldThrowBadRequest_whenStateIsUnknown() {
+    void create_shouldThrowBadRequest_whenStateIsUnknown() throws ImtException {
         // Given
         Vehicle invalidVehicle = vehicle.toBuilder().state(VehicleStateEnum.UNKNOWN).build();
 
@@ -100,7 +101,7 @@ class VehicleServiceValidatorTest {
     }
 
     @Test
-    void create_shouldThrowBadRequest_whenEngineTypeIsUnknown() {
+    void create_shouldThrowBadRequest_whenEngineTypeIsUnknown() throws ImtException {
         // Given
         Vehicle invalidVehicle = vehicle.toBuilder().engineType(EngineTypeEnum.UNKNOWN).build();
 
@@ -113,24 +114,43 @@ class VehicleServiceValidatorTest {
     }
 
     @Test
-    void update_shouldCallProvider_whenVehicleIsValid() throws ImtException {
+    void create_shouldRelyOnStorage_whenFastWriteIsEnabled() throws ImtException {
+        // Given
+        VehicleServiceValidator fastWriteValidator =
+                new VehicleServiceValidator(service, null, UnicityEnforcement.STORAGE_ONLY);
+        when(service.save(vehicle)).thenThrow(new ConflictException("Un véhicule avec la plaque d'immatriculation 'AA-123-BB' existe déjà."));
+
+        // When & Then
+        assertThatThrownBy(() -> fastWriteValidator.create(vehicle))
+                .isInstanceOf(ConflictException.class);
+        verify(service, never()).getByLicensePlate(any());
+    }
+
+    @Test
+    void update_shouldWriteChanges_whenVehicleIsValid() throws ImtException {
+        // Given
+        when(service.get(vehicle.getId())).thenReturn(Optional.of(vehicle));
+        when(service.applyChanges(any(), any())).thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+
         // When
-        vehicleServiceValidator.update(vehicle);
+        vehicleServiceValidator.update(vehicle.getId(), current -> current.toBuilder().color("Rouge").build());
 
         // Then
-        verify(service).save(vehicle);
+        verify(service).applyChanges(any(), any());
+        verify(service, never()).save(any());
     }
 
     @Test
-    void update_shouldThrowBadRequest_whenConstraintValidationFails() {
+    void update_shouldThrowBadRequest_whenConstraintValidationFails() throws ImtException {
         // Given
-        Vehicle invalidVehicle = vehicle.toBuilder().model(null).build();
+        when(service.get(vehicle.getId())).thenReturn(Optional.of(vehicle));
 
         // When & Then
-        assertThatThrownBy(() -> vehicleServiceValidator.update(invalidVehicle))
+        assertThatThrownBy(() -> vehicleServiceValidator.update(vehicle.getId(), current -> current.toBuilder().model(null).build()))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("Le modèle ne peut pas être nul");
 
+        verify(service, never()).applyChanges(any(), any());
         verify(service, never()).save(any());
     }
 }